@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.core;
+
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.Nonnull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Compares ranges of bytes in unsigned lexicographic order in place.
+ * <p>
+ * This is the binary collation used to order the elements of sets and maps in a hybrid row and the order of
+ * {@link Utf8String#compareTo(Utf8String)}. Bytes are compared eight at a time as big-endian words, so that the first
+ * differing word orders the ranges as its first differing byte does, followed by a loop over the remaining bytes. If
+ * one range is a prefix of the other, the shorter range is ordered first. Unlike {@link ByteBuf#compareTo(ByteBuf)}
+ * over slices of the ranges, no objects are allocated.
+ */
+public final class BinaryCollation {
+
+    private BinaryCollation() {
+    }
+
+    /**
+     * Compares a range of bytes in one buffer with a range of bytes in another.
+     *
+     * @param left        the buffer holding the left range.
+     * @param leftIndex   the index of the first byte of the left range.
+     * @param leftLength  the number of bytes in the left range.
+     * @param right       the buffer holding the right range.
+     * @param rightIndex  the index of the first byte of the right range.
+     * @param rightLength the number of bytes in the right range.
+     * @return {@code -1}, {@code 0}, or {@code 1} as the left range is less than, equal to, or greater than the right
+     * range.
+     */
+    public static int compare(
+        @Nonnull final ByteBuf left, final int leftIndex, final int leftLength,
+        @Nonnull final ByteBuf right, final int rightIndex, final int rightLength) {
+
+        checkNotNull(left, "expected non-null left");
+        checkNotNull(right, "expected non-null right");
+        checkArgument(leftLength >= 0, "expected non-negative leftLength, not %s", leftLength);
+        checkArgument(rightLength >= 0, "expected non-negative rightLength, not %s", rightLength);
+
+        final int length = Math.min(leftLength, rightLength);
+        int i = 0;
+
+        for (; i <= length - Long.BYTES; i += Long.BYTES) {
+            final long x = left.getLong(leftIndex + i);
+            final long y = right.getLong(rightIndex + i);
+            if (x != y) {
+                return Long.compareUnsigned(x, y) < 0 ? -1 : 1;
+            }
+        }
+
+        for (; i < length; i++) {
+            final int x = left.getUnsignedByte(leftIndex + i);
+            final int y = right.getUnsignedByte(rightIndex + i);
+            if (x != y) {
+                return x < y ? -1 : 1;
+            }
+        }
+
+        return Integer.compare(leftLength, rightLength);
+    }
+
+    /**
+     * Compares the readable bytes of two buffers.
+     *
+     * @param left  the left buffer.
+     * @param right the right buffer.
+     * @return {@code -1}, {@code 0}, or {@code 1} as the readable bytes of {@code left} are less than, equal to, or
+     * greater than the readable bytes of {@code right}.
+     */
+    public static int compare(@Nonnull final ByteBuf left, @Nonnull final ByteBuf right) {
+
+        checkNotNull(left, "expected non-null left");
+        checkNotNull(right, "expected non-null right");
+
+        return compare(left, left.readerIndex(), left.readableBytes(), right, right.readerIndex(),
+            right.readableBytes());
+    }
+}
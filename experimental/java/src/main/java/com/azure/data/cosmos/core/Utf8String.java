@@ -16,7 +16,6 @@ import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.google.common.base.Objects;
-import com.google.common.base.Suppliers;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.Unpooled;
@@ -25,19 +24,20 @@ import io.netty.util.ByteProcessor;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
-import java.util.function.Supplier;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.lenientFormat;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -55,8 +55,12 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
     public static final Utf8String NULL = new Utf8String();
 
     private final ByteBuf buffer;
-    private final Supplier<String> utf16String;
-    private final Supplier<Integer> utf16StringLength;
+
+    // Computed on first use; benign data races as with String.hashCode because String is immutable
+
+    private int hashCode;
+    private String utf16String;
+    private int utf16StringLength;  // zero, if not yet computed
 
     // endregion Fields
 
@@ -64,54 +68,31 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
 
     private Utf8String() {
         this.buffer = null;
-        this.utf16String = Suppliers.memoize(() -> null);
-        this.utf16StringLength = Suppliers.memoize(() -> -1);
+        this.utf16StringLength = -1;
     }
 
     private Utf8String(@Nonnull final ByteBuf buffer) {
 
         if (buffer.writerIndex() == 0) {
             this.buffer = Unpooled.EMPTY_BUFFER;
-            this.utf16String = Suppliers.memoize(() -> "");
-            this.utf16StringLength = Suppliers.memoize(() -> 0);
+            this.utf16String = "";
             return;
         }
 
         this.buffer = buffer.readerIndex(0); // required to ensure proper hashCode computation by ByteBuf.hashCode
-
-        this.utf16String = Suppliers.memoize(() -> {
-
-            final int length = this.buffer.writerIndex();
-            final UTF16Converter converter = new UTF16Converter(length);
-            final int index = this.buffer.forEachByte(0, length, converter);
-
-            assert index == -1 : lenientFormat("index: %s, length: %s", index, length);
-            return converter.value();
-        });
-
-        this.utf16StringLength = Suppliers.memoize(() -> {
-
-            final UTF16CodeUnitCounter counter = new UTF16CodeUnitCounter();
-            final int length = this.buffer.writerIndex();
-            final int index = this.buffer.forEachByte(0, length, counter);
-
-            assert index == -1 : lenientFormat("index: %s, length: %s", index, length);
-            return counter.charCount();
-        });
     }
 
     private Utf8String(@Nonnull String value) {
 
         if (value.length() == 0) {
             this.buffer = Unpooled.EMPTY_BUFFER;
-            this.utf16String = Suppliers.memoize(() -> "");
-            this.utf16StringLength = Suppliers.memoize(() -> 0);
+            this.utf16String = "";
             return;
         }
 
         this.buffer = Unpooled.wrappedBuffer(value.getBytes(UTF_8));
-        this.utf16String = Suppliers.memoize(() -> value);
-        this.utf16StringLength = Suppliers.memoize(value::length);
+        this.utf16String = value;
+        this.utf16StringLength = value.length();
     }
 
     // endregion
@@ -166,8 +147,9 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
         int countdown = index;
 
         while (iterator.hasNext()) {
+            final int value = iterator.nextInt();
             if (--countdown < 0) {
-                return (char) iterator.nextInt();
+                return (char) value;
             }
         }
 
@@ -234,7 +216,7 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
             return -1;
         }
 
-        return this.buffer.compareTo(other.buffer);
+        return BinaryCollation.compare(this.buffer, other.buffer);
     }
 
     /**
@@ -313,6 +295,47 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
         return this == NULL || this == EMPTY ? this : fromUnsafe(this.buffer.duplicate());
     }
 
+    /**
+     * Decodes UTF-8 encoded bytes to UTF-16 code units in a {@link CharBuffer} without allocating a {@link String}.
+     * <p>
+     * Code units are written starting at the position of {@code target}, which is advanced past the last code unit
+     * written. Invalid code point sequences are decoded as by {@link #toUtf16}. This method is intended for forwarding
+     * UTF-8 encoded content held by a larger buffer, such as a row, to a caller's reusable buffer.
+     *
+     * @param source a buffer containing UTF-8 encoded bytes.
+     * @param index  the index of the first byte to decode in {@code source}.
+     * @param length the number of bytes to decode.
+     * @param target a buffer to receive the decoded UTF-16 code units.
+     * @return the number of {@code char}'s written to {@code target} or {@code -1}, if {@code target} does not have
+     * enough room, in which case {@code target} is unchanged.
+     */
+    public static int decodeUtf16(
+        @Nonnull final ByteBuf source, final int index, final int length, @Nonnull final CharBuffer target) {
+
+        checkNotNull(source, "expected non-null source");
+        checkNotNull(target, "expected non-null target");
+        checkArgument(index >= 0 && length >= 0 && index <= source.capacity() - length,
+            "index: %s, length: %s, capacity: %s", index, length, source.capacity());
+
+        final int end = index + length;
+
+        if (target.remaining() < length && target.remaining() < countUtf16CodeUnits(source, index, end)) {
+            return -1;
+        }
+
+        if (target.hasArray()) {
+            final int start = target.arrayOffset() + target.position();
+            final int count = decodeUtf16(source, index, end, target.array(), start) - start;
+            target.position(target.position() + count);
+            return count;
+        }
+
+        final char[] chars = new char[length];
+        final int count = decodeUtf16(source, index, end, chars, 0);
+        target.put(chars, 0, count);
+        return count;
+    }
+
     /**
      * Encoded length of this {@link Utf8String}.
      * <p>
@@ -446,14 +469,21 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
      * Returns a hash code calculated from the content of this {@link Utf8String}.
      * <p>
      * If there's a {@link Utf8String} that is {@linkplain #equals(Object) equal to} this {@link Utf8String}, both
-     * strings will return the same value.
+     * strings will return the same value. The hash code is computed once and cached.
      *
      * @return a hash code value for this {@link Utf8String}.
      */
     @Override
     public int hashCode() {
-        // CONFIRMED: ByteBuf.hashCode returns 1 for empty buffers and a non-zero value for all other buffers
-        return this == NULL ? 0 : (this == EMPTY ? 1 : this.buffer.hashCode());
+
+        int hashCode = this.hashCode;
+
+        if (hashCode == 0 && this != NULL) {
+            // CONFIRMED: ByteBuf.hashCode returns 1 for empty buffers and a non-zero value for all other buffers
+            this.hashCode = hashCode = this == EMPTY ? 1 : this.buffer.hashCode();
+        }
+
+        return hashCode;
     }
 
     /**
@@ -465,7 +495,23 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
      * @return the length of this {@link Utf8String}.
      */
     public final int length() {
-        return this.utf16StringLength.get();
+
+        int length = this.utf16StringLength;
+
+        if (length == 0 && this.buffer.writerIndex() > 0) {
+
+            final String utf16String = this.utf16String;
+
+            if (utf16String != null) {
+                length = utf16String.length();
+            } else {
+                length = countUtf16CodeUnits(this.buffer, 0, this.buffer.writerIndex());
+            }
+
+            this.utf16StringLength = length;
+        }
+
+        return length;
     }
 
     /**
@@ -627,7 +673,15 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
 
     @Nullable
     public String toUtf16() {
-        return this.utf16String.get();
+
+        String utf16String = this.utf16String;
+
+        if (utf16String == null && this != NULL) {
+
+            this.utf16String = utf16String = decodeUtf16(this.buffer, this.buffer.writerIndex());
+        }
+
+        return utf16String;
     }
 
     @Override
@@ -670,6 +724,149 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
 
     // region Privates
 
+    private static final long ASCII_MASK = 0x8080808080808080L;
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    /**
+     * Counts the UTF-16 code units needed to represent the UTF-8 encoded bytes of a buffer in {@code [index, end)}.
+     * <p>
+     * Runs of ASCII are counted eight bytes at a time. Other code point sequences are counted as by
+     * {@link UTF16CodeUnitCounter}.
+     */
+    private static int countUtf16CodeUnits(final ByteBuf buffer, int index, final int end) {
+
+        int count = 0;
+
+        while (index < end) {
+
+            if (end - index >= Long.BYTES && (buffer.getLong(index) & ASCII_MASK) == 0) {
+                count += Long.BYTES;
+                index += Long.BYTES;
+                continue;
+            }
+
+            final int leadingByte = buffer.getByte(index) & 0xFF;
+
+            if (0xC2 <= leadingByte && leadingByte <= 0xDF) {
+                index += 2;
+                count++;
+            } else if (0xE0 <= leadingByte && leadingByte <= 0xEF) {
+                index += 3;
+                count++;
+            } else if (0xF0 <= leadingByte && leadingByte <= 0xF4) {
+                index += 4;
+                count += 2;
+            } else {
+                index++;
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Decodes the first {@code length} bytes of a UTF-8 encoded buffer to a {@link String}.
+     * <p>
+     * An all-ASCII buffer, the common case, is detected eight bytes at a time and copied to the {@link String} as
+     * Latin-1 without decoding.
+     */
+    private static String decodeUtf16(final ByteBuf buffer, final int length) {
+
+        int index = 0;
+
+        while (length - index >= Long.BYTES && (buffer.getLong(index) & ASCII_MASK) == 0) {
+            index += Long.BYTES;
+        }
+
+        while (index < length && buffer.getByte(index) >= 0) {
+            index++;
+        }
+
+        if (index == length) {
+            return buffer.toString(0, length, ISO_8859_1);
+        }
+
+        final char[] chars = new char[length];  // a UTF-8 encoding is never shorter than its UTF-16 encoding
+        return new String(chars, 0, decodeUtf16(buffer, 0, length, chars, 0));
+    }
+
+    /**
+     * Decodes the UTF-8 encoded bytes of a buffer in {@code [index, end)} to UTF-16 code units in a {@code char} array.
+     * <p>
+     * Runs of ASCII are copied eight bytes at a time and other code point sequences are decoded one at a time. Invalid
+     * code point sequences are changed to
+     * <a href="https://en.wikipedia.org/wiki/Specials_(Unicode_block)#Replacement_character">Replacement Characters</a>
+     * and a truncated code point sequence at the end of the range is dropped. The caller must ensure that {@code chars}
+     * has room for {@link #countUtf16CodeUnits} code units starting at {@code offset}.
+     *
+     * @return the offset in {@code chars} following the last code unit decoded.
+     */
+    private static int decodeUtf16(
+        final ByteBuf buffer, int index, final int end, final char[] chars, int offset) {
+
+        while (index < end) {
+
+            if (end - index >= Long.BYTES) {
+                final long word = buffer.getLongLE(index);
+                if ((word & ASCII_MASK) == 0) {
+                    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                        chars[offset++] = (char) ((word >>> shift) & 0xFF);
+                    }
+                    index += Long.BYTES;
+                    continue;
+                }
+            }
+
+            final int leadingByte = buffer.getByte(index++) & 0xFF;
+            final int tailLength;
+
+            if (leadingByte <= 0x7F) {
+                // UTF-8-1 = 0x00-7F
+                chars[offset++] = (char) leadingByte;
+                continue;
+            }
+
+            if (0xC2 <= leadingByte && leadingByte <= 0xDF) {
+                // UTF8-8-2 = 0xC2-DF UTF8-tail
+                tailLength = 1;
+            } else if (0xE0 <= leadingByte && leadingByte <= 0xEF) {
+                // UTF-8-3 = 0xE0 0xA0-BF UTF8-tail / 0xE1-EC 2(UTF8-tail) / 0xED 0x80-9F UTF8-tail / 0xEE-EF 2
+                // (UTF8-tail)
+                tailLength = 2;
+            } else if (0xF0 <= leadingByte && leadingByte <= 0xF4) {
+                // UTF-8-4 = 0xF0 0x90-BF 2( UTF8-tail ) / 0xF1-F3 3( UTF8-tail ) / 0xF4 0x80-8F 2( UTF8-tail )
+                tailLength = 3;
+            } else {
+                chars[offset++] = REPLACEMENT_CHARACTER;
+                continue;
+            }
+
+            if (end - index < tailLength) {
+                break;
+            }
+
+            int sequence = leadingByte;
+
+            for (int i = 0; i < tailLength; i++) {
+                sequence = (sequence << Byte.SIZE) | (buffer.getByte(index++) & 0xFF);
+            }
+
+            final int codePoint = toCodePoint(sequence);
+
+            if (codePoint < 0) {
+                chars[offset++] = REPLACEMENT_CHARACTER;
+            } else if (Character.isBmpCodePoint(codePoint)) {
+                chars[offset++] = (char) codePoint;
+            } else {
+                chars[offset++] = Character.highSurrogate(codePoint);
+                chars[offset++] = Character.lowSurrogate(codePoint);
+            }
+        }
+
+        return offset;
+    }
+
     private static int toCodePoint(final int utf8ByteSequence) {
 
         if ((utf8ByteSequence & 0b11111000_00000000_00000000_00000000) == 0b11110000_00000000_00000000_00000000) {
@@ -1163,7 +1360,7 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
             final int leadingByte = value & 0xFF;
             this.charIndex = this.charCount;
 
-            if (leadingByte < 0x7F) {
+            if (leadingByte <= 0x7F) {
                 // UTF-8-1 = 0x00-7F
                 this.skip = 0;
                 this.charCount++;
@@ -1310,113 +1507,5 @@ public final class Utf8String implements ByteBufHolder, CharSequence, Comparable
         }
     }
 
-    /**
-     * A {@link ByteProcessor} used to convert a UTF-8 byte sequence to a {@link String}.
-     * <p>
-     * This {@link #process(byte)} method accumulates a single code point at a time. Invalid code points are changed to
-     * <a href="https://en.wikipedia.org/wiki/Specials_(Unicode_block)#Replacement_character">Replacement Characters</a>
-     */
-    private static class UTF16Converter implements ByteProcessor {
-
-        private static final int REPLACEMENT_CHARACTER = 0xFFFD;
-
-        private final StringBuilder builder;
-        private int codePoint = -1;
-        private int shift = -1;
-
-        UTF16Converter(final int capacity) {
-            this.builder = new StringBuilder(capacity);
-        }
-
-        /**
-         * Processes the next byte in a UTF-8 encoded code point sequence.
-         *
-         * Characters are appended to the result value at the end of each code point sequence that is encountered.
-         *
-         * @param value the next byte in a UTF-8 encoded code point sequence.
-         * @return {@code true}.
-         */
-        @Override
-        public boolean process(final byte value) {
-
-            switch (this.shift) {
-
-                default: {
-
-                    // Next unit (byte) of multi-byte code point sequence
-
-                    this.codePoint |= ((value & 0xFF) << this.shift);
-                    this.shift -= Byte.SIZE;
-                    return true;
-                }
-                case 0: {
-
-                    // End of multi-byte code point sequence
-
-                    this.codePoint = toCodePoint(this.codePoint | (value & 0xFF));
-
-                    if (this.codePoint < 0) {
-                        this.builder.append((char)REPLACEMENT_CHARACTER);
-                    } else if (Character.isBmpCodePoint(this.codePoint)) {
-                        this.builder.append((char)this.codePoint);
-                    } else {
-                        this.builder.append(Character.highSurrogate(this.codePoint));
-                        this.builder.append(Character.lowSurrogate(this.codePoint));
-                    }
-
-                    this.shift = -1;
-                    return true;
-                }
-                case -1: {
-
-                    // Start of code point sequence
-
-                    final int leadingByte = value & 0xFF;
-
-                    if (leadingByte < 0x7F) {
-                        // UTF-8-1 = 0x00-7F
-                        this.builder.append((char)leadingByte);
-                        return true;
-                    }
-
-                    if (0xC2 <= leadingByte && leadingByte <= 0xDF) {
-                        // UTF8-8-2 = 0xC2-DF UTF8-tail
-                        this.codePoint = leadingByte << Byte.SIZE;
-                        this.shift = 0;
-                        return true;
-                    }
-
-                    if (0xE0 <= leadingByte && leadingByte <= 0xEF) {
-                        // UTF-8-3 = 0xE0 0xA0-BF UTF8-tail / 0xE1-EC 2(UTF8-tail) / 0xED 0x80-9F UTF8-tail / 0xEE-EF 2(UTF8-tail)
-                        this.codePoint = leadingByte << 2 * Byte.SIZE;
-                        this.shift = Byte.SIZE;
-                        return true;
-                    }
-
-                    if (0xF0 <= leadingByte && leadingByte <= 0xF4) {
-                        // UTF-8-4 = 0xF0 0x90-BF 2( UTF8-tail ) / 0xF1-F3 3( UTF8-tail ) / 0xF4 0x80-8F 2( UTF8-tail )
-                        this.codePoint = leadingByte << (3 * Byte.SIZE);
-                        this.shift = 2 * Byte.SIZE;
-                        return true;
-                    }
-
-                    this.builder.append((char)REPLACEMENT_CHARACTER);
-                    return true;
-                }
-            }
-        }
-
-        /**
-         * Returns the converted {@link String} value.
-         *
-         * A new {@link String} is allocated on each call to this method.
-         *
-         * @return the converted {@link String} value.
-         */
-        String value() {
-            return this.builder.toString();
-        }
-    }
-
     // endregion
 }
@@ -4,6 +4,7 @@
 package com.azure.data.cosmos.core;
 
 import javax.annotation.Nonnull;
+import java.util.PrimitiveIterator;
 
 import static com.azure.data.cosmos.core.Utf8String.transcodeUtf16;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -22,7 +23,8 @@ public final class UtfAnyString implements CharSequence, Comparable<UtfAnyString
 
     private static final int NULL_HASHCODE = reduceHashCode(5_381, 5_381);
 
-    private CharSequence buffer;
+    private final CharSequence buffer;
+    private int hashCode;  // computed on first use; benign data race as with String.hashCode
 
     public UtfAnyString(final String value) {
         this.buffer = value;
@@ -33,6 +35,7 @@ public final class UtfAnyString implements CharSequence, Comparable<UtfAnyString
     }
 
     private UtfAnyString() {
+        this.buffer = null;
     }
 
     private UtfAnyString(final CharSequence sequence) {
@@ -217,30 +220,41 @@ public final class UtfAnyString implements CharSequence, Comparable<UtfAnyString
         return this.buffer instanceof String ? other.buffer.equals(this.buffer) : this.buffer.equals(other.buffer);
     }
 
+    /**
+     * Returns a hash code calculated from the code points of this {@link UtfAnyString}.
+     * <p>
+     * The hash code does not depend on the encoding of this {@link UtfAnyString}: a UTF-8 and a UTF-16 string that are
+     * {@linkplain #equals(UtfAnyString) equal} return the same value. The hash code is computed once and cached.
+     *
+     * @return a hash code value for this {@link UtfAnyString}.
+     */
     @Override
     public int hashCode() {
 
-        final long[] hash = { 5_381, 5_381 };
+        int hashCode = this.hashCode;
 
-        if (this.buffer == null) {
-            return NULL_HASHCODE;
-        }
+        if (hashCode == 0) {
 
-        if (this.buffer instanceof String) {
+            if (this.buffer == null) {
+                return NULL_HASHCODE;
+            }
+
+            final PrimitiveIterator.OfInt codePoints = this.buffer.codePoints().iterator();
+            long hash0 = 5_381, hash1 = 5_381;
 
-            final int ignored = ((String) this.buffer).codePoints().reduce(0, (index, codePoint) -> {
+            for (int index = 0; codePoints.hasNext(); index++) {
+                final int codePoint = codePoints.nextInt();
                 if (index % 2 == 0) {
-                    hash[0] = ((hash[0] << 5) + hash[0]) ^ codePoint;
+                    hash0 = ((hash0 << 5) + hash0) ^ codePoint;
                 } else {
-                    hash[1] = ((hash[1] << 5) + hash[1]) ^ codePoint;
+                    hash1 = ((hash1 << 5) + hash1) ^ codePoint;
                 }
-                return index;
-            });
+            }
 
-            return reduceHashCode(hash[0], hash[1]);
+            this.hashCode = hashCode = reduceHashCode(hash0, hash1);
         }
 
-        return this.buffer.hashCode();
+        return hashCode;
     }
 
     /**
@@ -33,6 +33,28 @@ public class HashCode128 {
         this.high = buffer.readLongLE();
     }
 
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof HashCode128)) {
+            return false;
+        }
+        final HashCode128 that = (HashCode128) other;
+        return this.low == that.low && this.high == that.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.low) ^ (31 * Long.hashCode(this.high));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", this.high, this.low);
+    }
+
     public long high() {
         return this.high;
     }
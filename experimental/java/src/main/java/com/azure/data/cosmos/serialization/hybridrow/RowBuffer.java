@@ -5,12 +5,16 @@
 
 package com.azure.data.cosmos.serialization.hybridrow;
 
+import com.azure.data.cosmos.core.BinaryCollation;
 import com.azure.data.cosmos.core.Out;
 import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.core.UtfAnyString;
 import com.azure.data.cosmos.serialization.hybridrow.codecs.DateTimeCodec;
 import com.azure.data.cosmos.serialization.hybridrow.codecs.DecimalCodec;
 import com.azure.data.cosmos.serialization.hybridrow.codecs.Float128Codec;
 import com.azure.data.cosmos.serialization.hybridrow.codecs.GuidCodec;
+import com.azure.data.cosmos.serialization.hybridrow.internal.Crc32;
+import com.azure.data.cosmos.serialization.hybridrow.internal.Murmur3Hash;
 import com.azure.data.cosmos.serialization.hybridrow.io.RowWriter;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutArray;
@@ -34,6 +38,7 @@ import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutMongoDbObject
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutNull;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutNullable;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutObject;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutPath;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTagged;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTagged2;
@@ -61,6 +66,8 @@ import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgumentList;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.UpdateOptions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -68,6 +75,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -96,6 +105,8 @@ import static com.google.common.base.Strings.lenientFormat;
 public final class RowBuffer {
 
     private final ByteBuf buffer;
+    private final int referenceThreshold;
+    private int referencedLength;
     private LayoutResolver resolver;
 
     /**
@@ -117,6 +128,32 @@ public final class RowBuffer {
         checkArgument(capacity > 0, "capacity: %s", capacity);
         checkNotNull(allocator, "expected non-null allocator");
         this.buffer = allocator.buffer(capacity);
+        this.referenceThreshold = 0;
+        this.resolver = null;
+    }
+
+    /**
+     * Initializes a new instance of an append-only {@link RowBuffer}.
+     * <p>
+     * An append-only row holds large binary values by reference instead of copying them. A binary value of at least
+     * {@code referenceThreshold} bytes that is written at the end of the row is retained as a read-only component of a
+     * {@link CompositeByteBuf}. The row is assembled from its components without an intermediate copy when it is
+     * emitted by {@link #writeTo(GatheringByteChannel)}. Binary values written anywhere else are copied as usual.
+     * <p>
+     * The caller must not modify the content of a referenced value until the row is no longer in use. Edits that would
+     * move the bytes of a referenced value fail with an {@link IllegalStateException}. References are released by
+     * {@link #reset}.
+     *
+     * @param capacity           Initial buffer capacity
+     * @param allocator          A buffer allocator
+     * @param referenceThreshold Minimum length of a binary value held by reference
+     */
+    public RowBuffer(final int capacity, @Nonnull final ByteBufAllocator allocator, final int referenceThreshold) {
+        checkArgument(capacity > 0, "capacity: %s", capacity);
+        checkNotNull(allocator, "expected non-null allocator");
+        checkArgument(referenceThreshold > 0, "expected positive referenceThreshold, not %s", referenceThreshold);
+        this.buffer = allocator.compositeBuffer(Integer.MAX_VALUE).capacity(capacity);
+        this.referenceThreshold = referenceThreshold;
         this.resolver = null;
     }
 
@@ -144,6 +181,7 @@ public final class RowBuffer {
             "expected buffer with at least %s, not %s bytes", HybridRowHeader.BYTES, length);
 
         this.buffer = buffer;
+        this.referenceThreshold = 0;
         this.resolver = resolver;
 
         final Item<HybridRowHeader> item = this.read(this::readHeader, 0);
@@ -277,7 +315,7 @@ public final class RowBuffer {
      * @return root header of this {@link RowBuffer}.
      */
     public HybridRowHeader header() {
-        return this.readHeader();
+        return this.read(this::readHeader, 0).value();
     }
 
     // TODO: DANOBLE: ressurrect this method
@@ -424,6 +462,17 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Read the ticks of the {@code DateTime} field at the given {@code offset} without allocating.
+     *
+     * @param offset offset of a {@code DateTime} field within this {@link RowBuffer}.
+     * @return the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} recorded by the field.
+     * @see DateTimeCodec#decodeTicks
+     */
+    public long readDateTimeTicks(final int offset) {
+        return DateTimeCodec.decodeTicks(this.buffer, offset);
+    }
+
     // TODO: DANOBLE: resurrect this method
     //    public MongoDbObjectId ReadMongoDbObjectId(int offset) {
     //        return MemoryMarshal.<MongoDbObjectId>Read(this.buffer.Slice(offset));
@@ -440,6 +489,18 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Read the value of the {@code Decimal} field at the given {@code offset} as an unscaled value and a scale.
+     *
+     * @param offset offset of a {@code Decimal} field within this {@link RowBuffer}.
+     * @param value  receives the unscaled value and scale of the {@code Decimal} field.
+     * @return {@code true}, if the magnitude of the field value fits in a {@code long}; otherwise, if {@code false},
+     * {@code value} is unchanged.
+     */
+    public boolean readDecimal(final int offset, @Nonnull final UnscaledDecimal value) {
+        return DecimalCodec.decode(this.buffer, offset, value);
+    }
+
     /**
      * Read the value of a {@code FixedBinary} field at the given {@code offset} within this {@link RowBuffer}.
      *
@@ -452,6 +513,146 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Copy the bytes of a {@code FixedBinary} field at the given {@code offset} to a {@link ByteBuf}.
+     *
+     * @param offset offset of a {@code FixedBinary} field within this {@link RowBuffer}.
+     * @param length number of bytes to copy.
+     * @param target buffer to which the bytes are written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     */
+    public int readFixedBinary(final int offset, final int length, @Nonnull final ByteBuf target) {
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        checkArgument(length >= 0, "expected non-negative length, not %s", length);
+        checkNotNull(target, "expected non-null target");
+        target.writeBytes(this.buffer, offset, length);
+        return length;
+    }
+
+    /**
+     * Compares the bytes at the given {@code offset} within this {@link RowBuffer} with a value.
+     * <p>
+     * The bytes are compared in place. Bytes beyond the end of this {@link RowBuffer} compare unequal.
+     *
+     * @param offset offset of the bytes to compare within this {@link RowBuffer}.
+     * @param value  the value to compare.
+     * @return {@code true} if the {@code value.length} bytes at {@code offset} are equal to {@code value}; otherwise
+     * {@code false}.
+     */
+    public boolean fixedBinaryEquals(final int offset, @Nonnull final byte[] value) {
+
+        checkNotNull(value, "expected non-null value");
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+
+        if (value.length > this.length() - offset) {
+            return false;
+        }
+
+        for (int i = 0; i < value.length; i++) {
+            if (this.buffer.getByte(offset + i) != value[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the bytes at the given {@code offset} within this {@link RowBuffer} to a hash chain.
+     * <p>
+     * The bytes are hashed in place.
+     *
+     * @param offset offset of the bytes to hash within this {@link RowBuffer}.
+     * @param length number of bytes to hash.
+     * @param chain  the hash chain to add the bytes to.
+     * @return a reference to {@code chain}.
+     */
+    @Nonnull
+    public Murmur3Hash.Chain hashBytes(final int offset, final int length, @Nonnull final Murmur3Hash.Chain chain) {
+
+        checkNotNull(chain, "expected non-null chain");
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        checkArgument(length >= 0 && length <= this.length() - offset, "expected length in range [0, %s], not %s",
+            this.length() - offset, length);
+
+        return chain.add(this.buffer, offset, length);
+    }
+
+    /**
+     * Puts the bytes at the given {@code offset} within this {@link RowBuffer} to a streaming hasher.
+     * <p>
+     * The bytes are hashed in place. The content of a row may be hashed with {@code hashBytes(0, length(), hasher)}.
+     *
+     * @param offset offset of the bytes to hash within this {@link RowBuffer}.
+     * @param length number of bytes to hash.
+     * @param hasher the hasher to put the bytes to.
+     * @return a reference to {@code hasher}.
+     */
+    @Nonnull
+    public Murmur3Hash.Hasher hashBytes(final int offset, final int length, @Nonnull final Murmur3Hash.Hasher hasher) {
+
+        checkNotNull(hasher, "expected non-null hasher");
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        checkArgument(length >= 0 && length <= this.length() - offset, "expected length in range [0, %s], not %s",
+            this.length() - offset, length);
+
+        return hasher.putBytes(this.buffer, offset, length);
+    }
+
+    /**
+     * Computes the CRC-32 checksum of the bytes of this {@link RowBuffer}.
+     * <p>
+     * The checksum is that carried by the header of a RecordIO record holding the row.
+     *
+     * @return the CRC-32 checksum of the bytes of this {@link RowBuffer}.
+     * @see Crc32
+     */
+    public int crc32() {
+        return Crc32.compute(this.buffer, 0, this.length());
+    }
+
+    /**
+     * Computes the CRC-32 checksum of the bytes at the given {@code offset} within this {@link RowBuffer}.
+     * <p>
+     * The bytes are read in place.
+     *
+     * @param offset offset of the bytes to checksum within this {@link RowBuffer}.
+     * @param length number of bytes to checksum.
+     * @return the CRC-32 checksum of the bytes.
+     * @see Crc32
+     */
+    public int crc32(final int offset, final int length) {
+
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        checkArgument(length >= 0 && length <= this.length() - offset, "expected length in range [0, %s], not %s",
+            this.length() - offset, length);
+
+        return Crc32.compute(this.buffer, offset, length);
+    }
+
+    /**
+     * Verifies the bytes of this {@link RowBuffer} against a CRC-32 checksum.
+     *
+     * @param expected the expected CRC-32 checksum of the bytes of this {@link RowBuffer}.
+     * @return {@code true} if the bytes of this {@link RowBuffer} have checksum {@code expected}; {@code false}
+     * otherwise.
+     */
+    public boolean verifyCrc32(final int expected) {
+        return this.crc32() == expected;
+    }
+
+    /**
+     * Verifies the bytes at the given {@code offset} within this {@link RowBuffer} against a CRC-32 checksum.
+     *
+     * @param offset   offset of the bytes to verify within this {@link RowBuffer}.
+     * @param length   number of bytes to verify.
+     * @param expected the expected CRC-32 checksum of the bytes.
+     * @return {@code true} if the bytes have checksum {@code expected}; {@code false} otherwise.
+     */
+    public boolean verifyCrc32(final int offset, final int length, final int expected) {
+        return this.crc32(offset, length) == expected;
+    }
+
     /**
      * Read the value of a {@code FixedString} field at the given {@code offset} within this {@link RowBuffer}.
      *
@@ -464,6 +665,38 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Copy the UTF-8 encoded bytes of a {@code FixedString} field at the given {@code offset} to a {@link ByteBuf}.
+     *
+     * @param offset offset of a {@code FixedString} field within this {@link RowBuffer}.
+     * @param length number of bytes in the {@code FixedString} field.
+     * @param target buffer to which the bytes are written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     */
+    public int readFixedString(final int offset, final int length, @Nonnull final ByteBuf target) {
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        checkArgument(length >= 0, "expected non-negative length, not %s", length);
+        checkNotNull(target, "expected non-null target");
+        target.writeBytes(this.buffer, offset, length);
+        return length;
+    }
+
+    /**
+     * Decode the value of a {@code FixedString} field at the given {@code offset} to a {@link CharBuffer}.
+     *
+     * @param offset offset of a {@code FixedString} field within this {@link RowBuffer}.
+     * @param length number of bytes in the {@code FixedString} field.
+     * @param target buffer to which UTF-16 code units are written starting at its position.
+     * @return the number of {@code char}'s written to {@code target} or {@code -1}, if {@code target} does not have
+     * enough room.
+     * @see Utf8String#decodeUtf16(ByteBuf, int, int, CharBuffer)
+     */
+    public int readFixedString(final int offset, final int length, @Nonnull final CharBuffer target) {
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        checkArgument(length >= 0, "expected non-negative length, not %s", length);
+        return Utf8String.decodeUtf16(this.buffer, offset, length, target);
+    }
+
     /**
      * Read the value of a {@code Float128} field at the given {@code offset} within this {@link RowBuffer}.
      *
@@ -580,6 +813,26 @@ public final class RowBuffer {
         return this.read(() -> GuidCodec.decode(this.buffer), offset).value();
     }
 
+    /**
+     * Read the most significant bits of a {@code Guid} field at the given {@code offset} without allocating.
+     *
+     * @param offset offset of a {@code Guid} field within this {@link RowBuffer}.
+     * @return the most significant bits of the {@code Guid} value read.
+     */
+    public long readGuidHigh(final int offset) {
+        return GuidCodec.decodeHigh(this.buffer, offset);
+    }
+
+    /**
+     * Read the least significant bits of a {@code Guid} field at the given {@code offset} without allocating.
+     *
+     * @param offset offset of a {@code Guid} field within this {@link RowBuffer}.
+     * @return the least significant bits of the {@code Guid} value read.
+     */
+    public long readGuidLow(final int offset) {
+        return GuidCodec.decodeLow(this.buffer, offset);
+    }
+
     /**
      * Read the value of a {@code Header} field at the given {@code offset} within this {@link RowBuffer}.
      *
@@ -656,6 +909,20 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Copy the bytes of a {@code SparseBinary} field at the given {@link RowCursor edit} position to a {@link ByteBuf}.
+     *
+     * @param edit   {@link RowCursor edit} position of a {@code SparseBinary} field within this {@link RowBuffer}.
+     * @param target buffer to which the bytes are written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     */
+    public int readSparseBinary(@Nonnull final RowCursor edit, @Nonnull final ByteBuf target) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.BINARY);
+        final int length = this.readVariableBinary(edit.valueOffset(), target);
+        edit.endOffset(this.buffer.readerIndex());
+        return length;
+    }
+
     /**
      * Read the value of a {@code SparseBoolean} field at the given {@link RowCursor edit} position.
      *
@@ -676,10 +943,22 @@ public final class RowBuffer {
      */
     public OffsetDateTime readSparseDateTime(RowCursor edit) {
         this.readSparsePrimitiveTypeCode(edit, LayoutTypes.DATE_TIME);
-        edit.endOffset(edit.valueOffset() + Long.SIZE);
+        edit.endOffset(edit.valueOffset() + DateTimeCodec.BYTES);
         return this.readDateTime(edit.valueOffset());
     }
 
+    /**
+     * Read the ticks of a {@code SparseDateTime} field at the given {@link RowCursor edit} position without allocating.
+     *
+     * @param edit {@link RowCursor edit} position of a {@code SparseDateTime} field within this {@link RowBuffer}.
+     * @return the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} recorded by the field.
+     */
+    public long readSparseDateTimeTicks(@Nonnull final RowCursor edit) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.DATE_TIME);
+        edit.endOffset(edit.valueOffset() + DateTimeCodec.BYTES);
+        return this.readDateTimeTicks(edit.valueOffset());
+    }
+
     /**
      * Read the value of a {@code SparseDecimal} field at the given {@link RowCursor edit} position.
      *
@@ -692,6 +971,21 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Read the value of a {@code SparseDecimal} field at the given {@link RowCursor edit} position as an unscaled value
+     * and a scale.
+     *
+     * @param edit  {@link RowCursor edit} position of a {@code SparseDecimal} field within this {@link RowBuffer}.
+     * @param value receives the unscaled value and scale of the {@code SparseDecimal} field.
+     * @return {@code true}, if the magnitude of the field value fits in a {@code long}; otherwise, if {@code false},
+     * {@code value} is unchanged.
+     */
+    public boolean readSparseDecimal(@Nonnull final RowCursor edit, @Nonnull final UnscaledDecimal value) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.DECIMAL);
+        edit.endOffset(edit.valueOffset() + DecimalCodec.BYTES);
+        return this.readDecimal(edit.valueOffset(), value);
+    }
+
     /**
      * Read the value of a {@code SparseFloat128} field at the given {@link RowCursor edit} position.
      *
@@ -740,6 +1034,32 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Read the most significant bits of a {@code SparseGuid} field at the given {@link RowCursor edit} position
+     * without allocating.
+     *
+     * @param edit {@link RowCursor edit} position of a {@code SparseGuid} field within this {@link RowBuffer}.
+     * @return the most significant bits of the {@code SparseGuid} value read.
+     */
+    public long readSparseGuidHigh(@Nonnull final RowCursor edit) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.GUID);
+        edit.endOffset(edit.valueOffset() + GuidCodec.BYTES);
+        return this.readGuidHigh(edit.valueOffset());
+    }
+
+    /**
+     * Read the least significant bits of a {@code SparseGuid} field at the given {@link RowCursor edit} position
+     * without allocating.
+     *
+     * @param edit {@link RowCursor edit} position of a {@code SparseGuid} field within this {@link RowBuffer}.
+     * @return the least significant bits of the {@code SparseGuid} value read.
+     */
+    public long readSparseGuidLow(@Nonnull final RowCursor edit) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.GUID);
+        edit.endOffset(edit.valueOffset() + GuidCodec.BYTES);
+        return this.readGuidLow(edit.valueOffset());
+    }
+
     /**
      * Read the value of a {@code SparseInt16} field at the given {@link RowCursor edit} position.
      *
@@ -828,6 +1148,66 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Looks up the token assigned by a {@link StringTokenizer tokenizer} to the path of a {@code SparsePath} field at
+     * the given {@link RowCursor edit} position.
+     * <p>
+     * The path is matched in place. No {@link Utf8String} is materialized for it.
+     *
+     * @param edit      {@link RowCursor edit} position of a {@code SparsePath} field within this {@link RowBuffer}.
+     * @param tokenizer the tokenizer in which to look up the path.
+     * @return the token assigned to the path by {@code tokenizer} or {@code null}, if it assigns none.
+     */
+    @Nullable
+    public StringToken readSparsePathToken(@Nonnull final RowCursor edit, @Nonnull final StringTokenizer tokenizer) {
+
+        checkNotNull(edit, "expected non-null edit");
+        checkNotNull(tokenizer, "expected non-null tokenizer");
+
+        final StringTokenizer layoutTokenizer = edit.layout().tokenizer();
+        final int token = edit.pathToken();
+
+        if (token < layoutTokenizer.count()) {
+            final ByteBuf path = layoutTokenizer.findString(token).content();
+            return tokenizer.findToken(path, path.readerIndex(), path.readableBytes());
+        }
+
+        return tokenizer.findToken(this.buffer, edit.pathOffset(), token - layoutTokenizer.count());
+    }
+
+    /**
+     * Compares the path of a {@code SparsePath} field at the given {@link RowCursor edit} position with a path.
+     * <p>
+     * The path is compared in place. No {@link Utf8String} is materialized for it.
+     *
+     * @param edit {@link RowCursor edit} position of a {@code SparsePath} field within this {@link RowBuffer}.
+     * @param path the path to compare.
+     * @return {@code true} if the path of the field is equal to {@code path}; otherwise {@code false}.
+     */
+    public boolean sparsePathEquals(@Nonnull final RowCursor edit, @Nonnull final Utf8String path) {
+
+        checkNotNull(edit, "expected non-null edit");
+        checkNotNull(path, "expected non-null path");
+
+        if (path.isNull()) {
+            return false;
+        }
+
+        final StringTokenizer tokenizer = edit.layout().tokenizer();
+        final ByteBuf content = path.content();
+        final int token = edit.pathToken();
+
+        if (token < tokenizer.count()) {
+            final StringToken match = tokenizer.findToken(content, content.readerIndex(), content.readableBytes());
+            return match != null && match.id() == token;
+        }
+
+        final int length = token - tokenizer.count();
+
+        return length == content.readableBytes()
+            && ByteBufUtil.equals(this.buffer, edit.pathOffset(), content, content.readerIndex(), length);
+    }
+
     /**
      * Read the value of a {@code SparsePathLen} field at the given {@code offset} position.
      *
@@ -875,6 +1255,38 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Copy the UTF-8 encoded bytes of a {@code SparseString} field at the given {@link RowCursor edit} position to a
+     * {@link ByteBuf}.
+     *
+     * @param edit   {@link RowCursor edit} position of a {@code SparseString} field within this {@link RowBuffer}.
+     * @param target buffer to which the bytes are written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     */
+    public int readSparseString(@Nonnull final RowCursor edit, @Nonnull final ByteBuf target) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.UTF_8);
+        final int length = this.readVariableString(edit.valueOffset(), target);
+        edit.endOffset(this.buffer.readerIndex());
+        return length;
+    }
+
+    /**
+     * Decode the value of a {@code SparseString} field at the given {@link RowCursor edit} position to a
+     * {@link CharBuffer}.
+     *
+     * @param edit   {@link RowCursor edit} position of a {@code SparseString} field within this {@link RowBuffer}.
+     * @param target buffer to which UTF-16 code units are written starting at its position.
+     * @return the number of {@code char}'s written to {@code target} or {@code -1}, if {@code target} does not have
+     * enough room.
+     * @see Utf8String#decodeUtf16(ByteBuf, int, int, CharBuffer)
+     */
+    public int readSparseString(@Nonnull final RowCursor edit, @Nonnull final CharBuffer target) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.UTF_8);
+        final int count = this.readVariableString(edit.valueOffset(), target);
+        edit.endOffset(this.buffer.readerIndex());
+        return count;
+    }
+
     /**
      * Read the value of a {@code SparseTypeCode} field at the given {@code offset} position.
      *
@@ -948,6 +1360,19 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Read the milliseconds of a {@code SparseUnixDateTime} field at the given {@link RowCursor edit} position without
+     * allocating.
+     *
+     * @param edit {@link RowCursor edit} position of a {@code SparseUnixDateTime} field within this {@link RowBuffer}.
+     * @return the number of milliseconds since the Unix epoch recorded by the field.
+     */
+    public long readSparseUnixMillis(@Nonnull final RowCursor edit) {
+        this.readSparsePrimitiveTypeCode(edit, LayoutTypes.UNIX_DATE_TIME);
+        edit.endOffset(edit.valueOffset() + UnixDateTime.BYTES);
+        return this.readUnixMillis(edit.valueOffset());
+    }
+
     /**
      * Read the value of a {@code SparseVarInt} field at the given {@link RowCursor edit} position.
      *
@@ -1027,6 +1452,16 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Read the milliseconds of a {@code UnixDateTime} field at the given {@code offset} without allocating.
+     *
+     * @param offset position of a {@code UnixDateTime} field within this {@link RowBuffer}.
+     * @return the number of milliseconds since the Unix epoch recorded by the field.
+     */
+    public long readUnixMillis(final int offset) {
+        return this.buffer.getLongLE(offset);
+    }
+
     /**
      * Read the value of a {@code VariableBinary} field at the given {@code offset} position.
      *
@@ -1038,6 +1473,21 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Copy the bytes of a {@code VariableBinary} field at the given {@code offset} to a {@link ByteBuf}.
+     *
+     * @param offset position of a {@code VariableBinary} field within this {@link RowBuffer}.
+     * @param target buffer to which the bytes are written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     */
+    public int readVariableBinary(final int offset, @Nonnull final ByteBuf target) {
+        checkNotNull(target, "expected non-null target");
+        final int length = this.readLengthPrefix(offset);
+        target.writeBytes(this.buffer, this.buffer.readerIndex(), length);
+        this.buffer.skipBytes(length);
+        return length;
+    }
+
     /**
      * Read the value of a {@code VariableInt} field at the given {@code offset} position.
      *
@@ -1060,6 +1510,37 @@ public final class RowBuffer {
         return item.value();
     }
 
+    /**
+     * Copy the UTF-8 encoded bytes of a {@code VariableString} field at the given {@code offset} to a {@link ByteBuf}.
+     *
+     * @param offset position of a {@code VariableString} field within this {@link RowBuffer}.
+     * @param target buffer to which the bytes are written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     */
+    public int readVariableString(final int offset, @Nonnull final ByteBuf target) {
+        checkNotNull(target, "expected non-null target");
+        final int length = this.readLengthPrefix(offset);
+        target.writeBytes(this.buffer, this.buffer.readerIndex(), length);
+        this.buffer.skipBytes(length);
+        return length;
+    }
+
+    /**
+     * Decode the value of a {@code VariableString} field at the given {@code offset} to a {@link CharBuffer}.
+     *
+     * @param offset position of a {@code VariableString} field within this {@link RowBuffer}.
+     * @param target buffer to which UTF-16 code units are written starting at its position.
+     * @return the number of {@code char}'s written to {@code target} or {@code -1}, if {@code target} does not have
+     * enough room.
+     * @see Utf8String#decodeUtf16(ByteBuf, int, int, CharBuffer)
+     */
+    public int readVariableString(final int offset, @Nonnull final CharBuffer target) {
+        final int length = this.readLengthPrefix(offset);
+        final int count = Utf8String.decodeUtf16(this.buffer, this.buffer.readerIndex(), length, target);
+        this.buffer.skipBytes(length);
+        return count;
+    }
+
     /**
      * Read the value of a {@code VariableUInt} field at the given {@code offset} position.
      *
@@ -1088,7 +1569,13 @@ public final class RowBuffer {
      * Clears all content from the row. The row is empty after this method.
      */
     public void reset() {
+        if (this.buffer instanceof CompositeByteBuf) {
+            final CompositeByteBuf composite = (CompositeByteBuf) this.buffer;
+            final int capacity = composite.capacity();
+            composite.removeComponents(0, composite.numComponents()).capacity(capacity);
+        }
         this.buffer.clear();
+        this.referencedLength = 0;
         this.resolver = null;
     }
 
@@ -1487,10 +1974,11 @@ public final class RowBuffer {
     public int write7BitEncodedUInt(final long value) {
         checkArgument(0 <= value && value <= 0x00000000FFFFFFFFL, "expected value in range [0, %s], not %s", 0x00000000FFFFFFFFL, value);
         long n = value;
-        int i = 0;
+        int i = 1;
         while (n >= 0x80L) {
             this.buffer.writeByte((byte) (n | 0x80L));
             n >>>= 7;
+            i++;
         }
         this.buffer.writeByte((byte) n);
         return i;
@@ -1500,10 +1988,46 @@ public final class RowBuffer {
         Item<OffsetDateTime> item = this.write(this::writeDateTime, offset, value);
     }
 
+    /**
+     * Write a {@code DateTime} field given as a number of ticks at the given {@code offset}.
+     *
+     * @param offset offset of a {@code DateTime} field within this {@link RowBuffer}.
+     * @param ticks  the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} UTC.
+     * @see DateTimeCodec#encodeTicks
+     */
+    public void writeDateTimeTicks(final int offset, final long ticks) {
+
+        final int priorWriterIndex = this.beginWrite(offset);
+
+        try {
+            DateTimeCodec.encodeTicks(ticks, this.buffer);
+        } finally {
+            this.endWrite(priorWriterIndex);
+        }
+    }
+
     public void writeDecimal(int offset, BigDecimal value) {
         Item<BigDecimal> item = this.write(this::writeDecimal, offset, value);
     }
 
+    /**
+     * Write a {@code Decimal} field given as an unscaled value and a scale at the given {@code offset}.
+     *
+     * @param offset        offset of a {@code Decimal} field within this {@link RowBuffer}.
+     * @param unscaledValue the unscaled value of the field.
+     * @param scale         the number of digits to the right of the decimal point, a value between 0 and 28.
+     */
+    public void writeDecimal(final int offset, final long unscaledValue, final int scale) {
+
+        final int priorWriterIndex = this.beginWrite(offset);
+
+        try {
+            DecimalCodec.encode(unscaledValue, scale, this.buffer);
+        } finally {
+            this.endWrite(priorWriterIndex);
+        }
+    }
+
     public void writeFixedBinary(final int offset, @Nonnull final ByteBuf value, final int length) {
 
         checkNotNull(value, "expected non-null value");
@@ -1566,25 +2090,43 @@ public final class RowBuffer {
         Item<UUID> item = this.write(this::writeGuid, offset, value);
     }
 
+    /**
+     * Write a {@code Guid} field given as its most and least significant bits at the given {@code offset}.
+     *
+     * @param offset offset of a {@code Guid} field within this {@link RowBuffer}.
+     * @param high   the most significant bits of the value.
+     * @param low    the least significant bits of the value.
+     */
+    public void writeGuid(final int offset, final long high, final long low) {
+
+        final int priorWriterIndex = this.beginWrite(offset);
+
+        try {
+            GuidCodec.encode(high, low, this.buffer);
+        } finally {
+            this.endWrite(priorWriterIndex);
+        }
+    }
+
     public void writeHeader(HybridRowHeader value) {
         this.buffer.writeByte(value.version().value());
         this.buffer.writeIntLE(value.schemaId().value());
     }
 
-    public void writeInt16(final int ignored, final short value) {
-        this.buffer.writeShortLE(value);
+    public void writeInt16(final int offset, final short value) {
+        final Item<Integer> item = this.write(this.buffer::writeShortLE, offset, (int) value);
     }
 
-    public void writeInt32(final int ignored, final int value) {
-        this.buffer.writeIntLE(value);
+    public void writeInt32(final int offset, final int value) {
+        final Item<Integer> item = this.write(this.buffer::writeIntLE, offset, value);
     }
 
-    public void writeInt64(final int ignored, final long value) {
-        this.buffer.writeLongLE(value);
+    public void writeInt64(final int offset, final long value) {
+        final Item<Long> item = this.write(this.buffer::writeLongLE, offset, value);
     }
 
-    public void writeInt8(final int ignored, final byte value) {
-        this.buffer.writeByte(value);
+    public void writeInt8(final int offset, final byte value) {
+        final Item<Integer> item = this.write(this.buffer::writeByte, offset, (int) value);
     }
 
     @Nonnull
@@ -1682,6 +2224,11 @@ public final class RowBuffer {
         checkNotNull(value, "expected non-null value");
         checkNotNull(options, "expected non-null options");
 
+        if (!edit.exists() && this.canReference(edit.metaOffset(), value)) {
+            this.writeSparseBinaryReference(edit, value, options);
+            return;
+        }
+
         final int length = RowBuffer.count7BitEncodedUInt(value.readableBytes()) + value.readableBytes();
         final LayoutType type = LayoutTypes.BINARY;
 
@@ -1752,6 +2299,31 @@ public final class RowBuffer {
         edit.endOffset(edit.metaOffset() + spaceNeeded.get());
     }
 
+    public void writeSparseDateTimeTicks(
+        @Nonnull final RowCursor edit, final long ticks, @Nonnull final UpdateOptions options) {
+
+        checkNotNull(edit, "expected non-null edit");
+        checkNotNull(options, "expected non-null options");
+
+        final LayoutType type = LayoutTypes.DATE_TIME;
+        final int length = DateTimeCodec.BYTES;
+
+        final Out<Integer> metaBytes = new Out<>();
+        final Out<Integer> spaceNeeded = new Out<>();
+        final Out<Integer> shift = new Out<>();
+
+        final int priorLength = this.length();
+
+        this.ensureSparse(length, edit, type, TypeArgumentList.EMPTY, options, metaBytes, spaceNeeded, shift);
+        this.writeSparseMetadata(edit, type, TypeArgumentList.EMPTY, metaBytes.get());
+        this.writeDateTimeTicks(edit.valueOffset(), ticks);
+
+        checkState(spaceNeeded.get() == metaBytes.get() + length);
+        checkState(this.length() == priorLength + shift.get());
+
+        edit.endOffset(edit.metaOffset() + spaceNeeded.get());
+    }
+
     public void writeSparseDecimal(
         @Nonnull final RowCursor edit, @Nonnull final BigDecimal value, @Nonnull final UpdateOptions options) {
 
@@ -1778,6 +2350,31 @@ public final class RowBuffer {
         edit.endOffset(edit.metaOffset() + spaceNeeded.get());
     }
 
+    public void writeSparseDecimal(
+        @Nonnull final RowCursor edit, final long unscaledValue, final int scale, @Nonnull final UpdateOptions options) {
+
+        checkNotNull(edit, "expected non-null edit");
+        checkNotNull(options, "expected non-null options");
+
+        final LayoutType type = LayoutTypes.DECIMAL;
+        final int length = DecimalCodec.BYTES;
+
+        final Out<Integer> metaBytes = new Out<>();
+        final Out<Integer> spaceNeeded = new Out<>();
+        final Out<Integer> shift = new Out<>();
+
+        final int priorLength = this.length();
+
+        this.ensureSparse(length, edit, type, TypeArgumentList.EMPTY, options, metaBytes, spaceNeeded, shift);
+        this.writeSparseMetadata(edit, type, TypeArgumentList.EMPTY, metaBytes.get());
+        this.writeDecimal(edit.valueOffset(), unscaledValue, scale);
+
+        checkState(spaceNeeded.get() == metaBytes.get() + length);
+        checkState(this.length() == priorLength + shift.get());
+
+        edit.endOffset(edit.metaOffset() + spaceNeeded.get());
+    }
+
     public void writeSparseFloat128(
         @Nonnull final RowCursor edit, @Nonnull final Float128 value, @Nonnull final UpdateOptions options) {
 
@@ -1878,6 +2475,31 @@ public final class RowBuffer {
         edit.endOffset(edit.metaOffset() + spaceNeeded.get());
     }
 
+    public void writeSparseGuid(
+        @Nonnull final RowCursor edit, final long high, final long low, @Nonnull final UpdateOptions options) {
+
+        checkNotNull(edit, "expected non-null edit");
+        checkNotNull(options, "expected non-null options");
+
+        final LayoutType type = LayoutTypes.GUID;
+        final int length = GuidCodec.BYTES;
+
+        final Out<Integer> metaBytes = new Out<>();
+        final Out<Integer> spaceNeeded = new Out<>();
+        final Out<Integer> shift = new Out<>();
+
+        final int priorLength = this.length();
+
+        this.ensureSparse(length, edit, type, TypeArgumentList.EMPTY, options, metaBytes, spaceNeeded, shift);
+        this.writeSparseMetadata(edit, type, TypeArgumentList.EMPTY, metaBytes.get());
+        this.writeGuid(edit.valueOffset(), high, low);
+
+        checkState(spaceNeeded.get() == metaBytes.get() + length);
+        checkState(this.length() == priorLength + shift.get());
+
+        edit.endOffset(edit.metaOffset() + spaceNeeded.get());
+    }
+
     public void writeSparseInt16(@Nonnull final RowCursor edit, short value, @Nonnull final UpdateOptions options) {
 
         checkNotNull(edit, "expected non-null edit");
@@ -2266,6 +2888,31 @@ public final class RowBuffer {
         edit.endOffset(edit.metaOffset() + spaceNeeded.get());
     }
 
+    public void writeSparseUnixMillis(
+        @Nonnull final RowCursor edit, final long millis, @Nonnull final UpdateOptions options) {
+
+        checkNotNull(edit, "expected non-null edit");
+        checkNotNull(options, "expected non-null options");
+
+        final LayoutType type = LayoutTypes.UNIX_DATE_TIME;
+        final int length = UnixDateTime.BYTES;
+
+        final Out<Integer> metaBytes = new Out<>();
+        final Out<Integer> spaceNeeded = new Out<>();
+        final Out<Integer> shift = new Out<>();
+
+        final int priorLength = this.length();
+
+        this.ensureSparse(length, edit, type, TypeArgumentList.EMPTY, options, metaBytes, spaceNeeded, shift);
+        this.writeSparseMetadata(edit, type, TypeArgumentList.EMPTY, metaBytes.get());
+        this.writeUnixMillis(edit.valueOffset(), millis);
+
+        checkState(spaceNeeded.get() == metaBytes.get() + length);
+        checkState(this.length() == priorLength + shift.get());
+
+        edit.endOffset(edit.metaOffset() + spaceNeeded.get());
+    }
+
     public void writeSparseVarInt(@Nonnull final RowCursor edit, final long value, @Nonnull final UpdateOptions options) {
 
         checkNotNull(edit, "expected non-null edit");
@@ -2324,6 +2971,24 @@ public final class RowBuffer {
         this.buffer.getBytes(0, stream, this.length());
     }
 
+    /**
+     * Writes the content of the buffer on to a {@link GatheringByteChannel}.
+     * <p>
+     * The content of an append-only row, including any binary values held by reference, is written with gathering
+     * writes and without an intermediate copy. This method blocks until the entire row has been written.
+     *
+     * @param channel the target {@link GatheringByteChannel}
+     * @throws IOException if the specified {@code channel} throws an {@link IOException} during output
+     */
+    public void writeTo(@Nonnull final GatheringByteChannel channel) throws IOException {
+        checkNotNull(channel, "expected non-null channel");
+        final int length = this.length();
+        int offset = 0;
+        while (offset < length) {
+            offset += this.buffer.getBytes(offset, channel, length - offset);
+        }
+    }
+
     @Nonnull
     public RowCursor writeTypedArray(
         @Nonnull final RowCursor edit,
@@ -2478,6 +3143,23 @@ public final class RowBuffer {
         final Item<Long> item = this.write(this::writeUInt64, offset, value.milliseconds());
     }
 
+    /**
+     * Write a {@code UnixDateTime} field given as a number of milliseconds at the given {@code offset}.
+     *
+     * @param offset offset of a {@code UnixDateTime} field within this {@link RowBuffer}.
+     * @param millis the number of milliseconds since the Unix epoch.
+     */
+    public void writeUnixMillis(final int offset, final long millis) {
+
+        final int priorWriterIndex = this.beginWrite(offset);
+
+        try {
+            this.buffer.writeLongLE(millis);
+        } finally {
+            this.endWrite(priorWriterIndex);
+        }
+    }
+
     public void writeVariableBinary(
         final int offset, @Nonnull final ByteBuf value, final boolean exists, @Nonnull final Out<Integer> shift) {
 
@@ -2485,14 +3167,22 @@ public final class RowBuffer {
         checkNotNull(shift, "expected non-null shift");
 
         final int length = value.readableBytes();
-        final Out<Integer> spaceNeeded = new Out<>();
-
         final int priorLength = this.length();
 
+        if (!exists && this.canReference(offset, value)) {
+            final Item<Long> item = this.write(this::write7BitEncodedUInt, offset, (long) length);
+            this.appendReference(value);
+            shift.set(item.length() + length);
+            checkState(this.length() == priorLength + shift.get());
+            return;
+        }
+
+        final Out<Integer> spaceNeeded = new Out<>();
+
         this.ensureVariable(offset, false, length, exists, spaceNeeded, shift);
         final Item<ByteBuf> item = this.write(this::writeVariableBinary, offset, value);
 
-        checkState(spaceNeeded.get() == length + item.length());
+        checkState(spaceNeeded.get() == item.length());
         checkState(this.length() == priorLength + shift.get());
     }
 
@@ -2530,7 +3220,7 @@ public final class RowBuffer {
         this.ensureVariable(offset, false, length, exists, spaceNeeded, shift);
         Item<Utf8String> item = this.write(this::writeVariableString, offset, value);
 
-        checkState(spaceNeeded.get() == length + item.length());
+        checkState(spaceNeeded.get() == item.length());
         checkState(this.length() == priorLength + shift.get());
 
         return shift.get();
@@ -2603,10 +3293,8 @@ public final class RowBuffer {
             return -1;
         }
 
-        ByteBuf sliceLeft = this.buffer.slice(left.valueOffset(), leftLength);
-        ByteBuf sliceRight = this.buffer.slice(right.valueOffset(), rightLength);
-
-        return sliceLeft.compareTo(sliceRight);
+        return BinaryCollation.compare(this.buffer, left.valueOffset(), leftLength, this.buffer, right.valueOffset(),
+            rightLength);
     }
 
     /**
@@ -2774,10 +3462,25 @@ public final class RowBuffer {
 
     private static int countSparsePath(@Nonnull final RowCursor edit) {
 
-        if (!edit.writePathToken().isNull()) {
-            StringToken token = edit.writePathToken();
-            ByteBuf varint = token.varint();
-            return varint.readerIndex() + varint.readableBytes();
+        if (edit.writePathToken() != null && !edit.writePathToken().isNull()) {
+            return edit.writePathToken().varint().readableBytes();
+        }
+
+        if (edit.writePath().isUtf16()) {
+
+            // Intern the path so that neither this nor subsequent writes of the same path transcode or tokenize it
+
+            final LayoutPath path = edit.layout().internPath(edit.writePath().toUtf16());
+            final Optional<StringToken> token = path.token();
+
+            if (token.isPresent()) {
+                edit.writePathToken(token.get());
+                return token.get().varint().readableBytes();
+            }
+
+            edit.writePath(new UtfAnyString(path.path()));
+            final int numBytes = path.path().encodedLength();
+            return RowBuffer.count7BitEncodedUInt(edit.layout().tokenizer().count() + numBytes) + numBytes;
         }
 
         Optional<StringToken> optional = edit.layout().tokenizer().tryFindToken(edit.writePath());
@@ -2785,19 +3488,38 @@ public final class RowBuffer {
         if (optional.isPresent()) {
             StringToken token = optional.get();
             edit.writePathToken(token);
-            ByteBuf varint = token.varint();
-            return varint.readerIndex() + varint.readableBytes();
+            return token.varint().readableBytes();
         }
 
         Utf8String path = edit.writePath().toUtf8();
         assert path != null;
 
-        int numBytes = path.length();
+        int numBytes = path.encodedLength();
         int sizeLenInBytes = RowBuffer.count7BitEncodedUInt(edit.layout().tokenizer().count() + numBytes);
 
         return sizeLenInBytes + numBytes;
     }
 
+    /**
+     * Appends a binary value to the end of an append-only row by reference.
+     *
+     * @param value the binary value to append.
+     */
+    private void appendReference(@Nonnull final ByteBuf value) {
+
+        final CompositeByteBuf composite = (CompositeByteBuf) this.buffer;
+
+        // Trim unused capacity so that the new component starts at the writer index
+
+        composite.capacity(composite.writerIndex());
+        composite.addComponent(true, value.retainedSlice().asReadOnly());
+        this.referencedLength = composite.writerIndex();
+    }
+
+    private boolean canReference(final int offset, @Nonnull final ByteBuf value) {
+        return this.referenceThreshold > 0 && value.readableBytes() >= this.referenceThreshold && offset == this.length();
+    }
+
     private void ensure(int size) {
         this.buffer.ensureWritable(size);
     }
@@ -2928,13 +3650,19 @@ public final class RowBuffer {
         @Nonnull final Out<Integer> shift) {
 
         int spaceAvailable = 0;
-        long existingValueBytes = exists ? 0 : this.read7BitEncodedUInt(offset);
+        long existingValueBytes = 0;
+
+        if (exists) {
+            final Out<Integer> lengthInBytes = new Out<>();
+            existingValueBytes = this.readVariableUInt(offset, lengthInBytes);
+            spaceAvailable = lengthInBytes.get();
+        }
 
         if (isVarint) {
             spaceNeeded.set(length);
         } else {
             assert existingValueBytes <= Integer.MAX_VALUE;
-            spaceAvailable += (int) existingValueBytes;
+            spaceAvailable += (int) existingValueBytes; // size already in spaceAvailable
             spaceNeeded.set(length + RowBuffer.count7BitEncodedUInt(length));
         }
 
@@ -3002,11 +3730,13 @@ public final class RowBuffer {
                 rightEdit.valueOffset(y.valueOffset());
 
                 int cmp;
+                // Neither comparison modifies the edits, so they are reused without cloning
+
                 if (scope.scopeType() instanceof LayoutTypedMap) {
-                    cmp = this.compareKeyValueFieldValue(leftEdit.clone(), rightEdit.clone());
+                    cmp = this.compareKeyValueFieldValue(leftEdit, rightEdit);
                 } else {
                     int rightBytes = y.size() - (y.valueOffset() - y.metaOffset());
-                    cmp = this.compareFieldValue(leftEdit.clone(), leftBytes, rightEdit.clone(), rightBytes);
+                    cmp = this.compareFieldValue(leftEdit, leftBytes, rightEdit, rightBytes);
                 }
 
                 // If there are duplicates then fail.
@@ -3029,6 +3759,27 @@ public final class RowBuffer {
         return true;
     }
 
+    /**
+     * Positions the writer index of the underlying buffer for a write at {@code offset} without allocating.
+     *
+     * @param offset offset of the field to be written.
+     * @return the prior writer index, which must be passed to {@link #endWrite} when the write is complete.
+     */
+    private int beginWrite(final int offset) {
+
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+
+        final int priorWriterIndex = this.buffer.writerIndex();
+        this.buffer.setIndex(Math.min(this.buffer.readerIndex(), offset), offset);
+        return priorWriterIndex;
+    }
+
+    private void endWrite(final int priorWriterIndex) {
+        if (priorWriterIndex > this.buffer.writerIndex()) {
+            this.buffer.writerIndex(priorWriterIndex);
+        }
+    }
+
     private <T> Item<T> read(@Nonnull final Supplier<T> reader, @Nonnull final RowCursor cursor) {
 
         checkNotNull(reader, "expected non-null reader");
@@ -3175,7 +3926,8 @@ public final class RowBuffer {
             }
 
             Out<Integer> lengthInBytes = new Out<>();
-            edit.cellTypeArgs(edit.cellType().readTypeArgumentList(this, edit.valueOffset(), lengthInBytes));
+            edit.cellTypeArgs(edit.layout().readTypeArgumentList(this, edit.cellType(), edit.valueOffset(),
+                lengthInBytes));
             edit.valueOffset(edit.valueOffset() + lengthInBytes.get());
         }
 
@@ -3235,6 +3987,18 @@ public final class RowBuffer {
         return Utf8String.fromUnsafe(this.buffer.readSlice((int)length));
     }
 
+    /**
+     * Reads the length prefix of a variable length string or binary value at {@code offset}, leaving the reader index
+     * of the buffer at the first byte of the value.
+     */
+    private int readLengthPrefix(final int offset) {
+        checkArgument(offset >= 0, "expected non-negative offset, not %s", offset);
+        this.buffer.readerIndex(offset);
+        long length = this.read7BitEncodedUInt();
+        checkState(length <= Integer.MAX_VALUE, "expected length <= %s, not %s", Integer.MAX_VALUE, length);
+        return (int) length;
+    }
+
     private ByteBuf readVariableBinary() {
         long length = this.read7BitEncodedUInt();
         checkState(length <= Integer.MAX_VALUE, "expected length <= %s, not %s", Integer.MAX_VALUE, length);
@@ -3243,10 +4007,14 @@ public final class RowBuffer {
 
     private void shift(int destination, int source, int length) {
         if (source != destination) {
+            checkState(Math.min(source, destination) >= this.referencedLength,
+                "cannot move bytes of a binary value held by reference at offset %s", this.referencedLength);
+            this.ensure(Math.max(0, destination + length - this.buffer.writerIndex()));
             if (length > 0) {
                 this.buffer.setBytes(destination, this.buffer, source, length);
             }
-            this.buffer.writerIndex(destination + length);
+            final int writerIndex = destination + length;
+            this.buffer.setIndex(Math.min(this.buffer.readerIndex(), writerIndex), writerIndex);
         }
     }
 
@@ -3399,7 +4167,7 @@ public final class RowBuffer {
         checkArgument(offset >= 0, "expected non-negative offset");
 
         final int priorWriterIndex = this.buffer.writerIndex();
-        this.buffer.writerIndex(offset);
+        this.buffer.setIndex(Math.min(this.buffer.readerIndex(), offset), offset);
         final int length;
 
         try {
@@ -3578,13 +4346,39 @@ public final class RowBuffer {
     }
 
     private void writeFixedString(Utf8String value) {
-        this.buffer.writeBytes(value.content(), value.encodedLength());
+        this.buffer.writeBytes(value.content(), 0, value.encodedLength());
     }
 
     private void writeGuid(UUID value) {
         GuidCodec.encode(value, this.buffer);
     }
 
+    private void writeSparseBinaryReference(
+        @Nonnull final RowCursor edit, @Nonnull final ByteBuf value, @Nonnull final UpdateOptions options) {
+
+        final int valueLength = value.readableBytes();
+        final int length = RowBuffer.count7BitEncodedUInt(valueLength);
+        final LayoutType type = LayoutTypes.BINARY;
+
+        final Out<Integer> metaBytes = new Out<>();
+        final Out<Integer> shift = new Out<>();
+        final Out<Integer> spaceNeeded = new Out<>();
+
+        final int priorLength = this.length();
+
+        // Only the metadata and length prefix are written into the row; the value itself is appended by reference
+
+        this.ensureSparse(length, edit, type, TypeArgumentList.EMPTY, options, metaBytes, spaceNeeded, shift);
+        this.writeSparseMetadata(edit, type, TypeArgumentList.EMPTY, metaBytes.get());
+        this.write(this::write7BitEncodedUInt, edit.valueOffset(), (long) valueLength);
+        this.appendReference(value);
+
+        checkState(spaceNeeded.get() == metaBytes.get() + length);
+        checkState(this.length() == priorLength + shift.get() + valueLength);
+
+        edit.endOffset(edit.metaOffset() + spaceNeeded.get() + valueLength);
+    }
+
     private void writeSparseMetadata(
         @Nonnull final RowCursor edit, @Nonnull final LayoutType cellType, @Nonnull final TypeArgumentList typeArgs,
         final int metaBytes) {
@@ -3614,17 +4408,16 @@ public final class RowBuffer {
             return;
         }
 
-        final StringTokenizer tokenizer = edit.layout().tokenizer();
-        final Optional<StringToken> writePathToken = tokenizer.tryFindToken(edit.writePath());
+        // The path was tokenized or interned by countSparsePath when space for this field was ensured
 
-        checkState(!(writePathToken.isPresent() && edit.writePathToken().isNull()));
+        final StringTokenizer tokenizer = edit.layout().tokenizer();
+        final boolean hasWritePathToken = edit.writePathToken() != null && !edit.writePathToken().isNull();
 
-        if (!edit.writePathToken().isNull()) {
-            this.write(this.buffer::writeBytes, offset, edit.writePathToken().varint());
+        if (hasWritePathToken) {
+            this.write(this.buffer::writeBytes, offset, edit.writePathToken().varint().duplicate());
             edit.pathToken((int) edit.writePathToken().id());
             edit.pathOffset(offset);
         } else {
-            // TODO: It would be better if we could avoid allocating here when the path is UTF16
             Utf8String writePath = edit.writePath().toUtf8();
             checkState(writePath != null);
             edit.pathToken(tokenizer.count() + writePath.encodedLength());
@@ -3663,9 +4456,9 @@ public final class RowBuffer {
 
     private void writeVariableString(@Nonnull final Utf8String value) {
         final int length = this.write7BitEncodedUInt((long) value.encodedLength());
-        assert length == value.encodedLength();
+        assert length == RowBuffer.count7BitEncodedUInt(value.encodedLength());
         assert value.content() != null;
-        this.buffer.writeBytes(value.content().readerIndex(0));
+        this.buffer.writeBytes(value.content(), 0, value.encodedLength());
     }
 
     private static class Item<T> {
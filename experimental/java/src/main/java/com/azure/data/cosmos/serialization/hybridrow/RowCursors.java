@@ -3,6 +3,7 @@
 
 package com.azure.data.cosmos.serialization.hybridrow;
 
+import com.azure.data.cosmos.core.Utf8String;
 import com.azure.data.cosmos.core.UtfAnyString;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutEndScope;
@@ -22,8 +23,17 @@ public final class RowCursors {
         checkArgument(!edit.scopeType().isIndexedScope());
 
         if (!(edit.cellType() instanceof LayoutEndScope)) {
+
+            // Paths are matched in place: by token, if the path has one, and otherwise by their UTF-8 encoding
+
+            final StringToken token = edit.layout().tokenizer().tryFindToken(path).orElse(null);
+            final Utf8String utf8 = token == null && !path.isNull() ? path.toUtf8() : null;
+
             while (row.sparseIteratorMoveNext(edit)) {
-                if (path.equals(row.readSparsePath(edit))) {
+                final boolean found = token != null
+                    ? token.id() == (long) edit.pathToken()
+                    : utf8 != null && row.sparsePathEquals(edit, utf8);
+                if (found) {
                     edit.exists(true);
                     break;
                 }
@@ -90,9 +100,9 @@ public final class RowCursors {
 
     public static boolean moveNext(@Nonnull RowCursor edit, @Nonnull RowBuffer row, @Nonnull RowCursor childScope) {
         if (childScope.scopeType() != null) {
-            RowCursors.skip(edit.clone(), row, childScope);
+            RowCursors.skip(edit, row, childScope);
         }
-        return RowCursors.moveNext(edit.clone(), row);
+        return RowCursors.moveNext(edit, row);
     }
 
     public static boolean moveTo(@Nonnull final RowCursor edit, @Nonnull final RowBuffer row, final int index) {
@@ -0,0 +1,80 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents a decimal number as a 64-bit unscaled value and a scale.
+ * <p>
+ * The value of an {@link UnscaledDecimal} is {@code unscaledValue × 10^-scale}. Instances are mutable so that a single
+ * instance can receive the {@code Decimal} fields of many rows without allocating. {@code Decimal} fields whose
+ * magnitude does not fit in a {@code long} must be read as {@link BigDecimal}s.
+ */
+public final class UnscaledDecimal {
+
+    private int scale;
+    private long unscaledValue;
+
+    /**
+     * Initializes a new instance of the {@link UnscaledDecimal} class with a value of zero.
+     */
+    public UnscaledDecimal() {
+    }
+
+    /**
+     * Initializes a new instance of the {@link UnscaledDecimal} class.
+     *
+     * @param unscaledValue the unscaled value.
+     * @param scale         the number of digits to the right of the decimal point.
+     */
+    public UnscaledDecimal(final long unscaledValue, final int scale) {
+        this.set(unscaledValue, scale);
+    }
+
+    /**
+     * The number of digits to the right of the decimal point.
+     *
+     * @return the number of digits to the right of the decimal point.
+     */
+    public int scale() {
+        return this.scale;
+    }
+
+    /**
+     * Sets the value of this {@link UnscaledDecimal}.
+     *
+     * @param unscaledValue the unscaled value.
+     * @param scale         the number of digits to the right of the decimal point.
+     * @return a reference to this {@link UnscaledDecimal}.
+     */
+    public UnscaledDecimal set(final long unscaledValue, final int scale) {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        return this;
+    }
+
+    /**
+     * Converts this {@link UnscaledDecimal} to a {@link BigDecimal}.
+     *
+     * @return a new {@link BigDecimal} with the value of this {@link UnscaledDecimal}.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(this.unscaledValue, this.scale);
+    }
+
+    @Override
+    public String toString() {
+        return this.toBigDecimal().toString();
+    }
+
+    /**
+     * The unscaled value.
+     *
+     * @return the unscaled value.
+     */
+    public long unscaledValue() {
+        return this.unscaledValue;
+    }
+}
@@ -96,6 +96,22 @@ public final class DateTimeCodec {
         return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), zoneOffset);
     }
 
+    /**
+     * Decode the ticks of a {@code System.DateTime} serialized by {@code MemoryMarshal.Write} without allocating.
+     * <p>
+     * The ticks are the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} in the kind of time recorded
+     * with the value, which is UTC for values written by {@link #encodeTicks}. The reader and writer indexes of
+     * {@code in} are unchanged.
+     *
+     * @param in    a {@link ByteBuf} containing the serialized value to be decoded.
+     * @param index the index of the serialized value within {@code in}.
+     * @return the number of ticks encoded at {@code index}.
+     */
+    public static long decodeTicks(@Nonnull final ByteBuf in, final int index) {
+        checkNotNull(in, "expected non-null in");
+        return in.getLongLE(index) & TICKS_MASK;
+    }
+
     /**
      * Encode an {@link OffsetDateTime} like a {@code System.DateTime} serialized by {@code MemoryMarshal.Write}.
      *
@@ -118,11 +134,7 @@ public final class DateTimeCodec {
      */
     public static void encode(final OffsetDateTime offsetDateTime, final ByteBuf out) {
 
-        final ZoneOffset offset = offsetDateTime.getOffset();
-        final Instant instant = offsetDateTime.toInstant();
-
-        final long ticks = UNIX_EPOCH_TICKS + 10_000_000L * (instant.getEpochSecond() + offset.getTotalSeconds())
-            + instant.getNano() / 100L;
+        final long ticks = ticks(offsetDateTime);
 
         checkArgument(ticks <= TICKS_MASK, "expected offsetDateTime epoch second in range [0, %s], not %s",
             TICKS_MASK,
@@ -141,4 +153,36 @@ public final class DateTimeCodec {
 
         out.writeLongLE(value);
     }
+
+    /**
+     * Encode a number of ticks like a UTC {@code System.DateTime} serialized by {@code MemoryMarshal.Write}.
+     *
+     * @param ticks the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} UTC.
+     * @param out   an output {@link ByteBuf}.
+     */
+    public static void encodeTicks(final long ticks, @Nonnull final ByteBuf out) {
+
+        checkNotNull(out, "expected non-null out");
+        checkArgument(0 <= ticks && ticks <= TICKS_MASK, "expected ticks in range [0, %s], not %s", TICKS_MASK, ticks);
+
+        out.writeLongLE(ticks | KIND_UTC);
+    }
+
+    /**
+     * Computes the ticks of an {@link OffsetDateTime} as they are encoded by {@link #encode(OffsetDateTime, ByteBuf)}.
+     *
+     * @param offsetDateTime an {@link OffsetDateTime}.
+     * @return the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} in the time of
+     * {@code offsetDateTime}'s zone offset.
+     */
+    public static long ticks(@Nonnull final OffsetDateTime offsetDateTime) {
+
+        checkNotNull(offsetDateTime, "expected non-null offsetDateTime");
+
+        final ZoneOffset offset = offsetDateTime.getOffset();
+        final Instant instant = offsetDateTime.toInstant();
+
+        return UNIX_EPOCH_TICKS + 10_000_000L * (instant.getEpochSecond() + offset.getTotalSeconds())
+            + instant.getNano() / 100L;
+    }
 }
@@ -3,6 +3,7 @@
 
 package com.azure.data.cosmos.serialization.hybridrow.codecs;
 
+import com.azure.data.cosmos.serialization.hybridrow.UnscaledDecimal;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.util.ByteProcessor;
@@ -97,15 +98,26 @@ public final class DecimalCodec {
         // 24-30   unused and must be zero
         // 31-31   specifies the sign of the value, 1 meaning negative and 0 meaning non-negative
 
-        final int flags = in.readIntLE();
+        final int index = in.readerIndex();
+        final int flags = in.getIntLE(index);
         checkState((flags & FLAGS_MASK_INVALID) == 0, "invalid flags field: %s", flags);
 
         final int scale = (flags & FLAGS_MASK_POWER) >>> SCALE_SHIFT;
         checkState(scale <= SCALE_MAX);
 
         final int signum = (flags & FLAGS_MASK_SIGN) == 0 ? 1 : -1;
-        final byte[] magnitude = new byte[VALUE_LENGTH];
-        final int source = in.readerIndex();
+        in.skipBytes(BYTES);
+
+        // Most decimals have a magnitude that fits in a long and need neither a BigInteger nor a byte array
+
+        final long magnitude = magnitude(in, index);
+
+        if (in.getIntLE(index + Integer.BYTES) == 0 && magnitude >= 0) {
+            return BigDecimal.valueOf(signum * magnitude, scale);
+        }
+
+        final byte[] magnitudeBytes = new byte[VALUE_LENGTH];
+        final int source = index + Integer.BYTES;
         int target = 0;
 
         for (int offset : VALUE_OFFSETS) {
@@ -114,14 +126,61 @@ public final class DecimalCodec {
                 int index = start;
                 @Override
                 public boolean process(byte value) {
-                    magnitude[this.index++] = value;
+                    magnitudeBytes[this.index++] = value;
                     return true;
                 }
             });
             target += Integer.BYTES;
         }
 
-        return new BigDecimal(new BigInteger(signum, magnitude), scale);
+        return new BigDecimal(new BigInteger(signum, magnitudeBytes), scale);
+    }
+
+    /**
+     * Decode a {@code System.Decimal} serialized by {@code MemoryMarshal.Write} as an unscaled {@code long} value and
+     * a scale.
+     * <p>
+     * The reader index of {@code in} is not modified and no objects are allocated.
+     *
+     * @param in    a {@link ByteBuf} containing the serialized {@code System.Decimal} to be decoded.
+     * @param index the index of the serialized {@code System.Decimal} in {@code in}.
+     * @param value receives the unscaled value and scale of the decoded {@code System.Decimal}.
+     * @return {@code true}, if the magnitude of the decoded {@code System.Decimal} fits in a {@code long}; otherwise,
+     * if {@code false}, {@code value} is unchanged.
+     */
+    public static boolean decode(@Nonnull final ByteBuf in, final int index, @Nonnull final UnscaledDecimal value) {
+
+        checkNotNull(in, "expected non-null in");
+        checkNotNull(value, "expected non-null value");
+
+        checkArgument(index >= 0 && index <= in.capacity() - BYTES, "expected %s bytes at index %s, not %s",
+            BYTES, index, in.capacity() - index);
+
+        final int flags = in.getIntLE(index);
+        checkState((flags & FLAGS_MASK_INVALID) == 0, "invalid flags field: %s", flags);
+
+        final int scale = (flags & FLAGS_MASK_POWER) >>> SCALE_SHIFT;
+        checkState(scale <= SCALE_MAX);
+
+        if (in.getIntLE(index + Integer.BYTES) != 0) {
+            return false;
+        }
+
+        final long magnitude = magnitude(in, index);
+
+        if ((flags & FLAGS_MASK_SIGN) == 0) {
+            if (magnitude < 0) {
+                return false;
+            }
+            value.set(magnitude, scale);
+        } else {
+            if (magnitude < 0 && magnitude != Long.MIN_VALUE) {
+                return false;
+            }
+            value.set(-magnitude, scale);
+        }
+
+        return true;
     }
 
     /**
@@ -147,7 +206,7 @@ public final class DecimalCodec {
     public static void encode(@Nonnull BigDecimal value, @Nonnull final ByteBuf out) {
 
         checkNotNull(value, "expected non-null value");
-        checkNotNull(value, "expected non-null out");
+        checkNotNull(out, "expected non-null out");
 
         final int signum = value.signum();
 
@@ -158,6 +217,11 @@ public final class DecimalCodec {
 
         BigInteger unscaledValue = value.unscaledValue();
 
+        if (SCALE_MIN <= value.scale() && value.scale() <= SCALE_MAX && unscaledValue.bitLength() < Long.SIZE) {
+            encode(unscaledValue.longValue(), value.scale(), out);
+            return;
+        }
+
         if (unscaledValue.compareTo(MAGNITUDE_MIN) < 0 || unscaledValue.compareTo(MAGNITUDE_MAX) > 0) {
             value = value.stripTrailingZeros();
             unscaledValue = value.unscaledValue();
@@ -197,4 +261,45 @@ public final class DecimalCodec {
         out.writeBytes(decimalParts, 0, Integer.BYTES);                  // low
         out.writeBytes(decimalParts, Integer.BYTES, Integer.BYTES);               // mid
     }
+
+    /**
+     * Encode an unscaled {@code long} value and a scale like a {@code System.Decimal} serialized by
+     * {@code MemoryMarshal.Write}.
+     * <p>
+     * No objects are allocated. As with {@link #encode(BigDecimal, ByteBuf)}, zero is encoded with a scale of zero.
+     *
+     * @param unscaledValue the unscaled value to be encoded.
+     * @param scale         the number of digits to the right of the decimal point, a value between 0 and 28.
+     * @param out           an output {@link ByteBuf}.
+     * @see <a href="https://referencesource.microsoft.com/mscorlib/system/decimal.cs.html">struct Decimal source</a>
+     */
+    public static void encode(final long unscaledValue, final int scale, @Nonnull final ByteBuf out) {
+
+        checkArgument(SCALE_MIN <= scale && scale <= SCALE_MAX, "expected scale in [%s, %s], not %s",
+            SCALE_MIN, SCALE_MAX, scale);
+
+        checkNotNull(out, "expected non-null out");
+
+        if (unscaledValue == 0) {
+            out.writeZero(BYTES);
+            return;
+        }
+
+        // The magnitude of Long.MIN_VALUE is its own negation, which is correct when treated as unsigned
+
+        final long magnitude = unscaledValue < 0 ? -unscaledValue : unscaledValue;
+
+        out.writeIntLE(unscaledValue < 0 ? scale << SCALE_SHIFT | FLAGS_MASK_SIGN : scale << SCALE_SHIFT);
+        out.writeIntLE(0);                                       // high
+        out.writeIntLE((int) magnitude);                         // low
+        out.writeIntLE((int) (magnitude >>> Integer.SIZE));      // mid
+    }
+
+    /**
+     * Returns the low-order 64 bits of the magnitude of a serialized {@code System.Decimal} as a {@code long}.
+     */
+    private static long magnitude(final ByteBuf in, final int index) {
+        return (long) in.getIntLE(index + 3 * Integer.BYTES) << Integer.SIZE
+            | in.getUnsignedIntLE(index + 2 * Integer.BYTES);
+    }
 }
@@ -84,6 +84,38 @@ public final class GuidCodec {
         return new UUID(mostSignificantBits, in.readLong());
     }
 
+    /**
+     * Decode the most significant bits of a {@link UUID} serialized like a {@code System.Guid} without allocating.
+     * <p>
+     * The reader and writer indexes of {@code in} are unchanged.
+     *
+     * @param in    a {@link ByteBuf} containing the serialized {@link UUID} to be decoded.
+     * @param index the index of the serialized {@link UUID} within {@code in}.
+     * @return the value of {@link UUID#getMostSignificantBits} for the {@link UUID} encoded at {@code index}.
+     */
+    public static long decodeHigh(@Nonnull final ByteBuf in, final int index) {
+
+        checkNotNull(in, "expected non-null in");
+
+        return in.getUnsignedIntLE(index) << Integer.SIZE
+            | (long) in.getUnsignedShortLE(index + Integer.BYTES) << Short.SIZE
+            | (long) in.getUnsignedShortLE(index + Integer.BYTES + Short.BYTES);
+    }
+
+    /**
+     * Decode the least significant bits of a {@link UUID} serialized like a {@code System.Guid} without allocating.
+     * <p>
+     * The reader and writer indexes of {@code in} are unchanged.
+     *
+     * @param in    a {@link ByteBuf} containing the serialized {@link UUID} to be decoded.
+     * @param index the index of the serialized {@link UUID} within {@code in}.
+     * @return the value of {@link UUID#getLeastSignificantBits} for the {@link UUID} encoded at {@code index}.
+     */
+    public static long decodeLow(@Nonnull final ByteBuf in, final int index) {
+        checkNotNull(in, "expected non-null in");
+        return in.getLong(index + Long.BYTES);
+    }
+
     /**
      * Encodes a {@link UUID} like a {@code System.Guid} serialized by {@code MemoryMarshal.Write}.
      *
@@ -103,13 +135,23 @@ public final class GuidCodec {
      * @param out  an output {@link ByteBuf}.
      */
     public static void encode(final UUID uuid, final ByteBuf out) {
+        encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), out);
+    }
 
-        final long mostSignificantBits = uuid.getMostSignificantBits();
+    /**
+     * Encodes a {@link UUID} given as its most and least significant bits like a {@code System.Guid} serialized by
+     * {@code MemoryMarshal.Write}.
+     *
+     * @param mostSignificantBits  the most significant bits of the {@link UUID} to be encoded.
+     * @param leastSignificantBits the least significant bits of the {@link UUID} to be encoded.
+     * @param out                  an output {@link ByteBuf}.
+     */
+    public static void encode(final long mostSignificantBits, final long leastSignificantBits, final ByteBuf out) {
 
         out.writeIntLE((int) ((mostSignificantBits & 0xFFFFFFFF00000000L) >>> 32));
         out.writeShortLE((short) ((mostSignificantBits & 0x00000000FFFF0000L) >>> 16));
         out.writeShortLE((short) (mostSignificantBits & 0x000000000000FFFFL));
 
-        out.writeLong(uuid.getLeastSignificantBits());
+        out.writeLong(leastSignificantBits);
     }
 }
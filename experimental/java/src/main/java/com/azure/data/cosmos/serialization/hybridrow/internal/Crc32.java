@@ -0,0 +1,87 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.internal;
+
+import io.netty.buffer.ByteBuf;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Computes CRC-32 checksums over ranges of a {@link ByteBuf} in place.
+ * <p>
+ * The checksum is the standard CRC-32 with polynomial {@code 0xEDB88320}, which is the checksum computed by
+ * {@code Crc32.Update(0, span)} in the native and .NET implementations of hybrid row and carried by the header of a
+ * RecordIO record. It is computed with {@link CRC32}, which the JVM implements with the CRC instructions of the
+ * processor where they are available. The bytes of heap buffers are read from their backing array and those of direct
+ * buffers from their memory address, as {@link ByteBuffer}s; no bytes are copied.
+ */
+public final class Crc32 {
+
+    private Crc32() {
+    }
+
+    /**
+     * Computes the CRC-32 checksum of a range of bytes.
+     *
+     * @param buffer the buffer holding the range of bytes.
+     * @param index  the index of the first byte of the range.
+     * @param length the number of bytes in the range.
+     * @return the CRC-32 checksum of the range of bytes.
+     */
+    public static int compute(@Nonnull final ByteBuf buffer, final int index, final int length) {
+        return (int) update(new CRC32(), buffer, index, length).getValue();
+    }
+
+    /**
+     * Updates a CRC-32 checksum with a range of bytes.
+     * <p>
+     * The indexes of {@code buffer} are not changed.
+     *
+     * @param crc    the checksum to update.
+     * @param buffer the buffer holding the range of bytes.
+     * @param index  the index of the first byte of the range.
+     * @param length the number of bytes in the range.
+     * @return a reference to {@code crc}.
+     */
+    @Nonnull
+    public static CRC32 update(
+        @Nonnull final CRC32 crc, @Nonnull final ByteBuf buffer, final int index, final int length) {
+
+        checkNotNull(crc, "expected non-null crc");
+        checkNotNull(buffer, "expected non-null buffer");
+        checkArgument(index >= 0 && length >= 0 && index <= buffer.capacity() - length,
+            "expected range [%s, %s) within buffer capacity %s", index, (long) index + length, buffer.capacity());
+
+        if (buffer.hasArray()) {
+            crc.update(buffer.array(), buffer.arrayOffset() + index, length);
+            return crc;
+        }
+
+        final int count = buffer.nioBufferCount();
+
+        if (count < 0) {
+            // The buffer cannot be exposed as ByteBuffers, which is true of no buffer the allocators produce
+            for (int i = index; i < index + length; i++) {
+                crc.update(buffer.getByte(i));
+            }
+            return crc;
+        }
+
+        if (count == 1) {
+            crc.update(buffer.internalNioBuffer(index, length));
+            return crc;
+        }
+
+        for (ByteBuffer component : buffer.nioBuffers(index, length)) {
+            crc.update(component);
+        }
+
+        return crc;
+    }
+}
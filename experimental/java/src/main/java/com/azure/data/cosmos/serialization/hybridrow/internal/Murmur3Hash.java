@@ -5,20 +5,15 @@ package com.azure.data.cosmos.serialization.hybridrow.internal;
 
 import com.azure.data.cosmos.core.Utf8String;
 import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
-import com.google.common.base.Utf8;
-import com.google.common.hash.HashCode;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.base.Strings.lenientFormat;
-import static java.nio.charset.StandardCharsets.UTF_8;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 
 /**
  * Murmur3Hash for x86_64 (little endian).
@@ -26,14 +21,11 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * @see <a href="https://en.wikipedia.org/wiki/MurmurHash">MurmurHash</a>
  * <p>
  */
-@SuppressWarnings("UnstableApiUsage")
 @Immutable
 public final class Murmur3Hash {
 
-    private static final ByteBuf FALSE = Constant.add(false);
-    private static final ByteBuf TRUE = Constant.add(true);
-    private static final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
-    private static final ByteBuf EMPTY_STRING = Constant.add("");
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
 
     /**
      * Computes a 128-bit Murmur3Hash 128-bit value for a data item.
@@ -42,14 +34,13 @@ public final class Murmur3Hash {
      * @param seed The seed with which to initialize
      * @return The 128-bit hash represented as two 64-bit words encapsulated by a {@link HashCode128} instance
      */
-    @SuppressWarnings("ConstantConditions")
     public static HashCode128 Hash128(@Nonnull final String item, @Nonnull final HashCode128 seed) {
 
         checkNotNull(item, "expected non-null item");
         checkNotNull(seed, "expected non-null seed");
 
         if (item.isEmpty()) {
-            return Hash128(EMPTY_STRING, seed);
+            return Hash128(Unpooled.EMPTY_BUFFER, seed);
         }
 
         Utf8String value = Utf8String.transcodeUtf16(item);
@@ -63,67 +54,774 @@ public final class Murmur3Hash {
 
     /**
      * Computes a 128-bit Murmur3Hash 128-bit value for a {@code boolean} data item.
+     * <p>
+     * A {@code boolean} is always hashed as a single byte: {@code 1} for {@code true} and {@code 0} for {@code false}.
      *
      * @param item The data to hash.
      * @param seed The seed with which to initialize.
      * @return The 128-bit hash represented as two 64-bit words encapsulated by a {@link HashCode128} instance.
      */
     public static HashCode128 Hash128(final boolean item, final HashCode128 seed) {
-        return Murmur3Hash.Hash128(item ? TRUE : FALSE, seed);
+        return Murmur3Hash.Hash128((byte) (item ? 1 : 0), seed);
     }
 
     public static HashCode128 Hash128(short item, HashCode128 seed) {
-        ByteBuf buffer = Unpooled.wrappedBuffer(new byte[Integer.BYTES]).writeShortLE(item);
+        ByteBuf buffer = Unpooled.buffer(Short.BYTES).writeShortLE(item);
         return Murmur3Hash.Hash128(buffer, seed);
     }
 
     public static HashCode128 Hash128(byte item, HashCode128 seed) {
-        ByteBuf buffer = Unpooled.wrappedBuffer(new byte[Integer.BYTES]).writeByte(item);
+        ByteBuf buffer = Unpooled.buffer(Byte.BYTES).writeByte(item);
         return Murmur3Hash.Hash128(buffer, seed);
     }
 
     public static HashCode128 Hash128(int item, HashCode128 seed) {
-        ByteBuf buffer = Unpooled.wrappedBuffer(new byte[Integer.BYTES]).writeIntLE(item);
+        ByteBuf buffer = Unpooled.buffer(Integer.BYTES).writeIntLE(item);
         return Murmur3Hash.Hash128(buffer, seed);
     }
 
     /**
      * Computes a 128-bit Murmur3Hash 128-bit value for a {@link ByteBuf} data item.
+     * <p>
+     * The readable bytes of {@code item} are hashed; its reader index is not changed. The two words of {@code seed}
+     * initialize the two words of hash state so that hashes may be chained: {@link HashCode128#low()} initializes the
+     * first and {@link HashCode128#high()} the second. With a zero seed, the result is that of the x64 128-bit variant
+     * of MurmurHash3 with seed zero.
      *
      * @param item The data to hash
      * @param seed The seed with which to initialize
      * @return The 128-bit hash represented as two 64-bit words encapsulated by a {@link HashCode128} instance.
      */
-    public static HashCode128 Hash128(ByteBuf item, HashCode128 seed) {
-        // TODO: DANOBLE: Support 128-bit hash code seeds by bringing in the murmur3 hash code from the Cosmos Java SDK
-        HashFunction hashFunction = Hashing.murmur3_128(Long.valueOf(seed.high() | 0xFFFFFFFFL).intValue());
-        HashCode hashCode = hashFunction.hashBytes(item.array());
-        return HashCode128.from(hashCode.asBytes());
+    public static HashCode128 Hash128(@Nonnull final ByteBuf item, @Nonnull final HashCode128 seed) {
+
+        checkNotNull(item, "expected non-null item");
+        checkNotNull(seed, "expected non-null seed");
+
+        final int start = item.readerIndex();
+        final int length = item.readableBytes();
+        final int end = start + (length & ~15);
+
+        long h1 = seed.low();
+        long h2 = seed.high();
+
+        // body
+
+        for (int position = start; position < end; position += 16) {
+
+            final long k1 = item.getLongLE(position);
+            final long k2 = item.getLongLE(position + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // tail
+
+        final int n = length & 15;
+        long k1 = 0;
+        long k2 = 0;
+
+        for (int i = n - 1; i >= 8; i--) {
+            k2 ^= (item.getByte(end + i) & 0xFFL) << ((i - 8) * 8);
+        }
+
+        for (int i = Math.min(n, 8) - 1; i >= 0; i--) {
+            k1 ^= (item.getByte(end + i) & 0xFFL) << (i * 8);
+        }
+
+        if (n > 8) {
+            h2 ^= mixK2(k2);
+        }
+
+        if (n > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        // finalization
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        return HashCode128.of(h1, h2);
+    }
+
+    /**
+     * Chains 128-bit Murmur3Hash values without allocating.
+     * <p>
+     * Each item added to a chain is hashed with the current value of the chain as its seed and the result becomes the
+     * new value of the chain. Adding a sequence of items computes the same value as chaining calls to the
+     * {@code Hash128} overloads, but items are hashed directly from their values: a {@link String} is encoded as UTF-8
+     * while it is hashed. A chain is not multi-thread safe.
+     */
+    public static final class Chain {
+
+        private long h1;
+        private long h2;
+        private long k1;
+        private long k2;
+        private int length;
+
+        /**
+         * Initializes a new instance of the {@link Chain} class.
+         *
+         * @param seed the initial value of the chain.
+         */
+        public Chain(@Nonnull final HashCode128 seed) {
+            checkNotNull(seed, "expected non-null seed");
+            this.h1 = seed.low();
+            this.h2 = seed.high();
+        }
+
+        /**
+         * Adds a {@code boolean} to this chain, hashed as a single byte as by {@link #Hash128(boolean, HashCode128)}.
+         *
+         * @param item the item to add.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain add(final boolean item) {
+            return this.add((byte) (item ? 1 : 0));
+        }
+
+        /**
+         * Adds a {@code byte} to this chain.
+         *
+         * @param item the item to add.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain add(final byte item) {
+            return this.add(item & 0xFFL, Byte.BYTES);
+        }
+
+        /**
+         * Adds a {@code short} to this chain, hashed in little-endian byte order.
+         *
+         * @param item the item to add.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain add(final short item) {
+            return this.add(item & 0xFFFFL, Short.BYTES);
+        }
+
+        /**
+         * Adds an {@code int} to this chain, hashed in little-endian byte order.
+         *
+         * @param item the item to add.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain add(final int item) {
+            return this.add(item & 0xFFFFFFFFL, Integer.BYTES);
+        }
+
+        /**
+         * Adds a range of bytes to this chain, hashed in place as by {@link #Hash128(ByteBuf, HashCode128)} over the
+         * same bytes.
+         *
+         * @param item   the buffer holding the item to add.
+         * @param index  the index of the first byte of the item.
+         * @param length the number of bytes in the item.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain add(@Nonnull final ByteBuf item, final int index, final int length) {
+
+            checkNotNull(item, "expected non-null item");
+            checkArgument(length >= 0, "expected non-negative length, not %s", length);
+
+            final int end = index + (length & ~15);
+
+            for (int position = index; position < end; position += 16) {
+                this.mix(item.getLongLE(position), item.getLongLE(position + 8));
+            }
+
+            this.length = length & ~15;
+
+            for (int position = end; position < index + length; position++) {
+                this.update(item.getByte(position));
+            }
+
+            return this.finishTail();
+        }
+
+        /**
+         * Adds a {@link String} to this chain, hashed as its UTF-8 encoding.
+         * <p>
+         * Unpaired surrogates are encoded as {@code '?'}, as by {@link String#getBytes(java.nio.charset.Charset)}.
+         *
+         * @param item the item to add.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain add(@Nonnull final String item) {
+
+            checkNotNull(item, "expected non-null item");
+
+            final int count = item.length();
+
+            for (int i = 0; i < count; i++) {
+
+                final char c = item.charAt(i);
+
+                if (c < 0x80) {
+                    this.update(c);
+                } else if (c < 0x800) {
+                    this.update(0xC0 | (c >>> 6));
+                    this.update(0x80 | (c & 0x3F));
+                } else if (!Character.isSurrogate(c)) {
+                    this.update(0xE0 | (c >>> 12));
+                    this.update(0x80 | ((c >>> 6) & 0x3F));
+                    this.update(0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < count
+                    && Character.isLowSurrogate(item.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, item.charAt(++i));
+                    this.update(0xF0 | (codePoint >>> 18));
+                    this.update(0x80 | ((codePoint >>> 12) & 0x3F));
+                    this.update(0x80 | ((codePoint >>> 6) & 0x3F));
+                    this.update(0x80 | (codePoint & 0x3F));
+                } else {
+                    this.update('?');
+                }
+            }
+
+            return this.finishTail();
+        }
+
+        /**
+         * The high 64 bits of the current value of this chain.
+         *
+         * @return the high 64 bits of the current value of this chain.
+         */
+        public long high() {
+            return this.h2;
+        }
+
+        /**
+         * The low 64 bits of the current value of this chain.
+         *
+         * @return the low 64 bits of the current value of this chain.
+         */
+        public long low() {
+            return this.h1;
+        }
+
+        /**
+         * Sets the current value of this chain, so that it may be reused.
+         *
+         * @param seed the new value of the chain.
+         * @return a reference to this chain.
+         */
+        @Nonnull
+        public Chain reset(@Nonnull final HashCode128 seed) {
+            checkNotNull(seed, "expected non-null seed");
+            this.h1 = seed.low();
+            this.h2 = seed.high();
+            return this;
+        }
+
+        /**
+         * The current value of this chain.
+         *
+         * @return the current value of this chain.
+         */
+        @Nonnull
+        public HashCode128 toHashCode128() {
+            return HashCode128.of(this.h1, this.h2);
+        }
+
+        // region Privates
+
+        /**
+         * Adds an item of at most eight bytes, given as the little-endian value of its bytes, to this chain.
+         */
+        private Chain add(final long item, final int length) {
+            this.h1 ^= mixK1(item);
+            this.length = length;
+            return this.finish();
+        }
+
+        private Chain finish() {
+
+            long h1 = this.h1 ^ this.length;
+            long h2 = this.h2 ^ this.length;
+
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+
+            this.h1 = h1;
+            this.h2 = h2;
+            this.k1 = 0;
+            this.k2 = 0;
+            this.length = 0;
+
+            return this;
+        }
+
+        /**
+         * Mixes the last, partial block of a variable length item into the hash and finishes the item.
+         */
+        private Chain finishTail() {
+
+            if ((this.length & 15) > 8) {
+                this.h2 ^= mixK2(this.k2);
+            }
+
+            if ((this.length & 15) > 0) {
+                this.h1 ^= mixK1(this.k1);
+            }
+
+            return this.finish();
+        }
+
+        /**
+         * Mixes a full block of a variable length item into the hash.
+         */
+        private void mix(final long k1, final long k2) {
+
+            this.h1 ^= mixK1(k1);
+            this.h1 = Long.rotateLeft(this.h1, 27);
+            this.h1 += this.h2;
+            this.h1 = this.h1 * 5 + 0x52dce729;
+
+            this.h2 ^= mixK2(k2);
+            this.h2 = Long.rotateLeft(this.h2, 31);
+            this.h2 += this.h1;
+            this.h2 = this.h2 * 5 + 0x38495ab5;
+        }
+
+        /**
+         * Adds a byte of a variable length item to the current block, mixing the block into the hash when it is full.
+         */
+        private void update(final int value) {
+
+            final int position = this.length++ & 15;
+
+            if (position < 8) {
+                this.k1 |= (value & 0xFFL) << (position * 8);
+                return;
+            }
+
+            this.k2 |= (value & 0xFFL) << ((position - 8) * 8);
+
+            if (position == 15) {
+                this.mix(this.k1, this.k2);
+                this.k1 = 0;
+                this.k2 = 0;
+            }
+        }
+
+        // endregion
     }
 
-    private static final class Constant {
+    /**
+     * A mutable holder for the two 64-bit words of a 128-bit Murmur3Hash value.
+     * <p>
+     * A digest may be reused across calls to {@link Hasher#hash(Digest)}, so that values may be computed without
+     * allocating. A digest is not multi-thread safe.
+     */
+    public static final class Digest {
+
+        private long high;
+        private long low;
+
+        /**
+         * The high 64 bits of this value.
+         *
+         * @return the high 64 bits of this value.
+         */
+        public long high() {
+            return this.high;
+        }
+
+        /**
+         * The low 64 bits of this value.
+         *
+         * @return the low 64 bits of this value.
+         */
+        public long low() {
+            return this.low;
+        }
+
+        /**
+         * This value as a {@link HashCode128}.
+         *
+         * @return this value as a {@link HashCode128}.
+         */
+        @Nonnull
+        public HashCode128 toHashCode128() {
+            return HashCode128.of(this.low, this.high);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%016x%016x", this.high, this.low);
+        }
+    }
+
+    /**
+     * Computes a 128-bit Murmur3Hash value over a stream of items without allocating.
+     * <p>
+     * Unlike a {@link Chain}, which hashes each item separately, a hasher hashes the concatenation of the bytes of the
+     * items put to it as a single item: its value is that of {@link #Hash128(ByteBuf, HashCode128)} over the same
+     * bytes. Primitives are put in little-endian byte order and ranges of bytes are hashed in place, sixteen bytes at a
+     * time once the stream is aligned to a block. {@link #hash(Digest)} may be called at any point in the stream and
+     * does not end it. A hasher is not multi-thread safe.
+     */
+    public static final class Hasher {
+
+        private long h1;
+        private long h2;
+        private long k1;
+        private long k2;
+        private long length;
+        private HashCode128 seed;
 
-        private static ByteBuf constants = allocator.heapBuffer();
+        /**
+         * Initializes a new instance of the {@link Hasher} class.
+         *
+         * @param seed the seed with which to initialize.
+         */
+        public Hasher(@Nonnull final HashCode128 seed) {
+            this.reset(seed);
+        }
+
+        /**
+         * Computes the value of the bytes put to this hasher since it was last reset.
+         *
+         * @param digest the holder to which the value is written.
+         * @return a reference to {@code digest}.
+         */
+        @Nonnull
+        public Digest hash(@Nonnull final Digest digest) {
+
+            checkNotNull(digest, "expected non-null digest");
+
+            final int n = (int) (this.length & 15);
+            long h1 = this.h1;
+            long h2 = this.h2;
+
+            if (n > 8) {
+                h2 ^= mixK2(this.k2);
+            }
+
+            if (n > 0) {
+                h1 ^= mixK1(this.k1);
+            }
 
-        private Constant() {
+            h1 ^= this.length;
+            h2 ^= this.length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+
+            digest.low = h1;
+            digest.high = h2;
+            return digest;
+        }
+
+        /**
+         * Puts a {@code boolean} to this hasher as a single byte: {@code 1} for {@code true} and {@code 0} for
+         * {@code false}.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putBoolean(final boolean item) {
+            return this.update(item ? 1L : 0L, Byte.BYTES);
         }
 
-        static ByteBuf add(final boolean value) {
-            final int start = constants.writerIndex();
-            constants.writeByte(value ? 1 : 0);
-            return constants.slice(start, Byte.BYTES).asReadOnly();
+        /**
+         * Puts a {@code byte} to this hasher.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putByte(final byte item) {
+            return this.update(item & 0xFFL, Byte.BYTES);
         }
 
-        static ByteBuf add(final String value) {
+        /**
+         * Puts a range of bytes to this hasher.
+         *
+         * @param item   the array holding the bytes to put.
+         * @param index  the index of the first byte to put.
+         * @param length the number of bytes to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putBytes(@Nonnull final byte[] item, final int index, final int length) {
+
+            checkNotNull(item, "expected non-null item");
+            checkPositionIndexes(index, index + length, item.length);
+
+            final int end = index + length;
+            int i = index;
 
-            final int start = constants.writerIndex();
-            final int encodedLength = Utf8.encodedLength(value);
-            final ByteBuf buffer = allocator.buffer(encodedLength, encodedLength);
+            for (; i < end && (this.length & 15) != 0; i++) {
+                this.update(item[i] & 0xFFL, Byte.BYTES);
+            }
 
-            final int count = buffer.writeCharSequence(value, UTF_8);
-            assert count == encodedLength : lenientFormat("count: %s, encodedLength: %s");
+            for (; i <= end - 16; i += 16) {
+                this.mix(getLongLE(item, i), getLongLE(item, i + 8));
+                this.length += 16;
+            }
 
-            return constants.slice(start, encodedLength);
+            if (i <= end - Long.BYTES) {
+                this.update(getLongLE(item, i), Long.BYTES);
+                i += Long.BYTES;
+            }
+
+            for (; i < end; i++) {
+                this.update(item[i] & 0xFFL, Byte.BYTES);
+            }
+
+            return this;
         }
+
+        /**
+         * Puts the bytes of an array to this hasher.
+         *
+         * @param item the array holding the bytes to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putBytes(@Nonnull final byte[] item) {
+            checkNotNull(item, "expected non-null item");
+            return this.putBytes(item, 0, item.length);
+        }
+
+        /**
+         * Puts a range of bytes to this hasher, hashed in place. The indexes of {@code item} are not changed.
+         *
+         * @param item   the buffer holding the bytes to put.
+         * @param index  the index of the first byte to put.
+         * @param length the number of bytes to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putBytes(@Nonnull final ByteBuf item, final int index, final int length) {
+
+            checkNotNull(item, "expected non-null item");
+            checkArgument(length >= 0, "expected non-negative length, not %s", length);
+
+            final int end = index + length;
+            int i = index;
+
+            for (; i < end && (this.length & 15) != 0; i++) {
+                this.update(item.getByte(i) & 0xFFL, Byte.BYTES);
+            }
+
+            for (; i <= end - 16; i += 16) {
+                this.mix(item.getLongLE(i), item.getLongLE(i + 8));
+                this.length += 16;
+            }
+
+            if (i <= end - Long.BYTES) {
+                this.update(item.getLongLE(i), Long.BYTES);
+                i += Long.BYTES;
+            }
+
+            for (; i < end; i++) {
+                this.update(item.getByte(i) & 0xFFL, Byte.BYTES);
+            }
+
+            return this;
+        }
+
+        /**
+         * Puts a {@code double} to this hasher as the bits of its {@link Double#doubleToRawLongBits raw} IEEE 754
+         * representation.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putDouble(final double item) {
+            return this.update(Double.doubleToRawLongBits(item), Double.BYTES);
+        }
+
+        /**
+         * Puts a {@code float} to this hasher as the bits of its {@link Float#floatToRawIntBits raw} IEEE 754
+         * representation.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putFloat(final float item) {
+            return this.update(Float.floatToRawIntBits(item) & 0xFFFFFFFFL, Float.BYTES);
+        }
+
+        /**
+         * Puts an {@code int} to this hasher.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putInt(final int item) {
+            return this.update(item & 0xFFFFFFFFL, Integer.BYTES);
+        }
+
+        /**
+         * Puts a {@code long} to this hasher.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putLong(final long item) {
+            return this.update(item, Long.BYTES);
+        }
+
+        /**
+         * Puts a {@code short} to this hasher.
+         *
+         * @param item the item to put.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher putShort(final short item) {
+            return this.update(item & 0xFFFFL, Short.BYTES);
+        }
+
+        /**
+         * Discards the bytes put to this hasher, so that it may be reused with the seed it was last reset with.
+         *
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher reset() {
+            this.h1 = this.seed.low();
+            this.h2 = this.seed.high();
+            this.k1 = 0;
+            this.k2 = 0;
+            this.length = 0;
+            return this;
+        }
+
+        /**
+         * Discards the bytes put to this hasher, so that it may be reused with a new seed.
+         *
+         * @param seed the seed with which to initialize.
+         * @return a reference to this hasher.
+         */
+        @Nonnull
+        public Hasher reset(@Nonnull final HashCode128 seed) {
+            checkNotNull(seed, "expected non-null seed");
+            this.seed = seed;
+            return this.reset();
+        }
+
+        // region Privates
+
+        private static long getLongLE(final byte[] item, final int index) {
+            return (item[index] & 0xFFL)
+                | (item[index + 1] & 0xFFL) << 8
+                | (item[index + 2] & 0xFFL) << 16
+                | (item[index + 3] & 0xFFL) << 24
+                | (item[index + 4] & 0xFFL) << 32
+                | (item[index + 5] & 0xFFL) << 40
+                | (item[index + 6] & 0xFFL) << 48
+                | (item[index + 7] & 0xFFL) << 56;
+        }
+
+        private void mix(final long k1, final long k2) {
+
+            this.h1 ^= mixK1(k1);
+            this.h1 = Long.rotateLeft(this.h1, 27);
+            this.h1 += this.h2;
+            this.h1 = this.h1 * 5 + 0x52dce729;
+
+            this.h2 ^= mixK2(k2);
+            this.h2 = Long.rotateLeft(this.h2, 31);
+            this.h2 += this.h1;
+            this.h2 = this.h2 * 5 + 0x38495ab5;
+        }
+
+        /**
+         * Appends an item of at most eight bytes, given as the little-endian value of its bytes, to the current block,
+         * mixing the block into the hash when it is full.
+         */
+        private Hasher update(final long item, final int count) {
+
+            final int position = (int) (this.length & 15);
+            final int shift = (position & 7) * 8;
+
+            if (position < 8) {
+                this.k1 |= item << shift;
+            } else {
+                this.k2 |= item << shift;
+            }
+
+            this.length += count;
+
+            if ((position & 7) + count < 8) {
+                return this;
+            }
+
+            // The current word is full: carry the bytes that did not fit in it to the next word
+
+            final long carry = shift == 0 ? 0L : item >>> (64 - shift);
+
+            if (position < 8) {
+                this.k2 = carry;
+            } else {
+                this.mix(this.k1, this.k2);
+                this.k1 = carry;
+                this.k2 = 0;
+            }
+
+            return this;
+        }
+
+        // endregion
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        return k2;
     }
-}
\ No newline at end of file
+}
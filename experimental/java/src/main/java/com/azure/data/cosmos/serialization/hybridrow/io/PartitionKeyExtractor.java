@@ -0,0 +1,267 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowHeader;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursors;
+import com.azure.data.cosmos.serialization.hybridrow.internal.Murmur3Hash;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutColumn;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutType;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypeScope;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.StringToken;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.PartitionKey;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * Computes the effective partition key hash of rows using a plan compiled once from a {@link Layout} and the
+ * {@link PartitionKey}s of its schema.
+ * <p>
+ * The hash is a 128-bit Murmur3 hash chained over the components of the partition key in order, starting from
+ * {@link #SEED}. Each component is added to the chain as a {@code boolean} that is {@code true} if the component has
+ * a value, followed by the bytes of its value, if it has one. Values are hashed in place as they are encoded in the
+ * row, so that no values are materialized:
+ * <ul>
+ * <li>booleans are hashed as a single byte: {@code 1} for {@code true} and {@code 0} for {@code false};</li>
+ * <li>strings and binary values are hashed as their content, without their length prefix, and fixed length strings
+ * and binary values as the full length of their column;</li>
+ * <li>variable length integers are hashed as their 7-bit encoding; and</li>
+ * <li>all other values are hashed as their fixed length encoding.</li>
+ * </ul>
+ * Null values are hashed as absent. The value of a component hashes the same whether it is stored in a fixed,
+ * variable, or sparse column, other than fixed length strings and binary values. Schematized columns are read at
+ * offsets computed from the layout; sparse fields are found by a scan of the row's sparse segment. Only top-level
+ * fields of primitive type may be partition keys. {@link PartitionKeyExtractor} is immutable and may be shared across
+ * threads.
+ */
+public final class PartitionKeyExtractor {
+
+    /**
+     * The initial value of the hash chain of an effective partition key.
+     */
+    public static final HashCode128 SEED = HashCode128.of(0L, 0L);
+
+    private final Component[] components;
+    private final Layout layout;
+
+    /**
+     * Initializes a new instance of the {@link PartitionKeyExtractor} class.
+     *
+     * @param layout        layout of the rows to be hashed.
+     * @param partitionKeys the partition keys of the schema from which {@code layout} was compiled.
+     * @throws IllegalArgumentException if a partition key is not a top-level field of primitive type.
+     */
+    public PartitionKeyExtractor(@Nonnull final Layout layout, @Nonnull final List<PartitionKey> partitionKeys) {
+
+        checkNotNull(layout, "expected non-null layout");
+        checkNotNull(partitionKeys, "expected non-null partitionKeys");
+
+        this.layout = layout;
+        this.components = new Component[partitionKeys.size()];
+
+        for (int index = 0; index < this.components.length; index++) {
+
+            final PartitionKey partitionKey = partitionKeys.get(index);
+            checkNotNull(partitionKey, "expected non-null partition key");
+            checkNotNull(partitionKey.path(), "expected non-null partition key path");
+
+            final UtfAnyString path = new UtfAnyString(partitionKey.path());
+            final Optional<LayoutColumn> match = layout.tryFind(path);
+
+            if (match.isPresent()) {
+                final LayoutColumn column = match.get();
+                checkArgument(column.parent() == null, "expected top-level partition key, not %s", column.fullPath());
+                checkArgument(!(column.type() instanceof LayoutTypeScope),
+                    "expected partition key of primitive type, not %s of type %s", column.fullPath(),
+                    column.type().name());
+                if (column.storage() != StorageKind.SPARSE) {
+                    this.components[index] = new Component(column, path, null);
+                    continue;
+                }
+            }
+
+            final StringToken token = layout.tokenizer().tryFindToken(path).orElse(null);
+            this.components[index] = new Component(null, path, token);
+        }
+    }
+
+    /**
+     * Layout of the rows to be hashed.
+     *
+     * @return layout of the rows to be hashed.
+     */
+    @Nonnull
+    public Layout layout() {
+        return this.layout;
+    }
+
+    /**
+     * Computes the effective partition key hash of a row.
+     *
+     * @param row a row written with {@link #layout()}.
+     * @return the effective partition key hash of {@code row}.
+     */
+    @Nonnull
+    public HashCode128 hash(@Nonnull final RowBuffer row) {
+        return this.hash(row, new Murmur3Hash.Chain(SEED)).toHashCode128();
+    }
+
+    /**
+     * Adds the components of the partition key of a row to a hash chain.
+     * <p>
+     * Starting from a chain whose value is {@link #SEED}, this computes the effective partition key hash of the row.
+     * A chain may be reused across rows by resetting it with {@link Murmur3Hash.Chain#reset}.
+     *
+     * @param row   a row written with {@link #layout()}.
+     * @param chain the hash chain to add the partition key components to.
+     * @return a reference to {@code chain}.
+     */
+    @Nonnull
+    public Murmur3Hash.Chain hash(@Nonnull final RowBuffer row, @Nonnull final Murmur3Hash.Chain chain) {
+
+        checkNotNull(row, "expected non-null row");
+        checkNotNull(chain, "expected non-null chain");
+        checkArgument(row.readSchemaId(1).equals(this.layout.schemaId()), "expected row with schema %s, not %s",
+            this.layout.schemaId(), row.readSchemaId(1));
+
+        for (Component component : this.components) {
+            if (component.column != null) {
+                this.hashColumn(row, component.column, chain);
+            } else {
+                this.hashSparse(row, component, chain);
+            }
+        }
+
+        return chain;
+    }
+
+    // region Privates
+
+    private void hashColumn(
+        @Nonnull final RowBuffer row, @Nonnull final LayoutColumn column, @Nonnull final Murmur3Hash.Chain chain) {
+
+        final int start = HybridRowHeader.BYTES;
+
+        if (!column.nullBit().isInvalid() && !row.readBit(start, column.nullBit())) {
+            chain.add(false);
+            return;
+        }
+
+        chain.add(true);
+
+        if (column.type().isBoolean()) {
+            chain.add(row.readBit(start, column.booleanBit()));
+            return;
+        }
+
+        if (column.storage() == StorageKind.VARIABLE) {
+            final int offset = row.computeVariableValueOffset(this.layout, start, column.offset());
+            hashVariableLength(row, column.type().layoutCode(), offset, chain);
+            return;
+        }
+
+        final LayoutCode code = column.type().layoutCode();
+        final int length = code == LayoutCode.UTF_8 || code == LayoutCode.BINARY
+            ? column.size()
+            : fixedLength(column.type());
+        row.hashBytes(start + column.offset(), length, chain);
+    }
+
+    private void hashSparse(
+        @Nonnull final RowBuffer row, @Nonnull final Component component, @Nonnull final Murmur3Hash.Chain chain) {
+
+        final RowCursor edit = component.token != null
+            ? RowCursors.Find(RowCursor.create(row), row, component.token)
+            : RowCursors.Find(RowCursor.create(row), row, component.path);
+
+        if (!edit.exists() || edit.cellType().isNull()) {
+            chain.add(false);
+            return;
+        }
+
+        final LayoutType type = edit.cellType();
+
+        if (type instanceof LayoutTypeScope) {
+            throw new IllegalStateException(lenientFormat("expected partition key of primitive type, not %s of type %s",
+                component.path, type.name()));
+        }
+
+        chain.add(true);
+
+        if (type.isBoolean()) {
+            chain.add(type == LayoutTypes.BOOLEAN);
+            return;
+        }
+
+        final LayoutCode code = type.layoutCode();
+
+        switch (code) {
+            case UTF_8:
+            case BINARY:
+            case VAR_INT:
+            case VAR_UINT:
+                hashVariableLength(row, code, edit.valueOffset(), chain);
+                break;
+            default:
+                row.hashBytes(edit.valueOffset(), fixedLength(type), chain);
+                break;
+        }
+    }
+
+    /**
+     * The number of bytes of the value of a fixed length type that are hashed.
+     * <p>
+     * A {@code UnixDateTime} is hashed as the eight bytes of its value, not the {@link LayoutType#size()} of its type,
+     * which overstates it.
+     */
+    private static int fixedLength(@Nonnull final LayoutType type) {
+        return type.layoutCode() == LayoutCode.UNIX_DATE_TIME ? Long.BYTES : type.size();
+    }
+
+    private static void hashVariableLength(
+        @Nonnull final RowBuffer row,
+        @Nonnull final LayoutCode code,
+        final int offset,
+        @Nonnull final Murmur3Hash.Chain chain) {
+
+        final long value = row.readVariableUInt(offset);
+        final int prefixLength = RowBuffer.count7BitEncodedUInt(value);
+
+        if (code == LayoutCode.UTF_8 || code == LayoutCode.BINARY) {
+            row.hashBytes(offset + prefixLength, (int) value, chain);
+        } else {
+            row.hashBytes(offset, prefixLength, chain);
+        }
+    }
+
+    // endregion
+
+    private static final class Component {
+
+        final LayoutColumn column;
+        final UtfAnyString path;
+        final StringToken token;
+
+        Component(@Nullable LayoutColumn column, @Nonnull UtfAnyString path, @Nullable StringToken token) {
+            this.column = column;
+            this.path = path;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowHeader;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutColumn;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverSimple;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypePrimitive;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUtf8Readable;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+import com.google.common.collect.ImmutableMap;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * Presents rows written with one {@link Layout} as rows of another using a plan compiled once from the two layouts.
+ * <p>
+ * A {@link RowProjection} lets a reader compiled against one version of a schema consume rows written with another
+ * version without rewriting them. A {@link RowReader} created with a projection enumerates the schematized columns of
+ * the reader layout over the bytes of a row written with the writer layout. Columns are matched by path, optionally
+ * through a map of renames, and paired using the same rules as {@link RowRewriter}:
+ * <ul>
+ * <li>fixed and variable columns of the same type are read in place;</li>
+ * <li>fixed columns of a narrower numeric type are read in place and widened to the reader's type; and</li>
+ * <li>reader columns with no match in the writer layout, or whose match is not present in a row, read as they would
+ * from a newly initialized row of the reader layout: nullable columns are absent and non-nullable fixed columns hold
+ * the default value of their type.</li>
+ * </ul>
+ * Writer columns with no match in the reader layout are not enumerated. The sparse segment is read as written. Only
+ * top-level columns are projected. {@link RowProjection} is immutable and may be shared across threads.
+ */
+public final class RowProjection {
+
+    private final Column[] columns;
+    private final RowBuffer defaultRow;
+    private final RowCursor defaultScope;
+    private final Layout reader;
+    private final Layout writer;
+
+    /**
+     * Initializes a new instance of the {@link RowProjection} class.
+     *
+     * @param writer layout of the rows to be read.
+     * @param reader layout presented to readers of the rows.
+     */
+    public RowProjection(@Nonnull final Layout writer, @Nonnull final Layout reader) {
+        this(writer, reader, ImmutableMap.of());
+    }
+
+    /**
+     * Initializes a new instance of the {@link RowProjection} class.
+     *
+     * @param writer  layout of the rows to be read.
+     * @param reader  layout presented to readers of the rows.
+     * @param renames a map from reader column path to writer column path for renamed columns.
+     * @throws IllegalArgumentException if a matched pair of columns cannot be projected.
+     */
+    public RowProjection(
+        @Nonnull final Layout writer, @Nonnull final Layout reader, @Nonnull final Map<String, String> renames) {
+
+        checkNotNull(writer, "expected non-null writer");
+        checkNotNull(reader, "expected non-null reader");
+        checkNotNull(renames, "expected non-null renames");
+
+        this.reader = reader;
+        this.writer = writer;
+        this.columns = new Column[reader.numFixed() + reader.numVariable()];
+
+        for (int index = 0; index < this.columns.length; index++) {
+
+            final LayoutColumn readerColumn = reader.columns().get(index);
+            final String path = readerColumn.path().toUtf16();
+            final Optional<LayoutColumn> match = writer.tryFind(renames.getOrDefault(path, path));
+
+            if (!match.isPresent() || match.get().parent() != null) {
+                this.columns[index] = new Column(readerColumn, null, false);
+                continue;
+            }
+
+            final LayoutColumn writerColumn = match.get();
+            final LayoutCode readerCode = readerColumn.type().layoutCode();
+            final LayoutCode writerCode = writerColumn.type().layoutCode();
+
+            if (writerColumn.storage() != readerColumn.storage()) {
+                throw incompatible(writerColumn, readerColumn);
+            }
+
+            if (readerColumn.storage() == StorageKind.VARIABLE || readerColumn.type().isBoolean()
+                || (writerCode == readerCode && writerColumn.size() == readerColumn.size())) {
+                if (writerCode != readerCode) {
+                    throw incompatible(writerColumn, readerColumn);
+                }
+                this.columns[index] = new Column(readerColumn, writerColumn, false);
+                continue;
+            }
+
+            if (!RowRewriter.Conversion.isWidening(writerCode, readerCode)) {
+                throw incompatible(writerColumn, readerColumn);
+            }
+
+            this.columns[index] = new Column(readerColumn, writerColumn, true);
+        }
+
+        // Defaults are read from a row of the reader layout as initialized, so that a projected row reads exactly as
+        // the same row rewritten to the reader layout would
+
+        this.defaultRow = new RowBuffer(HybridRowHeader.BYTES + reader.size(), UnpooledByteBufAllocator.DEFAULT);
+        this.defaultRow.initLayout(HybridRowVersion.V1, reader, new LayoutResolverSimple(schemaId -> reader));
+        this.defaultScope = RowCursor.create(this.defaultRow);
+    }
+
+    /**
+     * Layout presented to readers of the rows.
+     *
+     * @return layout presented to readers of the rows.
+     */
+    @Nonnull
+    public Layout reader() {
+        return this.reader;
+    }
+
+    /**
+     * Layout of the rows to be read.
+     *
+     * @return layout of the rows to be read.
+     */
+    @Nonnull
+    public Layout writer() {
+        return this.writer;
+    }
+
+    /**
+     * Returns {@code true} if a schematized column of the reader layout has a value in a row.
+     *
+     * @param row   a row written with the writer layout.
+     * @param scope the root scope of {@code row}.
+     * @param index the index of the column in the reader layout.
+     * @return {@code true} if the column has a value in {@code row}; otherwise {@code false}.
+     */
+    boolean hasValue(@Nonnull final RowBuffer row, @Nonnull final RowCursor scope, final int index) {
+        final Column column = this.columns[index];
+        return column.reader.nullBit().isInvalid()
+            || (column.writer != null && row.readBit(scope.start(), column.writer.nullBit()));
+    }
+
+    /**
+     * Reads the value of a schematized column of the reader layout from a row.
+     *
+     * @param <TValue> the type of the value of the column in the reader layout.
+     * @param row      a row written with the writer layout.
+     * @param scope    the root scope of {@code row}.
+     * @param index    the index of the column in the reader layout.
+     * @param value    on success, receives the value, undefined otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    <TValue> Result read(
+        @Nonnull final RowBuffer row,
+        @Nonnull final RowCursor scope,
+        final int index,
+        @Nonnull final Out<TValue> value) {
+
+        final Column column = this.columns[index];
+
+        if (column.writer == null || !row.readBit(scope.start(), column.writer.nullBit())) {
+            return read(this.defaultRow, this.defaultScope, column.reader, value);
+        }
+
+        if (!column.widening) {
+            return read(row, scope, column.writer, value);
+        }
+
+        final int offset = scope.start() + column.writer.offset();
+        final LayoutCode writerCode = column.writer.type().layoutCode();
+        final LayoutCode readerCode = column.reader.type().layoutCode();
+
+        if (readerCode == LayoutCode.FLOAT_32 || readerCode == LayoutCode.FLOAT_64) {
+            final double number = writerCode == LayoutCode.FLOAT_32
+                ? row.readFloat32(offset)
+                : RowRewriter.Conversion.readInteger(row, writerCode, offset);
+            value.set(widen(readerCode, number));
+            return Result.SUCCESS;
+        }
+
+        value.set(widen(readerCode, RowRewriter.Conversion.readInteger(row, writerCode, offset)));
+        return Result.SUCCESS;
+    }
+
+    /**
+     * Reads the value of a schematized UTF-8 column of the reader layout from a row.
+     *
+     * @param row   a row written with the writer layout.
+     * @param scope the root scope of {@code row}.
+     * @param index the index of the column in the reader layout.
+     * @param value on success, receives the value, undefined otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    Result readUtf8(
+        @Nonnull final RowBuffer row,
+        @Nonnull final RowCursor scope,
+        final int index,
+        @Nonnull final Out<Utf8String> value) {
+
+        final Column column = this.columns[index];
+
+        if (column.writer == null || !row.readBit(scope.start(), column.writer.nullBit())) {
+            return readUtf8(this.defaultRow, this.defaultScope, column.reader, value);
+        }
+
+        return readUtf8(row, scope, column.writer, value);
+    }
+
+    // region Privates
+
+    private static IllegalArgumentException incompatible(LayoutColumn writer, LayoutColumn reader) {
+        return new IllegalArgumentException(lenientFormat("cannot project %s column %s of type %s as %s column %s of "
+                + "type %s", writer.storage(), writer.fullPath(), writer.type().name(), reader.storage(),
+            reader.fullPath(), reader.type().name()));
+    }
+
+    @Nonnull
+    private static <TValue> Result read(
+        @Nonnull final RowBuffer row,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        @Nonnull final Out<TValue> value) {
+
+        final LayoutTypePrimitive<TValue> type = column.type().typeAs();
+
+        return column.storage() == StorageKind.FIXED
+            ? type.readFixed(row, scope, column, value)
+            : type.readVariable(row, scope, column, value);
+    }
+
+    @Nonnull
+    private static Result readUtf8(
+        @Nonnull final RowBuffer row,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        @Nonnull final Out<Utf8String> value) {
+
+        final LayoutUtf8Readable type = column.type().typeAs();
+
+        return column.storage() == StorageKind.FIXED
+            ? type.readFixedSpan(row, scope, column, value)
+            : type.readVariableSpan(row, scope, column, value);
+    }
+
+    /**
+     * Boxes a widened number as the type returned by the {@link RowReader} method for a reader column's type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <TValue> TValue widen(@Nonnull final LayoutCode code, final double number) {
+        switch (code) {
+            case FLOAT_32:
+                return (TValue) Float.valueOf((float) number);
+            case FLOAT_64:
+                return (TValue) Double.valueOf(number);
+            default:
+                throw new IllegalStateException(lenientFormat("unexpected reader code: %s", code));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TValue> TValue widen(@Nonnull final LayoutCode code, final long number) {
+        switch (code) {
+            case INT_16:
+                return (TValue) Short.valueOf((short) number);
+            case INT_32:
+            case UINT_16:
+                return (TValue) Integer.valueOf((int) number);
+            case INT_64:
+            case UINT_32:
+            case UINT_64:
+                return (TValue) Long.valueOf(number);
+            default:
+                throw new IllegalStateException(lenientFormat("unexpected reader code: %s", code));
+        }
+    }
+
+    // endregion
+
+    private static final class Column {
+
+        final LayoutColumn reader;
+        final boolean widening;
+        final LayoutColumn writer;
+
+        Column(@Nonnull LayoutColumn reader, @Nullable LayoutColumn writer, boolean widening) {
+            this.reader = reader;
+            this.writer = writer;
+            this.widening = widening;
+        }
+    }
+}
@@ -13,6 +13,9 @@ import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
 import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
 import com.azure.data.cosmos.serialization.hybridrow.RowCursors;
 import com.azure.data.cosmos.serialization.hybridrow.UnixDateTime;
+import com.azure.data.cosmos.serialization.hybridrow.UnscaledDecimal;
+import com.azure.data.cosmos.serialization.hybridrow.codecs.DateTimeCodec;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutBinary;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutBoolean;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutColumn;
@@ -38,6 +41,7 @@ import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUInt64;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUInt8;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUnixDateTime;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUtf8;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUtf8Readable;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutVarInt;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutVarUInt;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgumentList;
@@ -52,10 +56,13 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.lenientFormat;
@@ -78,6 +85,7 @@ public final class RowReader {
     private List<LayoutColumn> columns;
     private RowCursor cursor;
     private RowBuffer buffer;
+    private RowProjection projection;
     private int schematizedCount;
     private States state;
 
@@ -110,6 +118,31 @@ public final class RowReader {
         this.columnIndex = checkpoint.columnIndex();
     }
 
+    /**
+     * Initializes a new instance of the {@link RowReader} class that reads a row through a {@link RowProjection}.
+     * <p>
+     * The reader enumerates the schematized columns of the projection's reader layout, followed by the fields of the
+     * row's sparse segment. Values are read in place from the row, which must have been written with the projection's
+     * writer layout.
+     *
+     * @param buffer     The row to be read
+     * @param projection The projection from the row's layout to the layout presented by the reader
+     */
+    public RowReader(@Nonnull final RowBuffer buffer, @Nonnull final RowProjection projection) {
+
+        this(buffer, RowCursor.create(buffer));
+
+        checkNotNull(projection, "expected non-null projection");
+        checkArgument(this.cursor.layout().schemaId().equals(projection.writer().schemaId()),
+            "expected row with schema %s, not %s", projection.writer().schemaId(), this.cursor.layout().schemaId());
+
+        final Layout layout = projection.reader();
+
+        this.columns = layout.columns();
+        this.projection = projection;
+        this.schematizedCount = layout.numFixed() + layout.numVariable();
+    }
+
     /**
      * Initializes a new instance of the {@link RowReader} class.
      *
@@ -261,6 +294,14 @@ public final class RowReader {
                     }
 
                     checkState(this.cursor.scopeType() instanceof LayoutUDT);
+
+                    if (this.projection != null) {
+                        if (!this.projection.hasValue(this.buffer, this.cursor, this.columnIndex)) {
+                            break; // to skip schematized values if they aren't present
+                        }
+                        return true;
+                    }
+
                     LayoutColumn column = this.columns.get(this.columnIndex);
 
                     if (!this.buffer.readBit(this.cursor.start(), column.nullBit())) {
@@ -388,6 +429,61 @@ public final class RowReader {
         }
     }
 
+    /**
+     * Read the current field as a fixed length {@code DateTime} value given as a number of ticks.
+     * <p>
+     * Unlike {@link #readDateTime(Out)}, no objects are allocated, so a single {@code value} can be reused across
+     * fields and rows.
+     *
+     * @param value On success, receives the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} recorded
+     *              by the field as its first element, unchanged otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, an error {@link Result} otherwise.
+     */
+    public Result readDateTimeTicks(@Nonnull final long[] value) {
+
+        checkNotNull(value, "expected non-null value");
+        checkArgument(value.length >= 1, "expected value of length 1 or more, not %s", value.length);
+
+        switch (this.state) {
+
+            case SCHEMATIZED: {
+
+                final LayoutColumn column = this.columns.get(this.columnIndex);
+
+                if (!(column.type() instanceof LayoutDateTime)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                if (this.projection != null) {
+                    final Out<OffsetDateTime> dateTime = new Out<>();
+                    final Result result = this.readPrimitiveValue(dateTime);
+                    if (result == Result.SUCCESS) {
+                        value[0] = DateTimeCodec.ticks(dateTime.get());
+                    }
+                    return result;
+                }
+
+                if (!this.buffer.readBit(this.cursor.start(), column.nullBit())) {
+                    return Result.NOT_FOUND;
+                }
+
+                value[0] = this.buffer.readDateTimeTicks(this.cursor.start() + column.offset());
+                return Result.SUCCESS;
+            }
+            case SPARSE:
+
+                if (!(this.cursor.cellType() instanceof LayoutDateTime)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                value[0] = this.buffer.readSparseDateTimeTicks(this.cursor);
+                return Result.SUCCESS;
+
+            default:
+                return Result.FAILURE;
+        }
+    }
+
     /**
      * Read the current field as a fixed length decimal value.
      *
@@ -415,6 +511,59 @@ public final class RowReader {
         }
     }
 
+    /**
+     * Read the current field as a fixed length decimal value given as an unscaled value and a scale.
+     * <p>
+     * Unlike {@link #readDecimal(Out)}, no objects are allocated, so a single {@code value} can be reused across fields
+     * and rows.
+     *
+     * @param value On success, receives the unscaled value and scale of the field, undefined otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, {@link Result#TOO_BIG} if the magnitude of the value
+     * does not fit in a {@code long}, an error {@link Result} otherwise.
+     */
+    public Result readDecimal(@Nonnull final UnscaledDecimal value) {
+
+        checkNotNull(value, "expected non-null value");
+
+        switch (this.state) {
+
+            case SCHEMATIZED: {
+
+                final LayoutColumn column = this.columns.get(this.columnIndex);
+
+                if (!(column.type() instanceof LayoutDecimal)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                if (this.projection != null) {
+                    final Out<BigDecimal> decimal = new Out<>();
+                    final Result result = this.readPrimitiveValue(decimal);
+                    if (result != Result.SUCCESS) {
+                        return result;
+                    }
+                    final BigInteger unscaledValue = decimal.get().unscaledValue();
+                    if (unscaledValue.bitLength() >= Long.SIZE) {
+                        return Result.TOO_BIG;
+                    }
+                    value.set(unscaledValue.longValue(), decimal.get().scale());
+                    return Result.SUCCESS;
+                }
+
+                return column.type().<LayoutDecimal>typeAs().readFixed(this.buffer, this.cursor, column, value);
+            }
+            case SPARSE:
+
+                if (!(this.cursor.cellType() instanceof LayoutDecimal)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                return this.buffer.readSparseDecimal(this.cursor, value) ? Result.SUCCESS : Result.TOO_BIG;
+
+            default:
+                return Result.FAILURE;
+        }
+    }
+
     /**
      * Read the current field as a fixed length, 128-bit, IEEE-encoded floating point value.
      *
@@ -524,6 +673,65 @@ public final class RowReader {
         }
     }
 
+    /**
+     * Read the current field as a fixed length GUID value given as its most and least significant bits.
+     * <p>
+     * Unlike {@link #readGuid(Out)}, no objects are allocated, so a single {@code value} can be reused across fields
+     * and rows.
+     *
+     * @param value On success, receives the most and least significant bits of the field as its first and second
+     *              elements, unchanged otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, an error {@link Result} otherwise.
+     */
+    public Result readGuid(@Nonnull final long[] value) {
+
+        checkNotNull(value, "expected non-null value");
+        checkArgument(value.length >= 2, "expected value of length 2 or more, not %s", value.length);
+
+        switch (this.state) {
+
+            case SCHEMATIZED: {
+
+                final LayoutColumn column = this.columns.get(this.columnIndex);
+
+                if (!(column.type() instanceof LayoutGuid)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                if (this.projection != null) {
+                    final Out<UUID> guid = new Out<>();
+                    final Result result = this.readPrimitiveValue(guid);
+                    if (result == Result.SUCCESS) {
+                        value[0] = guid.get().getMostSignificantBits();
+                        value[1] = guid.get().getLeastSignificantBits();
+                    }
+                    return result;
+                }
+
+                if (!this.buffer.readBit(this.cursor.start(), column.nullBit())) {
+                    return Result.NOT_FOUND;
+                }
+
+                final int offset = this.cursor.start() + column.offset();
+                value[0] = this.buffer.readGuidHigh(offset);
+                value[1] = this.buffer.readGuidLow(offset);
+                return Result.SUCCESS;
+            }
+            case SPARSE:
+
+                if (!(this.cursor.cellType() instanceof LayoutGuid)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                value[0] = this.buffer.readSparseGuidHigh(this.cursor);
+                value[1] = this.buffer.readSparseGuidLow(this.cursor);
+                return Result.SUCCESS;
+
+            default:
+                return Result.FAILURE;
+        }
+    }
+
     /**
      * Read the current field as a fixed length, 16-bit, signed integer.
      *
@@ -709,11 +917,73 @@ public final class RowReader {
         Out<Utf8String> string = new Out<>();
         Result result = this.readUtf8String(string);
         value.set((result == Result.SUCCESS) ? string.get().toUtf16() : null);
-        string.get().release();
+
+        // The string is an unretained view of the row and so it must not be released
 
         return result;
     }
 
+    /**
+     * Read the current field as a variable length, UTF-8 encoded string value by decoding it to a {@link CharBuffer}.
+     * <p>
+     * UTF-16 code units are written to {@code target} starting at its position, which is advanced past the last code
+     * unit written. Unlike {@link #readString(Out)}, no {@link String} is allocated, so a single {@code target} can be
+     * reused across fields and rows.
+     *
+     * @param target receives the value on success, unchanged otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, {@link Result#INSUFFICIENT_BUFFER} if {@code target}
+     * does not have enough room for the value, an error {@link Result} otherwise.
+     */
+    public Result readString(@Nonnull final CharBuffer target) {
+
+        checkNotNull(target, "expected non-null target");
+        final int count;
+
+        switch (this.state) {
+
+            case SCHEMATIZED: {
+
+                final LayoutColumn column = this.columns.get(this.columnIndex);
+
+                if (!(column.type() instanceof LayoutUtf8)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                if (this.projection != null) {
+                    final Out<Utf8String> value = new Out<>();
+                    final Result result = this.readUtf8Value(value);
+                    if (result != Result.SUCCESS) {
+                        return result;
+                    }
+                    count = Utf8String.decodeUtf16(value.get().content(), 0, value.get().encodedLength(), target);
+                    break;
+                }
+
+                if (!this.buffer.readBit(this.cursor.start(), column.nullBit())) {
+                    return Result.NOT_FOUND;
+                }
+
+                count = column.storage() == StorageKind.FIXED
+                    ? this.buffer.readFixedString(this.cursor.start() + column.offset(), column.size(), target)
+                    : this.buffer.readVariableString(this.variableValueOffset(column), target);
+                break;
+            }
+            case SPARSE:
+
+                if (!(this.cursor.cellType() instanceof LayoutUtf8)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                count = this.buffer.readSparseString(this.cursor, target);
+                break;
+
+            default:
+                return Result.FAILURE;
+        }
+
+        return count < 0 ? Result.INSUFFICIENT_BUFFER : Result.SUCCESS;
+    }
+
     /**
      * Read the current field as a variable length, UTF-8 encoded, string value.
      *
@@ -725,7 +995,7 @@ public final class RowReader {
         switch (this.state) {
 
             case SCHEMATIZED:
-                return this.readPrimitiveValue(value);
+                return this.readUtf8Value(value);
 
             case SPARSE:
                 if (!(this.cursor.cellType() instanceof LayoutUtf8)) {
@@ -741,6 +1011,66 @@ public final class RowReader {
         }
     }
 
+    /**
+     * Read the current field as a variable length, UTF-8 encoded string value by copying its bytes to a
+     * {@link ByteBuf}.
+     * <p>
+     * The UTF-8 encoded bytes of the value are written to {@code target} starting at its writer index. The value is
+     * neither decoded nor wrapped, making this the cheapest way to forward a string field to another UTF-8 sink such as
+     * a JSON writer or a hash function.
+     *
+     * @param target receives the UTF-8 encoded bytes of the value on success, unchanged otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, an error {@link Result} otherwise.
+     */
+    public Result readUtf8String(@Nonnull final ByteBuf target) {
+
+        checkNotNull(target, "expected non-null target");
+
+        switch (this.state) {
+
+            case SCHEMATIZED: {
+
+                final LayoutColumn column = this.columns.get(this.columnIndex);
+
+                if (!(column.type() instanceof LayoutUtf8)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                if (this.projection != null) {
+                    final Out<Utf8String> value = new Out<>();
+                    final Result result = this.readUtf8Value(value);
+                    if (result == Result.SUCCESS) {
+                        target.writeBytes(value.get().content(), 0, value.get().encodedLength());
+                    }
+                    return result;
+                }
+
+                if (!this.buffer.readBit(this.cursor.start(), column.nullBit())) {
+                    return Result.NOT_FOUND;
+                }
+
+                if (column.storage() == StorageKind.FIXED) {
+                    this.buffer.readFixedString(this.cursor.start() + column.offset(), column.size(), target);
+                } else {
+                    this.buffer.readVariableString(this.variableValueOffset(column), target);
+                }
+
+                return Result.SUCCESS;
+            }
+            case SPARSE:
+
+                if (!(this.cursor.cellType() instanceof LayoutUtf8)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                this.buffer.readSparseString(this.cursor, target);
+                return Result.SUCCESS;
+
+            default:
+                return Result.FAILURE;
+        }
+    }
+
     /**
      * Read the current field as a fixed length, 16-bit, unsigned integer.
      *
@@ -906,6 +1236,61 @@ public final class RowReader {
         }
     }
 
+    /**
+     * Read the current field as a fixed length {@link UnixDateTime} value given as a number of milliseconds.
+     * <p>
+     * Unlike {@link #readUnixDateTime(Out)}, no objects are allocated, so a single {@code value} can be reused across
+     * fields and rows.
+     *
+     * @param value On success, receives the number of milliseconds since the Unix epoch recorded by the field as its
+     *              first element, unchanged otherwise.
+     * @return {@link Result#SUCCESS} if the read is successful, an error {@link Result} otherwise.
+     */
+    public Result readUnixMillis(@Nonnull final long[] value) {
+
+        checkNotNull(value, "expected non-null value");
+        checkArgument(value.length >= 1, "expected value of length 1 or more, not %s", value.length);
+
+        switch (this.state) {
+
+            case SCHEMATIZED: {
+
+                final LayoutColumn column = this.columns.get(this.columnIndex);
+
+                if (!(column.type() instanceof LayoutUnixDateTime)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                if (this.projection != null) {
+                    final Out<UnixDateTime> dateTime = new Out<>();
+                    final Result result = this.readPrimitiveValue(dateTime);
+                    if (result == Result.SUCCESS) {
+                        value[0] = dateTime.get().milliseconds();
+                    }
+                    return result;
+                }
+
+                if (!this.buffer.readBit(this.cursor.start(), column.nullBit())) {
+                    return Result.NOT_FOUND;
+                }
+
+                value[0] = this.buffer.readUnixMillis(this.cursor.start() + column.offset());
+                return Result.SUCCESS;
+            }
+            case SPARSE:
+
+                if (!(this.cursor.cellType() instanceof LayoutUnixDateTime)) {
+                    return Result.TYPE_MISMATCH;
+                }
+
+                value[0] = this.buffer.readSparseUnixMillis(this.cursor);
+                return Result.SUCCESS;
+
+            default:
+                return Result.FAILURE;
+        }
+    }
+
     /**
      * Read the current field as a variable length, 7-bit encoded, signed integer.
      *
@@ -1050,6 +1435,10 @@ public final class RowReader {
             return Result.TYPE_MISMATCH;
         }
 
+        if (this.projection != null) {
+            return this.projection.read(this.buffer, this.cursor, this.columnIndex, value);
+        }
+
         final StorageKind storage = column == null ? StorageKind.NONE : column.storage();
 
         switch (storage) {
@@ -1063,39 +1452,48 @@ public final class RowReader {
         }
     }
 
-//    /**
-//     * Reads a generic schematized field value via the scope's layout
-//     *
-//     * @param value On success, receives the value, undefined otherwise
-//     * @return {@link Result#SUCCESS} if the read is successful; an error {@link Result} otherwise
-//     */
-//    private Result readPrimitiveValue(Out<Utf8String> value) {
-//
-//        LayoutColumn column = this.columns.get(this.columnIndex);
-//        LayoutType type = this.columns.get(this.columnIndex).type();
-//
-//        if (!(type instanceof LayoutUtf8Readable)) {
-//            value.set(null);
-//            return Result.TYPE_MISMATCH;
-//        }
-//
-//        StorageKind storage = column == null ? StorageKind.NONE : column.storage();
-//
-//        switch (storage) {
-//
-//            case FIXED:
-//                return type.<LayoutUtf8Readable>typeAs().readFixed(this.row, this.cursor, column, value);
-//
-//            case VARIABLE:
-//                return type.<LayoutUtf8Readable>typeAs().readVariable(this.row, this.cursor, column, value);
-//
-//            default:
-//                assert false : lenientFormat("expected FIXED or VARIABLE column storage, not %s", storage);
-//                value.set(null);
-//                return Result.FAILURE;
-//        }
-//    }
-//
+    /**
+     * Reads a schematized UTF-8 field value via the scope's layout
+     *
+     * @param value On success, receives the value, undefined otherwise
+     * @return {@link Result#SUCCESS} if the read is successful; an error {@link Result} otherwise
+     */
+    @Nonnull
+    private Result readUtf8Value(@Nonnull Out<Utf8String> value) {
+
+        final LayoutColumn column = this.columns.get(this.columnIndex);
+        final LayoutType type = column.type();
+
+        if (!(type instanceof LayoutUtf8Readable)) {
+            value.set(null);
+            return Result.TYPE_MISMATCH;
+        }
+
+        if (this.projection != null) {
+            return this.projection.readUtf8(this.buffer, this.cursor, this.columnIndex, value);
+        }
+
+        switch (column.storage()) {
+            case FIXED:
+                return type.<LayoutUtf8Readable>typeAs().readFixedSpan(this.buffer, this.cursor, column, value);
+            case VARIABLE:
+                return type.<LayoutUtf8Readable>typeAs().readVariableSpan(this.buffer, this.cursor, column, value);
+            default:
+                String message = lenientFormat("expected FIXED or VARIABLE column storage, not %s", column.storage());
+                throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * Computes the offset of the value of a schematized variable length field via the scope's layout
+     *
+     * @param column the column of the field
+     * @return the offset of the value of the field within the row
+     */
+    private int variableValueOffset(@Nonnull final LayoutColumn column) {
+        return this.buffer.computeVariableValueOffset(this.cursor.layout(), this.cursor.start(), column.offset());
+    }
+
     /**
      * Reads a generic schematized field value via the scope's layout
      *
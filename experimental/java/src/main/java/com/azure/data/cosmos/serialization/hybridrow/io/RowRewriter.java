@@ -0,0 +1,597 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowHeader;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursors;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutBit;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutColumn;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypeScope;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUDT;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.StringToken;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.StringTokenizer;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * Rewrites rows from one {@link Layout} to another using a plan compiled once from the two layouts.
+ * <p>
+ * A {@link RowRewriter} is intended for schema version upgrades. Columns are matched by path, optionally through a map
+ * of renames. Source columns with no match in the target layout are dropped and target columns with no match in the
+ * source layout are left null. The plan copies:
+ * <ul>
+ * <li>fixed columns of the same type with block copies, merging adjacent columns into a single copy;</li>
+ * <li>fixed columns of a narrower numeric type with a widening conversion;</li>
+ * <li>present variable columns of the same type as raw encoded bytes; and</li>
+ * <li>the sparse segment as raw bytes, re-encoding only the field paths whose tokens differ between the layouts or
+ * whose columns are renamed, and skipping the fields of sparse columns that are dropped.</li>
+ * </ul>
+ * Sparse columns are matched like other columns, but their values are not converted: a matched pair of sparse columns
+ * must have the same type. Unschematized sparse fields are copied. Only top-level columns are rewritten.
+ * {@link RowRewriter} is immutable and may be shared across threads.
+ */
+public final class RowRewriter {
+
+    private final ImmutableList<BitCopy> bitCopies;
+    private final ImmutableList<BlockCopy> blockCopies;
+    private final ImmutableList<Conversion> conversions;
+    private final ByteBuf[] pathEncodings;
+    private final ByteBuf[] topPathEncodings;
+    private final Layout source;
+    private final boolean sparseVerbatim;
+    private final Layout target;
+    private final ImmutableList<VariableCopy> variableCopies;
+
+    /**
+     * Initializes a new instance of the {@link RowRewriter} class.
+     *
+     * @param source layout of the rows to be rewritten.
+     * @param target layout of the rewritten rows.
+     */
+    public RowRewriter(@Nonnull final Layout source, @Nonnull final Layout target) {
+        this(source, target, ImmutableMap.of());
+    }
+
+    /**
+     * Initializes a new instance of the {@link RowRewriter} class.
+     *
+     * @param source  layout of the rows to be rewritten.
+     * @param target  layout of the rewritten rows.
+     * @param renames a map from target column path to source column path for renamed columns.
+     * @throws IllegalArgumentException if a matched pair of columns cannot be converted.
+     */
+    public RowRewriter(
+        @Nonnull final Layout source, @Nonnull final Layout target, @Nonnull final Map<String, String> renames) {
+
+        checkNotNull(source, "expected non-null source");
+        checkNotNull(target, "expected non-null target");
+        checkNotNull(renames, "expected non-null renames");
+
+        this.source = source;
+        this.target = target;
+
+        final List<BitCopy> bitCopies = new ArrayList<>();
+        final List<BlockCopy> blockCopies = new ArrayList<>();
+        final List<Conversion> conversions = new ArrayList<>();
+        final List<VariableCopy> variableCopies = new ArrayList<>();
+        final Map<String, String> sparsePaths = new HashMap<>();
+
+        for (LayoutColumn targetColumn : target.columns()) {
+
+            final String path = targetColumn.path().toUtf16();
+            final Optional<LayoutColumn> match = source.tryFind(renames.getOrDefault(path, path));
+
+            if (!match.isPresent() || match.get().parent() != null) {
+                continue;
+            }
+
+            final LayoutColumn sourceColumn = match.get();
+            final LayoutCode sourceCode = sourceColumn.type().layoutCode();
+            final LayoutCode targetCode = targetColumn.type().layoutCode();
+
+            if (sourceColumn.storage() != targetColumn.storage()) {
+                throw incompatible(sourceColumn, targetColumn);
+            }
+
+            if (targetColumn.storage() == StorageKind.SPARSE) {
+                if (sourceCode != targetCode || !sourceColumn.typeArgs().equals(targetColumn.typeArgs())) {
+                    throw incompatible(sourceColumn, targetColumn);
+                }
+                sparsePaths.put(sourceColumn.path().toUtf16(), path);
+                continue;
+            }
+
+            if (!targetColumn.nullBit().isInvalid()) {
+                bitCopies.add(new BitCopy(sourceColumn.nullBit(), targetColumn.nullBit()));
+            }
+
+            if (targetColumn.storage() == StorageKind.VARIABLE) {
+                if (sourceCode != targetCode) {
+                    throw incompatible(sourceColumn, targetColumn);
+                }
+                variableCopies.add(new VariableCopy(sourceColumn, targetColumn));
+                continue;
+            }
+
+            if (targetColumn.type().isBoolean()) {
+                if (!sourceColumn.type().isBoolean()) {
+                    throw incompatible(sourceColumn, targetColumn);
+                }
+                bitCopies.add(new BitCopy(sourceColumn.booleanBit(), targetColumn.booleanBit()));
+                continue;
+            }
+
+            if (sourceCode == targetCode && sourceColumn.size() == targetColumn.size()) {
+                blockCopies.add(new BlockCopy(sourceColumn.offset(), targetColumn.offset(), targetColumn.size()));
+                continue;
+            }
+
+            if (!Conversion.isWidening(sourceCode, targetCode)) {
+                throw incompatible(sourceColumn, targetColumn);
+            }
+
+            conversions.add(new Conversion(sourceColumn.offset(), sourceCode, targetColumn.offset(), targetCode));
+        }
+
+        this.bitCopies = ImmutableList.copyOf(bitCopies);
+        this.blockCopies = BlockCopy.merge(blockCopies);
+        this.conversions = ImmutableList.copyOf(conversions);
+        this.variableCopies = ImmutableList.copyOf(variableCopies);
+
+        // Map each source path token to its encoding in the target layout; the sparse segment is copied verbatim when
+        // every token encodes identically
+
+        final StringTokenizer sourceTokenizer = source.tokenizer();
+        final StringTokenizer targetTokenizer = target.tokenizer();
+
+        boolean sparseVerbatim = sourceTokenizer.count() == targetTokenizer.count();
+        this.pathEncodings = new ByteBuf[sourceTokenizer.count()];
+
+        for (int id = 0; id < sourceTokenizer.count(); id++) {
+            final Utf8String path = sourceTokenizer.tryFindString(id).orElse(Utf8String.EMPTY);
+            final Optional<StringToken> token = targetTokenizer.tryFindToken(new UtfAnyString(path));
+            sparseVerbatim &= token.isPresent() && token.get().id() == id;
+            this.pathEncodings[id] = encodePath(targetTokenizer, path);
+        }
+
+        // Top-level fields of sparse columns are renamed or dropped; the sparse segment is no longer copied verbatim
+        // when any of them is
+
+        this.topPathEncodings = this.pathEncodings.clone();
+
+        for (LayoutColumn sourceColumn : source.columns()) {
+
+            if (sourceColumn.storage() != StorageKind.SPARSE) {
+                continue;
+            }
+
+            final String path = sourceColumn.path().toUtf16();
+            final String targetPath = sparsePaths.get(path);
+
+            if (path.equals(targetPath)) {
+                continue;
+            }
+
+            final int id = (int) sourceTokenizer.tryFindToken(new UtfAnyString(path))
+                .orElseThrow(() -> new IllegalStateException(lenientFormat("expected token for column %s", path)))
+                .id();
+
+            this.topPathEncodings[id] = targetPath == null
+                ? null
+                : encodePath(targetTokenizer, Utf8String.transcodeUtf16(targetPath));
+
+            sparseVerbatim = false;
+        }
+
+        this.sparseVerbatim = sparseVerbatim;
+    }
+
+    /**
+     * Layout of the rows to be rewritten.
+     *
+     * @return layout of the rows to be rewritten.
+     */
+    @Nonnull
+    public Layout source() {
+        return this.source;
+    }
+
+    /**
+     * Layout of the rewritten rows.
+     *
+     * @return layout of the rewritten rows.
+     */
+    @Nonnull
+    public Layout target() {
+        return this.target;
+    }
+
+    /**
+     * Rewrites a row.
+     *
+     * @param source   a row with the {@link #source} layout.
+     * @param target   an empty row to receive the rewritten content.
+     * @param resolver the resolver to be used by the {@code target} row.
+     * @return {@link Result#SUCCESS} if the row was rewritten; {@link Result#TYPE_MISMATCH}, if the {@code source} row
+     * does not have the {@link #source} layout.
+     */
+    @Nonnull
+    public Result rewrite(
+        @Nonnull final RowBuffer source, @Nonnull final RowBuffer target, @Nonnull final LayoutResolver resolver) {
+
+        checkNotNull(source, "expected non-null source");
+        checkNotNull(target, "expected non-null target");
+        checkNotNull(resolver, "expected non-null resolver");
+        checkArgument(target.length() == 0, "expected empty target, not %s bytes", target.length());
+
+        final HybridRowHeader header = source.header();
+
+        if (!header.schemaId().equals(this.source.schemaId())) {
+            return Result.TYPE_MISMATCH;
+        }
+
+        target.initLayout(header.version(), this.target, resolver);
+
+        final int start = HybridRowHeader.BYTES;
+
+        for (BlockCopy copy : this.blockCopies) {
+            target.writeFixedBinary(start + copy.targetOffset, source.readFixedBinary(start + copy.sourceOffset,
+                copy.length), copy.length);
+        }
+
+        for (Conversion conversion : this.conversions) {
+            conversion.apply(source, target, start);
+        }
+
+        for (BitCopy copy : this.bitCopies) {
+            if (source.readBit(start, copy.sourceBit)) {
+                target.setBit(start, copy.targetBit);
+            }
+        }
+
+        // Present variable values are appended in target column order
+
+        final Out<Integer> lengthInBytes = new Out<>();
+
+        for (VariableCopy copy : this.variableCopies) {
+
+            if (!source.readBit(start, copy.source.nullBit())) {
+                continue;
+            }
+
+            final int offset = source.computeVariableValueOffset(this.source, start, copy.source.offset());
+            final long value = source.readVariableUInt(offset, lengthInBytes);
+            final int length = copy.source.type().isVarint() ? lengthInBytes.get() : lengthInBytes.get() + (int) value;
+
+            target.writeFixedBinary(target.length(), source.readFixedBinary(offset, length), length);
+        }
+
+        // Sparse fields are copied as raw bytes, substituting path encodings where required
+
+        final RowCursor scope = RowCursor.create(source);
+        int copied = scope.metaOffset();
+
+        if (!this.sparseVerbatim) {
+            copied = this.rewriteSparsePaths(source, scope, target, copied, true);
+        }
+
+        final int length = source.length() - copied;
+        target.writeFixedBinary(target.length(), source.readFixedBinary(copied, length), length);
+
+        return Result.SUCCESS;
+    }
+
+    /**
+     * Copies a sparse scope up to its last field path, re-encoding every field path with the target tokenizer.
+     * <p>
+     * At the top level, the fields of renamed sparse columns are given their new paths and the fields of dropped sparse
+     * columns are skipped.
+     *
+     * @param source the row being rewritten.
+     * @param scope  the sparse scope to walk.
+     * @param target the row being written.
+     * @param copied offset in {@code source} up to which bytes have been copied.
+     * @param top    {@code true} if {@code scope} is the top-level scope of the row.
+     * @return the new offset in {@code source} up to which bytes have been copied.
+     */
+    private int rewriteSparsePaths(
+        @Nonnull final RowBuffer source,
+        @Nonnull final RowCursor scope,
+        @Nonnull final RowBuffer target,
+        int copied,
+        final boolean top) {
+
+        final ByteBuf[] pathEncodings = top ? this.topPathEncodings : this.pathEncodings;
+        final int count = this.source.tokenizer().count();
+        boolean skipping = false;
+
+        while (RowCursors.moveNext(scope, source)) {
+
+            // The field that follows a skipped field marks the end of the skipped field
+
+            if (skipping) {
+                copied = scope.metaOffset();
+                skipping = false;
+            }
+
+            if (!scope.scopeType().isIndexedScope()) {
+
+                final int token = scope.pathToken();
+                final int pathStart = token < count
+                    ? scope.pathOffset()
+                    : scope.pathOffset() - RowBuffer.count7BitEncodedUInt(token);
+
+                if (token < count && pathEncodings[token] == null) {
+                    copied = copy(source, target, copied, scope.metaOffset());
+                    skipping = true;
+                    continue;
+                }
+
+                copied = copy(source, target, copied, pathStart);
+
+                if (token < count) {
+                    final ByteBuf encoding = pathEncodings[token];
+                    target.writeFixedBinary(target.length(), encoding.duplicate(), encoding.readableBytes());
+                } else {
+                    final StringToken targetToken = source.readSparsePathToken(scope, this.target.tokenizer());
+                    final ByteBuf encoding = targetToken != null
+                        ? targetToken.varint().duplicate()
+                        : encodePath(this.target.tokenizer(), source.readSparsePath(scope));
+                    target.writeFixedBinary(target.length(), encoding, encoding.readableBytes());
+                }
+
+                copied = scope.valueOffset();
+            }
+
+            // Fields nested in scopes other than UDTs are tokenized by the same layout
+
+            if (scope.cellType() instanceof LayoutTypeScope && !(scope.cellType() instanceof LayoutUDT)) {
+                copied = this.rewriteSparsePaths(source, source.sparseIteratorReadScope(scope, true), target, copied,
+                    false);
+            }
+        }
+
+        return skipping ? scope.metaOffset() : copied;
+    }
+
+    private static int copy(
+        @Nonnull final RowBuffer source, @Nonnull final RowBuffer target, final int from, final int to) {
+        final int length = to - from;
+        if (length > 0) {
+            target.writeFixedBinary(target.length(), source.readFixedBinary(from, length), length);
+        }
+        return to;
+    }
+
+    private static ByteBuf encodePath(@Nonnull final StringTokenizer tokenizer, @Nonnull final Utf8String path) {
+
+        final Optional<StringToken> token = tokenizer.tryFindToken(new UtfAnyString(path));
+
+        if (token.isPresent()) {
+            return token.get().varint().duplicate();
+        }
+
+        final int length = path.encodedLength();
+        final long id = (long) tokenizer.count() + length;
+        final ByteBuf buffer = Unpooled.buffer(RowBuffer.count7BitEncodedUInt(id) + length);
+
+        for (long n = id; ; n >>>= 7) {
+            if (n < 0x80L) {
+                buffer.writeByte((byte) n);
+                break;
+            }
+            buffer.writeByte((byte) (n | 0x80L));
+        }
+
+        buffer.writeBytes(path.content(), 0, length);
+        return buffer.asReadOnly();
+    }
+
+    private static IllegalArgumentException incompatible(LayoutColumn source, LayoutColumn target) {
+        return new IllegalArgumentException(lenientFormat("cannot rewrite %s column %s of type %s as %s column %s of "
+                + "type %s", source.storage(), source.fullPath(), source.type().name(), target.storage(),
+            target.fullPath(), target.type().name()));
+    }
+
+    private static final class BitCopy {
+
+        final LayoutBit sourceBit;
+        final LayoutBit targetBit;
+
+        BitCopy(LayoutBit sourceBit, LayoutBit targetBit) {
+            this.sourceBit = sourceBit;
+            this.targetBit = targetBit;
+        }
+    }
+
+    private static final class BlockCopy {
+
+        final int length;
+        final int sourceOffset;
+        final int targetOffset;
+
+        BlockCopy(int sourceOffset, int targetOffset, int length) {
+            this.sourceOffset = sourceOffset;
+            this.targetOffset = targetOffset;
+            this.length = length;
+        }
+
+        /**
+         * Merges block copies of adjacent columns that remain adjacent in the target layout.
+         *
+         * @param copies the block copies to merge.
+         * @return the merged block copies ordered by source offset.
+         */
+        static ImmutableList<BlockCopy> merge(List<BlockCopy> copies) {
+
+            copies.sort(Comparator.comparingInt(copy -> copy.sourceOffset));
+            final ImmutableList.Builder<BlockCopy> builder = ImmutableList.builder();
+            BlockCopy current = null;
+
+            for (BlockCopy copy : copies) {
+                if (current != null
+                    && current.sourceOffset + current.length == copy.sourceOffset
+                    && current.targetOffset + current.length == copy.targetOffset) {
+                    current = new BlockCopy(current.sourceOffset, current.targetOffset, current.length + copy.length);
+                } else {
+                    if (current != null) {
+                        builder.add(current);
+                    }
+                    current = copy;
+                }
+            }
+
+            if (current != null) {
+                builder.add(current);
+            }
+
+            return builder.build();
+        }
+    }
+
+    static final class Conversion {
+
+        final int sourceOffset;
+        final LayoutCode sourceCode;
+        final int targetOffset;
+        final LayoutCode targetCode;
+
+        Conversion(int sourceOffset, LayoutCode sourceCode, int targetOffset, LayoutCode targetCode) {
+            this.sourceOffset = sourceOffset;
+            this.sourceCode = sourceCode;
+            this.targetOffset = targetOffset;
+            this.targetCode = targetCode;
+        }
+
+        void apply(@Nonnull final RowBuffer source, @Nonnull final RowBuffer target, final int start) {
+
+            final int sourceOffset = start + this.sourceOffset;
+            final int targetOffset = start + this.targetOffset;
+
+            if (this.targetCode == LayoutCode.FLOAT_64) {
+                final double value = this.sourceCode == LayoutCode.FLOAT_32
+                    ? source.readFloat32(sourceOffset)
+                    : readInteger(source, this.sourceCode, sourceOffset);
+                target.writeFloat64(targetOffset, value);
+                return;
+            }
+
+            final long value = readInteger(source, this.sourceCode, sourceOffset);
+
+            switch (this.targetCode) {
+                case FLOAT_32:
+                    target.writeFloat32(targetOffset, value);
+                    break;
+                case INT_16:
+                    target.writeInt16(targetOffset, (short) value);
+                    break;
+                case INT_32:
+                    target.writeInt32(targetOffset, (int) value);
+                    break;
+                case INT_64:
+                    target.writeInt64(targetOffset, value);
+                    break;
+                case UINT_16:
+                    target.writeUInt16(targetOffset, (short) value);
+                    break;
+                case UINT_32:
+                    target.writeUInt32(targetOffset, (int) value);
+                    break;
+                case UINT_64:
+                    target.writeUInt64(targetOffset, value);
+                    break;
+                default:
+                    throw new IllegalStateException(lenientFormat("unexpected target code: %s", this.targetCode));
+            }
+        }
+
+        /**
+         * Returns {@code true} if every value of the source type is exactly representable by the target type.
+         *
+         * @param source the source type.
+         * @param target the target type.
+         * @return {@code true} if the conversion is widening; otherwise {@code false}.
+         */
+        static boolean isWidening(@Nonnull final LayoutCode source, @Nonnull final LayoutCode target) {
+            switch (source) {
+                case INT_8:
+                    return target == LayoutCode.INT_16 || target == LayoutCode.INT_32 || target == LayoutCode.INT_64
+                        || target == LayoutCode.FLOAT_32 || target == LayoutCode.FLOAT_64;
+                case INT_16:
+                    return target == LayoutCode.INT_32 || target == LayoutCode.INT_64
+                        || target == LayoutCode.FLOAT_32 || target == LayoutCode.FLOAT_64;
+                case INT_32:
+                    return target == LayoutCode.INT_64 || target == LayoutCode.FLOAT_64;
+                case UINT_8:
+                    return target == LayoutCode.UINT_16 || target == LayoutCode.UINT_32 || target == LayoutCode.UINT_64
+                        || target == LayoutCode.INT_16 || target == LayoutCode.INT_32 || target == LayoutCode.INT_64
+                        || target == LayoutCode.FLOAT_32 || target == LayoutCode.FLOAT_64;
+                case UINT_16:
+                    return target == LayoutCode.UINT_32 || target == LayoutCode.UINT_64
+                        || target == LayoutCode.INT_32 || target == LayoutCode.INT_64
+                        || target == LayoutCode.FLOAT_32 || target == LayoutCode.FLOAT_64;
+                case UINT_32:
+                    return target == LayoutCode.UINT_64 || target == LayoutCode.INT_64 || target == LayoutCode.FLOAT_64;
+                case FLOAT_32:
+                    return target == LayoutCode.FLOAT_64;
+                default:
+                    return false;
+            }
+        }
+
+        static long readInteger(@Nonnull final RowBuffer source, @Nonnull final LayoutCode code, int offset) {
+            switch (code) {
+                case INT_8:
+                    return source.readInt8(offset);
+                case INT_16:
+                    return source.readInt16(offset);
+                case INT_32:
+                    return source.readInt32(offset);
+                case UINT_8:
+                    return source.readUInt8(offset);
+                case UINT_16:
+                    return source.readUInt16(offset);
+                case UINT_32:
+                    return source.readUInt32(offset);
+                default:
+                    throw new IllegalStateException(lenientFormat("unexpected source code: %s", code));
+            }
+        }
+    }
+
+    private static final class VariableCopy {
+
+        final LayoutColumn source;
+        final LayoutColumn target;
+
+        VariableCopy(LayoutColumn source, LayoutColumn target) {
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
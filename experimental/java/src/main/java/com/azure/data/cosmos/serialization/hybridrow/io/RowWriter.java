@@ -15,6 +15,9 @@ import com.azure.data.cosmos.serialization.hybridrow.UnixDateTime;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutArray;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutColumn;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutDateTime;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutDecimal;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutGuid;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutListWritable;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutNullable;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutObject;
@@ -32,6 +35,7 @@ import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypedTuple;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUDT;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUniqueScope;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUnixDateTime;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutUtf8Writable;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgument;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgumentList;
@@ -48,6 +52,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.lenientFormat;
 
@@ -55,6 +60,7 @@ public final class RowWriter {
 
     private RowCursor cursor;
     private RowBuffer row;
+    private final int tail;
 
     /**
      * Initializes a new instance of the {@link RowWriter} class.
@@ -68,6 +74,60 @@ public final class RowWriter {
     private RowWriter(RowBuffer row, RowCursor scope) {
         this.row = row;
         this.cursor = scope;
+        this.tail = -1;
+    }
+
+    /**
+     * Initializes a new instance of the {@link RowWriter} class in append mode.
+     * <p>
+     * In append mode the writer assumes that {@code scope} is positioned at the end of its scope and that all writes
+     * are appended there. It records the number of bytes that follow the end of the scope--the end of scope markers of
+     * the enclosing scopes--and after each sparse write positions its cursor that many bytes from the end of the row
+     * without re-reading the field just written. Fixed arity scopes, which are written with a default value for each
+     * of their elements, are not written in append mode.
+     *
+     * @param row   The row to be written.
+     * @param scope The scope into which items should be written, positioned at its end.
+     * @param tail  The number of bytes following the end of {@code scope}.
+     */
+    private RowWriter(RowBuffer row, RowCursor scope, int tail) {
+        checkArgument(tail >= 0, "expected non-negative tail, not %s", tail);
+        this.row = row;
+        this.cursor = scope;
+        this.tail = tail;
+    }
+
+    /**
+     * Append fields to the end of a buffer in a streaming left-to-right way.
+     * <p>
+     * This is the fast path for serialization: unlike {@link #writeBuffer}, sparse fields and nested scopes are
+     * appended to the end of their scope without re-reading each field after it is written. Any sparse fields already
+     * present in the buffer are skipped, not overwritten. The elements of fixed arity scopes--tuples, tagged and
+     * nullable values--are written as {@link #writeBuffer} writes them.
+     *
+     * @param <TContext> The type of the context value to pass to {@code func}.
+     * @param buffer     The buffer to write.
+     * @param context    A context value to pass to {@code func}.
+     * @param func       A function to write the entire buffer.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    public static <TContext> Result appendBuffer(
+        @Nonnull final RowBuffer buffer, final @Nonnull TContext context, @Nonnull final WriterFunc<TContext> func) {
+
+        checkNotNull(buffer, "expected non-null buffer");
+        checkNotNull(context, "expected non-null context");
+        checkNotNull(func, "expected non-null func");
+
+        RowCursor scope = RowCursor.create(buffer);
+
+        //noinspection StatementWithEmptyBody
+        while (RowCursors.moveNext(scope, buffer)) {
+        }
+
+        RowWriter writer = new RowWriter(buffer, scope, buffer.length() - scope.metaOffset());
+        TypeArgument typeArg = new TypeArgument(LayoutTypes.UDT, new TypeArgumentList(scope.layout().schemaId()));
+
+        return func.invoke(writer, typeArg, context);
     }
 
     /**
@@ -170,6 +230,36 @@ public final class RowWriter {
         );
     }
 
+    /**
+     * Write a field as a fixed length {@code DateTime} value given as a number of ticks.
+     * <p>
+     * Unlike {@link #writeDateTime(UtfAnyString, OffsetDateTime)}, no {@link OffsetDateTime} is required. The value is
+     * recorded as a UTC time.
+     *
+     * @param path  The scope-relative path of the field to write.
+     * @param ticks The number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} UTC.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    public Result writeDateTimeTicks(UtfAnyString path, long ticks) {
+
+        final LayoutColumn column = this.schematizedColumn(path);
+
+        if (column != null) {
+            return column.type() instanceof LayoutDateTime
+                ? LayoutTypes.DATE_TIME.writeFixed(this.row, this.cursor, column, ticks)
+                : Result.TYPE_MISMATCH;
+        }
+
+        final Result result = this.prepareSparseWrite(path, LayoutTypes.DATE_TIME.typeArg());
+
+        if (result == Result.SUCCESS) {
+            this.row.writeSparseDateTimeTicks(this.cursor, ticks, UpdateOptions.UPSERT);
+            this.moveNext();
+        }
+
+        return result;
+    }
+
     /**
      * Write a field as a fixed length {@code Decimal} value.
      *
@@ -183,6 +273,36 @@ public final class RowWriter {
         );
     }
 
+    /**
+     * Write a field as a fixed length {@code Decimal} value given as an unscaled value and a scale.
+     * <p>
+     * Unlike {@link #writeDecimal(UtfAnyString, BigDecimal)}, no {@link BigDecimal} is required.
+     *
+     * @param path          The scope-relative path of the field to write.
+     * @param unscaledValue The unscaled value to write.
+     * @param scale         The number of digits to the right of the decimal point, a value between 0 and 28.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    public Result writeDecimal(UtfAnyString path, long unscaledValue, int scale) {
+
+        final LayoutColumn column = this.schematizedColumn(path);
+
+        if (column != null) {
+            return column.type() instanceof LayoutDecimal
+                ? LayoutTypes.DECIMAL.writeFixed(this.row, this.cursor, column, unscaledValue, scale)
+                : Result.TYPE_MISMATCH;
+        }
+
+        final Result result = this.prepareSparseWrite(path, LayoutTypes.DECIMAL.typeArg());
+
+        if (result == Result.SUCCESS) {
+            this.row.writeSparseDecimal(this.cursor, unscaledValue, scale, UpdateOptions.UPSERT);
+            this.moveNext();
+        }
+
+        return result;
+    }
+
     /**
      * Write a field as a fixed length, 128-bit, IEEE-encoded floating point value.
      *
@@ -235,6 +355,36 @@ public final class RowWriter {
         );
     }
 
+    /**
+     * Write a field as a fixed length {@code Guid} value given as its most and least significant bits.
+     * <p>
+     * Unlike {@link #writeGuid(UtfAnyString, UUID)}, no {@link UUID} is required.
+     *
+     * @param path The scope-relative path of the field to write.
+     * @param high The most significant bits of the value to write.
+     * @param low  The least significant bits of the value to write.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    public Result writeGuid(UtfAnyString path, long high, long low) {
+
+        final LayoutColumn column = this.schematizedColumn(path);
+
+        if (column != null) {
+            return column.type() instanceof LayoutGuid
+                ? LayoutTypes.GUID.writeFixed(this.row, this.cursor, column, high, low)
+                : Result.TYPE_MISMATCH;
+        }
+
+        final Result result = this.prepareSparseWrite(path, LayoutTypes.GUID.typeArg());
+
+        if (result == Result.SUCCESS) {
+            this.row.writeSparseGuid(this.cursor, high, low, UpdateOptions.UPSERT);
+            this.moveNext();
+        }
+
+        return result;
+    }
+
     /**
      * Write a field as a fixed length, 16-bit, signed integer.
      *
@@ -386,7 +536,12 @@ public final class RowWriter {
                 type.getClass()));
         }
 
-        RowWriter nestedWriter = new RowWriter(this.row, nestedScope);
+        // Fixed arity scopes are written with a default value for each of their elements, which are then overwritten
+        // in place; so they are never appended to, even in append mode
+
+        RowWriter nestedWriter = this.tail < 0 || nestedScope.scopeType().isFixedArity()
+            ? new RowWriter(this.row, nestedScope)
+            : new RowWriter(this.row, nestedScope, this.row.length() - nestedScope.metaOffset());
         result = func == null ? null : func.invoke(nestedWriter, typeArg, context);
 
         if (result == null) {
@@ -409,7 +564,12 @@ public final class RowWriter {
             }
         }
 
-        RowCursors.moveNext(this.cursor, this.row, nestedWriter.cursor);
+        if (this.tail < 0) {
+            RowCursors.moveNext(this.cursor, this.row, nestedWriter.cursor);
+        } else {
+            this.moveToEnd();
+        }
+
         return Result.SUCCESS;
     }
 
@@ -516,6 +676,35 @@ public final class RowWriter {
         );
     }
 
+    /**
+     * Write a field as a fixed length {@link UnixDateTime} value given as a number of milliseconds.
+     * <p>
+     * Unlike {@link #writeUnixDateTime(UtfAnyString, UnixDateTime)}, no {@link UnixDateTime} is required.
+     *
+     * @param path   The scope-relative path of the field to write.
+     * @param millis The number of milliseconds since the Unix epoch.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    public Result writeUnixMillis(UtfAnyString path, long millis) {
+
+        final LayoutColumn column = this.schematizedColumn(path);
+
+        if (column != null) {
+            return column.type() instanceof LayoutUnixDateTime
+                ? LayoutTypes.UNIX_DATE_TIME.writeFixed(this.row, this.cursor, column, millis)
+                : Result.TYPE_MISMATCH;
+        }
+
+        final Result result = this.prepareSparseWrite(path, LayoutTypes.UNIX_DATE_TIME.typeArg());
+
+        if (result == Result.SUCCESS) {
+            this.row.writeSparseUnixMillis(this.cursor, millis, UpdateOptions.UPSERT);
+            this.moveNext();
+        }
+
+        return result;
+    }
+
     /**
      * Write a field as a variable length, 7-bit encoded, signed integer.
      *
@@ -542,6 +731,41 @@ public final class RowWriter {
         );
     }
 
+    /**
+     * Moves the cursor past the sparse field just written.
+     */
+    private void moveNext() {
+        if (this.tail < 0) {
+            RowCursors.moveNext(this.cursor, this.row);
+        } else {
+            this.moveToEnd();
+        }
+    }
+
+    /**
+     * Positions the cursor at the end of its scope in append mode.
+     * <p>
+     * This leaves the cursor in the same state as {@link RowCursors#moveNext} does when it reaches the end of a scope.
+     */
+    private void moveToEnd() {
+
+        final RowCursor cursor = this.cursor;
+        final int offset = this.row.length() - this.tail;
+
+        if (cursor.scopeType().isIndexedScope()) {
+            cursor.index(cursor.index() + 1);
+        }
+
+        cursor.writePath(null);
+        cursor.writePathToken(null);
+
+        cursor.metaOffset(offset)
+            .valueOffset(offset)
+            .endOffset(0)
+            .cellType(LayoutTypes.END_SCOPE)
+            .exists(false);
+    }
+
     /**
      * Helper for preparing the write of a sparse field.
      *
@@ -596,7 +820,7 @@ public final class RowWriter {
             }
 
             sparse.accept(value);
-            RowCursors.moveNext(this.cursor, this.row);
+            this.moveNext();
         }
 
         return result;
@@ -632,7 +856,7 @@ public final class RowWriter {
             }
 
             sparse.accept(value);
-            RowCursors.moveNext(this.cursor, this.row);
+            this.moveNext();
         }
 
         return result;
@@ -666,12 +890,23 @@ public final class RowWriter {
             }
 
             sparse.accept(value);
-            RowCursors.moveNext(this.cursor, this.row);
+            this.moveNext();
         }
 
         return result;
     }
 
+    /**
+     * Finds the schematized column at a path, so that a primitive value can be written to it without boxing.
+     *
+     * @param path The scope-relative path of the field to write.
+     * @return the column at {@code path} or {@code null}, if the scope is not schematized or there is no such column.
+     */
+    @Nullable
+    private LayoutColumn schematizedColumn(UtfAnyString path) {
+        return this.cursor.scopeType() instanceof LayoutUDT ? this.cursor.layout().tryFind(path).orElse(null) : null;
+    }
+
     /**
      * Write a generic schematized field value via the scope's layout.
      *
@@ -0,0 +1,423 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.BinaryCollation;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowHeader;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursors;
+import com.azure.data.cosmos.serialization.hybridrow.codecs.DateTimeCodec;
+import com.azure.data.cosmos.serialization.hybridrow.codecs.GuidCodec;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutColumn;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutType;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypeScope;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.StringToken;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.PrimarySortKey;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SortDirection;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ByteProcessor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * Encodes the primary sort key of rows as byte strings whose unsigned lexicographic order is the order of the rows by
+ * their {@link PrimarySortKey}s, using a plan compiled once from a {@link Layout} and the primary sort keys of its
+ * schema.
+ * <p>
+ * Encoded keys may be compared with {@link BinaryCollation}, so that rows may be sorted, merged, and range partitioned
+ * without decoding their fields. Each component of the key is encoded in order as a presence byte, {@code 0x00} if the
+ * component is null or absent and {@code 0x01} if it has a value, followed by the encoding of its value, if it has one:
+ * <ul>
+ * <li>booleans are encoded as a single byte: {@code 1} for {@code true} and {@code 0} for {@code false};</li>
+ * <li>signed integers, including variable length integers, which are widened to eight bytes, and
+ * {@code UnixDateTime}s are encoded big-endian with their sign bit flipped;</li>
+ * <li>unsigned integers, including variable length integers, which are widened to eight bytes, and the ticks of
+ * {@code DateTime}s are encoded big-endian;</li>
+ * <li>floating point numbers are encoded big-endian with their sign bit flipped, if positive, and all of their bits
+ * flipped, if negative, so that {@code -0.0} orders before {@code 0.0}. A {@code NaN} orders by its sign bit:
+ * first, if it is set, as it is in the {@code NaN} of .NET, and last, if it is clear, as it is in that of Java;</li>
+ * <li>{@code Guid}s are encoded as their most significant long followed by their least significant long, both
+ * big-endian, which is the order of their string representation; and</li>
+ * <li>strings and binary values are encoded as their content with each {@code 0x00} byte escaped as {@code 0x00 0xFF},
+ * followed by the terminator {@code 0x00 0x01}, so that a value orders before the values it is a prefix of. Fixed
+ * length strings and binary values are encoded as the full length of their column.</li>
+ * </ul>
+ * The value of a sparse component is preceded by its {@link LayoutCode}, because a sparse field may hold values of
+ * different types in different rows and values of different types may have the same encoding. Sparse values therefore
+ * order first by layout code, and a sparse boolean is encoded by its layout code alone.
+ * <p>
+ * All of the bytes of a {@link SortDirection#DESCENDING} component, including its presence byte, are inverted. Null
+ * values therefore order first in ascending components and last in descending ones. {@code Decimal},
+ * {@code Float128}, and {@code MongoDbObjectId} values have no byte-comparable encoding and may not be sort keys.
+ * Only top-level fields of primitive type may be sort keys. {@link SortKeyEncoder} is immutable and may be shared
+ * across threads.
+ */
+public final class SortKeyEncoder {
+
+    private static final byte ESCAPE = (byte) 0xFF;
+    private static final byte PRESENT = 0x01;
+    private static final byte TERMINATOR = 0x01;
+
+    private final Component[] components;
+    private final Layout layout;
+
+    /**
+     * Initializes a new instance of the {@link SortKeyEncoder} class.
+     *
+     * @param layout          layout of the rows to be encoded.
+     * @param primarySortKeys the primary sort keys of the schema from which {@code layout} was compiled.
+     * @throws IllegalArgumentException if a sort key is not a top-level field of a primitive type with a
+     *                                  byte-comparable encoding.
+     */
+    public SortKeyEncoder(@Nonnull final Layout layout, @Nonnull final List<PrimarySortKey> primarySortKeys) {
+
+        checkNotNull(layout, "expected non-null layout");
+        checkNotNull(primarySortKeys, "expected non-null primarySortKeys");
+
+        this.layout = layout;
+        this.components = new Component[primarySortKeys.size()];
+
+        for (int index = 0; index < this.components.length; index++) {
+
+            final PrimarySortKey sortKey = primarySortKeys.get(index);
+            checkNotNull(sortKey, "expected non-null sort key");
+            checkNotNull(sortKey.path(), "expected non-null sort key path");
+
+            final UtfAnyString path = new UtfAnyString(sortKey.path());
+            final boolean descending = sortKey.direction() == SortDirection.DESCENDING;
+            final Optional<LayoutColumn> match = layout.tryFind(path);
+
+            if (match.isPresent()) {
+                final LayoutColumn column = match.get();
+                checkArgument(column.parent() == null, "expected top-level sort key, not %s", column.fullPath());
+                checkArgument(isSortable(column.type()), "expected sort key of sortable primitive type, not %s of type %s",
+                    column.fullPath(), column.type().name());
+                if (column.storage() != StorageKind.SPARSE) {
+                    this.components[index] = new Component(column, path, null, descending);
+                    continue;
+                }
+            }
+
+            final StringToken token = layout.tokenizer().tryFindToken(path).orElse(null);
+            this.components[index] = new Component(null, path, token, descending);
+        }
+    }
+
+    /**
+     * Layout of the rows to be encoded.
+     *
+     * @return layout of the rows to be encoded.
+     */
+    @Nonnull
+    public Layout layout() {
+        return this.layout;
+    }
+
+    /**
+     * Appends the encoded primary sort key of a row to a buffer.
+     * <p>
+     * A buffer may be reused across rows by clearing it before each call.
+     *
+     * @param row    a row written with {@link #layout()}.
+     * @param target buffer to which the key is written starting at its writer index.
+     * @return the number of bytes written to {@code target}.
+     * @throws IllegalStateException if a sparse sort key field of {@code row} does not have a value of a sortable
+     *                               primitive type.
+     */
+    public int encode(@Nonnull final RowBuffer row, @Nonnull final ByteBuf target) {
+
+        checkNotNull(row, "expected non-null row");
+        checkNotNull(target, "expected non-null target");
+        checkArgument(row.readSchemaId(1).equals(this.layout.schemaId()), "expected row with schema %s, not %s",
+            this.layout.schemaId(), row.readSchemaId(1));
+
+        final int start = target.writerIndex();
+
+        for (Component component : this.components) {
+
+            final int index = target.writerIndex();
+
+            if (component.column != null) {
+                this.encodeColumn(row, component.column, target);
+            } else {
+                encodeSparse(row, component, target);
+            }
+
+            if (component.descending) {
+                invert(target, index, target.writerIndex() - index);
+            }
+        }
+
+        return target.writerIndex() - start;
+    }
+
+    // region Privates
+
+    private void encodeColumn(
+        @Nonnull final RowBuffer row, @Nonnull final LayoutColumn column, @Nonnull final ByteBuf target) {
+
+        final int start = HybridRowHeader.BYTES;
+
+        if (!column.nullBit().isInvalid() && !row.readBit(start, column.nullBit())) {
+            target.writeByte(0);
+            return;
+        }
+
+        target.writeByte(PRESENT);
+
+        if (column.type().isBoolean()) {
+            target.writeByte(row.readBit(start, column.booleanBit()) ? 1 : 0);
+            return;
+        }
+
+        final LayoutCode code = column.type().layoutCode();
+
+        if (column.storage() == StorageKind.VARIABLE) {
+            encodeVariableLength(row, code, row.computeVariableValueOffset(this.layout, start, column.offset()),
+                target);
+            return;
+        }
+
+        if (code == LayoutCode.UTF_8 || code == LayoutCode.BINARY) {
+            final int index = target.writerIndex();
+            row.readFixedBinary(start + column.offset(), column.size(), target);
+            escape(target, index);
+            return;
+        }
+
+        encodeFixedLength(row, code, start + column.offset(), target);
+    }
+
+    private static void encodeSparse(
+        @Nonnull final RowBuffer row, @Nonnull final Component component, @Nonnull final ByteBuf target) {
+
+        final RowCursor edit = component.token != null
+            ? RowCursors.Find(RowCursor.create(row), row, component.token)
+            : RowCursors.Find(RowCursor.create(row), row, component.path);
+
+        if (!edit.exists() || edit.cellType().isNull()) {
+            target.writeByte(0);
+            return;
+        }
+
+        final LayoutType type = edit.cellType();
+
+        if (!isSortable(type)) {
+            throw new IllegalStateException(lenientFormat(
+                "expected sort key of sortable primitive type, not %s of type %s", component.path, type.name()));
+        }
+
+        final LayoutCode code = type.layoutCode();
+        target.writeByte(PRESENT).writeByte(code.value());
+
+        if (type.isBoolean()) {
+            return;  // the layout code of a boolean is its value
+        }
+
+        switch (code) {
+            case UTF_8:
+            case BINARY:
+            case VAR_INT:
+            case VAR_UINT:
+                encodeVariableLength(row, code, edit.valueOffset(), target);
+                break;
+            default:
+                encodeFixedLength(row, code, edit.valueOffset(), target);
+                break;
+        }
+    }
+
+    /**
+     * Copies the little-endian encoding of a fixed length value to {@code target} and transforms it in place to its
+     * byte-comparable encoding.
+     */
+    private static void encodeFixedLength(
+        @Nonnull final RowBuffer row, @Nonnull final LayoutCode code, final int offset, @Nonnull final ByteBuf target) {
+
+        final int index = target.writerIndex();
+
+        switch (code) {
+            case INT_8:
+                row.readFixedBinary(offset, Byte.BYTES, target);
+                target.setByte(index, target.getByte(index) ^ Byte.MIN_VALUE);
+                break;
+            case UINT_8:
+                row.readFixedBinary(offset, Byte.BYTES, target);
+                break;
+            case INT_16:
+                row.readFixedBinary(offset, Short.BYTES, target);
+                target.setShort(index, target.getShortLE(index) ^ Short.MIN_VALUE);
+                break;
+            case UINT_16:
+                row.readFixedBinary(offset, Short.BYTES, target);
+                target.setShort(index, target.getShortLE(index));
+                break;
+            case INT_32:
+                row.readFixedBinary(offset, Integer.BYTES, target);
+                target.setInt(index, target.getIntLE(index) ^ Integer.MIN_VALUE);
+                break;
+            case UINT_32:
+                row.readFixedBinary(offset, Integer.BYTES, target);
+                target.setInt(index, target.getIntLE(index));
+                break;
+            case FLOAT_32: {
+                row.readFixedBinary(offset, Float.BYTES, target);
+                final int bits = target.getIntLE(index);
+                target.setInt(index, bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE);
+                break;
+            }
+            case INT_64:
+            case UNIX_DATE_TIME:
+                row.readFixedBinary(offset, Long.BYTES, target);
+                target.setLong(index, target.getLongLE(index) ^ Long.MIN_VALUE);
+                break;
+            case UINT_64:
+                row.readFixedBinary(offset, Long.BYTES, target);
+                target.setLong(index, target.getLongLE(index));
+                break;
+            case FLOAT_64: {
+                row.readFixedBinary(offset, Double.BYTES, target);
+                final long bits = target.getLongLE(index);
+                target.setLong(index, bits < 0 ? ~bits : bits ^ Long.MIN_VALUE);
+                break;
+            }
+            case DATE_TIME:
+                row.readFixedBinary(offset, DateTimeCodec.BYTES, target);
+                target.setLong(index, DateTimeCodec.decodeTicks(target, index));
+                break;
+            case GUID:
+                // The least significant long of a Guid is encoded big-endian already
+                row.readFixedBinary(offset, GuidCodec.BYTES, target);
+                target.setLong(index, GuidCodec.decodeHigh(target, index));
+                break;
+            default:
+                throw new IllegalStateException(lenientFormat("unexpected layout code: %s", code));
+        }
+    }
+
+    private static void encodeVariableLength(
+        @Nonnull final RowBuffer row, @Nonnull final LayoutCode code, final int offset, @Nonnull final ByteBuf target) {
+
+        final int index = target.writerIndex();
+
+        switch (code) {
+            case UTF_8:
+                row.readVariableString(offset, target);
+                escape(target, index);
+                break;
+            case BINARY:
+                row.readVariableBinary(offset, target);
+                escape(target, index);
+                break;
+            case VAR_INT:
+                target.writeLong(row.readVariableInt(offset) ^ Long.MIN_VALUE);
+                break;
+            case VAR_UINT:
+                target.writeLong(row.readVariableUInt(offset));
+                break;
+            default:
+                throw new IllegalStateException(lenientFormat("unexpected layout code: %s", code));
+        }
+    }
+
+    /**
+     * Escapes each {@code 0x00} byte written to {@code target} from {@code index} as {@code 0x00 0xFF} in place and
+     * appends the terminator {@code 0x00 0x01}.
+     * <p>
+     * Values without {@code 0x00} bytes, which is the common case for strings, are scanned once and left in place.
+     */
+    private static void escape(@Nonnull final ByteBuf target, final int index) {
+
+        final int end = target.writerIndex();
+        final int zero = target.forEachByte(index, end - index, ByteProcessor.FIND_NUL);
+
+        if (zero >= 0) {
+
+            int count = 0;
+
+            for (int i = zero; i < end; i++) {
+                if (target.getByte(i) == 0) {
+                    count++;
+                }
+            }
+
+            target.ensureWritable(count);
+            target.writerIndex(end + count);
+
+            // Shift bytes right from the end of the value, so that each is moved once
+
+            for (int i = end - 1, j = end + count - 1; count > 0; i--) {
+                final byte value = target.getByte(i);
+                if (value == 0) {
+                    target.setByte(j--, ESCAPE);
+                    count--;
+                }
+                target.setByte(j--, value);
+            }
+        }
+
+        target.writeByte(0).writeByte(TERMINATOR);
+    }
+
+    private static void invert(@Nonnull final ByteBuf target, final int index, final int length) {
+
+        int i = index;
+        final int end = index + length;
+
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            target.setLong(i, ~target.getLong(i));
+        }
+
+        for (; i < end; i++) {
+            target.setByte(i, ~target.getByte(i));
+        }
+    }
+
+    private static boolean isSortable(@Nonnull final LayoutType type) {
+
+        if (type instanceof LayoutTypeScope) {
+            return false;
+        }
+
+        switch (type.layoutCode()) {
+            case DECIMAL:
+            case FLOAT_128:
+            case MONGODB_OBJECT_ID:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    // endregion
+
+    private static final class Component {
+
+        final LayoutColumn column;
+        final boolean descending;
+        final UtfAnyString path;
+        final StringToken token;
+
+        Component(
+            @Nullable LayoutColumn column, @Nonnull UtfAnyString path, @Nullable StringToken token,
+            boolean descending) {
+            this.column = column;
+            this.path = path;
+            this.token = token;
+            this.descending = descending;
+        }
+    }
+}
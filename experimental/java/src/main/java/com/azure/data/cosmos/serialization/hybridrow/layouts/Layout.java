@@ -3,19 +3,24 @@
 
 package com.azure.data.cosmos.serialization.hybridrow.layouts;
 
+import com.azure.data.cosmos.core.Out;
 import com.azure.data.cosmos.core.Utf8String;
 import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
 import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.Schema;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -36,15 +41,30 @@ public final class Layout {
 
     public static final Layout EMPTY = SystemSchema.layoutResolver().resolve(SystemSchema.EMPTY_SCHEMA_ID);
 
+    /**
+     * Maximum number of paths interned by a {@link Layout} through {@link #internPath(String)}.
+     */
+    public static final int INTERNED_PATH_LIMIT = 1024;
+
+    // Approximate heap footprints used by estimatedSize: a layout with its maps and tokenizer, and the per-column
+    // entries in each of them, excluding the bytes of column paths which are counted separately
+
+    private static final int ESTIMATED_COLUMN_BYTES = 480;
+    private static final int ESTIMATED_LAYOUT_BYTES = 512;
+
+    private final Supplier<ImmutableMap<String, LayoutColumnAccessor>> accessors;
+    private final ImmutableList<LayoutColumn> allColumns;
+    private final int estimatedSize;
     private final String name;
     private final int numBitmaskBytes;
     private final int numFixed;
     private final int numVariable;
-    private final HashMap<Utf8String, LayoutColumn> pathMap;
-    private final HashMap<String, LayoutColumn> pathStringMap;
+    private final LayoutPathTable pathTable;
+    private final ConcurrentHashMap<String, LayoutPath> paths;
     private final SchemaId schemaId;
     private final int size;
     private final StringTokenizer tokenizer;
+    private final TypeArgumentListTable typeArgumentLists;
     private final ImmutableList<LayoutColumn> topColumns;
 
     @SuppressWarnings("UnstableApiUsage")
@@ -67,18 +87,19 @@ public final class Layout {
         this.numBitmaskBytes = numBitmaskBytes;
         this.size = minRequiredSize;
         this.tokenizer = new StringTokenizer();
-        this.pathMap = new HashMap<>(columns.size());
-        this.pathStringMap = new HashMap<>(columns.size());
 
         ImmutableList.Builder<LayoutColumn> builder = ImmutableList.builderWithExpectedSize(columns.size());
+        int estimatedSize = ESTIMATED_LAYOUT_BYTES;
         int numFixed = 0;
         int numVariable = 0;
 
         for (LayoutColumn column : columns) {
 
+            // Each path is held as a column path, a column full path, a map key, and a token
+
+            estimatedSize += ESTIMATED_COLUMN_BYTES + 4 * column.fullPath().encodedLength();
+
             this.tokenizer().add(column.path());
-            this.pathMap.put(column.fullPath(), column);
-            this.pathStringMap.put(column.fullPath().toString(), column);
 
             if (column.storage() == StorageKind.FIXED) {
                 numFixed++;
@@ -91,9 +112,39 @@ public final class Layout {
             }
         }
 
+        this.allColumns = ImmutableList.copyOf(columns);
+        this.pathTable = new LayoutPathTable(columns);
+        this.typeArgumentLists = new TypeArgumentListTable(columns);
+        this.estimatedSize = estimatedSize;
         this.numFixed = numFixed;
         this.numVariable = numVariable;
         this.topColumns = builder.build();
+        this.accessors = Suppliers.memoize(this::createAccessors);
+        this.paths = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Interns a path string for use with this {@link Layout}.
+     * <p>
+     * The result carries the path's UTF-8 encoding, its hash code, and its token, if any. The first
+     * {@link #INTERNED_PATH_LIMIT} distinct paths are retained; paths beyond that are encoded on each call. This method
+     * is thread-safe and does not lock when {@code path} is already interned.
+     *
+     * @param path the path string to intern.
+     * @return the interned {@link LayoutPath} for {@code path}.
+     */
+    @Nonnull
+    public LayoutPath internPath(@Nonnull final String path) {
+        checkNotNull(path, "expected non-null path");
+        LayoutPath value = this.paths.get(path);
+        if (value == null) {
+            value = this.createPath(path);
+            if (this.paths.size() < INTERNED_PATH_LIMIT) {
+                final LayoutPath existing = this.paths.putIfAbsent(path, value);
+                value = existing == null ? value : existing;
+            }
+        }
+        return value;
     }
 
     /**
@@ -111,10 +162,10 @@ public final class Layout {
         }
 
         if (path.isUtf8()) {
-            return Optional.ofNullable(this.pathMap.get(path.toUtf8()));
+            return Optional.ofNullable(this.pathTable.find(path.toUtf8()));
         }
 
-        return Optional.ofNullable(this.pathStringMap.get(path.toUtf16()));
+        return Optional.ofNullable(this.pathTable.find(path.toUtf16()));
     }
 
     /**
@@ -125,7 +176,22 @@ public final class Layout {
      */
     public Optional<LayoutColumn> tryFind(@Nonnull String path) {
         checkNotNull(path);
-        return Optional.ofNullable(this.pathStringMap.get(path));
+        return Optional.ofNullable(this.pathTable.find(path));
+    }
+
+    /**
+     * Finds a specialized accessor for a fixed column with a matching path.
+     * <p>
+     * Accessors are created for all fixed columns of this {@link Layout} the first time this method is called.
+     * Variable and sparse columns, as well as fixed columns whose type has no specialization, have no accessor.
+     *
+     * @param path path of the column to find
+     * @return {@link LayoutColumnAccessor}, if an accessor for a column with the {@code path} is found, otherwise
+     * {@link Optional#empty()}.
+     */
+    public Optional<LayoutColumnAccessor> tryFindAccessor(@Nonnull String path) {
+        checkNotNull(path, "expected non-null path");
+        return Optional.ofNullable(this.accessors.get().get(path));
     }
 
     /**
@@ -137,6 +203,29 @@ public final class Layout {
         return this.topColumns;
     }
 
+    /**
+     * All columns defined by the current {@link Layout} in the order they were given to its constructor.
+     * <p>
+     * This order determines the tokens assigned to column paths by {@link #tokenizer()}.
+     *
+     * @return all columns defined by the current {@link Layout}.
+     */
+    List<LayoutColumn> allColumns() {
+        return this.allColumns;
+    }
+
+    /**
+     * An estimate of the number of bytes of heap memory retained by this {@link Layout}.
+     * <p>
+     * The estimate is intended for sizing caches of layouts. It accounts for columns, their paths, and the maps and
+     * tokenizer that index them, but not for specialized accessors or interned paths, which are created on demand.
+     *
+     * @return an estimate of the number of bytes of heap memory retained by this {@link Layout}.
+     */
+    public int estimatedSize() {
+        return this.estimatedSize;
+    }
+
     /**
      * Name of the layout.
      * <p>
@@ -231,6 +320,32 @@ public final class Layout {
         return sb.toString();
     }
 
+    /**
+     * Reads the type arguments of a sparse field of a given type within a row of this layout.
+     * <p>
+     * Lists read are shared: each distinct list is read from a row once and a list equal to the type arguments of a
+     * column of this layout is that column's instance.
+     *
+     * @param buffer        the row containing the field.
+     * @param type          the type of the field.
+     * @param offset        the offset of the field's type arguments within {@code buffer}.
+     * @param lengthInBytes [output] the length of the field's type arguments in bytes.
+     * @return the field's type arguments.
+     */
+    @Nonnull
+    public TypeArgumentList readTypeArgumentList(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final LayoutType type,
+        final int offset,
+        @Nonnull final Out<Integer> lengthInBytes) {
+
+        checkNotNull(buffer, "expected non-null buffer");
+        checkNotNull(type, "expected non-null type");
+        checkNotNull(lengthInBytes, "expected non-null lengthInBytes");
+
+        return this.typeArgumentLists.read(buffer, type, offset, lengthInBytes);
+    }
+
     /**
      * A {@linkplain StringTokenizer tokenizer} for path strings.
      *
@@ -239,4 +354,23 @@ public final class Layout {
     public StringTokenizer tokenizer() {
         return this.tokenizer;
     }
-}
\ No newline at end of file
+
+    private ImmutableMap<String, LayoutColumnAccessor> createAccessors() {
+
+        ImmutableMap.Builder<String, LayoutColumnAccessor> builder = ImmutableMap.builder();
+
+        for (LayoutColumn column : this.pathTable.columns()) {
+            if (column.storage() == StorageKind.FIXED) {
+                LayoutColumnAccessor.of(column).ifPresent(accessor -> builder.put(column.fullPath().toUtf16(), accessor));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private LayoutPath createPath(final String path) {
+        final Optional<StringToken> token = this.tokenizer.tryFindToken(new UtfAnyString(path));
+        return token.map(value -> new LayoutPath(value.path(), value))
+            .orElseGet(() -> new LayoutPath(Utf8String.transcodeUtf16(path), null));
+    }
+}
@@ -36,6 +36,7 @@ public final class LayoutCodeTraits {
      * @return the same scope code without the immutable bit set.
      */
     public static LayoutCode clearImmutableBit(LayoutCode code) {
-        return LayoutCode.from((byte) (code.value() & 0xFE));
+        // Only scope codes have an immutable bit; clearing the low bit of a primitive code would yield another code
+        return code.value() < LayoutCode.OBJECT_SCOPE.value() ? code : LayoutCode.from((byte) (code.value() & 0xFE));
     }
 }
\ No newline at end of file
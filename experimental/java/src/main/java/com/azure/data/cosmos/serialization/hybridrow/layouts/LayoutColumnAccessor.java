@@ -0,0 +1,586 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.UnixDateTime;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * A specialized accessor for a single fixed {@link LayoutColumn}.
+ * <p>
+ * An accessor is created once per column when its {@link Layout} is first asked for one. The column's offset and
+ * presence bits are captured in final fields and each accessor class handles exactly one {@link LayoutType}. Reads and
+ * writes through an accessor therefore avoid the {@link LayoutTypePrimitive#readFixed} and
+ * {@link LayoutTypePrimitive#writeFixed} dispatch, the boxing imposed by {@code Out<T>}, and the per-call
+ * {@code instanceof} checks on the scope. A call site that always touches the same column sees a single receiver class,
+ * which the JIT can inline.
+ * <p>
+ * Reads of a column whose presence bit is not set return the type's default value, or {@code null} for reference
+ * types. Use {@link #hasValue} to distinguish a default value from a missing one. Calling an accessor method for a type
+ * other than the column's own type throws {@link UnsupportedOperationException}.
+ * <p>
+ * {@link LayoutColumnAccessor} is immutable.
+ *
+ * @see Layout#tryFindAccessor(String)
+ */
+public abstract class LayoutColumnAccessor {
+
+    final LayoutBit nullBit;
+    final int offset;
+
+    private final LayoutColumn column;
+
+    private LayoutColumnAccessor(@Nonnull final LayoutColumn column) {
+        this.column = column;
+        this.nullBit = column.nullBit();
+        this.offset = column.offset();
+    }
+
+    /**
+     * The column accessed by this {@link LayoutColumnAccessor}.
+     *
+     * @return the column accessed by this {@link LayoutColumnAccessor}.
+     */
+    @Nonnull
+    public final LayoutColumn column() {
+        return this.column;
+    }
+
+    /**
+     * Returns a value indicating whether the column accessed by this {@link LayoutColumnAccessor} is present.
+     *
+     * @param buffer a {@link RowBuffer} to read.
+     * @param scope  a {@linkplain RowCursor cursor} that identifies the UDT scope containing the column.
+     * @return {@code true}, if the column is present; otherwise {@code false}.
+     */
+    public final boolean hasValue(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        return buffer.readBit(scope.start(), this.nullBit);
+    }
+
+    /**
+     * Creates an accessor for a fixed {@link LayoutColumn}.
+     *
+     * @param column the column to be accessed.
+     * @return an accessor for {@code column} or {@link Optional#empty()}, if its type has no specialized accessor.
+     */
+    @Nonnull
+    public static Optional<LayoutColumnAccessor> of(@Nonnull final LayoutColumn column) {
+
+        checkNotNull(column, "expected non-null column");
+        checkArgument(column.storage() == StorageKind.FIXED, "expected fixed column, not %s", column.storage());
+
+        switch (column.type().layoutCode()) {
+            case BOOLEAN:
+            case BOOLEAN_FALSE:
+                return Optional.of(new BooleanAccessor(column));
+            case INT_8:
+                return Optional.of(new Int8Accessor(column));
+            case INT_16:
+                return Optional.of(new Int16Accessor(column));
+            case INT_32:
+                return Optional.of(new Int32Accessor(column));
+            case INT_64:
+                return Optional.of(new Int64Accessor(column));
+            case UINT_8:
+                return Optional.of(new UInt8Accessor(column));
+            case UINT_16:
+                return Optional.of(new UInt16Accessor(column));
+            case UINT_32:
+                return Optional.of(new UInt32Accessor(column));
+            case UINT_64:
+                return Optional.of(new UInt64Accessor(column));
+            case FLOAT_32:
+                return Optional.of(new Float32Accessor(column));
+            case FLOAT_64:
+                return Optional.of(new Float64Accessor(column));
+            case GUID:
+                return Optional.of(new GuidAccessor(column));
+            case UNIX_DATE_TIME:
+                return Optional.of(new UnixDateTimeAccessor(column));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    // region Readers
+
+    public boolean readBoolean(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("bool");
+    }
+
+    public float readFloat32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("float32");
+    }
+
+    public double readFloat64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("float64");
+    }
+
+    public UUID readGuid(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("guid");
+    }
+
+    public short readInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("int16");
+    }
+
+    public int readInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("int32");
+    }
+
+    public long readInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("int64");
+    }
+
+    public byte readInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("int8");
+    }
+
+    public int readUInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("uint16");
+    }
+
+    public long readUInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("uint32");
+    }
+
+    public long readUInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("uint64");
+    }
+
+    public short readUInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("uint8");
+    }
+
+    public UnixDateTime readUnixDateTime(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+        throw this.unsupported("unixdatetime");
+    }
+
+    // endregion
+
+    // region Writers
+
+    @Nonnull
+    public Result writeBoolean(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, boolean value) {
+        throw this.unsupported("bool");
+    }
+
+    @Nonnull
+    public Result writeFloat32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, float value) {
+        throw this.unsupported("float32");
+    }
+
+    @Nonnull
+    public Result writeFloat64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, double value) {
+        throw this.unsupported("float64");
+    }
+
+    @Nonnull
+    public Result writeGuid(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, @Nonnull UUID value) {
+        throw this.unsupported("guid");
+    }
+
+    @Nonnull
+    public Result writeInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, short value) {
+        throw this.unsupported("int16");
+    }
+
+    @Nonnull
+    public Result writeInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, int value) {
+        throw this.unsupported("int32");
+    }
+
+    @Nonnull
+    public Result writeInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, long value) {
+        throw this.unsupported("int64");
+    }
+
+    @Nonnull
+    public Result writeInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, byte value) {
+        throw this.unsupported("int8");
+    }
+
+    @Nonnull
+    public Result writeUInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, int value) {
+        throw this.unsupported("uint16");
+    }
+
+    @Nonnull
+    public Result writeUInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, long value) {
+        throw this.unsupported("uint32");
+    }
+
+    @Nonnull
+    public Result writeUInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, long value) {
+        throw this.unsupported("uint64");
+    }
+
+    @Nonnull
+    public Result writeUInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, short value) {
+        throw this.unsupported("uint8");
+    }
+
+    @Nonnull
+    public Result writeUnixDateTime(
+        @Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, @Nonnull UnixDateTime value) {
+        throw this.unsupported("unixdatetime");
+    }
+
+    // endregion
+
+    private UnsupportedOperationException unsupported(final String typeName) {
+        return new UnsupportedOperationException(lenientFormat("column %s of type %s cannot be accessed as %s",
+            this.column.fullPath(), this.column.type().name(), typeName));
+    }
+
+    // region Specializations
+
+    private static final class BooleanAccessor extends LayoutColumnAccessor {
+
+        private final LayoutBit booleanBit;
+
+        BooleanAccessor(LayoutColumn column) {
+            super(column);
+            this.booleanBit = column.booleanBit();
+        }
+
+        @Override
+        public boolean readBoolean(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) && buffer.readBit(start, this.booleanBit);
+        }
+
+        @Override
+        @Nonnull
+        public Result writeBoolean(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, boolean value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            if (value) {
+                buffer.setBit(start, this.booleanBit);
+            } else {
+                buffer.unsetBit(start, this.booleanBit);
+            }
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class Float32Accessor extends LayoutColumnAccessor {
+
+        Float32Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public float readFloat32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readFloat32(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeFloat32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, float value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeFloat32(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class Float64Accessor extends LayoutColumnAccessor {
+
+        Float64Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public double readFloat64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readFloat64(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeFloat64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, double value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeFloat64(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class GuidAccessor extends LayoutColumnAccessor {
+
+        GuidAccessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public UUID readGuid(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readGuid(start + this.offset) : null;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeGuid(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, @Nonnull UUID value) {
+            checkNotNull(value, "expected non-null value");
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeGuid(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class Int16Accessor extends LayoutColumnAccessor {
+
+        Int16Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public short readInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readInt16(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, short value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeInt16(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class Int32Accessor extends LayoutColumnAccessor {
+
+        Int32Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public int readInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readInt32(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, int value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeInt32(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class Int64Accessor extends LayoutColumnAccessor {
+
+        Int64Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public long readInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readInt64(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, long value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeInt64(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class Int8Accessor extends LayoutColumnAccessor {
+
+        Int8Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public byte readInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readInt8(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, byte value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeInt8(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class UInt16Accessor extends LayoutColumnAccessor {
+
+        UInt16Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public int readUInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readUInt16(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeUInt16(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, int value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeUInt16(start + this.offset, (short) value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class UInt32Accessor extends LayoutColumnAccessor {
+
+        UInt32Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public long readUInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readUInt32(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeUInt32(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, long value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeUInt32(start + this.offset, (int) value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class UInt64Accessor extends LayoutColumnAccessor {
+
+        UInt64Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public long readUInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readUInt64(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeUInt64(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, long value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeUInt64(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class UInt8Accessor extends LayoutColumnAccessor {
+
+        UInt8Accessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public short readUInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readUInt8(start + this.offset) : 0;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeUInt8(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, short value) {
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeUInt8(start + this.offset, (byte) value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    private static final class UnixDateTimeAccessor extends LayoutColumnAccessor {
+
+        UnixDateTimeAccessor(LayoutColumn column) {
+            super(column);
+        }
+
+        @Override
+        public UnixDateTime readUnixDateTime(@Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope) {
+            final int start = scope.start();
+            return buffer.readBit(start, this.nullBit) ? buffer.readUnixDateTime(start + this.offset) : null;
+        }
+
+        @Override
+        @Nonnull
+        public Result writeUnixDateTime(
+            @Nonnull final RowBuffer buffer, @Nonnull final RowCursor scope, @Nonnull UnixDateTime value) {
+            checkNotNull(value, "expected non-null value");
+            if (scope.immutable()) {
+                return Result.INSUFFICIENT_PERMISSIONS;
+            }
+            final int start = scope.start();
+            buffer.writeUnixDateTime(start + this.offset, value);
+            buffer.setBit(start, this.nullBit);
+            return Result.SUCCESS;
+        }
+    }
+
+    // endregion
+}
@@ -13,8 +13,10 @@ import com.azure.data.cosmos.serialization.hybridrow.schemas.PrimitivePropertyTy
 import com.azure.data.cosmos.serialization.hybridrow.schemas.Property;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.PropertyType;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.Schema;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SchemaOptions;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.ScopePropertyType;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.SetPropertyType;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.TaggedPropertyType;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.TuplePropertyType;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.TypeKind;
@@ -23,8 +25,13 @@ import com.google.common.base.Strings;
 import org.checkerframework.checker.index.qual.NonNegative;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -46,19 +53,141 @@ public final class LayoutCompiler {
 
         checkNotNull(namespace, "expected non-null namespace");
         checkNotNull(schema, "expected non-null schema");
+        checkArgument(namespace.schemas().contains(schema));
+
+        return LayoutCompiler.compile(schema, new SchemaLookup(
+            name -> namespace.schemas().stream().filter(s -> name.equals(s.name())).findFirst(),
+            schemaId -> namespace.schemas().stream().filter(s -> schemaId.equals(s.schemaId())).findFirst()));
+    }
+
+    /**
+     * Compiles a logical schema into a physical layout, resolving schema references through indexes of its namespace.
+     * <p>
+     * This avoids a scan of the namespace for each schema reference in {@code schema}. Both indexes must map each key
+     * to the first schema in the namespace with that name or {@link SchemaId}.
+     *
+     * @param schema     The logical schema to produce a layout for
+     * @param byName     The schemas of the namespace within which {@code schema} is defined, indexed by name
+     * @param bySchemaId The schemas of the namespace within which {@code schema} is defined, indexed by id
+     * @return The layout for the schema
+     */
+    @Nonnull
+    static Layout compile(
+        @Nonnull final Schema schema,
+        @Nonnull final Map<String, Schema> byName,
+        @Nonnull final Map<SchemaId, Schema> bySchemaId) {
+
+        checkNotNull(schema, "expected non-null schema");
+        checkNotNull(byName, "expected non-null byName");
+        checkNotNull(bySchemaId, "expected non-null bySchemaId");
+
+        return LayoutCompiler.compile(schema, new SchemaLookup(
+            name -> Optional.ofNullable(byName.get(name)),
+            schemaId -> Optional.ofNullable(bySchemaId.get(schemaId))));
+    }
+
+    /**
+     * Compiles a logical schema into a physical layout with or without {@linkplain SchemaOptions#packFixedColumns()
+     * packed fixed columns}, regardless of the schema's options.
+     *
+     * @param namespace The namespace within which {@code schema} is defined
+     * @param schema    The logical schema to produce a layout for
+     * @param pack      {@code true} if fixed columns should be packed
+     * @return The layout for the schema
+     */
+    @Nonnull
+    static Layout compile(@Nonnull final Namespace namespace, @Nonnull final Schema schema, final boolean pack) {
+
+        checkNotNull(namespace, "expected non-null namespace");
+        checkNotNull(schema, "expected non-null schema");
+        checkArgument(namespace.schemas().contains(schema));
+
+        return LayoutCompiler.compile(schema, new SchemaLookup(
+            name -> namespace.schemas().stream().filter(s -> name.equals(s.name())).findFirst(),
+            schemaId -> namespace.schemas().stream().filter(s -> schemaId.equals(s.schemaId())).findFirst()), pack);
+    }
+
+    private static Layout compile(@Nonnull final Schema schema, @Nonnull final SchemaLookup namespace) {
+        final SchemaOptions options = schema.options();
+        return LayoutCompiler.compile(schema, namespace, options != null && options.packFixedColumns());
+    }
+
+    private static Layout compile(
+        @Nonnull final Schema schema, @Nonnull final SchemaLookup namespace, final boolean pack) {
+
         checkArgument(schema.type() == TypeKind.SCHEMA);
         checkArgument(!Strings.isNullOrEmpty(schema.name()));
-        checkArgument(namespace.schemas().contains(schema));
+
+        final List<Property> properties = pack
+            ? LayoutCompiler.packFixedColumns(namespace, schema.properties())
+            : schema.properties();
 
         LayoutBuilder builder = new LayoutBuilder(schema.name(), schema.schemaId());
-        LayoutCompiler.addProperties(builder, namespace, LayoutCode.SCHEMA, schema.properties());
+        LayoutCompiler.addProperties(builder, namespace, LayoutCode.SCHEMA, properties);
 
         return builder.build();
     }
 
+    /**
+     * The alignment of a fixed column of the given width: the largest power of two, up to eight, that divides it.
+     * <p>
+     * Columns stored as bits, booleans and nulls, have a width and alignment of zero.
+     *
+     * @param width the width of a fixed column in bytes.
+     * @return the alignment of a fixed column of the given width.
+     */
+    static int alignment(final int width) {
+        return width == 0 ? 0 : Math.min(Long.BYTES, Integer.lowestOneBit(width));
+    }
+
+    /**
+     * The width in bytes of a fixed column, or zero, if the column is stored as a bit.
+     *
+     * @param type   the physical type of the column.
+     * @param length the declared length of the column, if its type is not of fixed size.
+     * @return the width in bytes of a fixed column.
+     */
+    static int fixedWidth(@Nonnull final LayoutType type, final int length) {
+        return type.isBoolean() || type.isNull() ? 0 : (type.isFixed() ? type.size() : length);
+    }
+
+    /**
+     * Reorders the top-level fixed columns of a schema: hot columns first and then, within the hot and cold groups, by
+     * decreasing alignment. Ties keep their declaration order. All other properties follow in declaration order.
+     */
+    private static List<Property> packFixedColumns(
+        @Nonnull final SchemaLookup namespace, @Nonnull final List<Property> properties) {
+
+        final Out<TypeArgumentList> typeArgs = new Out<>();
+        final List<Property> fixed = new ArrayList<>();
+        final List<Property> others = new ArrayList<>();
+        final Map<Property, Integer> alignments = new IdentityHashMap<>();
+
+        for (Property property : properties) {
+            if (property.type() instanceof PrimitivePropertyType
+                && ((PrimitivePropertyType) property.type()).storage() == StorageKind.FIXED) {
+                final LayoutType type = LayoutCompiler.logicalToPhysicalType(namespace, property.type(), typeArgs);
+                final int length = ((PrimitivePropertyType) property.type()).length();
+                alignments.put(property, alignment(fixedWidth(type, length)));
+                fixed.add(property);
+            } else {
+                others.add(property);
+            }
+        }
+
+        // List.sort is stable and so ties keep their declaration order
+
+        fixed.sort(Comparator
+            .comparing((Property property) -> !property.hot())
+            .thenComparing(property -> -alignments.get(property)));
+
+        fixed.addAll(others);
+        return fixed;
+    }
+
     private static void addProperties(
         @Nonnull final LayoutBuilder builder,
-        @Nonnull final Namespace namespace,
+        @Nonnull final SchemaLookup namespace,
         @Nonnull LayoutCode layoutCode,
         @Nonnull List<Property> properties) {
 
@@ -159,7 +288,7 @@ public final class LayoutCompiler {
     }
 
     private static LayoutType logicalToPhysicalType(
-        Namespace namespace, PropertyType logicalType, Out<TypeArgumentList> typeArgs) {
+        SchemaLookup namespace, PropertyType logicalType, Out<TypeArgumentList> typeArgs) {
 
         typeArgs.set(TypeArgumentList.EMPTY);
         boolean immutable = logicalType instanceof ScopePropertyType && ((ScopePropertyType) logicalType).immutable();
@@ -401,13 +530,9 @@ public final class LayoutCompiler {
                 final Optional<Schema> udtSchema;
 
                 if (up.schemaId() == SchemaId.NONE) {
-                    udtSchema = namespace.schemas().stream()
-                        .filter(schema -> up.name().equals(schema.name()))
-                        .findFirst();
+                    udtSchema = namespace.byName.apply(up.name());
                 } else {
-                    udtSchema = namespace.schemas().stream()
-                        .filter(schema -> up.schemaId().equals(schema.schemaId()))
-                        .findFirst();
+                    udtSchema = namespace.bySchemaId.apply(up.schemaId());
                     if (udtSchema.isPresent() && !up.name().equals(udtSchema.get().name())) {
                         throw new LayoutCompilationException(lenientFormat(
                             "ambiguous schema reference: '%s:%s'", up.name(), up.schemaId()
@@ -430,4 +555,18 @@ public final class LayoutCompiler {
                 ));
         }
     }
+
+    /**
+     * Finds the schemas referenced by a schema being compiled.
+     */
+    private static final class SchemaLookup {
+
+        final Function<String, Optional<Schema>> byName;
+        final Function<SchemaId, Optional<Schema>> bySchemaId;
+
+        SchemaLookup(Function<String, Optional<Schema>> byName, Function<SchemaId, Optional<Schema>> bySchemaId) {
+            this.byName = byName;
+            this.bySchemaId = bySchemaId;
+        }
+    }
 }
@@ -74,6 +74,33 @@ public final class LayoutDateTime extends LayoutTypePrimitive<OffsetDateTime> {
         return Result.SUCCESS;
     }
 
+    /**
+     * Writes the value of a fixed {@code DateTime} column given as a number of ticks.
+     *
+     * @param buffer the row to write to.
+     * @param scope  the scope of the column.
+     * @param column the column to write.
+     * @param ticks  the number of 100-nanosecond intervals since {@code 1/1/0001 12:00am} UTC.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    public Result writeFixed(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        final long ticks) {
+
+        checkArgument(scope.scopeType() instanceof LayoutUDT);
+
+        if (scope.immutable()) {
+            return Result.INSUFFICIENT_PERMISSIONS;
+        }
+
+        buffer.writeDateTimeTicks(scope.start() + column.offset(), ticks);
+        buffer.setBit(scope.start(), column.nullBit());
+        return Result.SUCCESS;
+    }
+
     @Override
     @Nonnull
     public Result writeSparse(@Nonnull RowBuffer buffer, @Nonnull RowCursor edit, @Nonnull OffsetDateTime value, @Nonnull UpdateOptions options) {
@@ -7,6 +7,7 @@ import com.azure.data.cosmos.core.Out;
 import com.azure.data.cosmos.serialization.hybridrow.Result;
 import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
 import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.UnscaledDecimal;
 import com.azure.data.cosmos.serialization.hybridrow.codecs.DecimalCodec;
 
 import javax.annotation.Nonnull;
@@ -44,6 +45,33 @@ public final class LayoutDecimal extends LayoutTypePrimitive<BigDecimal> {
         return Result.SUCCESS;
     }
 
+    /**
+     * Reads the value of a fixed {@code Decimal} column as an unscaled value and a scale.
+     *
+     * @param buffer the row to read from.
+     * @param scope  the scope of the column.
+     * @param column the column to read.
+     * @param value  on success, receives the unscaled value and scale of the field.
+     * @return {@link Result#SUCCESS} if the read is successful, {@link Result#TOO_BIG} if the magnitude of the value
+     * does not fit in a {@code long}, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    public Result readFixed(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        @Nonnull final UnscaledDecimal value) {
+
+        checkArgument(scope.scopeType() instanceof LayoutUDT);
+
+        if (!buffer.readBit(scope.start(), column.nullBit())) {
+            value.set(0L, 0);
+            return Result.NOT_FOUND;
+        }
+
+        return buffer.readDecimal(scope.start() + column.offset(), value) ? Result.SUCCESS : Result.TOO_BIG;
+    }
+
     @Override
     @Nonnull
     public Result readSparse(@Nonnull RowBuffer buffer, @Nonnull RowCursor edit,
@@ -72,6 +100,35 @@ public final class LayoutDecimal extends LayoutTypePrimitive<BigDecimal> {
         return Result.SUCCESS;
     }
 
+    /**
+     * Writes the value of a fixed {@code Decimal} column given as an unscaled value and a scale.
+     *
+     * @param buffer        the row to write to.
+     * @param scope         the scope of the column.
+     * @param column        the column to write.
+     * @param unscaledValue the unscaled value of the field.
+     * @param scale         the number of digits to the right of the decimal point, a value between 0 and 28.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    public Result writeFixed(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        final long unscaledValue,
+        final int scale) {
+
+        checkArgument(scope.scopeType() instanceof LayoutUDT);
+
+        if (scope.immutable()) {
+            return Result.INSUFFICIENT_PERMISSIONS;
+        }
+
+        buffer.writeDecimal(scope.start() + column.offset(), unscaledValue, scale);
+        buffer.setBit(scope.start(), column.nullBit());
+        return Result.SUCCESS;
+    }
+
     @Override
     @Nonnull
     public Result writeSparse(@Nonnull RowBuffer buffer, @Nonnull RowCursor edit, @Nonnull BigDecimal value, @Nonnull UpdateOptions options) {
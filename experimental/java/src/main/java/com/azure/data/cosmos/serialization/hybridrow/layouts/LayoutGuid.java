@@ -74,6 +74,35 @@ public final class LayoutGuid extends LayoutTypePrimitive<UUID> {
         return Result.SUCCESS;
     }
 
+    /**
+     * Writes the value of a fixed {@code Guid} column given as its most and least significant bits.
+     *
+     * @param buffer the row to write to.
+     * @param scope  the scope of the column.
+     * @param column the column to write.
+     * @param high   the most significant bits of the value.
+     * @param low    the least significant bits of the value.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    public Result writeFixed(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        final long high,
+        final long low) {
+
+        checkArgument(scope.scopeType() instanceof LayoutUDT);
+
+        if (scope.immutable()) {
+            return Result.INSUFFICIENT_PERMISSIONS;
+        }
+
+        buffer.writeGuid(scope.start() + column.offset(), high, low);
+        buffer.setBit(scope.start(), column.nullBit());
+        return Result.SUCCESS;
+    }
+
     @Override
     @Nonnull
     public Result writeSparse(@Nonnull RowBuffer buffer, @Nonnull RowCursor edit, @Nonnull UUID value, @Nonnull UpdateOptions options) {
@@ -0,0 +1,235 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Property;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Schema;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SchemaOptions;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * Reports the effect of {@linkplain SchemaOptions#packFixedColumns() packing} the fixed columns of a schema.
+ * <p>
+ * A report compares the layout of a schema compiled with its fixed columns in declaration order with the layout of the
+ * same schema compiled with its fixed columns packed. It measures the bytes of the fixed segment of a row, from the
+ * start of its presence bits, that a reader must touch to read the schema's hot columns: the span from the first to the
+ * last byte touched and the number of 64-byte cache lines touched. Should no column be annotated as
+ * {@linkplain Property#hot() hot}, every fixed column is considered hot. Cache lines are counted relative to the start
+ * of the fixed segment; their alignment in memory depends on where the row is stored.
+ * <p>
+ * Rows in the hybrid row format pack fixed columns without padding and presence bits densely, so the size of a row
+ * does not depend on the order of its columns: the bytes saved are bytes that need not be touched, not bytes that need
+ * not be stored.
+ */
+public final class LayoutPackingReport {
+
+    private static final int CACHE_LINE_BYTES = 64;
+
+    private final int packedCacheLines;
+    private final int packedSpan;
+    private final String name;
+    private final SchemaId schemaId;
+    private final int size;
+    private final int unpackedCacheLines;
+    private final int unpackedSpan;
+
+    private LayoutPackingReport(
+        @Nonnull final Schema schema, @Nonnull final Layout unpacked, @Nonnull final Layout packed) {
+
+        final Set<String> hot = new HashSet<>();
+
+        for (Property property : schema.properties()) {
+            if (property.hot()) {
+                hot.add(property.path());
+            }
+        }
+
+        final BitSet unpackedBytes = touched(unpacked, hot);
+        final BitSet packedBytes = touched(packed, hot);
+
+        this.name = schema.name();
+        this.packedCacheLines = cacheLines(packedBytes);
+        this.packedSpan = span(packedBytes);
+        this.schemaId = schema.schemaId();
+        this.size = packed.size();
+        this.unpackedCacheLines = cacheLines(unpackedBytes);
+        this.unpackedSpan = span(unpackedBytes);
+    }
+
+    /**
+     * Reports the effect of packing the fixed columns of a schema.
+     *
+     * @param namespace the namespace within which {@code schema} is defined.
+     * @param schema    the schema to report on.
+     * @return a report on the effect of packing the fixed columns of {@code schema}.
+     */
+    @Nonnull
+    public static LayoutPackingReport of(@Nonnull final Namespace namespace, @Nonnull final Schema schema) {
+
+        checkNotNull(namespace, "expected non-null namespace");
+        checkNotNull(schema, "expected non-null schema");
+        checkArgument(namespace.schemas().contains(schema), "expected schema %s in namespace", schema.name());
+
+        return new LayoutPackingReport(schema,
+            LayoutCompiler.compile(namespace, schema, false),
+            LayoutCompiler.compile(namespace, schema, true));
+    }
+
+    /**
+     * Reports the effect of packing the fixed columns of each schema in a namespace.
+     *
+     * @param namespace the namespace to report on.
+     * @return a report for each schema in {@code namespace}, in the order the schemas are defined.
+     */
+    @Nonnull
+    public static ImmutableList<LayoutPackingReport> of(@Nonnull final Namespace namespace) {
+
+        checkNotNull(namespace, "expected non-null namespace");
+
+        final ImmutableList.Builder<LayoutPackingReport> builder = ImmutableList.builder();
+
+        for (Schema schema : namespace.schemas()) {
+            builder.add(LayoutPackingReport.of(namespace, schema));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * The number of bytes that need not be touched to read the hot columns of a row when its fixed columns are packed.
+     *
+     * @return the difference between the unpacked and packed spans of the hot columns, which may be negative.
+     */
+    public int bytesSaved() {
+        return this.unpackedSpan - this.packedSpan;
+    }
+
+    /**
+     * The name of the schema.
+     *
+     * @return the name of the schema.
+     */
+    public String name() {
+        return this.name;
+    }
+
+    /**
+     * The number of cache lines touched to read the hot columns of a row with packed fixed columns.
+     *
+     * @return the number of cache lines touched to read the hot columns of a row with packed fixed columns.
+     */
+    public int packedCacheLines() {
+        return this.packedCacheLines;
+    }
+
+    /**
+     * The span in bytes of the hot columns of a row with packed fixed columns.
+     *
+     * @return the span in bytes of the hot columns of a row with packed fixed columns.
+     */
+    public int packedSpan() {
+        return this.packedSpan;
+    }
+
+    /**
+     * The schema id of the schema.
+     *
+     * @return the schema id of the schema.
+     */
+    public SchemaId schemaId() {
+        return this.schemaId;
+    }
+
+    /**
+     * The minimum size of a row of the schema, which is the same whether or not its fixed columns are packed.
+     *
+     * @return the minimum size of a row of the schema.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public String toString() {
+        return lenientFormat("%s (%s): hot span %s -> %s bytes (%s saved), cache lines %s -> %s, row size %s bytes",
+            this.name, this.schemaId, this.unpackedSpan, this.packedSpan, this.bytesSaved(), this.unpackedCacheLines,
+            this.packedCacheLines, this.size);
+    }
+
+    /**
+     * The number of cache lines touched to read the hot columns of a row with fixed columns in declaration order.
+     *
+     * @return the number of cache lines touched to read the hot columns of a row with unpacked fixed columns.
+     */
+    public int unpackedCacheLines() {
+        return this.unpackedCacheLines;
+    }
+
+    /**
+     * The span in bytes of the hot columns of a row with fixed columns in declaration order.
+     *
+     * @return the span in bytes of the hot columns of a row with unpacked fixed columns.
+     */
+    public int unpackedSpan() {
+        return this.unpackedSpan;
+    }
+
+    // region Privates
+
+    private static int cacheLines(@Nonnull final BitSet bytes) {
+        int count = 0;
+        for (int line = 0; line * CACHE_LINE_BYTES < bytes.length(); line++) {
+            final int next = bytes.nextSetBit(line * CACHE_LINE_BYTES);
+            if (next >= 0 && next < (line + 1) * CACHE_LINE_BYTES) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int span(@Nonnull final BitSet bytes) {
+        return bytes.isEmpty() ? 0 : bytes.length() - bytes.nextSetBit(0);
+    }
+
+    /**
+     * The bytes of a row that are touched to read the given hot columns of a layout, or all of its fixed columns, if
+     * {@code hot} is empty.
+     */
+    private static BitSet touched(@Nonnull final Layout layout, @Nonnull final Set<String> hot) {
+
+        final BitSet bytes = new BitSet();
+
+        for (LayoutColumn column : layout.columns()) {
+
+            if (column.storage() != StorageKind.FIXED || !(hot.isEmpty() || hot.contains(column.path().toUtf16()))) {
+                continue;
+            }
+
+            for (LayoutBit bit : new LayoutBit[] { column.nullBit(), column.booleanBit() }) {
+                if (!bit.isInvalid()) {
+                    bytes.set(bit.offset(0));
+                }
+            }
+
+            final int width = LayoutCompiler.fixedWidth(column.type(), column.size());
+            bytes.set(column.offset(), column.offset() + width);
+        }
+
+        return bytes;
+    }
+
+    // endregion
+}
@@ -0,0 +1,82 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Utf8String;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An interned path string with its UTF-8 encoding, hash code, and token in the {@link Layout} that interned it.
+ * <p>
+ * Instances are obtained from {@link Layout#internPath(String)}. A {@link LayoutPath} lets callers that name fields with
+ * {@link String} values avoid transcoding and tokenizing the same path on each write.
+ * <p>
+ * {@link LayoutPath} is immutable.
+ */
+public final class LayoutPath {
+
+    private final int hashCode;
+    private final Utf8String path;
+    private final StringToken token;
+
+    LayoutPath(@Nonnull final Utf8String path, @Nullable final StringToken token) {
+        checkNotNull(path, "expected non-null path");
+        this.hashCode = path.hashCode();
+        this.path = path;
+        this.token = token;
+    }
+
+    /**
+     * The UTF-8 encoding of this path.
+     *
+     * @return the UTF-8 encoding of this path.
+     */
+    @Nonnull
+    public Utf8String path() {
+        return this.path;
+    }
+
+    /**
+     * The token assigned to this path by the {@link Layout} that interned it.
+     *
+     * @return the token assigned to this path or {@link Optional#empty()}, if this path is not tokenized.
+     */
+    @Nonnull
+    public Optional<StringToken> token() {
+        return Optional.ofNullable(this.token);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || other.getClass() != LayoutPath.class) {
+            return false;
+        }
+        return this.path.equals(((LayoutPath) other).path);
+    }
+
+    /**
+     * The hash code of this path.
+     * <p>
+     * This is the same value as {@link Utf8String#hashCode()} of {@link #path()}, computed once.
+     *
+     * @return the hash code of this path.
+     */
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return this.path.toString();
+    }
+}
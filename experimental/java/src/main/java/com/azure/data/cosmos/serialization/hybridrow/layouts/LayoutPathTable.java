@@ -0,0 +1,108 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Utf8String;
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.HashCommon;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * An immutable open-addressing table of the columns of a {@link Layout} keyed by full path.
+ * <p>
+ * Columns may be looked up by UTF-8 or by UTF-16 path. Each encoding has its own table of slots. A slot holds the
+ * index of a column plus one, or zero, if the slot is empty. Tables are at most half full and probed linearly, so a
+ * lookup is usually a single probe followed by a comparison of the path with the column's full path. Hash codes come
+ * from {@link Utf8String#hashCode()} and {@link String#hashCode()}, both of which are cached by their strings.
+ * <p>
+ * Should two columns have the same full path, the last one wins.
+ */
+final class LayoutPathTable {
+
+    private final LayoutColumn[] columns;
+    private final int mask;
+    private final String[] paths;
+    private final int[] utf16Slots;
+    private final int[] utf8Slots;
+
+    LayoutPathTable(@Nonnull final List<LayoutColumn> columns) {
+
+        final LinkedHashMap<String, LayoutColumn> distinct = new LinkedHashMap<>(2 * columns.size());
+
+        for (LayoutColumn column : columns) {
+            distinct.put(column.fullPath().toUtf16(), column);
+        }
+
+        final int capacity = HashCommon.arraySize(distinct.size(), 0.5f);
+
+        this.columns = distinct.values().toArray(new LayoutColumn[0]);
+        this.paths = distinct.keySet().toArray(new String[0]);
+        this.mask = capacity - 1;
+        this.utf16Slots = new int[capacity];
+        this.utf8Slots = new int[capacity];
+
+        for (int i = 0; i < this.columns.length; i++) {
+            insert(this.utf8Slots, this.mask, this.columns[i].fullPath().hashCode(), i + 1);
+            insert(this.utf16Slots, this.mask, this.paths[i].hashCode(), i + 1);
+        }
+    }
+
+    /**
+     * The distinct columns in this table in the order they were first encountered.
+     *
+     * @return the distinct columns in this table.
+     */
+    @Nonnull
+    List<LayoutColumn> columns() {
+        return ImmutableList.copyOf(this.columns);
+    }
+
+    @Nullable
+    LayoutColumn find(@Nonnull final Utf8String path) {
+
+        for (int i = HashCommon.mix(path.hashCode()) & this.mask; ; i = (i + 1) & this.mask) {
+
+            final int slot = this.utf8Slots[i];
+
+            if (slot == 0) {
+                return null;
+            }
+
+            final LayoutColumn column = this.columns[slot - 1];
+
+            if (column.fullPath().equals(path)) {
+                return column;
+            }
+        }
+    }
+
+    @Nullable
+    LayoutColumn find(@Nonnull final String path) {
+
+        for (int i = HashCommon.mix(path.hashCode()) & this.mask; ; i = (i + 1) & this.mask) {
+
+            final int slot = this.utf16Slots[i];
+
+            if (slot == 0) {
+                return null;
+            }
+
+            if (this.paths[slot - 1].equals(path)) {
+                return this.columns[slot - 1];
+            }
+        }
+    }
+
+    private static void insert(final int[] slots, final int mask, final int hashCode, final int value) {
+        int i = HashCommon.mix(hashCode) & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+    }
+}
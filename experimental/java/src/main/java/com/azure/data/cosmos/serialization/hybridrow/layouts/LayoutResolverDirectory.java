@@ -0,0 +1,318 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.google.common.collect.ImmutableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * An implementation of {@link LayoutResolver} which resolves schema from a directory of namespace JSON files and
+ * reloads them as they change.
+ * <p>
+ * Each {@code *.json} file in the directory is parsed and validated as a {@link Namespace} and resolved by a
+ * {@link LayoutResolverNamespace} of its own. A background thread watches the directory and, as files are created,
+ * modified, or deleted, parses the changed files and publishes a new immutable snapshot of the directory. Resolution
+ * reads the current snapshot and never waits on a reload. A file that cannot be parsed or validated is logged and its
+ * previous version, if any, remains in use. Should two files define the same {@link SchemaId}, the file whose name
+ * sorts first wins.
+ * <p>
+ * A schema that is removed from the directory remains resolvable while its {@link Layout} is in use: the resolver
+ * holds removed layouts by weak reference, so a removed schema is resolvable until no reader holds its layout. A
+ * removed schema that was never resolved is not retained.
+ * <p>
+ * All members of this class are multi-thread safe.
+ */
+public final class LayoutResolverDirectory extends LayoutResolver implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LayoutResolverDirectory.class);
+
+    private final Path directory;
+    private final LayoutResolver parent;
+    private final WatchService watcher;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Initializes a new {@link LayoutResolverDirectory} and starts watching its directory.
+     *
+     * @param directory the directory of namespace JSON files.
+     * @param parent    a resolver for schema that are not defined in {@code directory} or {@code null}.
+     * @throws IOException if {@code directory} cannot be read or watched.
+     */
+    public LayoutResolverDirectory(@Nonnull final Path directory, @Nullable final LayoutResolver parent)
+        throws IOException {
+
+        checkNotNull(directory, "expected non-null directory");
+
+        this.directory = directory;
+        this.parent = parent;
+        this.snapshot = Snapshot.EMPTY;
+
+        this.watcher = directory.getFileSystem().newWatchService();
+
+        try {
+            directory.register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            this.reload();
+        } catch (IOException | RuntimeException error) {
+            this.watcher.close();
+            throw error;
+        }
+
+        final Thread thread = new Thread(this::watch, "hybridrow-schema-watcher:" + directory);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the directory.
+     * <p>
+     * Schema that were resolvable when this method is called remain resolvable.
+     */
+    @Override
+    public void close() throws IOException {
+        this.watcher.close();
+    }
+
+    public Path directory() {
+        return this.directory;
+    }
+
+    /**
+     * Rereads every namespace file in the directory and publishes the result.
+     * <p>
+     * Files whose modification time and size are unchanged are not parsed again, so their compiled layouts are kept.
+     * <p>
+     * The watcher thread calls this method when the watch service reports that events were lost. It is also useful
+     * on file systems whose watch services are slow to report changes.
+     *
+     * @throws IOException if the directory cannot be read.
+     */
+    public synchronized void reload() throws IOException {
+
+        final Map<Path, NamespaceFile> files = new HashMap<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*.json")) {
+            for (Path file : stream) {
+                final NamespaceFile namespaceFile = this.load(file);
+                if (namespaceFile != null) {
+                    files.put(file, namespaceFile);
+                }
+            }
+        }
+
+        this.publish(files);
+    }
+
+    @Nonnull
+    @Override
+    public Layout resolve(@Nonnull final SchemaId schemaId) {
+
+        checkNotNull(schemaId, "expected non-null schemaId");
+
+        final Snapshot snapshot = this.snapshot;
+        final LayoutResolverNamespace resolver = snapshot.schemas.get(schemaId);
+
+        if (resolver != null) {
+            return resolver.resolve(schemaId);
+        }
+
+        final WeakReference<Layout> retired = snapshot.retired.get(schemaId);
+        final Layout layout = retired == null ? null : retired.get();
+
+        if (layout != null) {
+            return layout;
+        }
+
+        checkState(this.parent != null, "failed to resolve schema %s", schemaId);
+        return this.parent.resolve(schemaId);
+    }
+
+    // region Privates
+
+    /**
+     * Loads a namespace file, reusing its previous version when the file is unchanged or cannot be parsed.
+     *
+     * @param file the namespace file to load.
+     * @return the namespace file loaded or {@code null}, if it cannot be parsed and has no previous version.
+     */
+    @Nullable
+    private NamespaceFile load(@Nonnull final Path file) throws IOException {
+
+        final NamespaceFile previous = this.snapshot.files.get(file);
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+        if (previous != null && previous.isCurrent(attributes)) {
+            return previous;
+        }
+
+        final Optional<Namespace> namespace;
+
+        try {
+            namespace = Namespace.parse(file.toFile());
+        } catch (RuntimeException error) {
+            logger.error("failed to load {} due to ", file, error);
+            return previous;
+        }
+
+        // Namespace.parse logs the reason for failures that it reports as an empty result
+
+        return namespace
+            .map(value -> new NamespaceFile(new LayoutResolverNamespace(value, this.parent), attributes))
+            .orElse(previous);
+    }
+
+    private synchronized void publish(@Nonnull final Map<Path, NamespaceFile> files) {
+
+        final Snapshot previous = this.snapshot;
+        final Map<SchemaId, LayoutResolverNamespace> schemas = new HashMap<>();
+
+        for (Map.Entry<Path, NamespaceFile> entry : new TreeMap<>(files).entrySet()) {
+            final LayoutResolverNamespace resolver = entry.getValue().resolver;
+            for (SchemaId schemaId : resolver.schemaIds()) {
+                final LayoutResolverNamespace existing = schemas.putIfAbsent(schemaId, resolver);
+                if (existing != null && existing != resolver) {
+                    logger.warn("ignoring schema {} in {}: it is already defined in another file", schemaId,
+                        entry.getKey());
+                }
+            }
+        }
+
+        // Retain the layouts of removed schema by weak reference; those that are no longer referenced are dropped
+
+        final Map<SchemaId, WeakReference<Layout>> retired = new HashMap<>();
+
+        for (Map.Entry<SchemaId, WeakReference<Layout>> entry : previous.retired.entrySet()) {
+            if (!schemas.containsKey(entry.getKey()) && entry.getValue().get() != null) {
+                retired.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (Map.Entry<SchemaId, LayoutResolverNamespace> entry : previous.schemas.entrySet()) {
+            if (!schemas.containsKey(entry.getKey())) {
+                final Layout layout = entry.getValue().cached(entry.getKey());
+                if (layout != null) {
+                    retired.put(entry.getKey(), new WeakReference<>(layout));
+                }
+            }
+        }
+
+        this.snapshot = new Snapshot(files, schemas, retired);
+    }
+
+    private synchronized void update(@Nonnull final Path file) throws IOException {
+
+        final Map<Path, NamespaceFile> files = new HashMap<>(this.snapshot.files);
+
+        if (Files.isRegularFile(file)) {
+            final NamespaceFile namespaceFile = this.load(file);
+            if (namespaceFile == null || namespaceFile == files.get(file)) {
+                return;
+            }
+            files.put(file, namespaceFile);
+        } else if (files.remove(file) == null) {
+            return;
+        }
+
+        this.publish(files);
+    }
+
+    private void watch() {
+
+        while (true) {
+
+            final WatchKey key;
+
+            try {
+                key = this.watcher.take();
+            } catch (ClosedWatchServiceException | InterruptedException error) {
+                return;
+            }
+
+            try {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        this.reload();
+                    } else {
+                        final Path file = this.directory.resolve((Path) event.context());
+                        if (file.getFileName().toString().endsWith(".json")) {
+                            this.update(file);
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException error) {
+                logger.error("failed to reload schema from {} due to ", this.directory, error);
+            }
+
+            if (!key.reset()) {
+                logger.error("stopped watching {}: it is no longer accessible", this.directory);
+                return;
+            }
+        }
+    }
+
+    // endregion
+
+    private static final class NamespaceFile {
+
+        final FileTime lastModifiedTime;
+        final LayoutResolverNamespace resolver;
+        final long size;
+
+        NamespaceFile(@Nonnull final LayoutResolverNamespace resolver, @Nonnull final BasicFileAttributes attributes) {
+            this.lastModifiedTime = attributes.lastModifiedTime();
+            this.resolver = resolver;
+            this.size = attributes.size();
+        }
+
+        boolean isCurrent(@Nonnull final BasicFileAttributes attributes) {
+            return this.lastModifiedTime.equals(attributes.lastModifiedTime()) && this.size == attributes.size();
+        }
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of());
+
+        final ImmutableMap<Path, NamespaceFile> files;
+        final ImmutableMap<SchemaId, WeakReference<Layout>> retired;
+        final ImmutableMap<SchemaId, LayoutResolverNamespace> schemas;
+
+        Snapshot(
+            @Nonnull final Map<Path, NamespaceFile> files,
+            @Nonnull final Map<SchemaId, LayoutResolverNamespace> schemas,
+            @Nonnull final Map<SchemaId, WeakReference<Layout>> retired) {
+
+            this.files = ImmutableMap.copyOf(files);
+            this.retired = ImmutableMap.copyOf(retired);
+            this.schemas = ImmutableMap.copyOf(schemas);
+        }
+    }
+}
@@ -3,14 +3,32 @@
 
 package com.azure.data.cosmos.serialization.hybridrow.layouts;
 
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
 import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
 import com.azure.data.cosmos.serialization.hybridrow.schemas.Schema;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SchemaHash;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
@@ -18,47 +36,283 @@ import static com.google.common.base.Preconditions.checkState;
  * An implementation of {@link LayoutResolver} which dynamically compiles schema from a {@link Namespace}.
  * <p>
  * This resolver assumes that {@link Schema} within the {@link Namespace} have their {@link Schema#schemaId()} properly
- * populated. The resolver caches compiled schema.
+ * populated. The resolver indexes the schema of the namespace when it is constructed; schema added to the namespace
+ * after that are not resolved. The resolver caches compiled schema. Schema are compiled on first use or, through
+ * {@link #compileAll}, ahead of time and in parallel.
+ * <p>
+ * The cache is unbounded by default. A {@link Capacity} limits it to a number of layouts or to an estimated number of
+ * bytes of heap memory, evicting the least recently used layouts first. Concurrent requests for a schema that is not
+ * cached wait on a single compilation. Cache statistics, including compilation time, are reported by {@link #stats}.
+ * <p>
+ * Given a {@link LayoutStore}, the resolver loads layouts compiled by earlier processes from it, keyed by the
+ * {@linkplain SchemaHash#computeHash hash} of their schema, and stores the layouts it compiles in it. Each schema is
+ * hashed once, when it is first loaded; like the layouts it caches, the resolver does not observe changes made to a
+ * schema after that.
  * <p>
  * All members of this class are multi-thread safe.
  */
 public final class LayoutResolverNamespace extends LayoutResolver {
 
-    private final ConcurrentHashMap<SchemaId, Layout> layoutCache;
+    private static final HashCode128 HASH_SEED = HashCode128.of(0, 0);
+
+    private final ImmutableMap<String, Schema> byName;
+    private final ImmutableMap<SchemaId, Schema> bySchemaId;
+    private final LoadingCache<SchemaId, Layout> layoutCache;
+    private final ConcurrentHashMap<SchemaId, HashCode128> hashes;
     private final LayoutResolver parent;
     private final Namespace schemaNamespace;
+    private final LayoutStore store;
 
     public LayoutResolverNamespace(@Nonnull final Namespace namespace) {
         this(namespace, null);
     }
 
     public LayoutResolverNamespace(@Nonnull final Namespace schemaNamespace, @Nullable final LayoutResolver parent) {
+        this(schemaNamespace, parent, Capacity.UNBOUNDED);
+    }
+
+    public LayoutResolverNamespace(
+        @Nonnull final Namespace schemaNamespace,
+        @Nullable final LayoutResolver parent,
+        @Nonnull final Capacity capacity) {
+        this(schemaNamespace, parent, capacity, null);
+    }
+
+    public LayoutResolverNamespace(
+        @Nonnull final Namespace schemaNamespace,
+        @Nullable final LayoutResolver parent,
+        @Nonnull final Capacity capacity,
+        @Nullable final LayoutStore store) {
+
         checkNotNull(schemaNamespace, "expected non-null schemaNamespace");
+        checkNotNull(capacity, "expected non-null capacity");
+
         this.schemaNamespace = schemaNamespace;
+        this.hashes = new ConcurrentHashMap<>();
         this.parent = parent;
-        this.layoutCache = new ConcurrentHashMap<>();
+        this.store = store;
+        this.layoutCache = capacity.build(CacheLoader.from(this::compile));
+
+        // The first schema with a given name or id wins, as it would in a scan of the namespace
+
+        final HashMap<String, Schema> byName = new HashMap<>();
+        final HashMap<SchemaId, Schema> bySchemaId = new HashMap<>();
+
+        for (Schema schema : schemaNamespace.schemas()) {
+            if (schema.name() != null) {
+                byName.putIfAbsent(schema.name(), schema);
+            }
+            if (schema.schemaId() != null) {
+                bySchemaId.putIfAbsent(schema.schemaId(), schema);
+            }
+        }
+
+        this.byName = ImmutableMap.copyOf(byName);
+        this.bySchemaId = ImmutableMap.copyOf(bySchemaId);
     }
 
     public Namespace namespace() {
         return this.schemaNamespace;
     }
 
+    /**
+     * Compiles every schema in the namespace in parallel on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @return this {@link LayoutResolverNamespace}.
+     * @see #compileAll(ForkJoinPool)
+     */
+    @Nonnull
+    public LayoutResolverNamespace compileAll() {
+        return this.compileAll(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compiles every schema in the namespace in parallel on the given pool.
+     * <p>
+     * This method returns when all schema have been compiled and cached. Schema that are already cached are not
+     * compiled again. Should the namespace hold more schema than the cache {@link Capacity} permits, the least
+     * recently used layouts are evicted as others are compiled. A {@link LayoutCompilationException} raised by any
+     * schema is rethrown. Schema may be compiled in any order: a layout refers to the user defined types it contains
+     * by {@link SchemaId}, not by {@link Layout}.
+     *
+     * @param pool the pool on which to compile schema.
+     * @return this {@link LayoutResolverNamespace}.
+     */
+    @Nonnull
+    public LayoutResolverNamespace compileAll(@Nonnull final ForkJoinPool pool) {
+
+        checkNotNull(pool, "expected non-null pool");
+
+        final List<ForkJoinTask<Layout>> tasks = new ArrayList<>(this.bySchemaId.size());
+
+        for (SchemaId schemaId : this.bySchemaId.keySet()) {
+            tasks.add(pool.submit(() -> this.resolve(schemaId)));
+        }
+
+        for (ForkJoinTask<Layout> task : tasks) {
+            task.join();
+        }
+
+        return this;
+    }
+
     @Nonnull
     @Override
     public Layout resolve(@Nonnull SchemaId schemaId) {
 
         checkNotNull(schemaId, "expected non-null schemaId");
 
-        Layout layout = this.layoutCache.computeIfAbsent(schemaId, id -> {
-            for (Schema schema : this.namespace().schemas()) {
-                if (schema.schemaId().equals(id)) {
-                    return schema.compile(this.schemaNamespace);
-                }
-            }
-            return this.parent == null ? null : this.parent.resolve(schemaId);
-        });
+        try {
+            return this.layoutCache.getUnchecked(schemaId);
+        } catch (ExecutionError | UncheckedExecutionException error) {
+            Throwables.throwIfUnchecked(error.getCause());
+            throw error;
+        }
+    }
+
+    /**
+     * The layout cached for a schema, if any, without compiling or resolving it.
+     *
+     * @param schemaId the id of the schema.
+     * @return the layout cached for {@code schemaId} or {@code null}, if there is none.
+     */
+    @Nullable
+    Layout cached(@Nonnull final SchemaId schemaId) {
+        return this.layoutCache.getIfPresent(schemaId);
+    }
+
+    /**
+     * The ids of the schema in the namespace of this resolver.
+     *
+     * @return the ids of the schema in the namespace of this resolver.
+     */
+    @Nonnull
+    Set<SchemaId> schemaIds() {
+        return this.bySchemaId.keySet();
+    }
+
+    /**
+     * Statistics on the layout cache of this resolver.
+     * <p>
+     * Misses include layouts resolved through the parent resolver and {@link CacheStats#totalLoadTime()} includes the
+     * time taken to resolve them.
+     *
+     * @return a snapshot of the hit, miss, eviction, and compilation statistics of the layout cache of this resolver.
+     */
+    @Nonnull
+    public CacheStats stats() {
+        return this.layoutCache.stats();
+    }
+
+    @Nonnull
+    private Layout compile(@Nonnull final SchemaId schemaId) {
+
+        // Runs under the cache entry for schemaId: compiling one schema does not block resolution of others, but
+        // concurrent resolution of the same schema waits on a single compilation
+
+        final Schema schema = this.bySchemaId.get(schemaId);
+        Layout layout = null;
+
+        if (schema != null) {
+            layout = this.store == null ? this.compile(schema) : this.load(schema);
+        } else if (this.parent != null) {
+            layout = this.parent.resolve(schemaId);
+        }
 
         checkState(layout != null, "failed to resolve schema %s", schemaId);
         return layout;
     }
-}
\ No newline at end of file
+
+    @Nonnull
+    private Layout compile(@Nonnull final Schema schema) {
+        return LayoutCompiler.compile(schema, this.byName, this.bySchemaId);
+    }
+
+    @Nonnull
+    private Layout load(@Nonnull final Schema schema) {
+
+        // Hashes are kept so that a layout evicted from the cache is reloaded without hashing its schema again
+
+        final HashCode128 hash = this.hashes.computeIfAbsent(schema.schemaId(), schemaId ->
+            SchemaHash.computeHash(this.schemaNamespace, schema, HASH_SEED));
+        final Optional<Layout> stored = this.store.load(schema.schemaId(), hash);
+
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        final Layout layout = this.compile(schema);
+        this.store.store(layout, hash);
+        return layout;
+    }
+
+    /**
+     * The capacity of the layout cache of a {@link LayoutResolverNamespace}.
+     * <p>
+     * {@link Capacity} is immutable.
+     */
+    public static final class Capacity {
+
+        /**
+         * A capacity that never evicts layouts.
+         */
+        public static final Capacity UNBOUNDED = new Capacity(-1, false);
+
+        private final boolean bytes;
+        private final long maximum;
+
+        private Capacity(final long maximum, final boolean bytes) {
+            this.bytes = bytes;
+            this.maximum = maximum;
+        }
+
+        /**
+         * A capacity expressed as an estimated number of bytes of heap memory.
+         * <p>
+         * Layouts are weighed by {@link Layout#estimatedSize()}.
+         *
+         * @param maximum the maximum estimated size of all cached layouts.
+         * @return a capacity of {@code maximum} estimated bytes.
+         */
+        @Nonnull
+        public static Capacity bytes(final long maximum) {
+            checkArgument(maximum >= 0, "expected non-negative maximum, not %s", maximum);
+            return new Capacity(maximum, true);
+        }
+
+        /**
+         * A capacity expressed as a number of layouts.
+         *
+         * @param maximum the maximum number of cached layouts.
+         * @return a capacity of {@code maximum} layouts.
+         */
+        @Nonnull
+        public static Capacity entries(final long maximum) {
+            checkArgument(maximum >= 0, "expected non-negative maximum, not %s", maximum);
+            return new Capacity(maximum, false);
+        }
+
+        @Override
+        public String toString() {
+            return this.maximum < 0 ? "unbounded" : this.maximum + (this.bytes ? " bytes" : " entries");
+        }
+
+        @Nonnull
+        LoadingCache<SchemaId, Layout> build(@Nonnull final CacheLoader<SchemaId, Layout> loader) {
+
+            final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+
+            if (this.maximum < 0) {
+                return builder.build(loader);
+            }
+
+            if (this.bytes) {
+                return builder.maximumWeight(this.maximum)
+                    .weigher((SchemaId schemaId, Layout layout) -> layout.estimatedSize())
+                    .build(loader);
+            }
+
+            return builder.maximumSize(this.maximum).build(loader);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.internal.Crc32;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.StorageKind;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Serializes {@link Layout} instances to and from a binary form.
+ * <p>
+ * A serialized layout is tagged with the {@link HashCode128} of the schema it was compiled from. It records the layout
+ * header, each of its columns in order, and the contents of its {@link StringTokenizer}. Deserialization rebuilds the
+ * layout from its columns and verifies that the rebuilt tokenizer matches the recorded one. The header of a layout
+ * records the length and CRC-32 checksum of the bytes that follow it, so that a corrupt layout is rejected before it
+ * is rebuilt with wrong offsets or types. All values are written in little-endian byte order.
+ */
+final class LayoutSerializer {
+
+    private static final int MAGIC = 0x434C5248; // "HRLC" in little-endian byte order
+    private static final byte VERSION = 2;
+
+    // The least number of bytes in a serialized type argument: a layout code, schema id, and count of type arguments
+
+    private static final int MIN_TYPE_ARG_BYTES = Byte.BYTES + 2 * Integer.BYTES;
+
+    private LayoutSerializer() {
+    }
+
+    /**
+     * Reads a layout from a buffer.
+     * <p>
+     * The layout is read from the buffer's current reader index, which is advanced past it on success.
+     *
+     * @param buffer   the buffer from which to read the layout.
+     * @param schemaId the expected schema id of the layout.
+     * @param hash     the expected hash of the schema the layout was compiled from.
+     * @return the layout read or {@link Optional#empty()}, if the buffer does not hold a layout of the current version
+     * for {@code schemaId} and {@code hash} or the layout it holds is truncated or corrupt.
+     */
+    @Nonnull
+    static Optional<Layout> read(
+        @Nonnull final ByteBuf buffer, @Nonnull final SchemaId schemaId, @Nonnull final HashCode128 hash) {
+
+        checkNotNull(buffer, "expected non-null buffer");
+        checkNotNull(schemaId, "expected non-null schemaId");
+        checkNotNull(hash, "expected non-null hash");
+
+        try {
+
+            if (buffer.readIntLE() != MAGIC || buffer.readByte() != VERSION) {
+                return Optional.empty();
+            }
+
+            if (!HashCode128.from(buffer).equals(hash)) {
+                return Optional.empty();
+            }
+
+            final int bodyLength = buffer.readIntLE();
+            final int checksum = buffer.readIntLE();
+            final int end = buffer.readerIndex() + bodyLength;
+
+            if (bodyLength < 0 || bodyLength > buffer.readableBytes()
+                || Crc32.compute(buffer, buffer.readerIndex(), bodyLength) != checksum) {
+                return Optional.empty();
+            }
+
+            if (buffer.readIntLE() != schemaId.value()) {
+                return Optional.empty();
+            }
+
+            final String name = readString(buffer);
+            final int numBitmaskBytes = buffer.readIntLE();
+            final int size = buffer.readIntLE();
+            final int count = readCount(buffer, Byte.BYTES);
+
+            final ArrayList<LayoutColumn> columns = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+
+                final String path = readString(buffer);
+                final LayoutType type = readType(buffer);
+                final TypeArgumentList typeArgs = readTypeArgs(buffer);
+                final StorageKind storage = StorageKind.from(buffer.readByte());
+                final int parent = buffer.readIntLE();
+                final int index = buffer.readIntLE();
+                final int offset = buffer.readIntLE();
+                final LayoutBit nullBit = readBit(buffer);
+                final LayoutBit booleanBit = readBit(buffer);
+                final int length = buffer.readIntLE();
+
+                if (storage == null || parent < -1 || parent >= i) {
+                    return Optional.empty();
+                }
+
+                columns.add(new LayoutColumn(path, type, typeArgs, storage, parent < 0 ? null : columns.get(parent),
+                    index, offset, nullBit, booleanBit, length));
+            }
+
+            final Layout layout = new Layout(name, schemaId, numBitmaskBytes, size, columns);
+            final StringTokenizer tokenizer = layout.tokenizer();
+
+            if (buffer.readIntLE() != tokenizer.count()) {
+                return Optional.empty();
+            }
+
+            for (int token = 0; token < tokenizer.count(); token++) {
+
+                final ByteBuf string = tokenizer.tryFindString(token).map(Utf8String::content).orElse(null);
+                final int length = buffer.readIntLE();
+
+                if (!(string != null && string.readableBytes() == length
+                    && ByteBufUtil.equals(string, string.readerIndex(), buffer, buffer.readerIndex(), length))) {
+                    return Optional.empty();
+                }
+
+                buffer.skipBytes(length);
+            }
+
+            return buffer.readerIndex() == end ? Optional.of(layout) : Optional.empty();
+
+        } catch (RuntimeException error) {
+            return Optional.empty();  // truncated or corrupt
+        }
+    }
+
+    /**
+     * Writes a layout to a buffer.
+     * <p>
+     * The layout is written at the buffer's current writer index, which is advanced past it.
+     *
+     * @param buffer the buffer to which the layout should be written.
+     * @param layout the layout to write.
+     * @param hash   the hash of the schema from which {@code layout} was compiled.
+     */
+    static void write(@Nonnull final ByteBuf buffer, @Nonnull final Layout layout, @Nonnull final HashCode128 hash) {
+
+        checkNotNull(buffer, "expected non-null buffer");
+        checkNotNull(layout, "expected non-null layout");
+        checkNotNull(hash, "expected non-null hash");
+
+        final List<LayoutColumn> columns = layout.allColumns();
+        final IdentityHashMap<LayoutColumn, Integer> indexes = new IdentityHashMap<>(columns.size());
+
+        buffer.writeIntLE(MAGIC);
+        buffer.writeByte(VERSION);
+        buffer.writeLongLE(hash.low());
+        buffer.writeLongLE(hash.high());
+
+        final int header = buffer.writerIndex();
+        buffer.writeIntLE(0);  // length
+        buffer.writeIntLE(0);  // checksum
+        buffer.writeIntLE(layout.schemaId().value());
+        writeString(buffer, layout.name());
+        buffer.writeIntLE(layout.numBitmaskBytes());
+        buffer.writeIntLE(layout.size());
+        buffer.writeIntLE(columns.size());
+
+        for (LayoutColumn column : columns) {
+            writeString(buffer, column.path().toUtf16());
+            buffer.writeByte(column.type().layoutCode().value());
+            writeTypeArgs(buffer, column.typeArgs());
+            buffer.writeByte(column.storage().value());
+            buffer.writeIntLE(column.parent() == null ? -1 : indexes.get(column.parent()));
+            buffer.writeIntLE(column.index());
+            buffer.writeIntLE(column.offset());
+            buffer.writeIntLE(column.nullBit().index());
+            buffer.writeIntLE(column.booleanBit().index());
+            buffer.writeIntLE(column.size());
+            indexes.put(column, indexes.size());
+        }
+
+        final StringTokenizer tokenizer = layout.tokenizer();
+        buffer.writeIntLE(tokenizer.count());
+
+        for (int token = 0; token < tokenizer.count(); token++) {
+            writeString(buffer, tokenizer.tryFindString(token).map(Utf8String::toUtf16).orElse(""));
+        }
+
+        final int start = header + 2 * Integer.BYTES;
+        final int length = buffer.writerIndex() - start;
+
+        buffer.setIntLE(header, length);
+        buffer.setIntLE(header + Integer.BYTES, Crc32.compute(buffer, start, length));
+    }
+
+    // region Privates
+
+    private static LayoutBit readBit(final ByteBuf buffer) {
+        final int index = buffer.readIntLE();
+        return index == LayoutBit.INVALID.index() ? LayoutBit.INVALID : new LayoutBit(index);
+    }
+
+    /**
+     * Reads a count of items and checks that the buffer holds enough bytes for them.
+     * <p>
+     * This ensures that a corrupt count is rejected before anything is allocated for the items it counts.
+     *
+     * @param buffer the buffer from which to read the count.
+     * @param bytes  the least number of bytes in a serialized item.
+     * @return the count read.
+     */
+    private static int readCount(final ByteBuf buffer, final int bytes) {
+        final int count = buffer.readIntLE();
+        checkArgument(count >= 0 && count <= buffer.readableBytes() / bytes, "expected count of at most %s, not %s",
+            buffer.readableBytes() / bytes, count);
+        return count;
+    }
+
+    private static String readString(final ByteBuf buffer) {
+        return buffer.readCharSequence(readCount(buffer, Byte.BYTES), StandardCharsets.UTF_8).toString();
+    }
+
+    private static LayoutType readType(final ByteBuf buffer) {
+        return LayoutType.fromLayoutCode(checkNotNull(LayoutCode.from(buffer.readByte())));
+    }
+
+    private static TypeArgumentList readTypeArgs(final ByteBuf buffer) {
+
+        final SchemaId schemaId = SchemaId.from(buffer.readIntLE());
+        final int count = readCount(buffer, MIN_TYPE_ARG_BYTES);
+
+        if (schemaId != SchemaId.INVALID) {
+            return new TypeArgumentList(schemaId);
+        }
+
+        if (count == 0) {
+            return TypeArgumentList.EMPTY;
+        }
+
+        final TypeArgument[] args = new TypeArgument[count];
+
+        for (int i = 0; i < count; i++) {
+            final LayoutType type = readType(buffer);
+            args[i] = new TypeArgument(type, readTypeArgs(buffer));
+        }
+
+        return new TypeArgumentList(args);
+    }
+
+    private static void writeString(final ByteBuf buffer, final String value) {
+        final int start = buffer.writerIndex();
+        buffer.writeIntLE(0);
+        final int length = buffer.writeCharSequence(value, StandardCharsets.UTF_8);
+        buffer.setIntLE(start, length);
+    }
+
+    private static void writeTypeArgs(final ByteBuf buffer, final TypeArgumentList typeArgs) {
+
+        buffer.writeIntLE(typeArgs.schemaId().value());
+        buffer.writeIntLE(typeArgs.count());
+
+        for (TypeArgument arg : typeArgs.list()) {
+            buffer.writeByte(arg.type().layoutCode().value());
+            writeTypeArgs(buffer, arg.typeArgs());
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,348 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SchemaHash;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.lenientFormat;
+
+/**
+ * A persistent store of compiled {@link Layout} instances keyed by the {@linkplain SchemaHash#computeHash hash} of the
+ * schema they were compiled from.
+ * <p>
+ * A store lets a process skip compilation of schema compiled by an earlier process. A {@link LayoutResolverNamespace}
+ * given a store loads each layout from it when the hash of its schema matches and compiles and stores the layout
+ * otherwise. Stores are caches: a layout that cannot be loaded, because it is missing, stale, or corrupt, is reported
+ * as absent, and a failure to store a layout is logged and otherwise ignored.
+ * <p>
+ * All members of this class are multi-thread safe.
+ */
+public abstract class LayoutStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LayoutStore.class);
+
+    LayoutStore() {
+    }
+
+    /**
+     * Opens a store that holds each layout in a file of its own within a directory.
+     * <p>
+     * Layouts are written to a temporary file and atomically moved into place so that processes sharing the directory
+     * never observe a partially written layout.
+     *
+     * @param directory the directory in which to store layouts. It is created, if it does not exist.
+     * @return a store backed by {@code directory}.
+     * @throws IOException if {@code directory} cannot be created.
+     */
+    @Nonnull
+    public static LayoutStore directory(@Nonnull final Path directory) throws IOException {
+        checkNotNull(directory, "expected non-null directory");
+        return new Directory(Files.createDirectories(directory));
+    }
+
+    /**
+     * Opens a store that holds layouts in a single memory-mapped file.
+     * <p>
+     * The layouts in the file when it is opened are read from a memory mapping of it. Layouts stored later are
+     * appended to the file under an exclusive file lock. A partially written layout at the end of the file, as may be
+     * left by a process that crashed, is discarded when the file is opened.
+     * <p>
+     * File locks are held on behalf of a process and so a file should be opened by at most one store in a process.
+     * Opening a file that is being opened by another store in the process fails and a layout that cannot be appended
+     * because another store in the process holds the lock on the file is not stored.
+     *
+     * @param file the file in which to store layouts. It is created, if it does not exist.
+     * @return a store backed by {@code file}.
+     * @throws IOException if {@code file} cannot be opened, locked, or mapped.
+     */
+    @Nonnull
+    public static LayoutStore mapped(@Nonnull final Path file) throws IOException {
+        checkNotNull(file, "expected non-null file");
+        return new Mapped(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    /**
+     * Loads the layout for a schema.
+     *
+     * @param schemaId the id of the schema.
+     * @param hash     the hash of the schema.
+     * @return the layout for the schema or {@link Optional#empty()}, if the store does not hold a layout compiled from
+     * a schema with the given id and hash.
+     */
+    @Nonnull
+    public abstract Optional<Layout> load(@Nonnull SchemaId schemaId, @Nonnull HashCode128 hash);
+
+    /**
+     * Stores the layout for a schema.
+     *
+     * @param layout the layout compiled from the schema.
+     * @param hash   the hash of the schema.
+     */
+    public abstract void store(@Nonnull Layout layout, @Nonnull HashCode128 hash);
+
+    private static final class Directory extends LayoutStore {
+
+        private final Path directory;
+
+        Directory(@Nonnull final Path directory) {
+            this.directory = directory;
+        }
+
+        @Nonnull
+        @Override
+        public Optional<Layout> load(@Nonnull final SchemaId schemaId, @Nonnull final HashCode128 hash) {
+
+            checkNotNull(schemaId, "expected non-null schemaId");
+            checkNotNull(hash, "expected non-null hash");
+
+            final byte[] bytes;
+
+            try {
+                bytes = Files.readAllBytes(this.file(hash));
+            } catch (NoSuchFileException error) {
+                return Optional.empty();
+            } catch (IOException error) {
+                logger.warn("failed to load layout for schema {} from {} due to ", schemaId, this.directory, error);
+                return Optional.empty();
+            }
+
+            return LayoutSerializer.read(Unpooled.wrappedBuffer(bytes), schemaId, hash);
+        }
+
+        @Override
+        public void store(@Nonnull final Layout layout, @Nonnull final HashCode128 hash) {
+
+            checkNotNull(layout, "expected non-null layout");
+            checkNotNull(hash, "expected non-null hash");
+
+            final ByteBuf buffer = Unpooled.buffer();
+            LayoutSerializer.write(buffer, layout, hash);
+
+            Path temp = null;
+
+            try {
+                temp = Files.createTempFile(this.directory, hash.toString(), ".tmp");
+                Files.write(temp, ByteBufUtil.getBytes(buffer));
+                Files.move(temp, this.file(hash), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException error) {
+                logger.warn("failed to store layout for schema {} in {} due to ", layout.schemaId(), this.directory,
+                    error);
+                if (temp != null) {
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException ignored) {
+                        // best effort
+                    }
+                }
+            }
+        }
+
+        private Path file(final HashCode128 hash) {
+            return this.directory.resolve(hash.toString() + ".layout");
+        }
+    }
+
+    private static final class Mapped extends LayoutStore {
+
+        // The magic number, version, and hash that begin a serialized layout
+
+        private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES + 2 * Long.BYTES;
+
+        private final FileChannel channel;
+        private final Path file;
+        private final ByteBuf mapping;
+        private final ConcurrentHashMap<HashCode128, Long> offsets;
+
+        Mapped(@Nonnull final Path file) throws IOException {
+
+            this.file = file;
+            this.offsets = new ConcurrentHashMap<>();
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+            try {
+
+                final FileLock lock = lock(this.channel, file);
+
+                try {
+
+                    final long size = this.channel.size();
+                    final ByteBuf mapping = Unpooled.wrappedBuffer(
+                        this.channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+
+                    // Each record is a layout prefixed by its length; a record that extends beyond the end of the file
+                    // was torn by a crashed writer and is truncated so that later records are appended in its place. A
+                    // record too short to hold a layout header is skipped so that its layout is reported as absent.
+
+                    while (mapping.readableBytes() >= Integer.BYTES) {
+
+                        final int length = mapping.getIntLE(mapping.readerIndex());
+
+                        if (length <= 0 || length > mapping.readableBytes() - Integer.BYTES) {
+                            break;
+                        }
+
+                        if (length < HEADER_BYTES) {
+                            logger.warn("skipping short layout record at offset {} of {}", mapping.readerIndex(),
+                                file);
+                        } else {
+                            this.offsets.put(hashOf(mapping, mapping.readerIndex() + Integer.BYTES),
+                                (long) mapping.readerIndex());
+                        }
+
+                        mapping.skipBytes(Integer.BYTES + length);
+                    }
+
+                    if (mapping.readerIndex() < size) {
+                        logger.warn("truncating torn layout record at offset {} of {}", mapping.readerIndex(), file);
+                        this.channel.truncate(mapping.readerIndex());
+                    }
+
+                    this.mapping = mapping.slice(0, mapping.readerIndex());
+
+                } finally {
+                    lock.release();
+                }
+
+            } catch (IOException | RuntimeException error) {
+                this.channel.close();
+                throw error;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+
+        @Nonnull
+        @Override
+        public Optional<Layout> load(@Nonnull final SchemaId schemaId, @Nonnull final HashCode128 hash) {
+
+            checkNotNull(schemaId, "expected non-null schemaId");
+            checkNotNull(hash, "expected non-null hash");
+
+            final Long offset = this.offsets.get(hash);
+
+            if (offset == null) {
+                return Optional.empty();
+            }
+
+            if (offset < this.mapping.writerIndex()) {
+                final int index = offset.intValue() + Integer.BYTES;
+                final int length = this.mapping.getIntLE(offset.intValue());
+                return LayoutSerializer.read(this.mapping.slice(index, length), schemaId, hash);
+            }
+
+            // Appended after the file was mapped
+
+            try {
+                final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+                this.readFully(length, offset);
+                final int count = Unpooled.wrappedBuffer(length.array()).getIntLE(0);
+                if (count < HEADER_BYTES || count > this.channel.size() - offset - Integer.BYTES) {
+                    throw new IOException(lenientFormat("corrupt layout record length %s at offset %s", count, offset));
+                }
+                final ByteBuffer record = ByteBuffer.allocate(count);
+                this.readFully(record, offset + Integer.BYTES);
+                return LayoutSerializer.read(Unpooled.wrappedBuffer(record.array()), schemaId, hash);
+            } catch (IOException error) {
+                logger.warn("failed to load layout for schema {} from {} due to ", schemaId, this.file, error);
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public void store(@Nonnull final Layout layout, @Nonnull final HashCode128 hash) {
+
+            checkNotNull(layout, "expected non-null layout");
+            checkNotNull(hash, "expected non-null hash");
+
+            if (this.offsets.containsKey(hash)) {
+                return;
+            }
+
+            final ByteBuf buffer = Unpooled.buffer();
+            buffer.writeIntLE(0);
+            LayoutSerializer.write(buffer, layout, hash);
+            buffer.setIntLE(0, buffer.readableBytes() - Integer.BYTES);
+
+            // File locks are held by the process and so cannot serialize appends by threads within it
+
+            synchronized (this.channel) {
+                this.append(buffer, hash, layout.schemaId());
+            }
+        }
+
+        private void append(final ByteBuf buffer, final HashCode128 hash, final SchemaId schemaId) {
+            try {
+                final FileLock lock = lock(this.channel, this.file);
+                try {
+                    final long offset = this.channel.size();
+                    final ByteBuffer record = buffer.nioBuffer();
+                    for (long position = offset; record.hasRemaining(); ) {
+                        position += this.channel.write(record, position);
+                    }
+                    this.channel.force(false);
+                    this.offsets.putIfAbsent(hash, offset);
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException error) {
+                logger.warn("failed to store layout for schema {} in {} due to ", schemaId, this.file, error);
+            }
+        }
+
+        private static FileLock lock(final FileChannel channel, final Path file) throws IOException {
+            try {
+                return channel.lock();
+            } catch (OverlappingFileLockException error) {
+                throw new IOException(lenientFormat("%s is locked by another layout store in this process", file),
+                    error);
+            }
+        }
+
+        private static HashCode128 hashOf(final ByteBuf mapping, final int index) {
+            // Skips the magic number and version that precede the hash in a serialized layout
+            return HashCode128.from(mapping.slice(index + Integer.BYTES + Byte.BYTES, 2 * Long.BYTES));
+        }
+
+        private void readFully(final ByteBuffer buffer, final long offset) throws IOException {
+            for (long position = offset; buffer.hasRemaining(); ) {
+                final int count = this.channel.read(buffer, position);
+                if (count < 0) {
+                    throw new IOException(lenientFormat("unexpected end of file at offset %s", position));
+                }
+                position += count;
+            }
+        }
+    }
+}
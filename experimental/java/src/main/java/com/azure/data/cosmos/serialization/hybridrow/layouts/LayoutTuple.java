@@ -53,6 +53,7 @@ public final class LayoutTuple extends LayoutIndexedScope {
             sum += len.get();
         }
 
+        lengthInBytes.set(sum);
         return new TypeArgumentList(typeArgs);
     }
 
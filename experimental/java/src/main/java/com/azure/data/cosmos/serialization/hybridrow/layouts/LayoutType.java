@@ -9,6 +9,7 @@ import com.azure.data.cosmos.serialization.hybridrow.Result;
 import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
 import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.reflect.Reflection;
 
 import javax.annotation.Nonnull;
 
@@ -125,8 +126,17 @@ public abstract class LayoutType /*implements ILayoutType*/ {
     }
 
     @Nonnull
+    @SuppressWarnings("UnstableApiUsage")
     public static LayoutType fromLayoutCode(LayoutCode code) {
+
         LayoutType type = LayoutType.codeIndex[code.value()];
+
+        if (type == null) {
+            // Types register themselves in codeIndex as they are constructed by the LayoutTypes initializer
+            Reflection.initialize(LayoutTypes.class);
+            type = LayoutType.codeIndex[code.value()];
+        }
+
         checkArgument(type != null, "unimplemented code: %s", code);
         return type;
     }
@@ -72,6 +72,34 @@ public final class LayoutUnixDateTime extends LayoutTypePrimitive<UnixDateTime>
         return Result.SUCCESS;
     }
 
+    /**
+     * Writes the value of a fixed {@code UnixDateTime} column given as a number of milliseconds.
+     *
+     * @param buffer the row to write to.
+     * @param scope  the scope of the column.
+     * @param column the column to write.
+     * @param millis the number of milliseconds since the Unix epoch.
+     * @return {@link Result#SUCCESS} if the write is successful, an error {@link Result} otherwise.
+     */
+    @Nonnull
+    public Result writeFixed(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final RowCursor scope,
+        @Nonnull final LayoutColumn column,
+        final long millis) {
+
+        checkArgument(scope.scopeType() instanceof LayoutUDT);
+
+        if (scope.immutable()) {
+            return Result.INSUFFICIENT_PERMISSIONS;
+        }
+
+        buffer.writeUnixMillis(scope.start() + column.offset(), millis);
+        buffer.setBit(scope.start(), column.nullBit());
+
+        return Result.SUCCESS;
+    }
+
     @Override
     @Nonnull
     public Result writeSparse(@Nonnull RowBuffer buffer, @Nonnull RowCursor edit, @Nonnull UnixDateTime value, @Nonnull UpdateOptions options) {
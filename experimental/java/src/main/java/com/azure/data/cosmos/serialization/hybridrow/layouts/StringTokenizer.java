@@ -5,37 +5,54 @@ package com.azure.data.cosmos.serialization.hybridrow.layouts;
 
 import com.azure.data.cosmos.core.Utf8String;
 import com.azure.data.cosmos.core.UtfAnyString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import it.unimi.dsi.fastutil.HashCommon;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+/**
+ * Assigns tokens to path strings.
+ * <p>
+ * Tokens are held in arrays indexed by token id and found by open-addressing tables of token ids, one keyed by the
+ * UTF-8 encoding of each string and another keyed by its UTF-16 encoding. A slot in a table holds a token id plus one,
+ * or zero, if the slot is empty. Tables are kept at most half full and probed linearly. The UTF-8 table is keyed by a
+ * hash of the encoded bytes of each string so that a string may be found directly within a {@link ByteBuf}, as is the
+ * case when sparse paths are matched while iterating over the fields of a row.
+ */
 public final class StringTokenizer {
 
-    private final HashMap<String, StringToken> stringTokens;
-    private final ArrayList<Utf8String> strings;
-    private final HashMap<Utf8String, StringToken> tokens;
+    private static final int INITIAL_CAPACITY = 16;
 
     private int count;
+    private int mask;
+    private Utf8String[] strings;
+    private StringToken[] tokens;
+    private String[] utf16Strings;
+    private int[] utf16Slots;
+    private int[] utf8Slots;
 
     /**
      * Initializes a new instance of the {@link StringTokenizer} class.
      */
     public StringTokenizer() {
 
-        this.tokens = new HashMap<>();
-        this.tokens.put(Utf8String.EMPTY, StringToken.NONE);
+        this.count = 0;
+        this.mask = INITIAL_CAPACITY - 1;
+        this.strings = new Utf8String[INITIAL_CAPACITY];
+        this.tokens = new StringToken[INITIAL_CAPACITY];
+        this.utf16Strings = new String[INITIAL_CAPACITY];
+        this.utf16Slots = new int[INITIAL_CAPACITY];
+        this.utf8Slots = new int[INITIAL_CAPACITY];
 
-        this.stringTokens = new HashMap<>();
-        this.stringTokens.put("", StringToken.NONE);
-
-        this.strings = new ArrayList<>();
-        this.strings.add(Utf8String.EMPTY);
-
-        this.count = 1;
+        this.put(Utf8String.EMPTY, "", StringToken.NONE);
     }
 
     /**
@@ -45,7 +62,20 @@ public final class StringTokenizer {
      * @return True if successful, false otherwise.
      */
     public Optional<Utf8String> tryFindString(long token) {
-        return token >= (long)this.strings.size() ? Optional.empty() : Optional.of(this.strings.get((int) token));
+        return token >= (long)this.count ? Optional.empty() : Optional.of(this.strings[(int) token]);
+    }
+
+    /**
+     * Looks up a token's corresponding string.
+     * <p>
+     * This method does not allocate.
+     *
+     * @param token the token to look up.
+     * @return the string corresponding to {@code token} or {@code null}, if there is no such token.
+     */
+    @Nullable
+    public Utf8String findString(final long token) {
+        return token < 0 || token >= (long)this.count ? null : this.strings[(int) token];
     }
 
     /**
@@ -61,10 +91,44 @@ public final class StringTokenizer {
         }
 
         if (path.isUtf8()) {
-            return Optional.ofNullable(this.tokens.get(path.toUtf8()));
+            final ByteBuf content = path.toUtf8().content();
+            return Optional.ofNullable(this.findToken(content, content.readerIndex(), content.readableBytes()));
         }
 
-        return Optional.ofNullable(this.stringTokens.get(path.toUtf16()));
+        return Optional.ofNullable(this.findToken(path.toUtf16()));
+    }
+
+    /**
+     * Looks up the token corresponding to a UTF-8 encoded string within a buffer.
+     * <p>
+     * This method does not allocate. It neither reads nor modifies the reader and writer indexes of {@code buffer}.
+     *
+     * @param buffer the buffer containing the string to look up.
+     * @param offset the offset of the string's first byte within {@code buffer}.
+     * @param length the length of the string in bytes.
+     * @return the token corresponding to the string or {@code null}, if the string has no token.
+     */
+    @Nullable
+    public StringToken findToken(@Nonnull final ByteBuf buffer, final int offset, final int length) {
+
+        checkNotNull(buffer, "expected non-null buffer");
+        checkArgument(length >= 0, "expected non-negative length, not %s", length);
+
+        for (int i = hash(buffer, offset, length) & this.mask; ; i = (i + 1) & this.mask) {
+
+            final int slot = this.utf8Slots[i];
+
+            if (slot == 0) {
+                return null;
+            }
+
+            final ByteBuf content = this.strings[slot - 1].content();
+
+            if (content.readableBytes() == length
+                && ByteBufUtil.equals(content, content.readerIndex(), buffer, offset, length)) {
+                return this.tokens[slot - 1];
+            }
+        }
     }
 
     /**
@@ -77,7 +141,8 @@ public final class StringTokenizer {
      */
     public StringToken add(Utf8String path) {
         checkArgument(path != null);
-        final StringToken token = this.tokens.get(path);
+        final ByteBuf content = path.content();
+        final StringToken token = this.findToken(content, content.readerIndex(), content.readableBytes());
         return token == null ? this.allocateToken(path) : token;
     }
 
@@ -90,6 +155,8 @@ public final class StringTokenizer {
         return this.count;
     }
 
+    // region Privates
+
     /**
      * Allocates a new token and assigns the string to it.
      *
@@ -98,13 +165,87 @@ public final class StringTokenizer {
      */
     private StringToken allocateToken(Utf8String path) {
 
-        final StringToken token = new StringToken(this.count++, path);
+        final StringToken token = new StringToken(this.count, path);
+        this.put(path, path.toUtf16(), token);
 
-        this.stringTokens.put(path.toUtf16(), token);
-        this.tokens.put(path, token);
-        this.strings.add(path);
-
-        checkState((long)this.strings.size() - 1 == token.id());
+        checkState((long)this.count - 1 == token.id());
         return token;
     }
-}
\ No newline at end of file
+
+    @Nullable
+    private StringToken findToken(@Nonnull final String path) {
+
+        for (int i = HashCommon.mix(path.hashCode()) & this.mask; ; i = (i + 1) & this.mask) {
+
+            final int slot = this.utf16Slots[i];
+
+            if (slot == 0) {
+                return null;
+            }
+
+            if (this.utf16Strings[slot - 1].equals(path)) {
+                return this.tokens[slot - 1];
+            }
+        }
+    }
+
+    private static int hash(@Nonnull final ByteBuf buffer, final int offset, final int length) {
+
+        final int end = offset + length;
+        int hash = length;
+        int index = offset;
+
+        for (; index + Integer.BYTES <= end; index += Integer.BYTES) {
+            hash = 31 * hash + buffer.getIntLE(index);
+        }
+
+        for (; index < end; index++) {
+            hash = 31 * hash + buffer.getByte(index);
+        }
+
+        return HashCommon.mix(hash);
+    }
+
+    private static void insert(@Nonnull final int[] slots, final int mask, final int hash, final int id) {
+        int i = hash & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = id + 1;
+    }
+
+    private void put(@Nonnull final Utf8String path, @Nonnull final String utf16String, @Nonnull StringToken token) {
+
+        if (2 * (this.count + 1) > this.utf8Slots.length) {
+            this.resize(2 * this.utf8Slots.length);
+        }
+
+        final int id = this.count++;
+        final ByteBuf content = path.content();
+
+        this.strings[id] = path;
+        this.tokens[id] = token;
+        this.utf16Strings[id] = utf16String;
+
+        insert(this.utf8Slots, this.mask, hash(content, content.readerIndex(), content.readableBytes()), id);
+        insert(this.utf16Slots, this.mask, HashCommon.mix(utf16String.hashCode()), id);
+    }
+
+    private void resize(final int capacity) {
+
+        this.mask = capacity - 1;
+        this.strings = Arrays.copyOf(this.strings, capacity);
+        this.tokens = Arrays.copyOf(this.tokens, capacity);
+        this.utf16Strings = Arrays.copyOf(this.utf16Strings, capacity);
+        this.utf16Slots = new int[capacity];
+        this.utf8Slots = new int[capacity];
+
+        for (int id = 0; id < this.count; id++) {
+            final ByteBuf content = this.strings[id].content();
+            insert(this.utf8Slots, this.mask, hash(content, content.readerIndex(), content.readableBytes()), id);
+            insert(this.utf16Slots, this.mask, HashCommon.mix(this.utf16Strings[id].hashCode()), id);
+        }
+    }
+
+    // endregion
+}
@@ -57,7 +57,7 @@ public final class TypeArgument {
     }
 
     public boolean equals(TypeArgument other) {
-        return this.type.equals(other.type) && this.typeArgs.equals(other.typeArgs);
+        return this == other || (this.type.equals(other.type) && this.typeArgs.equals(other.typeArgs));
     }
 
     @Override
@@ -0,0 +1,149 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import io.netty.buffer.ByteBufUtil;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table of the {@link TypeArgumentList type argument lists} of the sparse fields read by a {@link Layout}.
+ * <p>
+ * The table maps the encoding of a type argument list in a row to a canonical instance of the list, so that reading
+ * the type arguments of a field usually allocates nothing and the lists read are shared. Canonical instances are those
+ * of the layout's columns, where a column has an equal list, so that a list read from a row may be compared with the
+ * type arguments of a column by reference. Encodings are self-delimiting: for a given type no encoding is a prefix of
+ * another, so at most one entry matches the bytes at an offset. Entries are grouped by type so that reading a field
+ * whose type takes no type arguments does not scan the table.
+ * <p>
+ * The table holds at most {@link #MAX_ENTRIES} encodings. Lists read once the table is full are still canonicalized,
+ * but their encodings are not added to the table.
+ * <p>
+ * All members of this class are multi-thread safe.
+ */
+final class TypeArgumentListTable {
+
+    static final int MAX_ENTRIES = 64;
+
+    private final Map<TypeArgumentList, TypeArgumentList> canonicalLists;
+    private volatile Reference2ObjectOpenHashMap<LayoutType, Entry[]> entries;
+    private int size;
+
+    TypeArgumentListTable(@Nonnull final List<LayoutColumn> columns) {
+
+        final Map<TypeArgumentList, TypeArgumentList> canonicalLists = new HashMap<>();
+
+        for (LayoutColumn column : columns) {
+            canonicalize(canonicalLists, column.typeArgs());
+        }
+
+        this.canonicalLists = canonicalLists;
+        this.entries = new Reference2ObjectOpenHashMap<>();
+        this.size = 0;
+    }
+
+    /**
+     * Reads the type arguments of a sparse field of a given type.
+     *
+     * @param buffer        the row containing the field.
+     * @param type          the type of the field.
+     * @param offset        the offset of the field's type arguments within {@code buffer}.
+     * @param lengthInBytes [output] the length of the field's type arguments in bytes.
+     * @return a shared instance of the field's type arguments.
+     */
+    @Nonnull
+    TypeArgumentList read(
+        @Nonnull final RowBuffer buffer,
+        @Nonnull final LayoutType type,
+        final int offset,
+        @Nonnull final Out<Integer> lengthInBytes) {
+
+        final Entry[] entries = this.entries.get(type);
+
+        if (entries != null) {
+            for (Entry entry : entries) {
+                if (buffer.fixedBinaryEquals(offset, entry.encoding)) {
+                    lengthInBytes.set(entry.encoding.length);
+                    return entry.typeArgs;
+                }
+            }
+        }
+
+        final TypeArgumentList typeArgs = type.readTypeArgumentList(buffer, offset, lengthInBytes);
+
+        if (typeArgs.equals(TypeArgumentList.EMPTY)) {
+            return TypeArgumentList.EMPTY;
+        }
+
+        return this.add(type, ByteBufUtil.getBytes(buffer.readFixedBinary(offset, lengthInBytes.get())), typeArgs);
+    }
+
+    // region Privates
+
+    @Nonnull
+    private synchronized TypeArgumentList add(
+        @Nonnull final LayoutType type, @Nonnull final byte[] encoding, @Nonnull final TypeArgumentList typeArgs) {
+
+        final Entry[] entries = this.entries.getOrDefault(type, new Entry[0]);
+
+        for (Entry entry : entries) {
+            if (Arrays.equals(entry.encoding, encoding)) {
+                return entry.typeArgs;
+            }
+        }
+
+        final TypeArgumentList canonicalList = this.canonicalLists.getOrDefault(typeArgs, typeArgs);
+
+        if (this.size < MAX_ENTRIES) {
+
+            // Entries are published by replacing the map so that readers never observe a map being modified
+
+            final Entry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+            newEntries[entries.length] = new Entry(encoding, canonicalList);
+
+            final Reference2ObjectOpenHashMap<LayoutType, Entry[]> map = new Reference2ObjectOpenHashMap<>(this.entries);
+            map.put(type, newEntries);
+
+            this.entries = map;
+            this.size++;
+        }
+
+        return canonicalList;
+    }
+
+    private static void canonicalize(
+        @Nonnull final Map<TypeArgumentList, TypeArgumentList> canonicalLists,
+        @Nonnull final TypeArgumentList typeArgs) {
+
+        if (typeArgs.equals(TypeArgumentList.EMPTY)) {
+            return;
+        }
+
+        if (canonicalLists.putIfAbsent(typeArgs, typeArgs) == null) {
+            for (TypeArgument typeArg : typeArgs.list()) {
+                canonicalize(canonicalLists, typeArg.typeArgs());
+            }
+        }
+    }
+
+    // endregion
+
+    private static final class Entry {
+
+        final byte[] encoding;
+        final TypeArgumentList typeArgs;
+
+        Entry(@Nonnull final byte[] encoding, @Nonnull final TypeArgumentList typeArgs) {
+            this.encoding = encoding;
+            this.typeArgs = typeArgs;
+        }
+    }
+}
@@ -15,6 +15,9 @@ public class Property {
     @JsonProperty(required = false)
     private String comment;
 
+    @JsonProperty(required = false)
+    private boolean hot;
+
     @JsonProperty(required = true)
     private String path;
 
@@ -46,6 +49,29 @@ public class Property {
         return this;
     }
 
+    /**
+     * {@code true} if this {@linkplain Property property} is frequently read.
+     * <p>
+     * When a schema's {@linkplain SchemaOptions#packFixedColumns() fixed columns are packed}, hot fixed columns are
+     * placed first so that reading them touches as few cache lines as possible. The annotation has no effect otherwise.
+     *
+     * @return {@code true} if this {@linkplain Property property} is frequently read.
+     */
+    public final boolean hot() {
+        return this.hot;
+    }
+
+    /**
+     * Sets whether this {@linkplain Property property} is frequently read.
+     *
+     * @param value {@code true} if this {@linkplain Property property} is frequently read.
+     * @return a reference to this {@linkplain Property property}.
+     */
+    public final Property hot(boolean value) {
+        this.hot = value;
+        return this;
+    }
+
     /**
      * The logical path of this {@linkplain Property property}.
      * <p>.
@@ -7,9 +7,11 @@ import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
 import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
 import com.azure.data.cosmos.serialization.hybridrow.internal.Murmur3Hash;
 
-import java.util.Optional;
-import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.lenientFormat;
 
@@ -17,6 +19,10 @@ public final class SchemaHash {
 
     /**
      * Computes the logical hash for a logical schema.
+     * <p>
+     * The hash is computed by chaining 128-bit Murmur3 hashes of the parts of the schema without allocating. It is
+     * computed afresh on each call so that it reflects any changes made to {@code schema} or to the schema it
+     * references since it was last computed.
      *
      * @param namespace The namespace within which {@code schema} is defined.
      * @param schema    The logical schema to compute the hash of.
@@ -24,190 +30,228 @@ public final class SchemaHash {
      * @return The logical 128-bit hash as a two-tuple (low, high).
      */
     public static HashCode128 computeHash(Namespace namespace, Schema schema, HashCode128 seed) {
-        HashCode128 hash = seed;
 
-        hash = Murmur3Hash.Hash128(schema.schemaId().value(), hash);
-        hash = Murmur3Hash.Hash128(schema.type().value(), hash);
-        hash = SchemaHash.computeHash(namespace, schema.options(), hash);
+        checkNotNull(namespace, "expected non-null namespace");
+        checkNotNull(schema, "expected non-null schema");
+        checkNotNull(seed, "expected non-null seed");
 
-        if (schema.partitionKeys() != null) {
-            for (PartitionKey partitionKey : schema.partitionKeys()) {
-                hash = SchemaHash.computeHash(namespace, partitionKey, hash);
-            }
-        }
-
-        if (schema.primarySortKeys() != null) {
-            for (PrimarySortKey p : schema.primarySortKeys()) {
-                hash = SchemaHash.computeHash(namespace, p, hash);
-            }
-        }
-
-        if (schema.staticKeys() != null) {
-            for (StaticKey p : schema.staticKeys()) {
-                hash = SchemaHash.computeHash(namespace, p, hash);
-            }
-        }
-
-        if (schema.properties() != null) {
-            for (Property p : schema.properties()) {
-                hash = SchemaHash.computeHash(namespace, p, hash);
-            }
-        }
-
-        return hash;
+        return new Hasher(namespace, seed).hash(schema).toHashCode128();
     }
 
-    private static HashCode128 computeHash(Namespace namespace, SchemaOptions options, HashCode128 seed) {
-
-        HashCode128 hash = seed;
+    /**
+     * Hashes the parts of a schema into a {@link Murmur3Hash.Chain}.
+     * <p>
+     * A schema referenced by a UDT property is found by an index of the namespace's schemas built on first use.
+     */
+    private static final class Hasher {
 
-        hash = Murmur3Hash.Hash128(options != null && options.disallowUnschematized(), hash);
-        hash = Murmur3Hash.Hash128(options != null && options.enablePropertyLevelTimestamp(), hash);
-        hash = Murmur3Hash.Hash128(options != null && options.disableSystemPrefix(), hash);
+        private final Murmur3Hash.Chain chain;
+        private final Namespace namespace;
+        private Map<SchemaId, Schema> schemasById;
+        private Map<String, Schema> schemasByName;
 
-        return hash;
-    }
-
-    private static HashCode128 computeHash(Namespace ns, Property p, HashCode128 seed) {
+        Hasher(@Nonnull final Namespace namespace, @Nonnull final HashCode128 seed) {
+            this.chain = new Murmur3Hash.Chain(seed);
+            this.namespace = namespace;
+        }
 
-        HashCode128 hash = seed;
+        Murmur3Hash.Chain hash(Schema schema) {
 
-        hash = Murmur3Hash.Hash128(p.path(), hash);
-        hash = SchemaHash.computeHash(ns, p.type(), hash);
+            this.chain.add(schema.schemaId().value());
+            this.chain.add(schema.type().value());
+            this.hash(schema.options());
 
-        return hash;
-    }
+            if (schema.partitionKeys() != null) {
+                for (PartitionKey partitionKey : schema.partitionKeys()) {
+                    this.hash(partitionKey);
+                }
+            }
 
-    private static HashCode128 computeHash(Namespace namespace, PropertyType p, HashCode128 seed) {
+            if (schema.primarySortKeys() != null) {
+                for (PrimarySortKey p : schema.primarySortKeys()) {
+                    this.hash(p);
+                }
+            }
 
-        HashCode128 hash = seed;
+            if (schema.staticKeys() != null) {
+                for (StaticKey p : schema.staticKeys()) {
+                    this.hash(p);
+                }
+            }
 
-        hash = Murmur3Hash.Hash128(p.type().value(), hash);
-        hash = Murmur3Hash.Hash128(p.nullable(), hash);
+            if (schema.properties() != null) {
+                for (Property p : schema.properties()) {
+                    this.hash(p);
+                }
+            }
 
-        if (p.apiType() != null) {
-            hash = Murmur3Hash.Hash128(p.apiType(), hash);
+            return this.chain;
         }
 
-        if (p instanceof PrimitivePropertyType) {
+        private void hash(SchemaOptions options) {
 
-            PrimitivePropertyType pp = (PrimitivePropertyType) p;
+            this.chain.add(options != null && options.disallowUnschematized());
+            this.chain.add(options != null && options.enablePropertyLevelTimestamp());
+            this.chain.add(options != null && options.disableSystemPrefix());
 
-            hash = Murmur3Hash.Hash128(pp.storage().value(), hash);
-            hash = Murmur3Hash.Hash128(pp.length(), hash);
+            // Hashed only when enabled so that the hashes of existing schemas are unchanged
 
-            return hash;
+            if (options != null && options.packFixedColumns()) {
+                this.chain.add(true);
+            }
         }
 
-        checkState(p instanceof ScopePropertyType);
-        ScopePropertyType pp = (ScopePropertyType) p;
-        hash = Murmur3Hash.Hash128(pp.immutable(), hash);
+        private void hash(Property p) {
 
-        if (p instanceof ArrayPropertyType) {
-            ArrayPropertyType spp = (ArrayPropertyType) p;
-            if (spp.items() != null) {
-                hash = SchemaHash.computeHash(namespace, spp.items(), hash);
-            }
-            return hash;
-        }
+            this.chain.add(p.path());
+            this.hash(p.type());
 
-        if (p instanceof ObjectPropertyType) {
-            ObjectPropertyType spp = (ObjectPropertyType) p;
-            if (spp.properties() != null) {
-                for (Property opp : spp.properties()) {
-                    hash = SchemaHash.computeHash(namespace, opp, hash);
-                }
+            if (p.hot()) {
+                this.chain.add(true);
             }
-            return hash;
         }
 
-        if (p instanceof MapPropertyType) {
+        private void hash(PropertyType p) {
 
-            MapPropertyType spp = (MapPropertyType) p;
+            this.chain.add(p.type().value());
+            this.chain.add(p.nullable());
 
-            if (spp.keys() != null) {
-                hash = SchemaHash.computeHash(namespace, spp.keys(), hash);
+            if (p.apiType() != null) {
+                this.chain.add(p.apiType());
             }
 
-            if (spp.values() != null) {
-                hash = SchemaHash.computeHash(namespace, spp.values(), hash);
+            if (p instanceof PrimitivePropertyType) {
+                PrimitivePropertyType pp = (PrimitivePropertyType) p;
+                this.chain.add(pp.storage().value());
+                this.chain.add(pp.length());
+                return;
             }
 
-            return hash;
-        }
-
-        if (p instanceof SetPropertyType) {
+            checkState(p instanceof ScopePropertyType);
+            ScopePropertyType pp = (ScopePropertyType) p;
+            this.chain.add(pp.immutable());
 
-            SetPropertyType spp = (SetPropertyType) p;
+            if (p instanceof ArrayPropertyType) {
+                ArrayPropertyType spp = (ArrayPropertyType) p;
+                if (spp.items() != null) {
+                    this.hash(spp.items());
+                }
+                return;
+            }
 
-            if (spp.items() != null) {
-                hash = SchemaHash.computeHash(namespace, spp.items(), hash);
+            if (p instanceof ObjectPropertyType) {
+                ObjectPropertyType spp = (ObjectPropertyType) p;
+                if (spp.properties() != null) {
+                    for (Property opp : spp.properties()) {
+                        this.hash(opp);
+                    }
+                }
+                return;
             }
 
-            return hash;
-        }
+            if (p instanceof MapPropertyType) {
 
-        if (p instanceof TaggedPropertyType) {
+                MapPropertyType spp = (MapPropertyType) p;
 
-            TaggedPropertyType spp = (TaggedPropertyType) p;
+                if (spp.keys() != null) {
+                    this.hash(spp.keys());
+                }
 
-            if (spp.items() != null) {
-                for (PropertyType pt : spp.items()) {
-                    hash = SchemaHash.computeHash(namespace, pt, hash);
+                if (spp.values() != null) {
+                    this.hash(spp.values());
                 }
-            }
 
-            return hash;
-        }
+                return;
+            }
 
-        if (p instanceof TuplePropertyType) {
+            if (p instanceof SetPropertyType) {
+                SetPropertyType spp = (SetPropertyType) p;
+                if (spp.items() != null) {
+                    this.hash(spp.items());
+                }
+                return;
+            }
 
-            TuplePropertyType spp = (TuplePropertyType) p;
+            if (p instanceof TaggedPropertyType) {
+                TaggedPropertyType spp = (TaggedPropertyType) p;
+                if (spp.items() != null) {
+                    for (PropertyType pt : spp.items()) {
+                        this.hash(pt);
+                    }
+                }
+                return;
+            }
 
-            if (spp.items() != null) {
-                for (PropertyType pt : spp.items()) {
-                    hash = SchemaHash.computeHash(namespace, pt, hash);
+            if (p instanceof TuplePropertyType) {
+                TuplePropertyType spp = (TuplePropertyType) p;
+                if (spp.items() != null) {
+                    for (PropertyType pt : spp.items()) {
+                        this.hash(pt);
+                    }
                 }
+                return;
             }
 
-            return hash;
-        }
+            if (p instanceof UdtPropertyType) {
 
-        if (p instanceof UdtPropertyType) {
+                UdtPropertyType spp = (UdtPropertyType) p;
+                Schema udtSchema;
 
-            Stream<Schema> schemaStream = namespace.schemas().stream();
-            UdtPropertyType spp = (UdtPropertyType) p;
-            Optional<Schema> udtSchema;
+                if (spp.schemaId() == SchemaId.INVALID) {
+                    udtSchema = this.schemasByName().get(spp.name());
+                } else {
+                    udtSchema = this.schemasById().get(spp.schemaId());
+                    if (udtSchema != null) {
+                        checkState(udtSchema.name().equals(spp.name()),
+                            "Ambiguous schema reference: '%s:%s'", spp.name(), spp.schemaId());
+                    }
+                }
 
-            if (spp.schemaId() == SchemaId.INVALID) {
-                udtSchema = schemaStream.filter(schema -> schema.name().equals(spp.name())).findFirst();
-            } else {
-                udtSchema = schemaStream.filter(schema -> schema.schemaId().equals(spp.schemaId())).findFirst();
-                udtSchema.ifPresent(schema -> checkState(schema.name().equals(spp.name()),
-                    "Ambiguous schema reference: '%s:%s'", spp.name(), spp.schemaId()));
+                checkState(udtSchema != null, "Cannot resolve schema reference '%s:%s'", spp.name(), spp.schemaId());
+                this.hash(udtSchema);
+                return;
             }
 
-            checkState(udtSchema.isPresent(), "Cannot resolve schema reference '{0}:{1}'", spp.name(), spp.schemaId());
-            return SchemaHash.computeHash(namespace, udtSchema.get(), hash);
+            throw new IllegalStateException(lenientFormat("unrecognized property type: %s", p.getClass()));
         }
 
-        throw new IllegalStateException(lenientFormat("unrecognized property type: %s", p.getClass()));
-    }
+        private void hash(PartitionKey key) {
+            if (key != null) {
+                this.chain.add(key.path());
+            }
+        }
 
-    private static HashCode128 computeHash(Namespace namespace, PartitionKey key, HashCode128 seed) {
-        return key == null ? seed : Murmur3Hash.Hash128(key.path(), seed);
-    }
+        private void hash(PrimarySortKey key) {
+            if (key != null) {
+                this.chain.add(key.path());
+                this.chain.add(key.direction().value());
+            }
+        }
 
-    private static HashCode128 computeHash(Namespace namespace, PrimarySortKey key, HashCode128 seed) {
-        HashCode128 hash = seed;
-        if (key != null) {
-            hash = Murmur3Hash.Hash128(key.path(), hash);
-            hash = Murmur3Hash.Hash128(key.direction().value(), hash);
+        private void hash(StaticKey key) {
+            if (key != null) {
+                this.chain.add(key.path());
+            }
         }
-        return hash;
-    }
 
-    private static HashCode128 computeHash(Namespace ns, StaticKey key, HashCode128 seed) {
-        return key == null ? seed : Murmur3Hash.Hash128(key.path(), seed);
+        private Map<SchemaId, Schema> schemasById() {
+            if (this.schemasById == null) {
+                this.schemasById = new HashMap<>();
+                for (Schema schema : this.namespace.schemas()) {
+                    this.schemasById.putIfAbsent(schema.schemaId(), schema);
+                }
+            }
+            return this.schemasById;
+        }
+
+        private Map<String, Schema> schemasByName() {
+            if (this.schemasByName == null) {
+                this.schemasByName = new HashMap<>();
+                for (Schema schema : this.namespace.schemas()) {
+                    this.schemasByName.putIfAbsent(schema.name(), schema);
+                }
+            }
+            return this.schemasByName;
+        }
     }
-}
\ No newline at end of file
+}
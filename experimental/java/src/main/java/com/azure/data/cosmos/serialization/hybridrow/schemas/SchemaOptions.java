@@ -3,15 +3,25 @@
 
 package com.azure.data.cosmos.serialization.hybridrow.schemas;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Describes the set of options that apply to the entire schema and the way it is validated.
  */
 public class SchemaOptions {
 
+    @JsonProperty
     private boolean disableSystemPrefix;
+
+    @JsonProperty
     private boolean disallowUnschematized;
+
+    @JsonProperty
     private boolean enablePropertyLevelTimestamp;
 
+    @JsonProperty
+    private boolean packFixedColumns;
+
     /**
      * {@code true} if prefixing system properties with a prefix of {@code "__sys_"} is disabled.
      * <p>
@@ -63,4 +73,23 @@ public class SchemaOptions {
     public final void enablePropertyLevelTimestamp(boolean value) {
         this.enablePropertyLevelTimestamp = value;
     }
+
+    /**
+     * {@code true} if the fixed columns of the schema are reordered to improve locality.
+     * <p>
+     * By default, fixed columns are laid out in the order they are declared. When this option is enabled, fixed
+     * columns annotated as {@linkplain Property#hot() hot} are placed first, and within the hot and cold groups
+     * columns are ordered by decreasing alignment, so that each column is aligned relative to the start of the fixed
+     * segment. Columns with equal keys keep their declaration order and so the layout of a schema remains a function
+     * of its {@linkplain SchemaHash hash}.
+     *
+     * @return {@code true} if the fixed columns of the schema are reordered to improve locality.
+     */
+    public final boolean packFixedColumns() {
+        return this.packFixedColumns;
+    }
+
+    public final void packFixedColumns(boolean value) {
+        this.packFixedColumns = value;
+    }
 }
\ No newline at end of file
@@ -17,8 +17,8 @@ public class UdtPropertyType extends ScopePropertyType {
     @JsonProperty(required = true)
     private String name;
 
-    @JsonProperty(required = true)
-    private SchemaId id;
+    @JsonProperty
+    private SchemaId id = SchemaId.NONE;
 
     /**
      * The name of the UDT schema defining the structure of a nested row.
@@ -52,7 +52,7 @@ public class UdtPropertyType extends ScopePropertyType {
      * If multiple versions of a UDT are defined within a {@link Namespace} the globally unique identifier of the
      * specific version referenced MUST be provided.
      *
-     * @return the unique identifier of the UDT schema defining the structure of a nested row or {@code null}.
+     * @return the unique identifier of the UDT schema defining the structure of a nested row or {@link SchemaId#NONE}.
      */
     public final SchemaId schemaId() {
         return this.id;
@@ -66,7 +66,8 @@ public class UdtPropertyType extends ScopePropertyType {
      * If multiple versions of a UDT are defined within a {@link Namespace} the globally unique identifier of the
      * specific version referenced MUST be provided.
      *
-     * @param value the unique identifier of the UDT schema defining the structure of a nested row or {@code null}.
+     * @param value the unique identifier of the UDT schema defining the structure of a nested row or
+     *              {@link SchemaId#NONE}.
      * @return a reference to this {@link UdtPropertyType}.
      */
     public final UdtPropertyType schemaId(SchemaId value) {
@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static java.lang.System.out;
+
+/**
+ * Measures the time and memory allocated to compare ranges of a buffer with {@link BinaryCollation} and with
+ * {@link ByteBuf#compareTo} over slices of the ranges, as set and map elements were compared before.
+ * <p>
+ * Run with {@code mvn test -Dgroups=perf -Dtest=BinaryCollationBenchmark}.
+ */
+@Test(groups = "perf")
+public class BinaryCollationBenchmark {
+
+    private static final int COMPARISONS = 10_000_000;
+    private static final int LENGTH = 32;
+    private static final int ROUNDS = 5;
+
+    private static volatile long sink;  // keeps the results of comparisons live
+
+    // Two keys that differ only in their last byte, as keys sharing a common prefix often do
+
+    private final ByteBuf buffer = Unpooled.buffer(2 * LENGTH).writeZero(2 * LENGTH - 1).writeByte(1);
+
+    @Test(groups = "perf")
+    public void compare() {
+        measure("BinaryCollation.compare", () ->
+            BinaryCollation.compare(this.buffer, 0, LENGTH, this.buffer, LENGTH, LENGTH));
+    }
+
+    @Test(groups = "perf")
+    public void compareSlices() {
+        measure("ByteBuf.compareTo", () ->
+            this.buffer.slice(0, LENGTH).compareTo(this.buffer.slice(LENGTH, LENGTH)));
+    }
+
+    private static void measure(final String name, final IntSupplier comparison) {
+
+        final com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        final long thread = Thread.currentThread().getId();
+        double bytes = Double.MAX_VALUE;
+        double time = Double.MAX_VALUE;
+        long sum = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+
+            final long allocated = bean.getThreadAllocatedBytes(thread);
+            final long start = System.nanoTime();
+
+            for (int i = 0; i < COMPARISONS; i++) {
+                sum += comparison.getAsInt();
+            }
+
+            time = Math.min(time, (double) (System.nanoTime() - start) / COMPARISONS);
+            bytes = Math.min(bytes, (double) (bean.getThreadAllocatedBytes(thread) - allocated) / COMPARISONS);
+        }
+
+        sink = sum;
+
+        out.println(lenientFormat("%s: %s ns/comparison, %s bytes/comparison", name, String.format("%.1f", time),
+            String.format("%.1f", bytes)));
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+@Test(groups = "unit")
+public class BinaryCollationTest {
+
+    @Test(groups = "unit")
+    public void testCompare() {
+
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+
+            // Short alphabets and lengths produce many common prefixes and equal ranges
+
+            final byte[] left = new byte[random.nextInt(24)];
+            final byte[] right = new byte[random.nextInt(24)];
+
+            for (int j = 0; j < left.length; j++) {
+                left[j] = (byte) (random.nextInt(3) * 0x7F);
+            }
+
+            for (int j = 0; j < right.length; j++) {
+                right[j] = j < left.length && random.nextBoolean() ? left[j] : (byte) (random.nextInt(3) * 0x7F);
+            }
+
+            final ByteBuf x = Unpooled.wrappedBuffer(new byte[] { 1, 2, 3 }, left);
+            final ByteBuf y = Unpooled.wrappedBuffer(right);
+            final int expected = Integer.signum(x.slice(3, left.length).compareTo(y));
+
+            assertEquals(BinaryCollation.compare(x, 3, left.length, y, 0, right.length), expected);
+            assertEquals(BinaryCollation.compare(y, 0, right.length, x, 3, left.length), -expected);
+            assertEquals(BinaryCollation.compare(Unpooled.wrappedBuffer(left), y), expected);
+        }
+    }
+}
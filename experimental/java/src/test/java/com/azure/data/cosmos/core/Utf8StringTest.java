@@ -227,6 +227,29 @@ public class Utf8StringTest {
         assertEquals(Utf8String.fromUnsafe(item.byteBuf()).toUtf16(), item.value());
     }
 
+    @Test
+    public void testToUtf16WithAsciiRuns() {
+
+        final String[] values = {
+            "abcdefg", "abcdefgh", "abcdefgh\u007f", "\u007fabcdefghijklmnop", "abcdefgh\u00e9t\u00e9 ijklmnopq\u20ac",
+            "\ud83d\ude00 grinning at the end of more than eight bytes \ud83d\ude00"
+        };
+
+        for (String value : values) {
+            final Utf8String utf8String = Utf8String.fromUnsafe(Unpooled.wrappedBuffer(value.getBytes(
+                StandardCharsets.UTF_8)));
+            assertEquals(utf8String.length(), value.length(), value);
+            assertEquals(utf8String.toUtf16(), value);
+        }
+
+        // Invalid leading bytes are replaced and a truncated code point sequence at the end is dropped
+
+        final ByteBuf invalid = Unpooled.wrappedBuffer(new byte[] {
+            'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', (byte) 0x80, 'i', (byte) 0xF8, 'j', (byte) 0xE2, (byte) 0x82 });
+
+        assertEquals(Utf8String.fromUnsafe(invalid).toUtf16(), "abcdefgh\ufffdi\ufffdj");
+    }
+
     @Test(dataProvider = "unicodeTextDataProvider")
     public void testTranscodeUtf16(UnicodeText item) {
         assertEquals(Utf8String.transcodeUtf16(item.value()).toUtf16(), item.value());
@@ -5,6 +5,8 @@ package com.azure.data.cosmos.core;
 
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
+
 @Test(groups = "unit")
 public class UtfAnyStringTest {
 
@@ -54,6 +56,12 @@ public class UtfAnyStringTest {
 
     @Test
     public void testTestHashCode() {
+        for (String value : new String[] { "", "a", "ab", "abc", "\u00e9t\u00e9", "\ud83d\ude00 smile" }) {
+            final UtfAnyString utf16 = new UtfAnyString(value);
+            final UtfAnyString utf8 = new UtfAnyString(Utf8String.transcodeUtf16(value));
+            assertEquals(utf8.hashCode(), utf16.hashCode(), value);
+            assertEquals(utf8.hashCode(), utf8.hashCode(), value);
+        }
     }
 
     @Test
@@ -0,0 +1,248 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.io.RowReader;
+import com.azure.data.cosmos.serialization.hybridrow.io.RowWriter;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class RowBufferTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Event\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"id\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"name\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"data\", \"type\": {\"type\": \"binary\", \"storage\": \"variable\"}}]}]}";
+
+    @Test(groups = "unit")
+    public void testFixedBinaryEquals() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final RowBuffer row = new RowBuffer(64);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) ->
+            w.writeBinary(new UtfAnyString("data"), bytes(4, 5)));
+
+        assertEquals(result, Result.SUCCESS);
+
+        // Bytes are compared in place, and a range that extends beyond the end of the row is not equal
+
+        final byte[] bytes = row.toArray();
+        final int offset = bytes.length - 4;
+
+        assertTrue(row.fixedBinaryEquals(offset, bytes(4, 5)));
+        assertTrue(row.fixedBinaryEquals(offset + 1, bytes(3, 5)));
+        assertTrue(row.fixedBinaryEquals(bytes.length, new byte[0]));
+        assertTrue(row.fixedBinaryEquals(0, bytes));
+        assertFalse(row.fixedBinaryEquals(offset, new byte[] { 5, 5, 5, 6 }));
+        assertFalse(row.fixedBinaryEquals(offset, bytes(5, 5)));
+        assertThrows(IllegalArgumentException.class, () -> row.fixedBinaryEquals(-1, bytes(1, 5)));
+    }
+
+    @Test(groups = "unit")
+    public void testReference() throws IOException {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final ByteBuf blob = Unpooled.buffer().writeBytes(bytes(32, 1));
+        final ByteBuf small = Unpooled.buffer().writeBytes(bytes(8, 2));
+
+        final RowBuffer row = new RowBuffer(64, ByteBufAllocator.DEFAULT, 16);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        // The blob is written at the end of the row and so it is held by reference; the tail is appended after it
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeInt32(new UtfAnyString("id"), 1);
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("name"), "n") : r;
+            r = r == Result.SUCCESS ? w.writeBinary(new UtfAnyString("small"), small) : r;
+            r = r == Result.SUCCESS ? w.writeBinary(new UtfAnyString("blob"), blob) : r;
+            return r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("tail"), 7) : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        assertEquals(small.refCnt(), 1);
+        assertEquals(blob.refCnt(), 2);
+        assertEquals(read(row), "id=1 name=n small=" + hex(bytes(8, 2)) + " blob=" + hex(bytes(32, 1)) + " tail=7");
+
+        blob.setByte(0, 0x7F);
+        assertEquals(read(row), "id=1 name=n small=0202020202020202 blob=7f" + hex(bytes(32, 1)).substring(2)
+            + " tail=7");
+
+        // The row is gathered from its components as it is written to a channel
+
+        final Path file = Files.createTempFile("row", ".hybridrow");
+
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                row.writeTo(channel);
+            }
+            assertEquals(Files.readAllBytes(file), row.toArray());
+        } finally {
+            Files.delete(file);
+        }
+
+        // Edits that would move or overwrite the bytes of the blob fail
+
+        assertThrows(IllegalStateException.class, () -> RowWriter.writeBuffer(row, "context", (w, typeArg, context) ->
+            w.writeString(new UtfAnyString("name"), "a longer name")));
+
+        row.reset();
+        assertEquals(blob.refCnt(), 1);
+    }
+
+    @Test(groups = "unit")
+    public void testVariableBinary() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final RowBuffer row = new RowBuffer(64);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        // Variable length values are grown and shrunk in place, shifting the sparse field that follows them
+
+        for (int length : new int[] { 4, 40, 2 }) {
+
+            final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+                Result r = w.writeBinary(new UtfAnyString("data"), bytes(length, 3));
+                return r == Result.SUCCESS && length == 4 ? w.writeString(new UtfAnyString("clé"), "v") : r;
+            });
+
+            assertEquals(result, Result.SUCCESS);
+            assertEquals(read(row), "data=" + hex(bytes(length, 3)) + " clé=v");
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testWriteInt() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final RowBuffer row = new RowBuffer(64);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) ->
+            w.writeBinary(new UtfAnyString("data"), bytes(16, 0)));
+
+        assertEquals(result, Result.SUCCESS);
+
+        // Signed integers are written in place at the given offset, leaving the rest of the row unchanged
+
+        final byte[] initial = row.toArray();
+        final int offset = initial.length - Long.BYTES - 1;
+
+        row.writeInt8(offset, (byte) -2);
+        row.writeInt16(offset + 1, (short) -3);
+        row.writeInt32(offset + 3, -4);
+
+        assertEquals(row.readInt8(offset), (byte) -2);
+        assertEquals(row.readInt16(offset + 1), (short) -3);
+        assertEquals(row.readInt32(offset + 3), -4);
+        assertEquals(row.length(), initial.length);
+
+        row.writeInt64(offset, Long.MIN_VALUE + 5);
+
+        assertEquals(row.readInt64(offset), Long.MIN_VALUE + 5);
+        assertEquals(row.length(), initial.length);
+
+        final byte[] bytes = row.toArray();
+        final byte[] expected = initial.clone();
+
+        for (int i = 0; i < Long.BYTES; i++) {
+            expected[offset + i] = (byte) ((Long.MIN_VALUE + 5) >>> (Byte.SIZE * i));
+        }
+
+        assertEquals(bytes, expected);
+    }
+
+    private static byte[] bytes(int length, int value) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) value;
+        }
+        return bytes;
+    }
+
+    private static String hex(byte[] bytes) {
+        return ByteBufUtil.hexDump(bytes);
+    }
+
+    private static String read(RowBuffer row) {
+
+        final StringBuilder builder = new StringBuilder();
+        final RowReader reader = new RowReader(row);
+
+        while (reader.read()) {
+
+            final Out<Object> value = new Out<>();
+            final Result result;
+
+            switch (reader.type().layoutCode()) {
+                case INT_32:
+                    result = reader.readInt32(cast(value));
+                    break;
+                case UTF_8:
+                    result = reader.readString(cast(value));
+                    break;
+                case BINARY: {
+                    final Out<byte[]> bytes = new Out<>();
+                    result = reader.readBinaryArray(bytes);
+                    value.set(hex(bytes.get()));
+                    break;
+                }
+                default:
+                    throw new AssertionError(reader.type().layoutCode());
+            }
+
+            assertEquals(result, Result.SUCCESS);
+
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            builder.append(reader.path()).append('=').append(value.get());
+        }
+
+        return builder.toString();
+    }
+
+    private static LayoutResolver resolver() {
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+        return new LayoutResolverNamespace(namespace);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Out<T> cast(Out<Object> value) {
+        return (Out<T>) (Out<?>) value;
+    }
+}
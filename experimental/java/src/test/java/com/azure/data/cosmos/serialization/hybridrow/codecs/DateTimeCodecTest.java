@@ -10,6 +10,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Iterator;
 
 import static org.testng.Assert.assertEquals;
@@ -54,6 +55,20 @@ public class DateTimeCodecTest {
         assertEquals(actual.array(), buffer);
     }
 
+    @Test(dataProvider = "dateTimeDataProvider")
+    public void testTicks(byte[] buffer, OffsetDateTime value) {
+
+        final long ticks = DateTimeCodec.ticks(value);
+        assertEquals(DateTimeCodec.decodeTicks(Unpooled.wrappedBuffer(buffer), 0), ticks);
+
+        // Ticks are written as UTC times
+
+        final ByteBuf actual = Unpooled.wrappedBuffer(new byte[DateTimeCodec.BYTES]).clear();
+        DateTimeCodec.encodeTicks(ticks, actual);
+        assertEquals(DateTimeCodec.decodeTicks(actual, 0), ticks);
+        assertEquals(DateTimeCodec.decode(actual), value.withOffsetSameLocal(ZoneOffset.UTC));
+    }
+
     @DataProvider(name = "dateTimeDataProvider")
     private static Iterator<Object[]> dateTimeData() {
 
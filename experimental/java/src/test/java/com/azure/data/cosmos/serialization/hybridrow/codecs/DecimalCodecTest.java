@@ -3,6 +3,7 @@
 
 package com.azure.data.cosmos.serialization.hybridrow.codecs;
 
+import com.azure.data.cosmos.serialization.hybridrow.UnscaledDecimal;
 import com.google.common.collect.ImmutableList;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -41,6 +42,40 @@ public class DecimalCodecTest {
         ByteBuf byteBuf = Unpooled.wrappedBuffer(buffer);
         BigDecimal actual = DecimalCodec.decode(byteBuf);
         assertEquals(actual, value);
+        assertEquals(byteBuf.readableBytes(), 0);
+    }
+
+    @Test(dataProvider = "decimalDataProvider")
+    public void testDecodeUnscaled(byte[] buffer, BigDecimal value) {
+
+        UnscaledDecimal actual = new UnscaledDecimal(42L, 2);
+        boolean fits = value.unscaledValue().bitLength() < Long.SIZE;
+
+        assertEquals(DecimalCodec.decode(Unpooled.wrappedBuffer(buffer), 0, actual), fits);
+        assertEquals(actual.toBigDecimal(), fits ? value : BigDecimal.valueOf(42L, 2));
+    }
+
+    @Test
+    public void testEncodeUnscaled() {
+
+        long[] values = { 1L, -1L, 314159265358979L, Long.MAX_VALUE, Long.MIN_VALUE, 0xFFFFFFFFL };
+
+        for (long unscaledValue : values) {
+            for (int scale : new int[] { 0, 14, 28 }) {
+
+                BigDecimal expected = BigDecimal.valueOf(unscaledValue, scale);
+                ByteBuf actual = Unpooled.buffer(DecimalCodec.BYTES);
+                DecimalCodec.encode(unscaledValue, scale, actual);
+
+                assertEquals(actual.array(), DecimalCodec.encode(expected), expected.toString());
+                assertEquals(DecimalCodec.decode(actual), expected);
+
+                UnscaledDecimal decoded = new UnscaledDecimal();
+                assertEquals(DecimalCodec.decode(actual, 0, decoded), true);
+                assertEquals(decoded.unscaledValue(), unscaledValue);
+                assertEquals(decoded.scale(), scale);
+            }
+        }
     }
 
     @Test(dataProvider = "decimalDataProvider")
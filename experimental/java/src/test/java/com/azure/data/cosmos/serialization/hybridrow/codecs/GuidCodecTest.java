@@ -54,6 +54,18 @@ public class GuidCodecTest {
         assertEquals(actual.array(), buffer);
     }
 
+    @Test(dataProvider = "guidDataProvider")
+    public void testHighAndLow(byte[] buffer, UUID value) {
+
+        final ByteBuf in = Unpooled.wrappedBuffer(buffer);
+        assertEquals(GuidCodec.decodeHigh(in, 0), value.getMostSignificantBits());
+        assertEquals(GuidCodec.decodeLow(in, 0), value.getLeastSignificantBits());
+
+        final ByteBuf actual = Unpooled.wrappedBuffer(new byte[GuidCodec.BYTES]).clear();
+        GuidCodec.encode(value.getMostSignificantBits(), value.getLeastSignificantBits(), actual);
+        assertEquals(actual.array(), buffer);
+    }
+
     @DataProvider(name = "guidDataProvider")
     private static Iterator<Object[]> guidData() {
 
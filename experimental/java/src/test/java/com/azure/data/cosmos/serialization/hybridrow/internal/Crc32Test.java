@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.internal;
+
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.io.RowWriter;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutBuilder;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverSimple;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class Crc32Test {
+
+    private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHECK_VALUE = 0xCBF43926;
+
+    @Test(groups = "unit")
+    public void testCompute() {
+
+        // Heap, direct, and composite buffers checksum alike from an offset within the buffer
+
+        final ByteBuf heap = Unpooled.buffer().writeByte(0xFF).writeBytes(CHECK);
+        final ByteBuf direct = Unpooled.directBuffer().writeByte(0xFF).writeBytes(CHECK);
+        final ByteBuf composite = Unpooled.wrappedBuffer(
+            Unpooled.directBuffer().writeByte(0xFF).writeBytes(CHECK, 0, 4),
+            Unpooled.buffer().writeBytes(CHECK, 4, 5));
+
+        for (ByteBuf buffer : new ByteBuf[] { heap, direct, composite }) {
+            assertEquals(Crc32.compute(buffer, 1, CHECK.length), CHECK_VALUE, buffer.toString());
+            assertEquals(Crc32.compute(buffer, 1, 0), 0, buffer.toString());
+            assertEquals(buffer.readerIndex(), 0);
+        }
+
+        final CRC32 crc = new CRC32();
+        Crc32.update(crc, direct, 1, 4);
+        Crc32.update(crc, heap, 5, 5);
+        assertEquals((int) crc.getValue(), CHECK_VALUE);
+    }
+
+    @Test(groups = "unit")
+    public void testRowBuffer() {
+
+        final LayoutBuilder builder = new LayoutBuilder("crc", SchemaId.from(1));
+        builder.addVariableColumn("name", LayoutTypes.UTF_8, 0);
+        final Layout layout = builder.build();
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, new LayoutResolverSimple(schemaId -> layout));
+
+        final Result result = RowWriter.writeBuffer(row, "context", (writer, typeArg, context) ->
+            writer.writeString(new UtfAnyString("name"), "checksum me"));
+
+        assertEquals(result, Result.SUCCESS);
+
+        final byte[] bytes = row.toArray();
+        final CRC32 expected = new CRC32();
+        expected.update(bytes, 0, bytes.length);
+
+        assertEquals(row.crc32(), (int) expected.getValue());
+        assertTrue(row.verifyCrc32((int) expected.getValue()));
+        assertFalse(row.verifyCrc32((int) expected.getValue() ^ 1));
+
+        expected.reset();
+        expected.update(bytes, 1, bytes.length - 2);
+
+        assertEquals(row.crc32(1, bytes.length - 2), (int) expected.getValue());
+        assertTrue(row.verifyCrc32(1, bytes.length - 2, (int) expected.getValue()));
+    }
+}
@@ -0,0 +1,158 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.internal;
+
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+@Test(groups = "unit")
+public class Murmur3HashTest {
+
+    private static final String[] STRINGS = {
+        "", "a", "abcdefgh", "abcdefghi", "abcdefghijklmnop", "abcdefghijklmnopq", "ascii and more than thirty-two bytes",
+        "été", "€100", "😀 grinning", "unpaired \ud83d high", "unpaired \ude00 low", "trailing \ud83d"
+    };
+
+    @Test(groups = "unit")
+    public void testChain() {
+
+        final HashCode128 seed = HashCode128.of(0x0123456789abcdefL, 0xfedcba9876543210L);
+        final Murmur3Hash.Chain chain = new Murmur3Hash.Chain(seed);
+        HashCode128 expected = seed;
+
+        for (String item : STRINGS) {
+
+            expected = Murmur3Hash.Hash128(item, expected);
+            assertEquals(chain.add(item).toHashCode128(), expected, item);
+
+            expected = Murmur3Hash.Hash128(item.length() % 2 == 0, expected);
+            assertEquals(chain.add(item.length() % 2 == 0).toHashCode128(), expected, item);
+
+            expected = Murmur3Hash.Hash128((byte) -item.length(), expected);
+            assertEquals(chain.add((byte) -item.length()).toHashCode128(), expected, item);
+
+            expected = Murmur3Hash.Hash128((short) -item.length(), expected);
+            assertEquals(chain.add((short) -item.length()).toHashCode128(), expected, item);
+
+            expected = Murmur3Hash.Hash128(-item.length(), expected);
+            assertEquals(chain.add(-item.length()).toHashCode128(), expected, item);
+        }
+
+        assertEquals(chain.low(), expected.low());
+        assertEquals(chain.high(), expected.high());
+    }
+
+    @Test(groups = "unit")
+    public void testChainBytes() {
+
+        final HashCode128 seed = HashCode128.of(0x0123456789abcdefL, 0xfedcba9876543210L);
+        final Murmur3Hash.Chain chain = new Murmur3Hash.Chain(seed);
+        final ByteBuf buffer = Unpooled.buffer();
+        HashCode128 expected = seed;
+
+        // Ranges are hashed in place from an offset within the buffer across block boundaries
+
+        for (int length = 0; length <= 40; length++) {
+            buffer.clear().writeByte(0xFF);
+            for (int i = 0; i < length; i++) {
+                buffer.writeByte(i * 37);
+            }
+            expected = Murmur3Hash.Hash128(buffer.slice(1, length), expected);
+            assertEquals(chain.add(buffer, 1, length).toHashCode128(), expected, Integer.toString(length));
+        }
+
+        assertEquals(chain.reset(seed).toHashCode128(), seed);
+    }
+
+    @Test(groups = "unit")
+    public void testHasher() {
+
+        final HashCode128 seed = HashCode128.of(0x0123456789abcdefL, 0xfedcba9876543210L);
+        final Murmur3Hash.Hasher hasher = new Murmur3Hash.Hasher(seed);
+        final Murmur3Hash.Digest digest = new Murmur3Hash.Digest();
+        final ByteBuf expected = Unpooled.buffer();
+        final Random random = new Random(42);
+
+        // A stream hashes as its concatenated little-endian bytes do, at every point and across block boundaries
+
+        assertEquals(hasher.hash(digest).toHashCode128(), Murmur3Hash.Hash128(expected, seed));
+
+        for (int i = 0; i < 500; i++) {
+
+            switch (random.nextInt(9)) {
+                case 0: {
+                    final boolean item = random.nextBoolean();
+                    hasher.putBoolean(item);
+                    expected.writeBoolean(item);
+                    break;
+                }
+                case 1: {
+                    final byte item = (byte) random.nextInt();
+                    hasher.putByte(item);
+                    expected.writeByte(item);
+                    break;
+                }
+                case 2: {
+                    final short item = (short) random.nextInt();
+                    hasher.putShort(item);
+                    expected.writeShortLE(item);
+                    break;
+                }
+                case 3: {
+                    final int item = random.nextInt();
+                    hasher.putInt(item);
+                    expected.writeIntLE(item);
+                    break;
+                }
+                case 4: {
+                    final long item = random.nextLong();
+                    hasher.putLong(item);
+                    expected.writeLongLE(item);
+                    break;
+                }
+                case 5: {
+                    final float item = random.nextFloat() - 0.5F;
+                    hasher.putFloat(item);
+                    expected.writeIntLE(Float.floatToRawIntBits(item));
+                    break;
+                }
+                case 6: {
+                    final double item = random.nextGaussian();
+                    hasher.putDouble(item);
+                    expected.writeLongLE(Double.doubleToRawLongBits(item));
+                    break;
+                }
+                case 7: {
+                    final byte[] item = new byte[2 + random.nextInt(40)];
+                    random.nextBytes(item);
+                    hasher.putBytes(item, 1, item.length - 2);
+                    expected.writeBytes(item, 1, item.length - 2);
+                    break;
+                }
+                default: {
+                    final byte[] item = new byte[random.nextInt(40)];
+                    random.nextBytes(item);
+                    final ByteBuf buffer = Unpooled.buffer().writeByte(0xFF).writeBytes(item);
+                    hasher.putBytes(buffer, 1, item.length);
+                    expected.writeBytes(item);
+                    break;
+                }
+            }
+
+            assertSame(hasher.hash(digest), digest);
+            assertEquals(digest.toHashCode128(), Murmur3Hash.Hash128(expected, seed), Integer.toString(i));
+        }
+
+        assertEquals(hasher.reset().hash(digest).toHashCode128(), Murmur3Hash.Hash128(Unpooled.EMPTY_BUFFER, seed));
+        assertEquals(hasher.reset(HashCode128.of(0L, 0L)).putBytes(new byte[] { 'a' }).hash(digest).toHashCode128(),
+            Murmur3Hash.Hash128("a", HashCode128.of(0L, 0L)));
+    }
+}
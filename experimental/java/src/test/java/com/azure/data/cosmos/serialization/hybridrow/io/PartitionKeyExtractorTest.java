@@ -0,0 +1,109 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.internal.Murmur3Hash;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.PartitionKey;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+@Test(groups = "unit")
+public class PartitionKeyExtractorTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Event\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"tenant\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"active\", \"type\": {\"type\": \"bool\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"region\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"user\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}, "
+        + "{\"path\": \"tags\", \"type\": {\"type\": \"array\", \"items\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}}, "
+        + "{\"path\": \"body\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}]}]}";
+
+    @Test(groups = "unit")
+    public void testHash() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final PartitionKeyExtractor extractor = new PartitionKeyExtractor(layout,
+            partitionKeys("tenant", "active", "region", "user", "zone"));
+
+        // Components are hashed in order as a presence flag followed by the encoding of their value, if present: -7 is
+        // written to the unschematized zone field as the single byte of its sign-rotated 7-bit encoding, 15
+
+        final RowBuffer row = write(layout, resolver, "west", "body one");
+
+        final HashCode128 expected = new Murmur3Hash.Chain(PartitionKeyExtractor.SEED)
+            .add(true).add(42)
+            .add(true).add(true)
+            .add(true).add("west")
+            .add(true).add("été")
+            .add(true).add((byte) 15)
+            .toHashCode128();
+
+        assertEquals(extractor.hash(row), expected);
+
+        // Fields that are not part of the partition key do not contribute to its hash; absent components do
+
+        assertEquals(extractor.hash(write(layout, resolver, "west", "body two")), expected);
+        assertEquals(extractor.hash(write(layout, resolver, null, "body one")),
+            new Murmur3Hash.Chain(PartitionKeyExtractor.SEED)
+                .add(true).add(42)
+                .add(true).add(true)
+                .add(false)
+                .add(true).add("été")
+                .add(true).add((byte) 15)
+                .toHashCode128());
+
+        final Murmur3Hash.Chain chain = new Murmur3Hash.Chain(PartitionKeyExtractor.SEED);
+        assertEquals(extractor.hash(row, chain).toHashCode128(), expected);
+        assertEquals(extractor.hash(row, chain.reset(PartitionKeyExtractor.SEED)).toHashCode128(), expected);
+
+        assertThrows(IllegalArgumentException.class, () -> new PartitionKeyExtractor(layout, partitionKeys("tags")));
+    }
+
+    private static List<PartitionKey> partitionKeys(String... paths) {
+        final ImmutableList.Builder<PartitionKey> builder = ImmutableList.builder();
+        for (String path : paths) {
+            builder.add(new PartitionKey().path(path));
+        }
+        return builder.build();
+    }
+
+    private static RowBuffer write(Layout layout, LayoutResolver resolver, String region, String body) {
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeInt32(new UtfAnyString("tenant"), 42);
+            r = r == Result.SUCCESS ? w.writeBoolean(new UtfAnyString("active"), true) : r;
+            r = r == Result.SUCCESS && region != null ? w.writeString(new UtfAnyString("region"), region) : r;
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("body"), body) : r;
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("user"), "été") : r;
+            return r == Result.SUCCESS ? w.writeVarInt(new UtfAnyString("zone"), -7) : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        return row;
+    }
+}
@@ -0,0 +1,122 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+@Test(groups = "unit")
+public class RowProjectionTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"V1\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"a\", \"type\": {\"type\": \"int16\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"b\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\", \"nullable\": false}}, "
+        + "{\"path\": \"old\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"x\", \"type\": {\"type\": \"int8\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"s\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}]}, "
+        + "{\"name\": \"V2\", \"id\": 2, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"a\", \"type\": {\"type\": \"int64\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"b\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\", \"nullable\": false}}, "
+        + "{\"path\": \"c\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\", \"nullable\": false}}, "
+        + "{\"path\": \"new\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"s\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"t\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}]}, "
+        + "{\"name\": \"V3\", \"id\": 3, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"a\", \"type\": {\"type\": \"int8\", \"storage\": \"fixed\"}}]}]}";
+
+    @Test(groups = "unit")
+    public void testProjection() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout writer = resolver.resolve(SchemaId.from(1));
+        final Layout reader = resolver.resolve(SchemaId.from(2));
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, writer, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeInt16(new UtfAnyString("a"), (short) -7);
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("b"), 42) : r;
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("old"), 9) : r;
+            r = r == Result.SUCCESS ? w.writeInt8(new UtfAnyString("x"), (byte) 1) : r;
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("s"), "hello") : r;
+            return r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("sparse"), 5) : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+
+        // Widened, renamed, and defaulted columns are presented in the reader's order, followed by sparse fields
+
+        final RowProjection projection = new RowProjection(writer, reader, ImmutableMap.of("new", "old"));
+        assertEquals(read(new RowReader(row, projection)), "a=-7 b=42 c=0 new=9 s=hello sparse=5");
+        assertEquals(read(new RowReader(row)), "a=-7 b=42 old=9 x=1 s=hello sparse=5");
+
+        final Layout narrower = resolver.resolve(SchemaId.from(3));
+        assertThrows(IllegalArgumentException.class, () -> new RowProjection(reader, narrower));
+        assertThrows(IllegalArgumentException.class, () -> new RowReader(row, new RowProjection(reader, writer)));
+    }
+
+    private static String read(RowReader reader) {
+
+        final StringBuilder builder = new StringBuilder();
+
+        while (reader.read()) {
+
+            final Out<Object> value = new Out<>();
+            final Result result;
+
+            switch (reader.type().layoutCode()) {
+                case INT_8:
+                    result = reader.readInt8(cast(value));
+                    break;
+                case INT_16:
+                    result = reader.readInt16(cast(value));
+                    break;
+                case INT_32:
+                    result = reader.readInt32(cast(value));
+                    break;
+                case INT_64:
+                    result = reader.readInt64(cast(value));
+                    break;
+                case UTF_8:
+                    result = reader.readString(cast(value));
+                    break;
+                default:
+                    throw new AssertionError(reader.type().layoutCode());
+            }
+
+            assertEquals(result, Result.SUCCESS);
+
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            builder.append(reader.path()).append('=').append(value.get());
+        }
+
+        return builder.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Out<T> cast(Out<Object> value) {
+        return (Out<T>) (Out<?>) value;
+    }
+}
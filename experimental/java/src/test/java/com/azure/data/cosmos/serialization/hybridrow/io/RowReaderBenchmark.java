@@ -0,0 +1,110 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutBuilder;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverSimple;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static java.lang.System.out;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Measures the time and memory allocated to read string fields with {@link RowReader#readUtf8String}.
+ * <p>
+ * Run with {@code mvn test -Dgroups=perf -Dtest=RowReaderBenchmark}.
+ */
+@Test(groups = "perf")
+public class RowReaderBenchmark {
+
+    private static final int FIELDS = 16;
+    private static final int ROUNDS = 5;
+    private static final int ROWS = 1_000_000 / FIELDS;
+
+    private RowBuffer row;
+
+    @BeforeClass(groups = "perf")
+    public void setUp() {
+
+        final LayoutBuilder builder = new LayoutBuilder("benchmark", SchemaId.from(1));
+        builder.addVariableColumn("name", LayoutTypes.UTF_8, 0);
+
+        final Layout layout = builder.build();
+        final LayoutResolver resolver = new LayoutResolverSimple(schemaId -> layout);
+
+        this.row = new RowBuffer(4096);
+        this.row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Result result = RowWriter.writeBuffer(this.row, "context", (writer, typeArg, context) -> {
+            Result r = writer.writeString(new UtfAnyString("name"), "variable column value");
+            for (int i = 1; r == Result.SUCCESS && i < FIELDS; i++) {
+                r = writer.writeString(new UtfAnyString("field" + i), "sparse field value " + i);
+            }
+            return r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        assertEquals(this.read(), FIELDS);
+    }
+
+    /**
+     * Reads one million string fields in each round and reports the best round.
+     */
+    @Test(groups = "perf")
+    public void readUtf8String() {
+
+        final com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        final long thread = Thread.currentThread().getId();
+        double bytes = Double.MAX_VALUE;
+        double time = Double.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+
+            final long allocated = bean.getThreadAllocatedBytes(thread);
+            final long start = System.nanoTime();
+            long count = 0;
+
+            for (int i = 0; i < ROWS; i++) {
+                count += this.read();
+            }
+
+            time = Math.min(time, (double) (System.nanoTime() - start) / count);
+            bytes = Math.min(bytes, (double) (bean.getThreadAllocatedBytes(thread) - allocated) / count);
+        }
+
+        out.println(lenientFormat("readUtf8String: %s ns/field, %s bytes/field", String.format("%.1f", time),
+            String.format("%.1f", bytes)));
+    }
+
+    private int read() {
+
+        final Out<Utf8String> value = new Out<>();
+        final RowReader reader = new RowReader(this.row);
+        int count = 0;
+
+        while (reader.read()) {
+            if (reader.readUtf8String(value) == Result.SUCCESS && value.get().encodedLength() > 0) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
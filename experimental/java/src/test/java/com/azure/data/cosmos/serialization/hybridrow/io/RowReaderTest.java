@@ -5,9 +5,15 @@ package com.azure.data.cosmos.serialization.hybridrow.io;
 
 import com.azure.data.cosmos.core.Out;
 import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.core.UtfAnyString;
 import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
 import com.azure.data.cosmos.serialization.hybridrow.Result;
 import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.UnixDateTime;
+import com.azure.data.cosmos.serialization.hybridrow.codecs.DateTimeCodec;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
 import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutType;
@@ -23,9 +29,13 @@ import org.testng.util.Strings;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.UUID;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -35,6 +45,7 @@ import static java.lang.System.out;
 import static java.util.Objects.requireNonNull;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 import static org.testng.AssertJUnit.assertNotNull;
@@ -45,6 +56,23 @@ public class RowReaderTest {
 
     private static final String basedir = System.getProperty("project.basedir", System.getProperty("user.dir"));
 
+    private static final UUID ID = UUID.fromString("1bd611bf-aa16-4554-9369-c3d80151226b");
+    private static final long MILLIS = 1_567_538_848_949L;
+    private static final long TICKS = 637_031_584_489_493_730L;
+
+    private static final String VALUES = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Values\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"at\", \"type\": {\"type\": \"datetime\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"id\", \"type\": {\"type\": \"guid\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"seen\", \"type\": {\"type\": \"unixdatetime\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"count\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}]}]}";
+
+    private static final String STRINGS = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Strings\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"code\", \"type\": {\"type\": \"utf8\", \"storage\": \"fixed\", \"length\": 5}}, "
+        + "{\"path\": \"count\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"name\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}]}]}";
+
     private final Path dataFile;
     private final File schemaFile;
 
@@ -120,8 +148,189 @@ public class RowReaderTest {
         }
     }
 
+    @Test(groups = "unit")
+    public void testReadString() {
+
+        final Namespace namespace = Namespace.parse(STRINGS).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeString(new UtfAnyString("code"), "caf\u00e9");
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("count"), 3) : r;
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("name"), "h\u00e9llo w\u00f6rld") : r;
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("size"), 4) : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "\u00e9t\u00e9 \ud83c\udf1e") : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+
+        // Fixed, variable, and sparse strings decoded to a caller's buffer or copied as UTF-8 read as they do when
+        // decoded to a String, whether or not they are read through a projection
+
+        final String expected = "code=caf\u00e9 count name=h\u00e9llo w\u00f6rld size note=\u00e9t\u00e9 \ud83c\udf1e";
+
+        assertEquals(readStrings(new RowReader(row)), expected);
+        assertEquals(readStrings(new RowReader(row, new RowProjection(layout, layout))), expected);
+    }
+
+    @Test(groups = "unit")
+    public void testReadTicksGuidAndMillis() {
+
+        final Namespace namespace = Namespace.parse(VALUES).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final long high = ID.getMostSignificantBits();
+        final long low = ID.getLeastSignificantBits();
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeDateTimeTicks(new UtfAnyString("at"), TICKS);
+            r = r == Result.SUCCESS ? w.writeGuid(new UtfAnyString("id"), high, low) : r;
+            r = r == Result.SUCCESS ? w.writeUnixMillis(new UtfAnyString("seen"), MILLIS) : r;
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("count"), 3) : r;
+            r = r == Result.SUCCESS ? w.writeDateTimeTicks(new UtfAnyString("since"), TICKS + 1) : r;
+            r = r == Result.SUCCESS ? w.writeGuid(new UtfAnyString("key"), low, high) : r;
+            r = r == Result.SUCCESS ? w.writeUnixMillis(new UtfAnyString("last"), MILLIS + 1) : r;
+            return r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("size"), 4) : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+
+        // Ticks, GUIDs, and milliseconds written to fixed and sparse fields read as they were written and as they do
+        // when read as objects, whether or not they are read through a projection
+
+        final String expected = "at=" + TICKS + " id=" + ID + " seen=" + MILLIS + " count since=" + (TICKS + 1)
+            + " key=" + new UUID(low, high) + " last=" + (MILLIS + 1) + " size";
+
+        assertEquals(readTicksGuidAndMillis(new RowReader(row)), expected);
+        assertEquals(readTicksGuidAndMillis(new RowReader(row, new RowProjection(layout, layout))), expected);
+
+        final RowReader reader = new RowReader(row);
+        assertTrue(reader.read());
+        assertThrows(IllegalArgumentException.class, () -> reader.readDateTimeTicks(new long[0]));
+        assertThrows(IllegalArgumentException.class, () -> reader.readGuid(new long[1]));
+        assertThrows(IllegalArgumentException.class, () -> reader.readUnixMillis(new long[0]));
+    }
+
     // region Privates
 
+    private static String readTicksGuidAndMillis(RowReader reader) {
+
+        final StringBuilder builder = new StringBuilder();
+        final long[] value = new long[2];
+
+        while (reader.read()) {
+
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            builder.append(reader.path());
+
+            final LayoutCode code = reader.type().layoutCode();
+
+            if (code != LayoutCode.DATE_TIME) {
+                assertEquals(reader.readDateTimeTicks(value), Result.TYPE_MISMATCH);
+            }
+
+            if (code != LayoutCode.GUID) {
+                assertEquals(reader.readGuid(value), Result.TYPE_MISMATCH);
+            }
+
+            if (code != LayoutCode.UNIX_DATE_TIME) {
+                assertEquals(reader.readUnixMillis(value), Result.TYPE_MISMATCH);
+            }
+
+            switch (code) {
+                case DATE_TIME: {
+                    final Out<OffsetDateTime> dateTime = new Out<>();
+                    assertEquals(reader.readDateTime(dateTime), Result.SUCCESS);
+                    assertEquals(reader.readDateTimeTicks(value), Result.SUCCESS);
+                    assertEquals(value[0], DateTimeCodec.ticks(dateTime.get()));
+                    builder.append('=').append(value[0]);
+                    break;
+                }
+                case GUID: {
+                    final Out<UUID> guid = new Out<>();
+                    assertEquals(reader.readGuid(guid), Result.SUCCESS);
+                    assertEquals(reader.readGuid(value), Result.SUCCESS);
+                    assertEquals(new UUID(value[0], value[1]), guid.get());
+                    builder.append('=').append(guid.get());
+                    break;
+                }
+                case UNIX_DATE_TIME: {
+                    final Out<UnixDateTime> dateTime = new Out<>();
+                    assertEquals(reader.readUnixDateTime(dateTime), Result.SUCCESS);
+                    assertEquals(reader.readUnixMillis(value), Result.SUCCESS);
+                    assertEquals(value[0], dateTime.get().milliseconds());
+                    builder.append('=').append(value[0]);
+                    break;
+                }
+                case INT_32:
+                    break;
+                default:
+                    throw new AssertionError(code);
+            }
+        }
+
+        return builder.toString();
+    }
+
+
+    private static String readStrings(RowReader reader) {
+
+        final StringBuilder builder = new StringBuilder();
+
+        while (reader.read()) {
+
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            builder.append(reader.path());
+
+            if (reader.type().layoutCode() != LayoutCode.UTF_8) {
+                assertEquals(reader.readString(CharBuffer.allocate(16)), Result.TYPE_MISMATCH);
+                assertEquals(reader.readUtf8String(Unpooled.buffer()), Result.TYPE_MISMATCH);
+                continue;
+            }
+
+            final Out<String> value = new Out<>();
+            assertEquals(reader.readString(value), Result.SUCCESS);
+
+            // Values are written at the position of a target and nothing is written to a target that is too small
+
+            final CharBuffer chars = CharBuffer.allocate(value.get().length() + 1).put('>');
+            assertEquals(reader.readString(chars), Result.SUCCESS);
+            chars.flip();
+            assertEquals(chars.toString(), ">" + value.get());
+
+            final CharBuffer small = CharBuffer.allocate(value.get().length() - 1);
+            assertEquals(reader.readString(small), Result.INSUFFICIENT_BUFFER);
+            assertEquals(small.position(), 0);
+
+            final ByteBuf bytes = Unpooled.buffer().writeByte('>');
+            assertEquals(reader.readUtf8String(bytes), Result.SUCCESS);
+            assertEquals(bytes.toString(StandardCharsets.UTF_8), ">" + value.get());
+
+            builder.append('=').append(value.get());
+        }
+
+        return builder.toString();
+    }
+
+
     @SuppressWarnings("unchecked")
     private static Result visitFields(RowReader reader, int level) {
 
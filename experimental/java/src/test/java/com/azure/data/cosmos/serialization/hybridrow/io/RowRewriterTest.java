@@ -0,0 +1,403 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutCode;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgument;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgumentList;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class RowRewriterTest {
+
+    // Every conversion accepted by RowRewriter.Conversion.isWidening as {source, target}
+
+    private static final LayoutCode[][] WIDENINGS = {
+        { LayoutCode.INT_8, LayoutCode.INT_16 },
+        { LayoutCode.INT_8, LayoutCode.INT_32 },
+        { LayoutCode.INT_8, LayoutCode.INT_64 },
+        { LayoutCode.INT_8, LayoutCode.FLOAT_32 },
+        { LayoutCode.INT_8, LayoutCode.FLOAT_64 },
+        { LayoutCode.INT_16, LayoutCode.INT_32 },
+        { LayoutCode.INT_16, LayoutCode.INT_64 },
+        { LayoutCode.INT_16, LayoutCode.FLOAT_32 },
+        { LayoutCode.INT_16, LayoutCode.FLOAT_64 },
+        { LayoutCode.INT_32, LayoutCode.INT_64 },
+        { LayoutCode.INT_32, LayoutCode.FLOAT_64 },
+        { LayoutCode.UINT_8, LayoutCode.UINT_16 },
+        { LayoutCode.UINT_8, LayoutCode.UINT_32 },
+        { LayoutCode.UINT_8, LayoutCode.UINT_64 },
+        { LayoutCode.UINT_8, LayoutCode.INT_16 },
+        { LayoutCode.UINT_8, LayoutCode.INT_32 },
+        { LayoutCode.UINT_8, LayoutCode.INT_64 },
+        { LayoutCode.UINT_8, LayoutCode.FLOAT_32 },
+        { LayoutCode.UINT_8, LayoutCode.FLOAT_64 },
+        { LayoutCode.UINT_16, LayoutCode.UINT_32 },
+        { LayoutCode.UINT_16, LayoutCode.UINT_64 },
+        { LayoutCode.UINT_16, LayoutCode.INT_32 },
+        { LayoutCode.UINT_16, LayoutCode.INT_64 },
+        { LayoutCode.UINT_16, LayoutCode.FLOAT_32 },
+        { LayoutCode.UINT_16, LayoutCode.FLOAT_64 },
+        { LayoutCode.UINT_32, LayoutCode.UINT_64 },
+        { LayoutCode.UINT_32, LayoutCode.INT_64 },
+        { LayoutCode.UINT_32, LayoutCode.FLOAT_64 },
+        { LayoutCode.FLOAT_32, LayoutCode.FLOAT_64 }
+    };
+
+    private static final LayoutCode[] NUMBERS = {
+        LayoutCode.INT_8, LayoutCode.INT_16, LayoutCode.INT_32, LayoutCode.INT_64,
+        LayoutCode.UINT_8, LayoutCode.UINT_16, LayoutCode.UINT_32, LayoutCode.UINT_64,
+        LayoutCode.FLOAT_32, LayoutCode.FLOAT_64
+    };
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"V1\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"flag\", \"type\": {\"type\": \"bool\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"old\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"gone\", \"type\": {\"type\": \"int64\", \"storage\": \"fixed\"}}, "
+        + columns(0)
+        + "{\"path\": \"s\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"n\", \"type\": {\"type\": \"varint\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"u\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"tag\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}]}, "
+        + "{\"name\": \"V2\", \"id\": 2, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"flag\", \"type\": {\"type\": \"bool\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"new\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"added\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + columns(1)
+        + "{\"path\": \"u\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"n\", \"type\": {\"type\": \"varint\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"s\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"label\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}, "
+        + "{\"path\": \"tag\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}]}, "
+        + "{\"name\": \"V3\", \"id\": 3, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"a\", \"type\": {\"type\": \"int16\", \"storage\": \"fixed\"}}]}, "
+        + "{\"name\": \"V4\", \"id\": 4, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"title\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}, "
+        + "{\"path\": \"old\", \"type\": {\"type\": \"int32\", \"storage\": \"sparse\"}}, "
+        + "{\"path\": \"stale\", \"type\": {\"type\": \"schema\", \"name\": \"Stale\"}}, "
+        + "{\"path\": \"meta\", \"type\": {\"type\": \"schema\", \"name\": \"Meta\"}}, "
+        + "{\"path\": \"count\", \"type\": {\"type\": \"int64\", \"storage\": \"sparse\"}}]}, "
+        + "{\"name\": \"V5\", \"id\": 5, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"name\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}, "
+        + "{\"path\": \"meta\", \"type\": {\"type\": \"schema\", \"name\": \"Meta\"}}, "
+        + "{\"path\": \"count\", \"type\": {\"type\": \"int64\", \"storage\": \"sparse\"}}, "
+        + "{\"path\": \"size\", \"type\": {\"type\": \"int32\", \"storage\": \"sparse\"}}]}, "
+        + "{\"name\": \"Meta\", \"id\": 6, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"title\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}]}, "
+        + "{\"name\": \"Stale\", \"id\": 7, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"x\", \"type\": {\"type\": \"int32\", \"storage\": \"sparse\"}}]}]}";
+
+    @Test(groups = "unit")
+    public void testConversions() {
+
+        // The table above is exactly the set of conversions the rewriter accepts between numeric types
+
+        int count = 0;
+
+        for (LayoutCode source : NUMBERS) {
+            for (LayoutCode target : NUMBERS) {
+                if (RowRewriter.Conversion.isWidening(source, target)) {
+                    count++;
+                }
+            }
+        }
+
+        assertEquals(count, WIDENINGS.length);
+
+        for (LayoutCode[] widening : WIDENINGS) {
+            assertTrue(RowRewriter.Conversion.isWidening(widening[0], widening[1]), widening[0] + "->" + widening[1]);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testRewrite() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout v1 = resolver.resolve(SchemaId.from(1));
+        final Layout v2 = resolver.resolve(SchemaId.from(2));
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, v1, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeBoolean(new UtfAnyString("flag"), true);
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("old"), 9) : r;
+            r = r == Result.SUCCESS ? w.writeInt64(new UtfAnyString("gone"), -1L) : r;
+            for (LayoutCode[] widening : WIDENINGS) {
+                r = r == Result.SUCCESS ? write(w, widening[0], path(widening)) : r;
+            }
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("s"), "hello") : r;
+            r = r == Result.SUCCESS ? w.writeVarInt(new UtfAnyString("n"), -300L) : r;
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("tag"), "t") : r;
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("label"), "l") : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "\u00e9t\u00e9") : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+
+        // Renamed and widened columns carry their values, the dropped column is gone, and the added and null columns
+        // are left null; sparse paths are re-encoded because V2 tokenizes label and tag differently than V1
+
+        final RowRewriter rewriter = new RowRewriter(v1, v2, ImmutableMap.of("new", "old"));
+        final RowBuffer target = new RowBuffer(256);
+
+        assertEquals(rewriter.rewrite(row, target, resolver), Result.SUCCESS);
+        assertEquals(target.header().schemaId(), v2.schemaId());
+
+        final StringBuilder expected = new StringBuilder("flag=true new=9");
+
+        for (LayoutCode[] widening : WIDENINGS) {
+            expected.append(' ').append(path(widening)).append('=').append(expected(widening[0], widening[1]));
+        }
+
+        expected.append(" n=-300 s=hello tag=t label=l note=\u00e9t\u00e9");
+        assertEquals(read(new RowReader(target)), expected.toString());
+
+        // Rows of the same layout are copied verbatim
+
+        final RowBuffer copy = new RowBuffer(256);
+        assertEquals(new RowRewriter(v1, v1).rewrite(row, copy, resolver), Result.SUCCESS);
+        assertEquals(copy.toArray(), row.toArray());
+
+        // Rows of another layout and non-empty targets are rejected
+
+        assertEquals(rewriter.rewrite(target, new RowBuffer(256), resolver), Result.TYPE_MISMATCH);
+        assertThrows(IllegalArgumentException.class, () -> rewriter.rewrite(row, target, resolver));
+    }
+
+    @Test(groups = "unit")
+    public void testIncompatible() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout v1 = resolver.resolve(SchemaId.from(1));
+        final Layout v3 = resolver.resolve(SchemaId.from(3));
+
+        // Narrowing conversions, type changes, and storage changes cannot be rewritten
+
+        assertFalse(RowRewriter.Conversion.isWidening(LayoutCode.INT_32, LayoutCode.INT_16));
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(v1, v3, ImmutableMap.of("a", "old")));
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(v1, v3, ImmutableMap.of("a", "flag")));
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(v1, v3, ImmutableMap.of("a", "s")));
+        new RowRewriter(v1, v3, ImmutableMap.of("a", "int8_int16"));
+    }
+
+    @Test(groups = "unit")
+    public void testSparseColumns() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout v4 = resolver.resolve(SchemaId.from(4));
+        final Layout v5 = resolver.resolve(SchemaId.from(5));
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, v4, resolver);
+
+        final TypeArgument meta = new TypeArgument(LayoutTypes.UDT, new TypeArgumentList(SchemaId.from(6)));
+        final TypeArgument stale = new TypeArgument(LayoutTypes.UDT, new TypeArgumentList(SchemaId.from(7)));
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = w.writeString(new UtfAnyString("title"), "t");
+            r = r == Result.SUCCESS ? w.writeInt32(new UtfAnyString("old"), 7) : r;
+            r = r == Result.SUCCESS ? w.writeScope(new UtfAnyString("stale"), stale, context, (nested, a, c) ->
+                nested.writeInt32(new UtfAnyString("x"), 1)) : r;
+            r = r == Result.SUCCESS ? w.writeScope(new UtfAnyString("meta"), meta, context, (nested, a, c) ->
+                nested.writeString(new UtfAnyString("title"), "inner")) : r;
+            r = r == Result.SUCCESS ? w.writeInt64(new UtfAnyString("count"), 5L) : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "n") : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        assertEquals(read(new RowReader(row)), "title=t old=7 stale={x=1} meta={title=inner} count=5 note=n");
+
+        // The renamed sparse column takes its new path, the dropped sparse columns are skipped along with the fields
+        // nested in them, the field nested in a kept column keeps the path it shares with the renamed column, and the
+        // unschematized field is copied
+
+        final RowRewriter rewriter = new RowRewriter(v4, v5, ImmutableMap.of("name", "title"));
+        final RowBuffer target = new RowBuffer(256);
+
+        assertEquals(rewriter.rewrite(row, target, resolver), Result.SUCCESS);
+        assertEquals(read(new RowReader(target)), "name=t meta={title=inner} count=5 note=n");
+
+        final RowBuffer renamed = new RowBuffer(256);
+        assertEquals(new RowRewriter(v4, v5, ImmutableMap.of("name", "title", "size", "old")).rewrite(row, renamed,
+            resolver), Result.SUCCESS);
+        assertEquals(read(new RowReader(renamed)), "name=t size=7 meta={title=inner} count=5 note=n");
+
+        // Sparse columns are matched only with sparse columns of the same type
+
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(v4, v5, ImmutableMap.of("count", "old")));
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(v4, v5, ImmutableMap.of("name", "count")));
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(v4, v5, ImmutableMap.of("meta", "stale")));
+        assertThrows(IllegalArgumentException.class, () -> new RowRewriter(resolver.resolve(SchemaId.from(1)), v5,
+            ImmutableMap.of("size", "old")));
+    }
+
+    private static String columns(int index) {
+        final StringBuilder builder = new StringBuilder();
+        for (LayoutCode[] widening : WIDENINGS) {
+            builder.append("{\"path\": \"").append(path(widening)).append("\", \"type\": {\"type\": \"")
+                .append(typeName(widening[index])).append("\", \"storage\": \"fixed\"}}, ");
+        }
+        return builder.toString();
+    }
+
+    private static String expected(LayoutCode source, LayoutCode target) {
+        final double value = value(source);
+        switch (target) {
+            case FLOAT_32:
+                return String.valueOf((float) value);
+            case FLOAT_64:
+                return String.valueOf(value);
+            default:
+                return String.valueOf((long) value);
+        }
+    }
+
+    private static String path(LayoutCode[] widening) {
+        return typeName(widening[0]) + "_" + typeName(widening[1]);
+    }
+
+    private static String read(RowReader reader) {
+
+        final StringBuilder builder = new StringBuilder();
+
+        while (reader.read()) {
+
+            final Out<Object> value = new Out<>();
+            final Result result;
+
+            switch (reader.type().layoutCode()) {
+                case BOOLEAN:
+                    result = reader.readBoolean(cast(value));
+                    break;
+                case INT_16:
+                    result = reader.readInt16(cast(value));
+                    break;
+                case INT_32:
+                    result = reader.readInt32(cast(value));
+                    break;
+                case INT_64:
+                    result = reader.readInt64(cast(value));
+                    break;
+                case UINT_16:
+                    result = reader.readUInt16(cast(value));
+                    break;
+                case UINT_32:
+                    result = reader.readUInt32(cast(value));
+                    break;
+                case UINT_64:
+                    result = reader.readUInt64(cast(value));
+                    break;
+                case FLOAT_32:
+                    result = reader.readFloat32(cast(value));
+                    break;
+                case FLOAT_64:
+                    result = reader.readFloat64(cast(value));
+                    break;
+                case VAR_INT:
+                    result = reader.readVarInt(cast(value));
+                    break;
+                case UTF_8:
+                    result = reader.readString(cast(value));
+                    break;
+                case SCHEMA:
+                    result = Result.SUCCESS;
+                    value.set("{" + read(reader.readScope()) + "}");
+                    break;
+                default:
+                    throw new AssertionError(reader.type().layoutCode());
+            }
+
+            assertEquals(result, Result.SUCCESS);
+
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            builder.append(reader.path()).append('=').append(value.get());
+        }
+
+        return builder.toString();
+    }
+
+    private static String typeName(LayoutCode code) {
+        return code.name().toLowerCase().replace("_", "");
+    }
+
+    private static double value(LayoutCode code) {
+        switch (code) {
+            case INT_8:
+                return -100;
+            case INT_16:
+                return -30_000;
+            case INT_32:
+                return -2_000_000_000;
+            case UINT_8:
+                return 200;
+            case UINT_16:
+                return 60_000;
+            case UINT_32:
+                return 4_000_000_000L;
+            case FLOAT_32:
+                return 1.5;
+            default:
+                throw new AssertionError(code);
+        }
+    }
+
+    private static Result write(RowWriter writer, LayoutCode code, String path) {
+        final UtfAnyString name = new UtfAnyString(path);
+        final double value = value(code);
+        switch (code) {
+            case INT_8:
+                return writer.writeInt8(name, (byte) value);
+            case INT_16:
+                return writer.writeInt16(name, (short) value);
+            case INT_32:
+                return writer.writeInt32(name, (int) value);
+            case UINT_8:
+                return writer.writeUInt8(name, (byte) (long) value);
+            case UINT_16:
+                return writer.writeUInt16(name, (short) (long) value);
+            case UINT_32:
+                return writer.writeUInt32(name, (long) value);
+            case FLOAT_32:
+                return writer.writeFloat32(name, (float) value);
+            default:
+                throw new AssertionError(code);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Out<T> cast(Out<Object> value) {
+        return (Out<T>) (Out<?>) value;
+    }
+}
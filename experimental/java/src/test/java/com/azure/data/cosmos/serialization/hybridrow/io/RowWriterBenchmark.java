@@ -0,0 +1,127 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutBuilder;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverSimple;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgument;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.function.BiFunction;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static java.lang.System.out;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Compares sparse-heavy row encoding with {@link RowWriter#writeBuffer} and {@link RowWriter#appendBuffer}.
+ * <p>
+ * Run with {@code mvn test -Dgroups=perf -Dtest=RowWriterBenchmark}.
+ */
+@Test(groups = "perf")
+public class RowWriterBenchmark {
+
+    private static final int FIELDS = 32;
+    private static final int ITERATIONS = 500_000;
+    private static final int ROUNDS = 5;
+
+    private Layout layout;
+    private UtfAnyString[] paths;
+    private LayoutResolver resolver;
+
+    @BeforeClass(groups = "perf")
+    public void setUp() {
+
+        final LayoutBuilder builder = new LayoutBuilder("benchmark", SchemaId.from(1));
+        builder.addFixedColumn("id", LayoutTypes.INT_64, true, 0);
+
+        this.layout = builder.build();
+        this.resolver = new LayoutResolverSimple(schemaId -> this.layout);
+        this.paths = new UtfAnyString[FIELDS];
+
+        for (int i = 0; i < FIELDS; i++) {
+            this.paths[i] = new UtfAnyString("field" + i);
+        }
+
+        final RowBuffer expected = new RowBuffer(1024);
+        final RowBuffer actual = new RowBuffer(1024);
+
+        this.encode(expected, (row, func) -> RowWriter.writeBuffer(row, "context", func));
+        this.encode(actual, (row, func) -> RowWriter.appendBuffer(row, "context", func));
+
+        assertEquals(actual.toArray(), expected.toArray());
+    }
+
+    /**
+     * Alternates rounds of each mode so that both see the same JIT and GC conditions and reports the best round.
+     */
+    @Test(groups = "perf")
+    public void compare() {
+
+        final RowBuffer row = new RowBuffer(1024);
+        double append = Double.MAX_VALUE;
+        double write = Double.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            write = Math.min(write, this.run(row, (r, func) -> RowWriter.writeBuffer(r, "context", func)));
+            append = Math.min(append, this.run(row, (r, func) -> RowWriter.appendBuffer(r, "context", func)));
+        }
+
+        out.println(lenientFormat("write: %s ns/row, append: %s ns/row (%s bytes/row)", String.format("%.1f", write),
+            String.format("%.1f", append), row.length()));
+    }
+
+    private int encode(
+        final RowBuffer row, final BiFunction<RowBuffer, RowWriter.WriterFunc<String>, Result> writer) {
+
+        row.reset();
+        row.initLayout(HybridRowVersion.V1, this.layout, this.resolver);
+
+        final Result result = writer.apply(row, (w, typeArg, context) -> {
+
+            Result r = w.writeInt64(new UtfAnyString("id"), 42L);
+
+            for (int i = 0; r == Result.SUCCESS && i < FIELDS / 2; i++) {
+                r = w.writeInt64(this.paths[i], i);
+            }
+
+            if (r != Result.SUCCESS) {
+                return r;
+            }
+
+            return w.writeScope(new UtfAnyString("nested"), new TypeArgument(LayoutTypes.OBJECT), context,
+                (nested, nestedTypeArg, nestedContext) -> {
+                    Result n = Result.SUCCESS;
+                    for (int i = FIELDS / 2; n == Result.SUCCESS && i < FIELDS; i++) {
+                        n = nested.writeInt64(this.paths[i], i);
+                    }
+                    return n;
+                });
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        return row.length();
+    }
+
+    private double run(
+        final RowBuffer row, final BiFunction<RowBuffer, RowWriter.WriterFunc<String>, Result> writer) {
+
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            this.encode(row, writer);
+        }
+
+        return (double) (System.nanoTime() - start) / ITERATIONS;
+    }
+}
@@ -0,0 +1,263 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutTypes;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgument;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.TypeArgumentList;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import static org.testng.Assert.assertEquals;
+
+@Test(groups = "unit")
+public class RowWriterTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Event\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"id\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"user\", \"type\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}]}]}";
+
+    @Test(groups = "unit")
+    public void testAppendBuffer() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        // Fields written after a nested scope closes are placed ahead of the end of scope markers that follow it
+
+        final RowBuffer expected = nested(layout, resolver, (row, func) -> RowWriter.writeBuffer(row, "context", func));
+        final RowBuffer actual = nested(layout, resolver, (row, func) -> RowWriter.appendBuffer(row, "context", func));
+
+        assertEquals(actual.toArray(), expected.toArray());
+        assertEquals(read(actual), "id=1 user=u outer={a=1 inner={b=2 innermost={c=3} d=4} e=5} note=n");
+
+        // Appending to a row with sparse fields places new fields after them
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        assertEquals(RowWriter.writeBuffer(row, "context", (w, typeArg, context) ->
+            w.writeString(new UtfAnyString("user"), "u")), Result.SUCCESS);
+
+        assertEquals(RowWriter.appendBuffer(row, "context", (w, typeArg, context) ->
+            w.writeString(new UtfAnyString("note"), "n")), Result.SUCCESS);
+
+        assertEquals(read(row), "user=u note=n");
+        assertEquals(row.toArray(), write(layout, resolver, (w, typeArg, context) -> {
+            final Result r = w.writeString(new UtfAnyString("user"), "u");
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "n") : r;
+        }).toArray());
+    }
+
+    @Test(groups = "unit")
+    public void testAppendBufferPrefilledScopes() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final TypeArgument int32 = new TypeArgument(LayoutTypes.INT_32);
+        final TypeArgument uint8 = new TypeArgument(LayoutTypes.UINT_8);
+
+        final TypeArgument tuple = new TypeArgument(LayoutTypes.TYPED_TUPLE, new TypeArgumentList(int32, int32));
+        final TypeArgument nullable = new TypeArgument(LayoutTypes.NULLABLE, new TypeArgumentList(int32));
+        final TypeArgument tagged = new TypeArgument(LayoutTypes.TAGGED, new TypeArgumentList(uint8, int32));
+
+        // Scopes written with default elements are filled in place, not appended after their defaults
+
+        final RowWriter.WriterFunc<String> func = (w, typeArg, context) -> {
+            Result r = w.writeScope(new UtfAnyString("tuple"), tuple, context, (scope, t, c) -> {
+                final Result s = scope.writeInt32(null, 11);
+                return s == Result.SUCCESS ? scope.writeInt32(null, 22) : s;
+            });
+            r = r == Result.SUCCESS ? w.writeScope(new UtfAnyString("nullable"), nullable, context, (scope, t, c) ->
+                scope.writeInt32(null, 33)) : r;
+            r = r == Result.SUCCESS ? w.writeScope(new UtfAnyString("tagged"), tagged, context, (scope, t, c) -> {
+                final Result s = scope.writeUInt8(null, (byte) 4);
+                return s == Result.SUCCESS ? scope.writeInt32(null, 44) : s;
+            }) : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "n") : r;
+        };
+
+        final RowBuffer expected = write(layout, resolver, func);
+        final RowBuffer actual = new RowBuffer(256);
+        actual.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        assertEquals(RowWriter.appendBuffer(actual, "context", func), Result.SUCCESS);
+        assertEquals(actual.toArray(), expected.toArray());
+        assertEquals(read(actual), "tuple=(11 22) nullable=(33) tagged=(4 44) note=n");
+    }
+
+    @Test(groups = "unit")
+    public void testInternedPaths() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        // The untokenized note path is interned by the first write and its encoding reused by the second
+
+        for (int i = 0; i < 2; i++) {
+            final RowBuffer row = write(layout, resolver, i);
+            assertEquals(read(row), "id=" + i + " user=u" + i + " note=n" + i);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testInternedPathsConcurrently() throws Exception {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+
+            final List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < 2; thread++) {
+                final int first = thread * 1000;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < first + 1000; i++) {
+                        assertEquals(read(write(layout, resolver, i)), "id=" + i + " user=u" + i + " note=n" + i);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static RowBuffer nested(
+        Layout layout, LayoutResolver resolver, BiFunction<RowBuffer, RowWriter.WriterFunc<String>, Result> writer) {
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final TypeArgument object = new TypeArgument(LayoutTypes.OBJECT);
+
+        final Result result = writer.apply(row, (w, typeArg, context) -> {
+            Result r = w.writeInt32(new UtfAnyString("id"), 1);
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("user"), "u") : r;
+            r = r == Result.SUCCESS ? w.writeScope(new UtfAnyString("outer"), object, context, (outer, t1, c1) -> {
+                Result o = outer.writeInt32(new UtfAnyString("a"), 1);
+                o = o == Result.SUCCESS ? outer.writeScope(new UtfAnyString("inner"), object, c1, (inner, t2, c2) -> {
+                    Result i = inner.writeInt32(new UtfAnyString("b"), 2);
+                    i = i == Result.SUCCESS ? inner.writeScope(new UtfAnyString("innermost"), object, c2,
+                        (innermost, t3, c3) -> innermost.writeInt32(new UtfAnyString("c"), 3)) : i;
+                    return i == Result.SUCCESS ? inner.writeInt32(new UtfAnyString("d"), 4) : i;
+                }) : o;
+                return o == Result.SUCCESS ? outer.writeInt32(new UtfAnyString("e"), 5) : o;
+            }) : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "n") : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        return row;
+    }
+
+    private static String read(RowBuffer row) {
+        return read(new RowReader(row), false);
+    }
+
+    private static String read(RowReader reader, boolean indexed) {
+
+        final StringBuilder builder = new StringBuilder();
+
+        while (reader.read()) {
+
+            final Out<Object> value = new Out<>();
+            final Result result;
+
+            switch (reader.type().layoutCode()) {
+                case INT_32:
+                    result = reader.readInt32(cast(value));
+                    break;
+                case UINT_8:
+                    result = reader.readUInt8(cast(value));
+                    break;
+                case UTF_8: {
+                    final Out<Utf8String> string = new Out<>();
+                    result = reader.readUtf8String(string);
+                    value.set(string.get().toUtf16());
+                    break;
+                }
+                case OBJECT_SCOPE:
+                    result = Result.SUCCESS;
+                    value.set("{" + read(reader.readScope(), false) + "}");
+                    break;
+                case TYPED_TUPLE_SCOPE:
+                case NULLABLE_SCOPE:
+                case TAGGED_SCOPE:
+                    result = Result.SUCCESS;
+                    value.set("(" + read(reader.readScope(), true) + ")");
+                    break;
+                default:
+                    throw new AssertionError(reader.type().layoutCode());
+            }
+
+            assertEquals(result, Result.SUCCESS);
+
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+
+            if (!indexed) {
+                builder.append(reader.path().toUtf16()).append('=');
+            }
+
+            builder.append(value.get());
+        }
+
+        return builder.toString();
+    }
+
+    private static LayoutResolver resolver() {
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+        return new LayoutResolverNamespace(namespace);
+    }
+
+    private static RowBuffer write(Layout layout, LayoutResolver resolver, int id) {
+        return write(layout, resolver, (w, typeArg, context) -> {
+            Result r = w.writeInt32(new UtfAnyString("id"), id);
+            r = r == Result.SUCCESS ? w.writeString(new UtfAnyString("user"), "u" + id) : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("note"), "n" + id) : r;
+        });
+    }
+
+    private static RowBuffer write(Layout layout, LayoutResolver resolver, RowWriter.WriterFunc<String> func) {
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        assertEquals(RowWriter.writeBuffer(row, "context", func), Result.SUCCESS);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Out<T> cast(Out<Object> value) {
+        return (Out<T>) (Out<?>) value;
+    }
+}
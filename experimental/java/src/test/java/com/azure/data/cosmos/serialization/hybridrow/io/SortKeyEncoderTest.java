@@ -0,0 +1,174 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.io;
+
+import com.azure.data.cosmos.core.BinaryCollation;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.Layout;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolver;
+import com.azure.data.cosmos.serialization.hybridrow.layouts.LayoutResolverNamespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.PrimarySortKey;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SortDirection;
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+@Test(groups = "unit")
+public class SortKeyEncoderTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Event\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"rank\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"name\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}, "
+        + "{\"path\": \"tags\", \"type\": {\"type\": \"array\", \"items\": {\"type\": \"utf8\", \"storage\": \"sparse\"}}}]}]}";
+
+    private static final Comparator<Key> ORDER = Comparator
+        .comparing((Key key) -> key.rank, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+        .thenComparing(key -> key.name, Comparator.nullsLast(Comparator.<String>reverseOrder()))
+        .thenComparing(key -> key.score, Comparator.nullsFirst(Comparator.<Double>naturalOrder()));
+
+    @Test(groups = "unit")
+    public void testEncode() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        // The unschematized score field is encoded from the sparse segment of each row
+
+        final SortKeyEncoder encoder = new SortKeyEncoder(layout, ImmutableList.of(
+            new PrimarySortKey().path("rank").direction(SortDirection.ASCENDING),
+            new PrimarySortKey().path("name").direction(SortDirection.DESCENDING),
+            new PrimarySortKey().path("score").direction(SortDirection.ASCENDING)));
+
+        final List<Key> keys = ImmutableList.of(
+            new Key(-5, "b", 1.5),
+            new Key(-5, "b", -0.5),
+            new Key(-5, "b", -0.0),
+            new Key(-5, "b", 0.0),
+            new Key(-5, "b", null),
+            new Key(-5, "a\0b", 0.0),
+            new Key(-5, "a", 2.0),
+            new Key(-5, "a\0", 2.0),
+            new Key(-5, "été", 2.0),
+            new Key(-5, null, 0.0),
+            new Key(3, "", 1.0),
+            new Key(3, "ab", Double.NEGATIVE_INFINITY),
+            new Key(3, "ab", Double.MAX_VALUE),
+            new Key(null, "z", 1.0),
+            new Key(Integer.MIN_VALUE, "x", 1.0),
+            new Key(Integer.MAX_VALUE, "x", 1.0),
+            new Key(0, "x", -1.0e-300));
+
+        // Encoded keys compare as the values they were encoded from, and a reused buffer encodes as a new one does
+
+        final ByteBuf reused = Unpooled.buffer(1);
+        final ByteBuf[] encoded = new ByteBuf[keys.size()];
+
+        for (int i = 0; i < encoded.length; i++) {
+            final RowBuffer row = write(layout, resolver, keys.get(i));
+            encoded[i] = Unpooled.buffer();
+            assertEquals(encoder.encode(row, encoded[i]), encoded[i].readableBytes());
+            reused.clear();
+            encoder.encode(row, reused);
+            assertEquals(BinaryCollation.compare(reused, encoded[i]), 0);
+        }
+
+        for (int i = 0; i < encoded.length; i++) {
+            for (int j = 0; j < encoded.length; j++) {
+                assertEquals(BinaryCollation.compare(encoded[i], encoded[j]),
+                    Integer.signum(ORDER.compare(keys.get(i), keys.get(j))), keys.get(i) + " vs " + keys.get(j));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new SortKeyEncoder(layout, ImmutableList.of(
+            new PrimarySortKey().path("tags").direction(SortDirection.ASCENDING))));
+    }
+
+    @Test(groups = "unit")
+    public void testEncodeSparseTypes() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final LayoutResolver resolver = new LayoutResolverNamespace(namespace);
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        final SortKeyEncoder encoder = new SortKeyEncoder(layout, ImmutableList.of(
+            new PrimarySortKey().path("value").direction(SortDirection.ASCENDING)));
+
+        // Sparse values of different types with the same encoding are told apart and ordered by their layout codes
+
+        final List<RowWriter.WriterFunc<String>> writers = ImmutableList.of(
+            (w, typeArg, context) -> w.writeBoolean(new UtfAnyString("value"), false),
+            (w, typeArg, context) -> w.writeBoolean(new UtfAnyString("value"), true),
+            (w, typeArg, context) -> w.writeInt32(new UtfAnyString("value"), -1),
+            (w, typeArg, context) -> w.writeInt32(new UtfAnyString("value"), 0),
+            (w, typeArg, context) -> w.writeUInt32(new UtfAnyString("value"), 0x8000_0000L),
+            (w, typeArg, context) -> w.writeUInt32(new UtfAnyString("value"), 0xFFFF_FFFFL));
+
+        final ByteBuf[] encoded = new ByteBuf[writers.size()];
+
+        for (int i = 0; i < encoded.length; i++) {
+            final RowBuffer row = new RowBuffer(256);
+            row.initLayout(HybridRowVersion.V1, layout, resolver);
+            assertEquals(RowWriter.writeBuffer(row, "context", writers.get(i)), Result.SUCCESS);
+            encoded[i] = Unpooled.buffer();
+            encoder.encode(row, encoded[i]);
+        }
+
+        for (int i = 0; i < encoded.length; i++) {
+            for (int j = 0; j < encoded.length; j++) {
+                assertEquals(BinaryCollation.compare(encoded[i], encoded[j]), Integer.compare(i, j), i + " vs " + j);
+            }
+        }
+    }
+
+    private static RowBuffer write(Layout layout, LayoutResolver resolver, Key key) {
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Result result = RowWriter.writeBuffer(row, "context", (w, typeArg, context) -> {
+            Result r = key.rank != null ? w.writeInt32(new UtfAnyString("rank"), key.rank) : Result.SUCCESS;
+            r = r == Result.SUCCESS && key.name != null ? w.writeString(new UtfAnyString("name"), key.name) : r;
+            return r == Result.SUCCESS && key.score != null ? w.writeFloat64(new UtfAnyString("score"), key.score) : r;
+        });
+
+        assertEquals(result, Result.SUCCESS);
+        return row;
+    }
+
+    private static final class Key {
+
+        final String name;
+        final Integer rank;
+        final Double score;
+
+        Key(Integer rank, String name, Double score) {
+            this.rank = rank;
+            this.name = name;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + this.rank + ", " + this.name + ", " + this.score + ")";
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static java.lang.System.out;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Compares generic {@link LayoutTypePrimitive} access to fixed columns with {@link LayoutColumnAccessor} access.
+ * <p>
+ * Run with {@code mvn test -Dgroups=perf -Dtest=LayoutColumnAccessorBenchmark}.
+ */
+@Test(groups = "perf")
+public class LayoutColumnAccessorBenchmark {
+
+    private static final int COLUMNS = 8;
+    private static final int ITERATIONS = 2_000_000;
+    private static final int WARMUP_ITERATIONS = 200_000;
+
+    private LayoutColumnAccessor[] accessors;
+    private LayoutColumn[] columns;
+    private RowBuffer row;
+    private RowCursor scope;
+
+    @BeforeClass(groups = "perf")
+    public void setUp() {
+
+        final LayoutBuilder builder = new LayoutBuilder("benchmark", SchemaId.from(1));
+
+        for (int i = 0; i < COLUMNS; i++) {
+            builder.addFixedColumn("c" + i, LayoutTypes.INT_64, true, 0);
+        }
+
+        final Layout layout = builder.build();
+        final LayoutResolver resolver = new LayoutResolverSimple(schemaId -> layout);
+
+        this.row = new RowBuffer(layout.size() + 64);
+        this.row.initLayout(HybridRowVersion.V1, layout, resolver);
+        this.scope = RowCursor.create(this.row);
+
+        this.accessors = new LayoutColumnAccessor[COLUMNS];
+        this.columns = new LayoutColumn[COLUMNS];
+
+        for (int i = 0; i < COLUMNS; i++) {
+            this.columns[i] = layout.tryFind("c" + i).orElseThrow(IllegalStateException::new);
+            this.accessors[i] = layout.tryFindAccessor("c" + i).orElseThrow(IllegalStateException::new);
+            assertEquals(this.accessors[i].writeInt64(this.row, this.scope, i), Result.SUCCESS);
+        }
+    }
+
+    @Test(groups = "perf")
+    public void generic() {
+        this.generic(WARMUP_ITERATIONS);
+        final long start = System.nanoTime();
+        final long sum = this.generic(ITERATIONS);
+        report("generic", System.nanoTime() - start, sum);
+    }
+
+    @Test(groups = "perf")
+    public void specialized() {
+        this.specialized(WARMUP_ITERATIONS);
+        final long start = System.nanoTime();
+        final long sum = this.specialized(ITERATIONS);
+        report("specialized", System.nanoTime() - start, sum);
+    }
+
+    private long generic(final int iterations) {
+
+        final Out<Long> value = new Out<>();
+        long sum = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            for (LayoutColumn column : this.columns) {
+                final LayoutTypePrimitive<Long> type = column.typeAs();
+                assertTrue(type.readFixed(this.row, this.scope, column, value) == Result.SUCCESS);
+                sum += value.get();
+            }
+        }
+
+        return sum;
+    }
+
+    private long specialized(final int iterations) {
+
+        long sum = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            for (LayoutColumnAccessor accessor : this.accessors) {
+                sum += accessor.readInt64(this.row, this.scope);
+            }
+        }
+
+        return sum;
+    }
+
+    private static void report(final String name, final long elapsedNanos, final long sum) {
+        final double nanosPerRead = (double) elapsedNanos / ((long) ITERATIONS * COLUMNS);
+        out.println(lenientFormat("%s: %s ns/read (checksum %s)", name, String.format("%.2f", nanosPerRead), sum));
+        assertEquals(sum, (long) ITERATIONS * (COLUMNS * (COLUMNS - 1) / 2));
+    }
+}
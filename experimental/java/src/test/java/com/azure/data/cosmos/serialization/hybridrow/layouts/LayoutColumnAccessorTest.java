@@ -0,0 +1,249 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.RowCursor;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.UnixDateTime;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class LayoutColumnAccessorTest {
+
+    private static final UnixDateTime AT = new UnixDateTime(1_567_538_848_949L);
+    private static final UUID ID = UUID.fromString("1bd611bf-aa16-4554-9369-c3d80151226b");
+
+    private static final Map<String, LayoutType> TYPES = ImmutableMap.<String, LayoutType>builder()
+        .put("flag", LayoutTypes.BOOLEAN)
+        .put("i8", LayoutTypes.INT_8)
+        .put("i16", LayoutTypes.INT_16)
+        .put("i32", LayoutTypes.INT_32)
+        .put("i64", LayoutTypes.INT_64)
+        .put("u8", LayoutTypes.UINT_8)
+        .put("u16", LayoutTypes.UINT_16)
+        .put("u32", LayoutTypes.UINT_32)
+        .put("u64", LayoutTypes.UINT_64)
+        .put("f32", LayoutTypes.FLOAT_32)
+        .put("f64", LayoutTypes.FLOAT_64)
+        .put("id", LayoutTypes.GUID)
+        .put("at", LayoutTypes.UNIX_DATE_TIME)
+        .build();
+
+    private static final Map<String, Object> VALUES = ImmutableMap.<String, Object>builder()
+        .put("flag", true)
+        .put("i8", (byte) -8)
+        .put("i16", (short) -16)
+        .put("i32", -32)
+        .put("i64", -64L)
+        .put("u8", (short) 0xFF)
+        .put("u16", 0xFFFF)
+        .put("u32", 0xFFFF_FFFFL)
+        .put("u64", -1L)
+        .put("f32", 1.5F)
+        .put("f64", -2.25D)
+        .put("id", ID)
+        .put("at", AT)
+        .build();
+
+    @Test(groups = "unit")
+    public void testAbsent() {
+
+        final Layout layout = layout();
+        final RowBuffer row = row(layout);
+        final RowCursor scope = RowCursor.create(row);
+
+        // Reads of columns with no value return the default value of their type
+
+        for (String path : TYPES.keySet()) {
+            assertFalse(accessor(layout, path).hasValue(row, scope), path);
+        }
+
+        assertFalse(accessor(layout, "flag").readBoolean(row, scope));
+        assertEquals(accessor(layout, "i8").readInt8(row, scope), 0);
+        assertEquals(accessor(layout, "i16").readInt16(row, scope), 0);
+        assertEquals(accessor(layout, "i32").readInt32(row, scope), 0);
+        assertEquals(accessor(layout, "i64").readInt64(row, scope), 0L);
+        assertEquals(accessor(layout, "u8").readUInt8(row, scope), 0);
+        assertEquals(accessor(layout, "u16").readUInt16(row, scope), 0);
+        assertEquals(accessor(layout, "u32").readUInt32(row, scope), 0L);
+        assertEquals(accessor(layout, "u64").readUInt64(row, scope), 0L);
+        assertEquals(accessor(layout, "f32").readFloat32(row, scope), 0F);
+        assertEquals(accessor(layout, "f64").readFloat64(row, scope), 0D);
+        assertNull(accessor(layout, "id").readGuid(row, scope));
+        assertNull(accessor(layout, "at").readUnixDateTime(row, scope));
+    }
+
+    @Test(groups = "unit")
+    public void testImmutable() {
+
+        final Layout layout = layout();
+        final RowBuffer row = row(layout);
+        final byte[] expected = row.toArray();
+
+        // Writes into an immutable scope are rejected and leave the row unchanged
+
+        for (Result result : write(layout, row, RowCursor.create(row).immutable(true))) {
+            assertEquals(result, Result.INSUFFICIENT_PERMISSIONS);
+        }
+
+        assertEquals(row.toArray(), expected);
+
+        for (String path : TYPES.keySet()) {
+            assertFalse(accessor(layout, path).hasValue(row, RowCursor.create(row)), path);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testLookup() {
+
+        final Layout layout = layout();
+
+        // Each fixed column of a type with a specialized accessor has exactly one accessor
+
+        for (String path : TYPES.keySet()) {
+            final LayoutColumnAccessor accessor = accessor(layout, path);
+            assertSame(layout.tryFindAccessor(path).orElse(null), accessor);
+            assertSame(accessor.column(), layout.tryFind(path).orElse(null));
+        }
+
+        assertFalse(layout.tryFindAccessor("when").isPresent());
+        assertFalse(layout.tryFindAccessor("name").isPresent());
+        assertFalse(layout.tryFindAccessor("missing").isPresent());
+
+        final LayoutColumn name = layout.tryFind("name").orElseThrow(() -> new AssertionError("name"));
+        assertThrows(IllegalArgumentException.class, () -> LayoutColumnAccessor.of(name));
+
+        // An accessor is used only for its column's type
+
+        final RowBuffer row = row(layout);
+        final RowCursor scope = RowCursor.create(row);
+        final LayoutColumnAccessor i32 = accessor(layout, "i32");
+
+        assertThrows(UnsupportedOperationException.class, () -> i32.readInt64(row, scope));
+        assertThrows(UnsupportedOperationException.class, () -> i32.writeInt16(row, scope, (short) 1));
+        assertThrows(UnsupportedOperationException.class, () -> accessor(layout, "u32").readInt32(row, scope));
+    }
+
+    @Test(groups = "unit")
+    public void testReadWrite() {
+
+        final Layout layout = layout();
+        final RowBuffer row = row(layout);
+        final RowCursor scope = RowCursor.create(row);
+        final int length = row.length();
+
+        for (Result result : write(layout, row, scope)) {
+            assertEquals(result, Result.SUCCESS);
+        }
+
+        // Values are written in place at their column's offset, where the generic readers find them
+
+        assertEquals(row.length(), length);
+
+        for (String path : TYPES.keySet()) {
+            assertTrue(accessor(layout, path).hasValue(row, scope), path);
+            assertEquals(readFixed(layout, row, scope, path), VALUES.get(path), path);
+        }
+
+        assertTrue(accessor(layout, "flag").readBoolean(row, scope));
+        assertEquals(accessor(layout, "i8").readInt8(row, scope), (byte) -8);
+        assertEquals(accessor(layout, "i16").readInt16(row, scope), (short) -16);
+        assertEquals(accessor(layout, "i32").readInt32(row, scope), -32);
+        assertEquals(accessor(layout, "i64").readInt64(row, scope), -64L);
+        assertEquals(accessor(layout, "u8").readUInt8(row, scope), (short) 0xFF);
+        assertEquals(accessor(layout, "u16").readUInt16(row, scope), 0xFFFF);
+        assertEquals(accessor(layout, "u32").readUInt32(row, scope), 0xFFFF_FFFFL);
+        assertEquals(accessor(layout, "u64").readUInt64(row, scope), -1L);
+        assertEquals(accessor(layout, "f32").readFloat32(row, scope), 1.5F);
+        assertEquals(accessor(layout, "f64").readFloat64(row, scope), -2.25D);
+        assertEquals(accessor(layout, "id").readGuid(row, scope), ID);
+        assertEquals(accessor(layout, "at").readUnixDateTime(row, scope), AT);
+
+        // Rewriting a column changes only that column
+
+        assertEquals(accessor(layout, "flag").writeBoolean(row, scope, false), Result.SUCCESS);
+        assertEquals(accessor(layout, "i16").writeInt16(row, scope, Short.MAX_VALUE), Result.SUCCESS);
+
+        assertTrue(accessor(layout, "flag").hasValue(row, scope));
+        assertFalse(accessor(layout, "flag").readBoolean(row, scope));
+        assertEquals(accessor(layout, "i16").readInt16(row, scope), Short.MAX_VALUE);
+        assertEquals(accessor(layout, "i8").readInt8(row, scope), (byte) -8);
+        assertEquals(accessor(layout, "i32").readInt32(row, scope), -32);
+        assertEquals(row.length(), length);
+    }
+
+    private static LayoutColumnAccessor accessor(Layout layout, String path) {
+        return layout.tryFindAccessor(path).orElseThrow(() -> new AssertionError(path));
+    }
+
+    private static Layout layout() {
+
+        final LayoutBuilder builder = new LayoutBuilder("accessors", SchemaId.from(1));
+
+        for (Map.Entry<String, LayoutType> entry : TYPES.entrySet()) {
+            builder.addFixedColumn(entry.getKey(), entry.getValue(), true, 0);
+        }
+
+        builder.addFixedColumn("when", LayoutTypes.DATE_TIME, true, 0);
+        builder.addVariableColumn("name", LayoutTypes.UTF_8, 0);
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readFixed(Layout layout, RowBuffer row, RowCursor scope, String path) {
+
+        final LayoutColumn column = layout.tryFind(path).orElseThrow(() -> new AssertionError(path));
+        final Out<Object> value = new Out<>();
+
+        assertEquals(((LayoutTypePrimitive<Object>) column.type()).readFixed(row, scope, column, value),
+            Result.SUCCESS);
+
+        return value.get();
+    }
+
+    private static RowBuffer row(Layout layout) {
+        final RowBuffer row = new RowBuffer(layout.size() + 64);
+        row.initLayout(HybridRowVersion.V1, layout, new LayoutResolverSimple(schemaId -> layout));
+        return row;
+    }
+
+    private static List<Result> write(Layout layout, RowBuffer row, RowCursor scope) {
+
+        final List<Result> results = new ArrayList<>();
+
+        results.add(accessor(layout, "flag").writeBoolean(row, scope, true));
+        results.add(accessor(layout, "i8").writeInt8(row, scope, (byte) -8));
+        results.add(accessor(layout, "i16").writeInt16(row, scope, (short) -16));
+        results.add(accessor(layout, "i32").writeInt32(row, scope, -32));
+        results.add(accessor(layout, "i64").writeInt64(row, scope, -64L));
+        results.add(accessor(layout, "u8").writeUInt8(row, scope, (short) 0xFF));
+        results.add(accessor(layout, "u16").writeUInt16(row, scope, 0xFFFF));
+        results.add(accessor(layout, "u32").writeUInt32(row, scope, 0xFFFF_FFFFL));
+        results.add(accessor(layout, "u64").writeUInt64(row, scope, -1L));
+        results.add(accessor(layout, "f32").writeFloat32(row, scope, 1.5F));
+        results.add(accessor(layout, "f64").writeFloat64(row, scope, -2.25D));
+        results.add(accessor(layout, "id").writeGuid(row, scope, ID));
+        results.add(accessor(layout, "at").writeUnixDateTime(row, scope, AT));
+
+        assertEquals(results.size(), TYPES.size());
+        return results;
+    }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Schema;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SchemaHash;
+import org.testng.annotations.Test;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class LayoutPackingReportTest {
+
+    @Test(groups = "unit")
+    public void testPacking() {
+
+        final Namespace unpacked = parse(false);
+        final Namespace packed = parse(true);
+
+        final Layout layout = packed.schemas().get(0).compile(packed);
+        final Layout expected = unpacked.schemas().get(0).compile(unpacked);
+
+        // Hot columns come first, then columns in order of decreasing alignment; ties keep their declaration order
+
+        assertEquals(offsets(expected), "a@0 b@1 c@9 d@13 e@15 f@23");
+        assertEquals(offsets(layout), "e@0 a@8 b@9 c@17 f@21 d@25");
+        assertEquals(layout.size(), expected.size());
+        assertEquals(layout.numBitmaskBytes(), expected.numBitmaskBytes());
+
+        final HashCode128 seed = HashCode128.of(0, 0);
+        assertNotEquals(SchemaHash.computeHash(packed, packed.schemas().get(0), seed),
+            SchemaHash.computeHash(unpacked, unpacked.schemas().get(0), seed));
+
+        final LayoutPackingReport report = LayoutPackingReport.of(unpacked).get(0);
+
+        assertEquals(report.unpackedSpan(), 23);
+        assertEquals(report.packedSpan(), 9);
+        assertEquals(report.bytesSaved(), 14);
+        assertEquals(report.size(), expected.size());
+        assertTrue(report.toString().startsWith("P (1): hot span 23 -> 9 bytes (14 saved)"), report.toString());
+    }
+
+    private static String offsets(Layout layout) {
+        final StringBuilder builder = new StringBuilder();
+        for (LayoutColumn column : layout.columns()) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(column.path()).append('@').append(column.offset());
+        }
+        return builder.toString();
+    }
+
+    private static Namespace parse(boolean pack) {
+
+        final String json = lenientFormat("{\"name\": \"N\", \"version\": \"v1\", \"schemas\": [{\"name\": \"P\", "
+            + "\"id\": 1, \"type\": \"schema\", \"options\": {\"packFixedColumns\": %s}, \"properties\": ["
+            + "{\"path\": \"a\", \"hot\": true, \"type\": {\"type\": \"uint8\", \"storage\": \"fixed\", "
+            + "\"nullable\": false}}, "
+            + "{\"path\": \"b\", \"type\": {\"type\": \"int64\", \"storage\": \"fixed\", \"nullable\": false}}, "
+            + "{\"path\": \"c\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\", \"nullable\": false}}, "
+            + "{\"path\": \"d\", \"type\": {\"type\": \"int16\", \"storage\": \"fixed\", \"nullable\": false}}, "
+            + "{\"path\": \"e\", \"hot\": true, \"type\": {\"type\": \"float64\", \"storage\": \"fixed\", "
+            + "\"nullable\": false}}, "
+            + "{\"path\": \"f\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\", \"nullable\": false}}]}]}",
+            pack);
+
+        return Namespace.parse(json).orElseThrow(() -> new AssertionError("failed to parse namespace"));
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.fail;
+
+@Test(groups = "unit")
+public class LayoutResolverDirectoryTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    @Test(groups = "unit")
+    public void testReload() throws IOException {
+
+        final Path directory = Files.createTempDirectory("schemas");
+        write(directory, "a.json", "A", 101);
+
+        try (LayoutResolverDirectory resolver = new LayoutResolverDirectory(directory, null)) {
+
+            final Layout a = resolver.resolve(SchemaId.from(101));
+            assertEquals(a.name(), "A101");
+            assertThrows(IllegalStateException.class, () -> resolver.resolve(SchemaId.from(102)));
+
+            write(directory, "b.json", "B", 102);
+            resolver.reload();
+            assertEquals(resolver.resolve(SchemaId.from(102)).name(), "B102");
+
+            // A file that cannot be parsed leaves its previous version in place
+
+            Files.write(directory.resolve("a.json"), "{".getBytes(StandardCharsets.UTF_8));
+            resolver.reload();
+            assertSame(resolver.resolve(SchemaId.from(101)), a);
+
+            // A removed schema remains resolvable while its layout is in use
+
+            Files.delete(directory.resolve("a.json"));
+            resolver.reload();
+            assertSame(resolver.resolve(SchemaId.from(101)), a);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testWatch() throws IOException, InterruptedException {
+
+        final Path directory = Files.createTempDirectory("schemas");
+
+        try (LayoutResolverDirectory resolver = new LayoutResolverDirectory(directory, null)) {
+
+            write(directory, "c.json", "C", 103);
+            final long start = System.nanoTime();
+
+            while (true) {
+                try {
+                    assertEquals(resolver.resolve(SchemaId.from(103)).name(), "C103");
+                    break;
+                } catch (IllegalStateException error) {
+                    if (System.nanoTime() - start > TIMEOUT) {
+                        fail("expected the watcher to load c.json");
+                    }
+                    Thread.sleep(50);
+                }
+            }
+        }
+    }
+
+    private static void write(Path directory, String file, String name, int id) throws IOException {
+        final String json = lenientFormat("{\"name\": \"%s\", \"version\": \"v1\", \"schemas\": [{\"name\": \"%s%s\", "
+            + "\"id\": %s, \"type\": \"schema\", \"properties\": [{\"path\": \"a\", \"type\": {\"type\": \"int32\", "
+            + "\"storage\": \"fixed\"}}]}]}", name, name, id, id);
+        final Path temp = Files.write(directory.resolve(file + ".tmp"), json.getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, directory.resolve(file), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,286 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.UdtPropertyType;
+import com.google.common.cache.CacheStats;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class LayoutResolverNamespaceTest {
+
+    private static final int CHAIN = 64;
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Order\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"customer\", \"type\": {\"type\": \"schema\", \"name\": \"Customer\"}}, "
+        + "{\"path\": \"address\", \"type\": {\"type\": \"schema\", \"name\": \"Address\", \"id\": 3}}]}, "
+        + "{\"name\": \"Customer\", \"id\": 2, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"home\", \"type\": {\"type\": \"schema\", \"name\": \"Address\", \"id\": 3}}]}, "
+        + "{\"name\": \"Address\", \"id\": 3, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"city\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}]}]}";
+
+    @Test(groups = "unit")
+    public void testCapacityBytes() {
+
+        final Namespace namespace = parse(chain());
+        final long maximum = 8L * new LayoutResolverNamespace(namespace).resolve(SchemaId.from(1)).estimatedSize();
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(
+            namespace, null, LayoutResolverNamespace.Capacity.bytes(maximum));
+
+        resolveAll(resolver);
+
+        long cached = 0;
+        int count = 0;
+
+        for (int id = 1; id <= CHAIN; id++) {
+            final Layout layout = resolver.cached(SchemaId.from(id));
+            if (layout != null) {
+                cached += layout.estimatedSize();
+                count++;
+            }
+        }
+
+        assertTrue(cached <= maximum, cached + " > " + maximum);
+        assertEquals(resolver.stats().evictionCount(), CHAIN - count);
+        assertNotNull(resolver.cached(SchemaId.from(CHAIN)));
+        assertEquals(LayoutResolverNamespace.Capacity.bytes(maximum).toString(), maximum + " bytes");
+    }
+
+    @Test(groups = "unit")
+    public void testCapacityEntries() {
+
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(
+            parse(chain()), null, LayoutResolverNamespace.Capacity.entries(8));
+
+        resolveAll(resolver);
+
+        int count = 0;
+
+        for (int id = 1; id <= CHAIN; id++) {
+            if (resolver.cached(SchemaId.from(id)) != null) {
+                count++;
+            }
+        }
+
+        assertTrue(count <= 8, count + " > 8");
+        assertEquals(resolver.stats().evictionCount(), CHAIN - count);
+        assertNotNull(resolver.cached(SchemaId.from(CHAIN)));
+
+        // A layout that has been evicted is compiled again
+
+        final Layout first = resolver.resolve(SchemaId.from(1));
+        assertEquals(resolver.stats().loadSuccessCount(), CHAIN + 1);
+        assertSame(resolver.cached(SchemaId.from(1)), first);
+
+        final LayoutResolverNamespace none = new LayoutResolverNamespace(
+            parse(chain()), null, LayoutResolverNamespace.Capacity.entries(0));
+
+        none.resolve(SchemaId.from(1));
+        assertNull(none.cached(SchemaId.from(1)));
+
+        assertEquals(LayoutResolverNamespace.Capacity.entries(8).toString(), "8 entries");
+        assertEquals(LayoutResolverNamespace.Capacity.UNBOUNDED.toString(), "unbounded");
+        assertThrows(IllegalArgumentException.class, () -> LayoutResolverNamespace.Capacity.entries(-1));
+        assertThrows(IllegalArgumentException.class, () -> LayoutResolverNamespace.Capacity.bytes(-1));
+    }
+
+    @Test(groups = "unit")
+    public void testConcurrentMisses() throws Exception {
+
+        // Threads that miss on a schema that is being resolved wait on that resolution rather than starting another
+
+        final Layout layout = new LayoutResolverNamespace(parse(chain())).resolve(SchemaId.from(CHAIN));
+        final AtomicInteger resolutions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(parse(NAMESPACE),
+            new LayoutResolverSimple(schemaId -> {
+                resolutions.incrementAndGet();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException error) {
+                    throw new AssertionError(error);
+                }
+                return layout;
+            }));
+
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Thread> started = new CopyOnWriteArrayList<>();
+
+        try {
+
+            final List<Future<Layout>> futures = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    started.add(Thread.currentThread());
+                    return resolver.resolve(layout.schemaId());
+                }));
+            }
+
+            // Release the resolution once every thread is blocked in resolve
+
+            while (started.size() < threads || !started.stream().allMatch(thread ->
+                thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)) {
+                Thread.sleep(1);
+            }
+
+            release.countDown();
+
+            for (Future<Layout> future : futures) {
+                assertSame(future.get(), layout);
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(resolutions.get(), 1);
+        assertEquals(resolver.stats().loadSuccessCount(), 1);
+    }
+
+    @Test(groups = "unit")
+    public void testStats() {
+
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(parse(NAMESPACE));
+
+        resolver.resolve(SchemaId.from(1));
+        resolver.resolve(SchemaId.from(1));
+        resolver.resolve(SchemaId.from(2));
+        resolver.cached(SchemaId.from(3));
+        assertThrows(IllegalStateException.class, () -> resolver.resolve(SchemaId.from(99)));
+
+        // Each cache lookup is a hit or a miss, and each miss that resolves a layout is a successful load
+
+        final CacheStats stats = resolver.stats();
+
+        assertEquals(stats.hitCount(), 1);
+        assertEquals(stats.missCount(), 4);
+        assertEquals(stats.loadSuccessCount(), 2);
+        assertEquals(stats.loadExceptionCount(), 1);
+        assertEquals(stats.evictionCount(), 0);
+        assertTrue(stats.totalLoadTime() > 0);
+    }
+
+    @Test(groups = "unit")
+    public void testCompileAll() {
+
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(parse(chain()));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        // Each schema refers to the next by name, so each compilation looks up a schema that may not be compiled yet
+
+        try {
+            assertSame(resolver.compileAll(pool), resolver);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(resolver.stats().missCount(), CHAIN);
+
+        for (int id = 1; id <= CHAIN; id++) {
+
+            final Layout layout = resolver.cached(SchemaId.from(id));
+            assertNotNull(layout, "schema " + id);
+            assertSame(resolver.resolve(SchemaId.from(id)), layout);
+
+            if (id < CHAIN) {
+                assertEquals(udt(layout, "next"), SchemaId.from(id + 1));
+            }
+        }
+
+        // Both the lookups of cached layouts and their resolution are counted as hits
+
+        assertEquals(resolver.stats().missCount(), CHAIN);
+        assertEquals(resolver.stats().hitCount(), 2 * CHAIN);
+    }
+
+    @Test(groups = "unit")
+    public void testSchemaLookup() {
+
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(parse(NAMESPACE));
+
+        // References by name alone and by name and id resolve to schema elsewhere in the namespace
+
+        final Layout order = resolver.resolve(SchemaId.from(1));
+        assertEquals(udt(order, "customer"), SchemaId.from(2));
+        assertEquals(udt(order, "address"), SchemaId.from(3));
+        assertEquals(udt(resolver.resolve(SchemaId.from(2)), "home"), SchemaId.from(3));
+
+        // References to an id that names another schema and to a name that names no schema are rejected when they
+        // get past validation, as they do when a schema is modified after it is parsed
+
+        final Namespace ambiguous = parse(NAMESPACE);
+        reference(ambiguous, "customer").schemaId(SchemaId.from(3));
+        assertThrows(LayoutCompilationException.class, () -> new LayoutResolverNamespace(ambiguous).compileAll());
+
+        final Namespace unresolved = parse(NAMESPACE);
+        reference(unresolved, "customer").name("Missing");
+        assertThrows(LayoutCompilationException.class, () -> new LayoutResolverNamespace(unresolved).compileAll());
+    }
+
+    private static String chain() {
+
+        final StringBuilder builder = new StringBuilder("{\"name\": \"N\", \"version\": \"v1\", \"schemas\": [");
+
+        for (int id = 1; id <= CHAIN; id++) {
+            builder.append(id > 1 ? ", " : "")
+                .append("{\"name\": \"S").append(id).append("\", \"id\": ").append(id)
+                .append(", \"type\": \"schema\", \"properties\": [")
+                .append("{\"path\": \"value\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}");
+            if (id < CHAIN) {
+                builder.append(", {\"path\": \"next\", \"type\": {\"type\": \"schema\", \"name\": \"S")
+                    .append(id + 1).append("\"}}");
+            }
+            builder.append("]}");
+        }
+
+        return builder.append("]}").toString();
+    }
+
+    private static void resolveAll(LayoutResolverNamespace resolver) {
+        for (int id = 1; id <= CHAIN; id++) {
+            assertEquals(resolver.resolve(SchemaId.from(id)).schemaId(), SchemaId.from(id));
+        }
+    }
+
+    private static Namespace parse(String json) {
+        return Namespace.parse(json).orElseThrow(() -> new AssertionError("failed to parse namespace"));
+    }
+
+    private static UdtPropertyType reference(Namespace namespace, String path) {
+        return (UdtPropertyType) namespace.schemas().get(0).properties().stream()
+            .filter(property -> property.path().equals(path))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError(path))
+            .type();
+    }
+
+    private static SchemaId udt(Layout layout, String path) {
+        final LayoutColumn column = layout.tryFind(path).orElseThrow(() -> new AssertionError(path));
+        return column.typeArgs().schemaId();
+    }
+}
@@ -0,0 +1,232 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Schema;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.SchemaHash;
+import com.azure.data.cosmos.serialization.hybridrow.internal.Crc32;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.google.common.base.Strings.lenientFormat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+@Test(groups = "unit")
+public class LayoutStoreTest {
+
+    private static final String basedir = System.getProperty("project.basedir", System.getProperty("user.dir"));
+    private static final Path SCHEMA_FILE = Paths.get(basedir, "test-data", "RootSegment.json");
+
+    // The magic number, version, hash, length, and checksum that precede the checksummed bytes of a serialized layout
+
+    private static final int CHECKSUMMED = Integer.BYTES + Byte.BYTES + 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    private Namespace namespace;
+
+    @BeforeClass(groups = "unit")
+    public void setUp() {
+        this.namespace = Namespace.parse(SCHEMA_FILE.toFile()).orElseThrow(() ->
+            new AssertionError(lenientFormat("failed to load %s", SCHEMA_FILE)));
+    }
+
+    @Test(groups = "unit")
+    public void testCorruptRecords() {
+
+        for (Schema schema : this.namespace.schemas()) {
+
+            final HashCode128 hash = this.hash(schema);
+            final byte[] bytes = serialize(schema.compile(this.namespace), hash);
+
+            assertTrue(read(bytes, schema, hash).isPresent(), schema.name());
+
+            // A truncated record or one with a flipped bit is rejected by its checksum
+
+            for (int length = 0; length < bytes.length; length++) {
+                assertFalse(read(Arrays.copyOf(bytes, length), schema, hash).isPresent(), schema.name());
+            }
+
+            for (int index = 0; index < bytes.length; index++) {
+                final byte[] corrupt = bytes.clone();
+                corrupt[index] ^= 0x10;
+                assertFalse(read(corrupt, schema, hash).isPresent(), lenientFormat("%s[%s]", schema.name(), index));
+            }
+
+            // A corrupt count or length with a valid checksum is rejected before anything is allocated for it
+
+            for (int index = CHECKSUMMED; index <= bytes.length - Integer.BYTES; index++) {
+                for (int value : new int[] { -1, Integer.MIN_VALUE, Integer.MAX_VALUE, bytes.length }) {
+                    final ByteBuf corrupt = Unpooled.wrappedBuffer(bytes.clone());
+                    corrupt.setIntLE(index, value);
+                    corrupt.setIntLE(CHECKSUMMED - Integer.BYTES,
+                        Crc32.compute(corrupt, CHECKSUMMED, bytes.length - CHECKSUMMED));
+                    LayoutSerializer.read(corrupt, schema.schemaId(), hash);
+                }
+            }
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testCorruptStore() throws IOException {
+
+        final Path directory = Files.createTempDirectory("layouts");
+
+        try (LayoutStore store = LayoutStore.directory(directory)) {
+            this.verifyRoundTrip(store);
+        }
+
+        // Corrupt layouts are reported as absent and so are compiled and stored again
+
+        for (Schema schema : this.namespace.schemas()) {
+            final Path file = directory.resolve(this.hash(schema).toString() + ".layout");
+            final byte[] bytes = Files.readAllBytes(file);
+            bytes[bytes.length / 2] ^= 0x01;
+            Files.write(file, bytes);
+        }
+
+        try (LayoutStore store = LayoutStore.directory(directory)) {
+            this.verifyRoundTrip(store);
+        }
+
+        try (LayoutStore store = LayoutStore.directory(directory)) {
+            this.verifyLoad(store);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testDirectory() throws IOException {
+
+        final Path directory = Files.createTempDirectory("layouts");
+
+        try (LayoutStore store = LayoutStore.directory(directory)) {
+            this.verifyRoundTrip(store);
+        }
+
+        try (LayoutStore store = LayoutStore.directory(directory)) {
+            this.verifyLoad(store);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testMapped() throws IOException {
+
+        final Path file = Files.createTempFile("layouts", ".bin");
+
+        try (LayoutStore store = LayoutStore.mapped(file)) {
+            this.verifyRoundTrip(store);
+        }
+
+        // A torn record at the end of the file is discarded
+
+        Files.write(file, new byte[] { 100, 0, 0, 0, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        try (LayoutStore store = LayoutStore.mapped(file)) {
+            this.verifyLoad(store);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testMappedOpenedTwice() throws IOException {
+
+        final Path file = Files.createTempFile("layouts", ".bin");
+
+        // Layouts are stored by the first store to open a file; a second store in the process cannot lock the file
+
+        try (LayoutStore store = LayoutStore.mapped(file); FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.WRITE); FileLock ignored = channel.lock()) {
+
+            assertThrows(IOException.class, () -> LayoutStore.mapped(file));
+
+            final LayoutResolverNamespace resolver = new LayoutResolverNamespace(
+                this.namespace, null, LayoutResolverNamespace.Capacity.UNBOUNDED, store);
+
+            for (Schema schema : this.namespace.schemas()) {
+                final Layout layout = resolver.resolve(schema.schemaId());
+                assertEquals(layout.toString(), schema.compile(this.namespace).toString());
+            }
+        }
+
+        try (LayoutStore store = LayoutStore.mapped(file)) {
+            this.verifyRoundTrip(store);
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testMappedShortRecord() throws IOException {
+
+        // A record too short to hold a layout header is skipped and the records that follow it are loaded
+
+        final Path file = Files.createTempFile("layouts", ".bin");
+        Files.write(file, new byte[] { 3, 0, 0, 0, 1, 2, 3 });
+
+        try (LayoutStore store = LayoutStore.mapped(file)) {
+            this.verifyRoundTrip(store);
+        }
+
+        try (LayoutStore store = LayoutStore.mapped(file)) {
+            this.verifyLoad(store);
+        }
+    }
+
+    private static Optional<Layout> read(byte[] bytes, Schema schema, HashCode128 hash) {
+        return LayoutSerializer.read(Unpooled.wrappedBuffer(bytes), schema.schemaId(), hash);
+    }
+
+    private static byte[] serialize(Layout layout, HashCode128 hash) {
+        final ByteBuf buffer = Unpooled.buffer();
+        LayoutSerializer.write(buffer, layout, hash);
+        return ByteBufUtil.getBytes(buffer);
+    }
+
+    private HashCode128 hash(Schema schema) {
+        return SchemaHash.computeHash(this.namespace, schema, HashCode128.of(0, 0));
+    }
+
+    private void verifyLoad(LayoutStore store) {
+
+        for (Schema schema : this.namespace.schemas()) {
+
+            final HashCode128 hash = this.hash(schema);
+            final Optional<Layout> layout = store.load(schema.schemaId(), hash);
+
+            assertTrue(layout.isPresent(), schema.name());
+            assertEquals(serialize(layout.get(), hash), serialize(schema.compile(this.namespace), hash));
+            assertFalse(store.load(schema.schemaId(), HashCode128.of(hash.low(), ~hash.high())).isPresent());
+        }
+    }
+
+    private void verifyRoundTrip(LayoutStore store) {
+
+        for (Schema schema : this.namespace.schemas()) {
+            assertFalse(store.load(schema.schemaId(), this.hash(schema)).isPresent());
+        }
+
+        final LayoutResolverNamespace resolver = new LayoutResolverNamespace(
+            this.namespace, null, LayoutResolverNamespace.Capacity.UNBOUNDED, store);
+
+        for (Schema schema : this.namespace.schemas()) {
+            final Layout layout = resolver.resolve(schema.schemaId());
+            assertEquals(layout.toString(), schema.compile(this.namespace).toString());
+        }
+
+        this.verifyLoad(store);
+    }
+}
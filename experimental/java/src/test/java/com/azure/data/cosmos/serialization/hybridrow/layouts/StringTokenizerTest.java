@@ -0,0 +1,73 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Utf8String;
+import com.azure.data.cosmos.core.UtfAnyString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+@Test(groups = "unit")
+public class StringTokenizerTest {
+
+    private static final int COUNT = 1000;
+
+    @Test(groups = "unit")
+    public void testAddAndFind() {
+
+        final StringTokenizer tokenizer = new StringTokenizer();
+        final StringToken[] tokens = new StringToken[COUNT];
+
+        assertEquals(tokenizer.count(), 1);
+        assertSame(tokenizer.tryFindToken(new UtfAnyString("")).orElse(null), StringToken.NONE);
+
+        for (int i = 0; i < COUNT; i++) {
+            tokens[i] = tokenizer.add(Utf8String.transcodeUtf16(path(i)));
+            assertEquals(tokens[i].id(), i + 1);
+        }
+
+        assertEquals(tokenizer.count(), COUNT + 1);
+
+        for (int i = 0; i < COUNT; i++) {
+
+            final String path = path(i);
+
+            assertSame(tokenizer.add(Utf8String.transcodeUtf16(path)), tokens[i]);
+            assertSame(tokenizer.tryFindToken(new UtfAnyString(path)).orElse(null), tokens[i]);
+            assertSame(tokenizer.tryFindToken(new UtfAnyString(Utf8String.transcodeUtf16(path))).orElse(null),
+                tokens[i]);
+            assertSame(tokenizer.findString(i + 1), tokens[i].path());
+        }
+
+        assertFalse(tokenizer.tryFindToken(new UtfAnyString(path(COUNT))).isPresent());
+        assertFalse(tokenizer.tryFindString(COUNT + 1).isPresent());
+        assertNull(tokenizer.findString(COUNT + 1));
+    }
+
+    @Test(groups = "unit")
+    public void testFindTokenInBuffer() {
+
+        final StringTokenizer tokenizer = new StringTokenizer();
+        final StringToken token = tokenizer.add(Utf8String.transcodeUtf16("a.b.c"));
+        final ByteBuf buffer = Unpooled.wrappedBuffer("xxa.b.cxx".getBytes(StandardCharsets.UTF_8));
+
+        assertSame(tokenizer.findToken(buffer, 2, 5), token);
+        assertSame(tokenizer.findToken(buffer, 2, 0), StringToken.NONE);
+        assertNull(tokenizer.findToken(buffer, 2, 4));
+        assertNull(tokenizer.findToken(buffer, 1, 5));
+        assertEquals(buffer.readerIndex(), 0);
+    }
+
+    private static String path(int i) {
+        return "field" + i + (i % 2 == 0 ? ".nested" : "é");
+    }
+}
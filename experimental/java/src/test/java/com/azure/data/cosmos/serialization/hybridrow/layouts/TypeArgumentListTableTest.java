@@ -0,0 +1,157 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.layouts;
+
+import com.azure.data.cosmos.core.Out;
+import com.azure.data.cosmos.core.UtfAnyString;
+import com.azure.data.cosmos.serialization.hybridrow.HybridRowVersion;
+import com.azure.data.cosmos.serialization.hybridrow.Result;
+import com.azure.data.cosmos.serialization.hybridrow.RowBuffer;
+import com.azure.data.cosmos.serialization.hybridrow.SchemaId;
+import com.azure.data.cosmos.serialization.hybridrow.io.RowReader;
+import com.azure.data.cosmos.serialization.hybridrow.io.RowWriter;
+import com.azure.data.cosmos.serialization.hybridrow.schemas.Namespace;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+@Test(groups = "unit")
+public class TypeArgumentListTableTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Event\", \"id\": 1, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"tags\", \"type\": {\"type\": \"array\", "
+        + "\"items\": {\"type\": \"utf8\", \"storage\": \"sparse\", \"nullable\": false}}}]}]}";
+
+    private static final TypeArgumentList PAIR = new TypeArgumentList(
+        LayoutTypes.INT_32.typeArg(), LayoutTypes.UTF_8.typeArg());
+
+    @Test(groups = "unit")
+    public void testMaxEntries() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+
+        // Each tuple arity is a distinct encoding: those read once the table is full are read anew each time
+
+        for (int arity = 1; arity <= TypeArgumentListTable.MAX_ENTRIES + 1; arity++) {
+
+            final List<TypeArgument> args = Collections.nCopies(arity, LayoutTypes.INT_32.typeArg());
+            final TypeArgument tuple = new TypeArgument(LayoutTypes.TUPLE, new TypeArgumentList(
+                args.toArray(new TypeArgument[0])));
+
+            final RowBuffer row = write(layout, resolver, (w, typeArg, context) ->
+                w.writeScope(new UtfAnyString("loose"), tuple, context, (nested, nestedTypeArg, nestedContext) -> {
+                    Result r = Result.SUCCESS;
+                    for (int i = 0; r == Result.SUCCESS && i < args.size(); i++) {
+                        r = nested.writeInt32(null, i);
+                    }
+                    return r;
+                }));
+
+            final List<TypeArgumentList> first = typeArgs(row);
+            final List<TypeArgumentList> second = typeArgs(row);
+
+            assertEquals(first.get(0), tuple.typeArgs());
+            assertEquals(second.get(0), tuple.typeArgs());
+
+            if (arity <= TypeArgumentListTable.MAX_ENTRIES) {
+                assertSame(second.get(0), first.get(0), "arity " + arity);
+            } else {
+                assertNotSame(second.get(0), first.get(0), "arity " + arity);
+            }
+        }
+    }
+
+    @Test(groups = "unit")
+    public void testSharedLists() {
+
+        final LayoutResolver resolver = resolver();
+        final Layout layout = resolver.resolve(SchemaId.from(1));
+        final TypeArgumentList tags = layout.tryFind("tags").map(LayoutColumn::typeArgs).orElseThrow(() ->
+            new AssertionError("tags"));
+
+        // The untyped tuple precedes a field that is read only if the length of the tuple's type arguments is read
+        // correctly
+
+        final RowBuffer row = write(layout, resolver, (w, typeArg, context) -> {
+            Result r = w.writeScope(new UtfAnyString("tags"), new TypeArgument(LayoutTypes.TYPED_ARRAY, tags),
+                context, (nested, nestedTypeArg, nestedContext) -> {
+                    final Result n = nested.writeString(null, "a");
+                    return n == Result.SUCCESS ? nested.writeString(null, "b") : n;
+                });
+            r = r == Result.SUCCESS ? writePair(w, "pair", new TypeArgument(LayoutTypes.TUPLE, PAIR)) : r;
+            return r == Result.SUCCESS ? w.writeString(new UtfAnyString("after"), "z") : r;
+        });
+
+        // A field with the type arguments of a column yields the column's instance, and every read of the same field
+        // yields the same instance
+
+        final List<TypeArgumentList> first = typeArgs(row);
+        final List<TypeArgumentList> second = typeArgs(row);
+
+        assertEquals(first.size(), 3);
+        assertSame(first.get(0), tags);
+        assertEquals(first.get(1), PAIR);
+        assertSame(first.get(2), TypeArgumentList.EMPTY);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertSame(second.get(i), first.get(i));
+        }
+
+        // The length of the type arguments of each tuple type spans the count and all of the arguments
+
+        final RowBuffer buffer = new RowBuffer(256);
+        buffer.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        final Out<Integer> lengthInBytes = new Out<>();
+
+        for (LayoutType type : new LayoutType[] { LayoutTypes.TUPLE, LayoutTypes.TYPED_TUPLE }) {
+            final int offset = buffer.length();
+            final int length = type.writeTypeArgument(buffer, offset, PAIR);
+            assertEquals(type.readTypeArgumentList(buffer, offset + LayoutCode.BYTES, lengthInBytes), PAIR);
+            assertEquals(lengthInBytes.get().intValue(), length - LayoutCode.BYTES, type.name());
+        }
+    }
+
+    private static LayoutResolver resolver() {
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+        return new LayoutResolverNamespace(namespace);
+    }
+
+    private static List<TypeArgumentList> typeArgs(RowBuffer row) {
+
+        final List<TypeArgumentList> typeArgs = new ArrayList<>();
+        final RowReader reader = new RowReader(row);
+
+        while (reader.read()) {
+            typeArgs.add(reader.typeArgs());
+        }
+
+        return typeArgs;
+    }
+
+    private static RowBuffer write(Layout layout, LayoutResolver resolver, RowWriter.WriterFunc<String> func) {
+
+        final RowBuffer row = new RowBuffer(256);
+        row.initLayout(HybridRowVersion.V1, layout, resolver);
+
+        assertEquals(RowWriter.writeBuffer(row, "context", func), Result.SUCCESS);
+        return row;
+    }
+
+    private static Result writePair(RowWriter writer, String path, TypeArgument typeArg) {
+        return writer.writeScope(new UtfAnyString(path), typeArg, null, (nested, nestedTypeArg, nestedContext) -> {
+            final Result r = nested.writeInt32(null, 1);
+            return r == Result.SUCCESS ? nested.writeString(null, "x") : r;
+        });
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.data.cosmos.serialization.hybridrow.schemas;
+
+import com.azure.data.cosmos.serialization.hybridrow.HashCode128;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+@Test(groups = "unit")
+public class SchemaHashTest {
+
+    private static final String NAMESPACE = "{\"name\": \"N\", \"version\": \"v1\", \"schemas\": ["
+        + "{\"name\": \"Order\", \"id\": 1, \"type\": \"schema\", \"options\": {\"disallowUnschematized\": false}, "
+        + "\"properties\": ["
+        + "{\"path\": \"id\", \"type\": {\"type\": \"int32\", \"storage\": \"fixed\"}}, "
+        + "{\"path\": \"address\", \"type\": {\"type\": \"schema\", \"name\": \"Address\"}}]}, "
+        + "{\"name\": \"Address\", \"id\": 2, \"type\": \"schema\", \"properties\": ["
+        + "{\"path\": \"city\", \"type\": {\"type\": \"utf8\", \"storage\": \"variable\"}}]}]}";
+
+    private static final HashCode128 SEED = HashCode128.of(0, 0);
+
+    @Test(groups = "unit")
+    public void testChangeAfterHashing() {
+
+        final Namespace namespace = Namespace.parse(NAMESPACE).orElseThrow(() ->
+            new AssertionError("failed to parse namespace"));
+
+        final Schema order = namespace.schemas().get(0);
+        final Schema address = namespace.schemas().get(1);
+        final Property id = order.properties().get(0);
+        final Property city = address.properties().get(0);
+        final HashCode128 expected = SchemaHash.computeHash(namespace, order, SEED);
+
+        assertEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+        assertNotEquals(SchemaHash.computeHash(namespace, order, HashCode128.of(1, 1)), expected);
+
+        // Changes to the schema, its options, its properties, and the schema it references are each reflected by the
+        // hash, which returns to its original value when each change is undone
+
+        order.options().packFixedColumns(true);
+        assertNotEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+        order.options().packFixedColumns(false);
+        assertEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+
+        id.path("key");
+        assertNotEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+        id.path("id");
+        assertEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+
+        ((PrimitivePropertyType) id.type()).storage(StorageKind.VARIABLE);
+        assertNotEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+        ((PrimitivePropertyType) id.type()).storage(StorageKind.FIXED);
+        assertEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+
+        city.path("town");
+        assertNotEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+        city.path("city");
+        assertEquals(SchemaHash.computeHash(namespace, order, SEED), expected);
+    }
+}